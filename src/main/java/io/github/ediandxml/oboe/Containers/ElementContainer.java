@@ -16,6 +16,10 @@
 
 package io.github.ediandxml.oboe.Containers;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.TreeMap;
 
 import org.apache.logging.log4j.LogManager;
@@ -36,7 +40,6 @@ import io.github.ediandxml.oboe.Errors.OBOEException;
 import io.github.ediandxml.oboe.Templates.ITemplateElementContainer;
 import io.github.ediandxml.oboe.Templates.TemplateCompositeElement;
 import io.github.ediandxml.oboe.Templates.TemplateDataElement;
-import io.github.ediandxml.oboe.Templates.TemplateElement;
 import io.github.ediandxml.oboe.Templates.TemplateSegment;
 import io.github.ediandxml.oboe.Format;
 import io.github.ediandxml.oboe.IContainedObject;
@@ -45,7 +48,22 @@ public class ElementContainer implements IElementContainer {
 	/** log4j object */
 	static Logger logr = LogManager.getLogger(CompositeElement.class);
 
-	protected TreeMap<Integer, Element> elementList;
+	/** positions above this are kept in wideElements */
+	static final int DENSE_POSITIONS = 256;
+
+	private static final Element NO_ELEMENTS[] = new Element[0];
+
+	/** elements indexed by position, slot 0 is not used */
+	private Element elements[] = NO_ELEMENTS;
+
+	/** elements past DENSE_POSITIONS, null until one is built */
+	private TreeMap<Integer, Element> wideElements;
+
+	/** number of elements built */
+	private int elementCount = 0;
+
+	/** highest position built, 0 when empty */
+	private int lastPosition = 0;
 
 	ITemplateElementContainer myTemplate;
 
@@ -54,20 +72,134 @@ public class ElementContainer implements IElementContainer {
 	public ElementContainer(ITemplateElementContainer template, IContainedObject containedBy) {
 		myTemplate = template;
 		this.containedBy = containedBy;
-		elementList = new TreeMap<Integer, Element>();
 	}
 
 	/**
-	 * @return the elementList
+	 * @return a copy of the built elements keyed by position, changes to it are
+	 *         not seen by the container
 	 */
 	public TreeMap<Integer, Element> getElementList() {
-		return elementList;
+		TreeMap<Integer, Element> list = new TreeMap<Integer, Element>();
+		for (int pos = 1; pos < elements.length; pos++) {
+			if (elements[pos] != null) {
+				list.put(pos, elements[pos]);
+			}
+		}
+		if (wideElements != null) {
+			list.putAll(wideElements);
+		}
+		return list;
+	}
+
+	private Element get(int pos) {
+		if (pos > 0 && pos < elements.length) {
+			return elements[pos];
+		}
+		if (wideElements != null && pos > DENSE_POSITIONS) {
+			return wideElements.get(pos);
+		}
+		return null;
+	}
+
+	private void put(int pos, Element inElement) {
+		if (pos <= DENSE_POSITIONS) {
+			if (pos >= elements.length) {
+				// most segments are built once, so size to the template first
+				int size = Math.max(pos + 1, Math.max(elements.length * 2, myTemplate.getContainerSize() + 1));
+				elements = Arrays.copyOf(elements, Math.min(size, DENSE_POSITIONS + 1));
+			}
+			if (elements[pos] == null) {
+				elementCount++;
+			}
+			elements[pos] = inElement;
+		} else {
+			if (wideElements == null) {
+				wideElements = new TreeMap<Integer, Element>();
+			}
+			if (wideElements.put(pos, inElement) == null) {
+				elementCount++;
+			}
+		}
+		if (pos > lastPosition) {
+			lastPosition = pos;
+		}
+	}
+
+	private void remove(int pos) {
+		if (pos > 0 && pos < elements.length) {
+			if (elements[pos] == null) {
+				return;
+			}
+			elements[pos] = null;
+		} else if (wideElements == null || wideElements.remove(pos) == null) {
+			return;
+		}
+		elementCount--;
+		if (pos == lastPosition) {
+			lastPosition = 0;
+			if (wideElements != null && wideElements.isEmpty() == false) {
+				lastPosition = wideElements.lastKey();
+			} else {
+				for (int i = Math.min(pos, elements.length) - 1; i > 0; i--) {
+					if (elements[i] != null) {
+						lastPosition = i;
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the built elements in position order
+	 */
+	private Iterable<Element> values() {
+		return () -> new Iterator<Element>() {
+			private int pos = nextPosition(0);
+			private Iterator<Element> wide;
+
+			private int nextPosition(int from) {
+				for (int i = from + 1; i < elements.length; i++) {
+					if (elements[i] != null) {
+						return i;
+					}
+				}
+				return -1;
+			}
+
+			@Override
+			public boolean hasNext() {
+				if (pos > 0) {
+					return true;
+				}
+				if (wide == null) {
+					if (wideElements == null) {
+						return false;
+					}
+					wide = wideElements.values().iterator();
+				}
+				return wide.hasNext();
+			}
+
+			@Override
+			public Element next() {
+				if (hasNext() == false) {
+					throw new NoSuchElementException();
+				}
+				if (pos > 0) {
+					Element elm = elements[pos];
+					pos = nextPosition(pos);
+					return elm;
+				}
+				return wide.next();
+			}
+		};
 	}
 
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		for (var elm : elementList.values()) {
+		for (var elm : values()) {
 			sb.append(elm.get());
 		}
 
@@ -93,9 +225,10 @@ public class ElementContainer implements IElementContainer {
 		// already
 		// built then we need to build the unused elements.
 
-		if (elementList.get(pos) != null) { // it looks this elements already
-											// built
-			return elementList.get(pos);
+		Element built = get(pos);
+		if (built != null) { // it looks this elements already
+								// built
+			return built;
 		}
 
 		// if (pos > getContainerSize() - 1) {
@@ -105,7 +238,7 @@ public class ElementContainer implements IElementContainer {
 		// }
 
 		if (myTemplate.isTemplateDE(pos) == false) {
-			elementList.put(pos,
+			put(pos,
 					new CompositeElement((TemplateCompositeElement) myTemplate.getTemplateElement(pos), containedBy));
 		} else {
 			TemplateDataElement tde;
@@ -115,60 +248,52 @@ public class ElementContainer implements IElementContainer {
 			switch (tde.getType().charAt(0)) {
 			case 'A':
 				if (tde.getIDList() != null) {
-					elementList.put(pos, new IDDE(tde, containedBy));
+					put(pos, new IDDE(tde, containedBy));
 				} else {
-					elementList.put(pos, new CharDE(tde, containedBy));
+					put(pos, new CharDE(tde, containedBy));
 				}
 				break;
 			case 'C':
 				if (tde.getIDList() != null) {
-					elementList.put(pos, new IDDE(tde, containedBy));
+					put(pos, new IDDE(tde, containedBy));
 				} else {
-					elementList.put(pos, new CharDE(tde, containedBy));
+					put(pos, new CharDE(tde, containedBy));
 				}
 				break;
 			case 'I':
-				elementList.put(pos, new IDDE(tde, containedBy));
+				put(pos, new IDDE(tde, containedBy));
 				break;
 			case 'D':
-				elementList.put(pos, new DateDE(tde, containedBy));
+				put(pos, new DateDE(tde, containedBy));
 				break;
 			case 'T':
-				elementList.put(pos, new TimeDE(tde, containedBy));
+				put(pos, new TimeDE(tde, containedBy));
 				break;
 			case 'N':
-				elementList.put(pos, new NumericDE(tde, containedBy));
+				put(pos, new NumericDE(tde, containedBy));
 				break;
 			case 'R':
-				elementList.put(pos, new RealDE(tde, containedBy));
+				put(pos, new RealDE(tde, containedBy));
 				break;
 			default:
 				throw new OBOEException("Unknown dataElement type");
 			}
 		}
-		return elementList.get(pos);
+		return get(pos);
 	}
 
 	@Override
 	public Element buildElement(String ID) {
 
-		for (var elms : myTemplate.getAllTemplateElements().entrySet()) { // always
-
-			TemplateElement te = elms.getValue();
-
-			if (te.getID().equals(ID)) {
-
-				if (elementList.containsKey(te.getPosition())) {
-
-					logr.info("data element already built with id " + ID + " for " + toString()
-							+ ". checking for more with same id within segment");
-					return elementList.get(te.getPosition());
-
-				}
-
-				return buildElement(te.getPosition());
+		int positions[] = myTemplate.getPositions(ID);
+		if (positions.length > 0) {
+			Element built = get(positions[0]);
+			if (built != null) {
+				logr.debug("data element already built with id {} for {}", ID, this);
+				return built;
 			}
 
+			return buildElement(positions[0]);
 		}
 		logr.error("No data element found with id " + ID + " in " + toString());
 		return null;
@@ -176,26 +301,17 @@ public class ElementContainer implements IElementContainer {
 
 	@Override
 	public Element buildElement(String ID, int offset) {
-		for (var elms : myTemplate.getAllTemplateElements().entrySet()) { // always
-
-			if (elms.getKey() <= offset) {
+		for (int pos : myTemplate.getPositions(ID)) {
+			if (pos <= offset) {
 				continue;
 			}
-			TemplateElement te = elms.getValue();
-
-			if (te.getID().equals(ID)) {
-
-				if (elementList.containsKey(te.getPosition())) {
-
-					logr.info("data element already built with id " + ID + " for " + toString()
-							+ ". checking for more with same id within segment");
-					return elementList.get(te.getPosition());
-
-				}
-
-				return buildElement(te.getPosition());
+			Element built = get(pos);
+			if (built != null) {
+				logr.debug("data element already built with id {} for {}", ID, this);
+				return built;
 			}
 
+			return buildElement(pos);
 		}
 
 		logr.error("No data element found with id " + ID + " in " + toString());
@@ -210,7 +326,7 @@ public class ElementContainer implements IElementContainer {
 
 	@Override
 	public int getContainerSize() {
-		return elementList.size();
+		return elementCount;
 	}
 
 	/**
@@ -224,8 +340,9 @@ public class ElementContainer implements IElementContainer {
 	@Override
 	public Element getElement(String inID) {
 
-		for (var dent : elementList.values()) {
-			if (dent.getID().compareTo(inID) == 0) {
+		for (int pos : myTemplate.getPositions(inID)) {
+			Element dent = get(pos);
+			if (dent != null) {
 				return dent;
 			}
 		}
@@ -236,12 +353,13 @@ public class ElementContainer implements IElementContainer {
 	@Override
 	public Element getElement(String inID, int inoffset) {
 
-		for (var elms : elementList.entrySet()) {
-			if (elms.getKey() <= inoffset) {
+		for (int pos : myTemplate.getPositions(inID)) {
+			if (pos <= inoffset) {
 				continue;
 			}
-			if (elms.getValue().getID().equals(inID)) {
-				return elms.getValue();
+			Element elm = get(pos);
+			if (elm != null) {
+				return elm;
 			}
 		}
 		return null;
@@ -258,18 +376,15 @@ public class ElementContainer implements IElementContainer {
 
 	@Override
 	public Element getElement(int inPos) {
-		return elementList.get(inPos);
+		return get(inPos);
 	}
 
 	@Override
 	public DataElement getDataElementByName(String inName, int inoffset) {
-		for (var elms : elementList.entrySet()) {
-			if (elms.getKey() <= inoffset) {
-				continue;
-			}
-			if (elms.getValue() instanceof DataElement) {
-				if (elms.getValue().getName().equals(inName)) {
-					return (DataElement) elms.getValue();
+		for (int pos = Math.max(inoffset, 0) + 1; pos <= lastPosition; pos++) {
+			if (get(pos) instanceof DataElement de) {
+				if (de.getName().equals(inName)) {
+					return de;
 				}
 			}
 		}
@@ -287,12 +402,12 @@ public class ElementContainer implements IElementContainer {
 	@Override
 	public boolean isDataElement(int inPos) {
 
-		return elementList.get(inPos).IAmADataElement();
+		return get(inPos).IAmADataElement();
 	}
 
 	@Override
 	public boolean isCompositeElement(int inPos) {
-		return elementList.get(inPos).IAmACompositeElement();
+		return get(inPos).IAmACompositeElement();
 	}
 
 	@Override
@@ -361,7 +476,7 @@ public class ElementContainer implements IElementContainer {
 		boolean returnValidation = true;
 
 		DocumentErrors dErr = new DocumentErrors();
-		for (var deme : elementList.values()) {
+		for (var deme : values()) {
 			if (deme.IAmACompositeElement()) {
 				CompositeElement cd = (CompositeElement) deme;
 				if (cd.isRequired() & cd.get().isEmpty()) {
@@ -392,7 +507,7 @@ public class ElementContainer implements IElementContainer {
 			}
 		}
 
-		returnValidation &= (dErr.getErrorCount() == 0);
+		returnValidation &= (dErr.getTotalErrorCount() == 0);
 		final String errs[] = dErr.getError();
 		for (int dei = 0; dei < dErr.getErrorCount(); dei++) {
 			logr.error(errs[dei]);
@@ -408,7 +523,7 @@ public class ElementContainer implements IElementContainer {
 
 		boolean returnValidation = true;
 
-		for (var deme : elementList.values()) {
+		for (var deme : values()) {
 			if (deme.IAmACompositeElement()) {
 				CompositeElement cd = (CompositeElement) deme;
 				if (cd.isRequired() & cd.get() == null) {
@@ -440,7 +555,7 @@ public class ElementContainer implements IElementContainer {
 			}
 		}
 
-		returnValidation &= (dErr.getErrorCount() == 0);
+		returnValidation &= (dErr.getTotalErrorCount() == 0);
 		// String errs[] = dErr.getError();
 		// for (int dei = 0; dei < dErr.getErrorCount(); dei++) {
 		// logr.error(errs[dei]);
@@ -453,33 +568,51 @@ public class ElementContainer implements IElementContainer {
 
 	@Override
 	public String getFormattedText(Format format) {
-
 		StringBuilder sbFormattedText = new StringBuilder();
+		try {
+			appendFormattedText(sbFormattedText, format);
+		} catch (IOException e) {
+			// a StringBuilder does not throw
+			throw new OBOEException(e.getMessage());
+		}
+		return sbFormattedText.toString();
+	}
+
+	/**
+	 * like getFormattedText; appends to a Writer, StringBuilder or other
+	 * Appendable instead of building a string.
+	 *
+	 * @param inAppendable - object appended to
+	 * @param format       - format type see TransactionSet
+	 * @exception IOException
+	 */
+	@Override
+	public void appendFormattedText(Appendable inAppendable, Format format) throws IOException {
 
 		int fieldToProcess = 1;
 
 		if (myTemplate instanceof TemplateSegment) {
 			switch (format) {
 			case PREBUILD_FORMAT:
-				sbFormattedText.append(
+				inAppendable.append(
 						myTemplate instanceof TemplateCompositeElement ? Envelope.PREBUILD_GROUP_DELIMITER.charAt(0)
 								: Envelope.PREBUILD_FIELD_DELIMITER.charAt(0));
 				break;
 			case X12_FORMAT:
-				sbFormattedText
+				inAppendable
 						.append(myTemplate instanceof TemplateCompositeElement ? Envelope.X12_GROUP_DELIMITER.charAt(0)
 								: Envelope.X12_FIELD_DELIMITER.charAt(0));
 				break;
 			case EDIFACT_FORMAT:
-				sbFormattedText.append(
+				inAppendable.append(
 						myTemplate instanceof TemplateCompositeElement ? Envelope.EDIFACT_GROUP_DELIMITER.charAt(0)
 								: Envelope.EDIFACT_FIELD_DELIMITER.charAt(0));
 				break;
 			case TRADACOMS_FORMAT:
 				if (fieldToProcess == 1) {
-					sbFormattedText.append(Envelope.TRADACOMS_SEGID_DELIMITER.charAt(0));
+					inAppendable.append(Envelope.TRADACOMS_SEGID_DELIMITER.charAt(0));
 				} else {
-					sbFormattedText.append(myTemplate instanceof TemplateCompositeElement
+					inAppendable.append(myTemplate instanceof TemplateCompositeElement
 							? Envelope.TRADACOMS_GROUP_DELIMITER.charAt(0)
 							: Envelope.TRADACOMS_FIELD_DELIMITER.charAt(0));
 				}
@@ -490,36 +623,37 @@ public class ElementContainer implements IElementContainer {
 			}
 		}
 
-		for (int cnt = 1; cnt <= elementList.lastKey(); cnt++) {
-			if (elementList.containsKey(cnt)) {
-				var de = elementList.get(cnt);
+		int last = lastPosition;
+		for (int cnt = 1; cnt <= last; cnt++) {
+			var de = get(cnt);
+			if (de != null) {
 				if (de.getID().equals("UNA") == false || (format != Format.EDIFACT_FORMAT)) {
 					// treat UNA differently
-					sbFormattedText.append(de.getFormattedText(format));
+					de.appendFormattedText(inAppendable, format);
 				} else {
-					sbFormattedText.append(de.get());
+					inAppendable.append(de.get());
 				}
 			}
 
-			if (cnt != elementList.lastKey()) {
+			if (cnt != last) {
 				switch (format) {
 				case PREBUILD_FORMAT:
-					sbFormattedText.append(
+					inAppendable.append(
 							myTemplate instanceof TemplateCompositeElement ? Envelope.PREBUILD_GROUP_DELIMITER.charAt(0)
 									: Envelope.PREBUILD_FIELD_DELIMITER.charAt(0));
 					break;
 				case X12_FORMAT:
-					sbFormattedText.append(
+					inAppendable.append(
 							myTemplate instanceof TemplateCompositeElement ? Envelope.X12_GROUP_DELIMITER.charAt(0)
 									: Envelope.X12_FIELD_DELIMITER.charAt(0));
 					break;
 				case EDIFACT_FORMAT:
-					sbFormattedText.append(
+					inAppendable.append(
 							myTemplate instanceof TemplateCompositeElement ? Envelope.EDIFACT_GROUP_DELIMITER.charAt(0)
 									: Envelope.EDIFACT_FIELD_DELIMITER.charAt(0));
 					break;
 				case TRADACOMS_FORMAT:
-					sbFormattedText.append(myTemplate instanceof TemplateCompositeElement
+					inAppendable.append(myTemplate instanceof TemplateCompositeElement
 							? Envelope.TRADACOMS_GROUP_DELIMITER.charAt(0)
 							: Envelope.TRADACOMS_FIELD_DELIMITER.charAt(0));
 					break;
@@ -529,14 +663,12 @@ public class ElementContainer implements IElementContainer {
 			}
 
 		}
-		return sbFormattedText.toString();
-
 	}
 
 	@Override
 	public int getElementCount() {
 		int len = 0;
-		for (var elm : elementList.values()) {
+		for (var elm : values()) {
 			if (elm.IAmACompositeElement()) {
 				CompositeElement ce = (CompositeElement) elm;
 				len += ce.getElementCount();
@@ -556,19 +688,22 @@ public class ElementContainer implements IElementContainer {
 		DataElement currentDE = null;
 		CompositeElement currentComp = null;
 
-		for (var elm : elementList.reversed().entrySet()) {
-			if (elm.getValue().IAmADataElement()) {
-				currentDE = (DataElement) elm.getValue();
+		for (int pos = lastPosition; pos > 0; pos = lastPosition) {
+			Element elm = get(pos);
+			if (elm.IAmADataElement()) {
+				currentDE = (DataElement) elm;
 				if (currentDE.getLength() > 0) {
-					return elm.getKey();
+					return pos;
 				}
-				elementList.remove(elm.getKey());
-			} else if (elm.getValue().IAmACompositeElement()) {
-				currentComp = (CompositeElement) elm.getValue();
+				remove(pos);
+			} else if (elm.IAmACompositeElement()) {
+				currentComp = (CompositeElement) elm;
 				if (currentComp.trim() > 0) {
-					return elm.getKey();
+					return pos;
 				}
-				elementList.remove(elm.getKey());
+				remove(pos);
+			} else {
+				return pos;
 			}
 		}
 
@@ -579,8 +714,8 @@ public class ElementContainer implements IElementContainer {
 
 	public int doIUseThisXMLElement(String inTag, int startAt) {
 
-		for (var pos = startAt; pos < elementList.size(); pos++) {
-			if (elementList.get(pos).getShortName().compareTo(inTag) == 0) {
+		for (var pos = startAt; pos < elementCount; pos++) {
+			if (get(pos).getShortName().compareTo(inTag) == 0) {
 				return pos;
 			}
 		}
@@ -594,8 +729,7 @@ public class ElementContainer implements IElementContainer {
 
 		for (var te : myTemplate.getAllTemplateElementsValues()) {
 			if (te.isRequired()) {
-				buildElement(te.getPosition());
-				elementList.get(te.getPosition()).useDefault();
+				buildElement(te.getPosition()).useDefault();
 			}
 
 		}
@@ -616,15 +750,14 @@ public class ElementContainer implements IElementContainer {
 		}
 		for (var te : myTemplate.getAllTemplateElementsValues()) {
 			if (te.isRequired()) {
-				buildElement(te.getPosition());
-				elementList.get(te.getPosition()).useDefault();
+				buildElement(te.getPosition()).useDefault();
 			}
 
 		}
 
 		IDListProcessor idl = myTemplate.getIDListThatPrevalidates();
 
-		for (var elm : elementList.values()) {
+		for (var elm : values()) {
 			if (elm.IAmADataElement()) {
 				DataElement de = (DataElement) elm;
 				if (de.getType().equals("ID")) {
@@ -639,7 +772,7 @@ public class ElementContainer implements IElementContainer {
 	@Override
 	public Element getPrimaryIDDE() {
 
-		for (var elm : elementList.values()) {
+		for (var elm : values()) {
 			if (!elm.isRequired()) {
 				continue;
 			}
@@ -663,7 +796,7 @@ public class ElementContainer implements IElementContainer {
 	}
 
 	public boolean hasText() {
-		for (var elm : elementList.values()) {
+		for (var elm : values()) {
 			if (elm.IAmADataElement()) {
 				DataElement de = (DataElement) elm;
 				if (de.get() == null) {
@@ -16,13 +16,19 @@
 
 package io.github.ediandxml.oboe.Containers;
 
+import java.io.BufferedInputStream;
 import java.io.FileNotFoundException;
+import java.io.FilterWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PushbackInputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -34,11 +40,13 @@ import io.github.ediandxml.oboe.EnvelopeFactory;
 import io.github.ediandxml.oboe.Format;
 import io.github.ediandxml.oboe.IContainedObject;
 import io.github.ediandxml.oboe.EDIFACT.EDIFACTDocumentHandler;
+import io.github.ediandxml.oboe.EDIFACT.EDIFACTEnvelope;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.OBOEException;
 import io.github.ediandxml.oboe.TRADACOMS.TradacomsEnvelope;
 import io.github.ediandxml.oboe.Templates.TemplateSegment;
 import io.github.ediandxml.oboe.ach.ACHEnvelope;
+import io.github.ediandxml.oboe.util.MappedDocument;
 import io.github.ediandxml.oboe.util.Util;
 import io.github.ediandxml.oboe.x12.X12DocumentHandler;
 
@@ -483,6 +491,66 @@ public abstract class Envelope extends MetaContainer implements IContainedObject
 		return "Envelope";
 	}
 
+	/**
+	 * maps the file into memory and parses it. X12 documents are read as
+	 * ISO-8859-1, EDIFACT documents with the charset of their syntax identifier,
+	 * see EDIFACTEnvelope.getCharset, other formats are decoded with the default
+	 * charset as processEDIEnvelope(InputStream) does
+	 *
+	 * @param inFile the edi document
+	 * @return Envelope or null if the format is not recognized
+	 * @throws OBOEException parsing errors
+	 * @throws IOException   file can not be read
+	 */
+	public static Envelope processEDIEnvelope(Path inFile) throws OBOEException, IOException {
+		return processEDIEnvelope(inFile, null);
+	}
+
+	/**
+	 * maps the file into memory and parses it. X12 and EDIFACT documents given
+	 * ISO-8859-1 are read without a charset decoder. Files too large to map are
+	 * streamed.
+	 *
+	 * @param inFile    the edi document
+	 * @param inCharset how the file is encoded, null to pick the charset from
+	 *                  the data as processEDIEnvelope(Path) does
+	 * @return Envelope or null if the format is not recognized
+	 * @throws OBOEException parsing errors
+	 * @throws IOException   file can not be read
+	 */
+	public static Envelope processEDIEnvelope(Path inFile, Charset inCharset) throws OBOEException, IOException {
+		byte me[];
+		try (InputStream is = Files.newInputStream(inFile)) {
+			me = is.readNBytes(94);
+		}
+		if (me.length != 94) {
+			throw new OBOEException("expected data not found");
+		}
+		Charset charset;
+		switch (me[0]) {
+		case 'I':
+			charset = inCharset == null ? StandardCharsets.ISO_8859_1 : inCharset;
+			X12DocumentHandler x12 = new X12DocumentHandler();
+			try (Reader reader = MappedDocument.openReader(inFile, charset)) {
+				x12.startParsing(reader);
+			}
+			return x12.getEnvelope();
+		case 'U':
+			charset = inCharset == null
+					? EDIFACTEnvelope.getCharset(new String(me, StandardCharsets.ISO_8859_1))
+					: inCharset;
+			EDIFACTDocumentHandler edifact = new EDIFACTDocumentHandler();
+			try (Reader reader = MappedDocument.openReader(inFile, charset)) {
+				edifact.startParsing(reader);
+			}
+			return edifact.getEnvelope();
+		default:
+			try (InputStream is = new BufferedInputStream(Files.newInputStream(inFile))) {
+				return processEDIEnvelope(is);
+			}
+		}
+	}
+
 	public static Envelope processEDIEnvelope(InputStream inStream) throws OBOEException, IOException {
 		EDIDocumentHandler dh = null;
 		Envelope env = null;
@@ -546,62 +614,79 @@ public abstract class Envelope extends MetaContainer implements IContainedObject
 		return cnt;
 	}
 
-	protected class PreDelimiter extends Thread {
-		Reader r;
-		Writer w;
-
-		public PreDelimiter(Reader inPR, Writer inW) {
-			r = inPR;
-			w = inW;
+	/**
+	 * writer that turns the prebuild delimiters into this envelope's delimiters
+	 * as the text is written. Delimiter characters found in the data after the
+	 * first segment are escaped when the envelope has an escape character. <br>
+	 * closing this writer closes the underlying writer.
+	 */
+	protected class DelimiterWriter extends FilterWriter {
+		/** don't escape before first segment */
+		private boolean escTest = false;
+
+		private final char segmentChar;
+		private final char groupChar;
+		private final char fieldChar;
+		private final char escapeChar;
+		private final char repeatChar;
+		private final boolean hasEscape;
+		private final boolean hasRepeat;
+
+		public DelimiterWriter(Writer inW) {
+			super(inW);
+			segmentChar = segmentDelimiter.charAt(0);
+			groupChar = groupDelimiter.charAt(0);
+			fieldChar = fieldDelimiter.charAt(0);
+			hasEscape = escapeCharacter.length() > 0;
+			escapeChar = hasEscape ? escapeCharacter.charAt(0) : 0;
+			hasRepeat = repeatDelimiter.length() > 0;
+			repeatChar = hasRepeat ? repeatDelimiter.charAt(0) : 0;
 		}
 
 		@Override
-		public void run() {
-			try {
-				int i;
-				char c;
-				boolean escTest = false;
-				while ((i = r.read()) > -1) {
-					c = (char) i;
-
-					if ((escTest == true) && (escapeCharacter.length() > 0))
-					// don't escape before first segment
-					// only need to do this if we need to
-					// add escape character most likely tradacoms or EDIFACT
-					{
-						if ((c == segmentDelimiter.charAt(0)) || (c == groupDelimiter.charAt(0))
-								|| (c == fieldDelimiter.charAt(0)) || (c == escapeCharacter.charAt(0))
-								|| ((repeatDelimiter.length() > 0) && (c == repeatDelimiter.charAt(0)))) {
-							w.write(escapeCharacter.charAt(0));
-						}
-					}
-
-					if (c == Envelope.PREBUILD_SEGMENT_DELIMITER.charAt(0)) {
-						w.write(segmentDelimiter.charAt(0));
-						escTest = true;
-					} else if (c == Envelope.PREBUILD_GROUP_DELIMITER.charAt(0)) {
-						w.write(groupDelimiter.charAt(0));
-					} else if (c == Envelope.PREBUILD_FIELD_DELIMITER.charAt(0)) {
-						w.write(fieldDelimiter.charAt(0));
-					} else if ((escapeCharacter.length() > 0) && (c == escapeCharacter.charAt(0))) {
-						w.write(repeatDelimiter.charAt(0));
-					} else if ((repeatDelimiter.length() > 0) && (c == Envelope.PREBUILD_REPEAT_DELIMITER.charAt(0))) {
-						w.write(repeatDelimiter.charAt(0));
-					} else {
-						if (c == Envelope.PREBUILD_REPEAT_DELIMITER.charAt(0)) {
-							logr.error(
-									"found prebuild repeat delimiter but not enveleope repeat delimiter was set or found");
-						}
-						w.write(i);
-					}
+		public void write(int inChar) throws IOException {
+			char c = (char) inChar;
+
+			if (escTest && hasEscape) {
+				// only need to do this if we need to
+				// add escape character most likely tradacoms or EDIFACT
+				if ((c == segmentChar) || (c == groupChar) || (c == fieldChar) || (c == escapeChar)
+						|| (hasRepeat && (c == repeatChar))) {
+					out.write(escapeChar);
 				}
-				w.flush();
-				w.close();
-			} catch (Exception e) {
-				e.printStackTrace();
-				return;
 			}
 
+			if (c == Envelope.PREBUILD_SEGMENT_DELIMITER.charAt(0)) {
+				out.write(segmentChar);
+				escTest = true;
+			} else if (c == Envelope.PREBUILD_GROUP_DELIMITER.charAt(0)) {
+				out.write(groupChar);
+			} else if (c == Envelope.PREBUILD_FIELD_DELIMITER.charAt(0)) {
+				out.write(fieldChar);
+			} else if (hasEscape && (c == escapeChar)) {
+				out.write(repeatChar);
+			} else if (hasRepeat && (c == Envelope.PREBUILD_REPEAT_DELIMITER.charAt(0))) {
+				out.write(repeatChar);
+			} else {
+				if (c == Envelope.PREBUILD_REPEAT_DELIMITER.charAt(0)) {
+					logr.error("found prebuild repeat delimiter but not enveleope repeat delimiter was set or found");
+				}
+				out.write(c);
+			}
+		}
+
+		@Override
+		public void write(char[] inBuffer, int inOffset, int inLength) throws IOException {
+			for (int i = 0; i < inLength; i++) {
+				write(inBuffer[inOffset + i]);
+			}
+		}
+
+		@Override
+		public void write(String inString, int inOffset, int inLength) throws IOException {
+			for (int i = 0; i < inLength; i++) {
+				write(inString.charAt(inOffset + i));
+			}
 		}
 
 	}
@@ -134,35 +134,51 @@ public abstract class FunctionalGroup extends MetaContainer implements IContaine
 	 */
 
 	public String getFormattedText(Format format) {
-
 		StringBuilder sb = new StringBuilder();
+		try {
+			appendFormattedText(sb, format);
+		} catch (IOException e) {
+			// a StringBuilder does not throw
+			throw new OBOEException(e.getMessage());
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * like getFormattedText; appends to a Writer, StringBuilder or other
+	 * Appendable instead of building a string.
+	 *
+	 * @param inAppendable - object appended to
+	 * @param format       - format type see TransactionSet
+	 * @exception IOException
+	 */
+	public void appendFormattedText(Appendable inAppendable, Format format) throws IOException {
+
 		if (format == Format.CSV_FORMAT) {
-			sb.append("Functional Group" + Util.lineFeed);
+			inAppendable.append("Functional Group" + Util.lineFeed);
 		} else if ((format == Format.VALID_XML_FORMAT) || (format == Format.VALID_XML_FORMAT_WITH_POSITION)) {
-			sb.append("<functionalgroup>" + Util.lineFeed);
+			inAppendable.append("<functionalgroup>" + Util.lineFeed);
 		}
 
 		Segment seg = getSegment(headerId);
 		if (seg != null) {
-			sb.append(seg.getFormattedText(format));
+			seg.appendFormattedText(inAppendable, format);
 		}
 
 		for (var tsStream : getKeysByContainerType(ContainerType.TransactionSet)) {
 			for (var eachTS : getAllContainers(ContainerType.TransactionSet, tsStream.ID())) {
-				sb.append(((TransactionSet) eachTS).getFormattedText(format));
+				((TransactionSet) eachTS).appendFormattedText(inAppendable, format);
 			}
 		}
 
 		seg = getSegment(trailerId);
 		if (seg != null) {
-			sb.append(seg.getFormattedText(format));
+			seg.appendFormattedText(inAppendable, format);
 		}
 
 		if ((format == Format.VALID_XML_FORMAT) || (format == Format.VALID_XML_FORMAT_WITH_POSITION)) {
-			sb.append("</functionalgroup>" + Util.lineFeed);
+			inAppendable.append("</functionalgroup>" + Util.lineFeed);
 		}
-
-		return sb.toString();
 	}
 
 	/**
@@ -176,34 +192,8 @@ public abstract class FunctionalGroup extends MetaContainer implements IContaine
 	 */
 
 	public void writeFormattedText(Writer inWriter, Format format) throws IOException {
-		if (format == Format.CSV_FORMAT) {
-			inWriter.write("Functional Group" + Util.lineFeed);
-		} else if ((format == Format.VALID_XML_FORMAT) || (format == Format.VALID_XML_FORMAT_WITH_POSITION)) {
-			inWriter.write("<functionalgroup>" + Util.lineFeed);
-		}
-
-		Segment seg = getSegment(headerId);
-		if (seg != null) {
-			inWriter.write(seg.getFormattedText(format));
-		}
-
-		for (var tsStream : getKeysByContainerType(ContainerType.TransactionSet)) {
-			for (var eachTS : getAllContainers(ContainerType.TransactionSet, tsStream.ID())) {
-				((TransactionSet) eachTS).writeFormattedText(inWriter, format);
-			}
-		}
-
-		seg = getSegment(trailerId);
-		if (seg != null) {
-			inWriter.write(seg.getFormattedText(format));
-		}
-
-		if ((format == Format.VALID_XML_FORMAT) || (format == Format.VALID_XML_FORMAT_WITH_POSITION)) {
-			inWriter.write("</functionalgroup>" + Util.lineFeed);
-		}
-
+		appendFormattedText(inWriter, format);
 		inWriter.flush();
-
 	}
 
 	/**
@@ -248,11 +238,11 @@ public abstract class FunctionalGroup extends MetaContainer implements IContaine
 		if (getTransactionSetCount() == 0) {
 			inDErr.addError(0, "FG", "No transaction sets", this, "5", this, DocumentErrors.ERROR_TYPE.Integrity);
 		} else {
+			ArrayList<IContainedObject> sets = new ArrayList<>();
 			for (var tsStream : getKeysByContainerType(ContainerType.TransactionSet)) {
-				for (var eachTS : getAllContainers(ContainerType.TransactionSet, tsStream.ID())) {
-					((TransactionSet) eachTS).validate(inDErr);
-				}
+				sets.addAll(getAllContainers(ContainerType.TransactionSet, tsStream.ID()));
 			}
+			TransactionSetValidator.validate(sets, TransactionSet::validate, inDErr);
 
 		}
 		seg = getSegment(trailerId);
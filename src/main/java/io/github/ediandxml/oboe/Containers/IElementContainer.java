@@ -15,6 +15,8 @@
  */
 package io.github.ediandxml.oboe.Containers;
 
+import java.io.IOException;
+
 import io.github.ediandxml.oboe.DataElements.DataElement;
 import io.github.ediandxml.oboe.DataElements.Element;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
@@ -218,6 +220,16 @@ public interface IElementContainer {
 	 */
 	String getFormattedText(Format format);
 
+	/**
+	 * Appends the formatted text representation of the container in the specified
+	 * format.
+	 *
+	 * @param inAppendable the Writer, StringBuilder... appended to
+	 * @param format       the format for the output (e.g., X12, XML)
+	 * @throws IOException if the Appendable fails
+	 */
+	void appendFormattedText(Appendable inAppendable, Format format) throws IOException;
+
 	/**
 	 * Returns the total number of elements (data elements and composite elements)
 	 * in the container.
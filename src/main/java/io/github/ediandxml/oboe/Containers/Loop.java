@@ -123,20 +123,37 @@ public class Loop extends MetaContainer implements ITemplatedObject {
 	 */
 
 	public String getFormattedText(Format format) {
-
 		StringBuilder sbFormattedText = new StringBuilder();
+		try {
+			appendFormattedText(sbFormattedText, format);
+		} catch (IOException e) {
+			// a StringBuilder does not throw
+			throw new OBOEException(e.getMessage());
+		}
+		return sbFormattedText.toString();
+	}
+
+	/**
+	 * like getFormattedText; appends to a Writer, StringBuilder or other
+	 * Appendable instead of building a string.
+	 *
+	 * @param inAppendable - object appended to
+	 * @param format       - format type see TransactionSet
+	 * @exception IOException
+	 */
+	public void appendFormattedText(Appendable inAppendable, Format format) throws IOException {
 
 		switch (format) {
 		case CSV_FORMAT:
-			sbFormattedText.append("Loop," + getID() + ",\"" + getName() + "\"" + Util.lineFeed);
+			inAppendable.append("Loop," + getID() + ",\"" + getName() + "\"" + Util.lineFeed);
 			break;
 		case XML_FORMAT:
-			sbFormattedText.append('<' + getShortName() + ">" + Util.lineFeed);
+			inAppendable.append('<' + getShortName() + ">" + Util.lineFeed);
 			break;
 		case VALID_XML_FORMAT:
 		case VALID_XML_FORMAT_WITH_POSITION:
-			sbFormattedText.append("<loop code=\"" + getID() + "\"");
-			sbFormattedText.append(" name=\"" + getName() + "\">" + Util.lineFeed);
+			inAppendable.append("<loop code=\"" + getID() + "\"");
+			inAppendable.append(" name=\"" + getName() + "\">" + Util.lineFeed);
 			break;
 		case PREBUILD_FORMAT:
 			break;
@@ -147,82 +164,32 @@ public class Loop extends MetaContainer implements ITemplatedObject {
 		case TRADACOMS_FORMAT:
 			break;
 		default:
-			sbFormattedText.append("Loop: " + getID() + Util.lineFeed);
+			inAppendable.append("Loop: " + getID() + Util.lineFeed);
 		}
 
-		getContainerFormattedText(sbFormattedText, format);
+		appendContainerFormattedText(inAppendable, format);
 
 		switch (format) {
 		case CSV_FORMAT:
 			break;
 		case XML_FORMAT:
-			sbFormattedText.append("</" + getShortName() + ">" + Util.lineFeed);
+			inAppendable.append("</" + getShortName() + ">" + Util.lineFeed);
 			break;
 		case VALID_XML_FORMAT:
 		case VALID_XML_FORMAT_WITH_POSITION:
 
-			sbFormattedText.append("</loop>" + Util.lineFeed);
+			inAppendable.append("</loop>" + Util.lineFeed);
 			break;
 		case X12_FORMAT:
 		case EDIFACT_FORMAT:
 		case TRADACOMS_FORMAT:
 		default:
 		}
-
-		return new String(sbFormattedText);
-
 	}
 
 	public void writeFormattedText(Writer inWriter, Format format) throws IOException {
-
-		switch (format) {
-		case CSV_FORMAT:
-			inWriter.write("Loop," + getID() + ",\"" + getName() + "\"" + Util.lineFeed);
-			break;
-		case XML_FORMAT:
-			inWriter.write('<' + getShortName() + ">" + Util.lineFeed);
-			break;
-		case VALID_XML_FORMAT:
-		case VALID_XML_FORMAT_WITH_POSITION:
-			inWriter.write("<loop code=\"" + getID() + "\"");
-			inWriter.write(" name=\"" + getName() + "\">" + Util.lineFeed);
-			break;
-
-		case PREBUILD_FORMAT:
-		case X12_FORMAT:
-		case EDIFACT_FORMAT:
-		case TRADACOMS_FORMAT:
-			break;
-		default:
-			inWriter.write("Loop: " + getID() + Util.lineFeed);
-		}
-
-		writeContainerFormattedText(inWriter, format);
-
-		switch (format) {
-		case CSV_FORMAT:
-			break;
-		case XML_FORMAT:
-			inWriter.write("</" + getShortName() + ">" + Util.lineFeed);
-			break;
-		case VALID_XML_FORMAT:
-		case VALID_XML_FORMAT_WITH_POSITION:
-
-			inWriter.write("</loop>" + Util.lineFeed);
-			break;
-		case PREBUILD_FORMAT:
-			break;
-		case X12_FORMAT:
-			break;
-		case EDIFACT_FORMAT:
-			break;
-		case TRADACOMS_FORMAT:
-			break;
-		default:
-		}
-
+		appendFormattedText(inWriter, format);
 		inWriter.flush();
-
 	}
 
 	/**
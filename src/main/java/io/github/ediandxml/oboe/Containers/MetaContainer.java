@@ -408,82 +408,73 @@ public abstract class MetaContainer implements IContainedObject, ITemplatedObjec
 		boolean isUsed = false;
 		byteOffset = TransactionTokenizedString.getInputByteCount();
 		String foundId = "";
-		boolean lookback = false;
 		boolean foundButNotQuiteRight = false;
-		ArrayList<IContainedObject> elmsArray = myTemplate.getContainer();
+		SegmentDispatch dispatch = myTemplate.getSegmentDispatch();
 		int i = 0;
 
-		nextElms: while (i < elmsArray.size()) {
-			var elms = elmsArray.get(i);
+		nextElms: while (true) {
 			String nextToken = TransactionTokenizedString.getCurrentDataElement();
 			foundId = nextToken;
 			if (nextToken == null) {
 				return false;
 			}
+			// skip straight to the next entry that can take this segment
+			i = dispatch.next(nextToken, i);
+			if (i < 0) {
+				break;
+			}
+			var elms = dispatch.entries[i];
 
 			if (elms.getContainerType() == ContainerType.Loop) {
 				TemplateLoop templateLoop = (TemplateLoop) elms;
-				if (nextToken.equals(templateLoop.getContainer().get(0).getID())) {
-					foundButNotQuiteRight = true;
-					if (templateLoop.canYouPrevalidate() && !templateLoop.isThisYou(TransactionTokenizedString)) {
-						i++;
-						isUsed = false;
-						continue nextElms;
-					}
-					var loopCnt = getLoopCnt(foundId);
-					if (templateLoop.getOccurs() == loopCnt && templateLoop.getOccurs() != -1) {
-						TransactionTokenizedString.reportError(
-								"Duplicate loop or segment at byte offset("
-										+ TransactionTokenizedString.getInputByteCount() + ")",
-								this, "2", this, DocumentErrors.ERROR_TYPE.Integrity);
-						return true;
-					}
-					foundButNotQuiteRight = false;
-					var currentLoop = new Loop(templateLoop, this);
-					addLoop(currentLoop);
-					currentLoop.parse(TransactionTokenizedString);
-					isUsed = true;
-					if (templateLoop.getOccurs() == 1) {
-						i++;
-					} else if (equivalentLoops(i, elmsArray)) {
-						i = resetToFirstEquivalentLoop(i, elmsArray);
-					}
-				} else {
+				foundButNotQuiteRight = true;
+				if (templateLoop.canYouPrevalidate() && !templateLoop.isThisYou(TransactionTokenizedString)) {
 					i++;
+					isUsed = false;
+					continue nextElms;
 				}
-			} else if (elms.getContainerType() == ContainerType.Segment) {
+				var loopCnt = getLoopCnt(foundId);
+				if (templateLoop.getOccurs() == loopCnt && templateLoop.getOccurs() != -1) {
+					TransactionTokenizedString.reportError(
+							"Duplicate loop or segment at byte offset(" + TransactionTokenizedString.getInputByteCount()
+									+ ")",
+							this, "2", this, DocumentErrors.ERROR_TYPE.Integrity);
+					return true;
+				}
+				foundButNotQuiteRight = false;
+				var currentLoop = new Loop(templateLoop, this);
+				addLoop(currentLoop);
+				currentLoop.parse(TransactionTokenizedString);
+				isUsed = true;
+				if (templateLoop.getOccurs() == 1) {
+					i++;
+				} else if (dispatch.loopRestart(i) >= 0) {
+					i = dispatch.loopRestart(i);
+				}
+			} else {
 				TemplateSegment TemplateSegment = (TemplateSegment) elms;
-				if (nextToken.equals(elms.getID())) {
-					foundButNotQuiteRight = true;
-					if (TemplateSegment.canYouPrevalidate() && !TemplateSegment.isThisYou(TransactionTokenizedString)) {
+				foundButNotQuiteRight = true;
+				if (TemplateSegment.canYouPrevalidate() && !TemplateSegment.isThisYou(TransactionTokenizedString)) {
+					i++;
+					isUsed = false;
+					continue;
+				}
+				foundButNotQuiteRight = false;
+				var currentSegment = new Segment(TemplateSegment, this);
+				currentSegment.setByteOffset(TransactionTokenizedString.getInputByteCount());
+				addSegment(currentSegment);
+				SegmentParser.parse(currentSegment, TransactionTokenizedString);
+				if (TemplateSegment.getOccurs() == 1) {
+					if (dispatch.segmentRestart(i) >= 0) {
+						i = dispatch.segmentRestart(i);
+					} else {
 						i++;
-						isUsed = false;
 						continue;
 					}
-					foundButNotQuiteRight = false;
-					var currentSegment = new Segment(TemplateSegment, this);
-					currentSegment.setByteOffset(TransactionTokenizedString.getInputByteCount());
-					addSegment(currentSegment);
-					SegmentParser.parse(currentSegment, TransactionTokenizedString);
-					if (TemplateSegment.getOccurs() == 1) {
-						if (equivalentSegments(i, elmsArray)) {
-							i = resetToFirstEquivalentSegment(i, elmsArray);
-						} else {
-							i++;
-							continue;
-						}
-					} else if (equivalentSegments(i, elmsArray)) {
-						i = resetToFirstEquivalentSegment(i, elmsArray);
-					}
-					isUsed = true;
-				} else {
-					i++;
+				} else if (dispatch.segmentRestart(i) >= 0) {
+					i = dispatch.segmentRestart(i);
 				}
-			}
-
-			if (i == myTemplate.getContainer().size() && lookback) {
-				lookback = false;
-				i = 0;
+				isUsed = true;
 			}
 		}
 
@@ -496,7 +487,7 @@ public abstract class MetaContainer implements IContainedObject, ITemplatedObjec
 		return isUsed;
 	}
 
-	private int getLoopCnt(String id) {
+	int getLoopCnt(String id) {
 		var key = new ContainerKey(ContainerType.Loop, id);
 		var got = keyContainer.get(key);
 		if (got == null) {
@@ -507,84 +498,19 @@ public abstract class MetaContainer implements IContainedObject, ITemplatedObjec
 	}
 
 	protected boolean equivalentLoops(int i, ArrayList<IContainedObject> elmsArray) {
-		if (i == 0) {
-			return false;
-		}
-		var iTemplateLoop = elmsArray.get(i);
-		TemplateLoop loopAtI = (TemplateLoop) iTemplateLoop;
-		if (elmsArray.get(i - 1).getContainerType() != ContainerType.Loop) {
-			return false;
-		}
-		var iOtherTemplateLoop = elmsArray.get(i - 1);
-		TemplateLoop otherLoop = (TemplateLoop) iOtherTemplateLoop;
-		TemplateSegment iTemplateSegment = (TemplateSegment) loopAtI.getContainer().get(0);
-		TemplateSegment otherTemplateSegment = (TemplateSegment) otherLoop.getContainer().get(0);
-		return loopAtI.getContainer().get(0).getID().equals(otherLoop.getContainer().get(0).getID())
-				& iTemplateSegment.getPosition() == otherTemplateSegment.getPosition();
+		return SegmentDispatch.equivalentLoops(i, elmsArray);
 	}
 
 	protected int resetToFirstEquivalentLoop(int i, ArrayList<IContainedObject> elmsArray) {
-		if (i == 0) {
-			return 0;
-		}
-		int j = i;
-		var iTemplateLoop = elmsArray.get(i);
-		TemplateLoop loopAtI = (TemplateLoop) iTemplateLoop;
-		while (j > -1) {
-			if (elmsArray.get(j).getContainerType() != ContainerType.Loop) {
-				return j;
-			}
-			if (!elmsArray.get(j).getID().equals(elmsArray.get(i).getID())) {
-				return j;
-			}
-			var iOtherTemplateLoop = elmsArray.get(j);
-			TemplateLoop otherLoop = (TemplateLoop) iOtherTemplateLoop;
-			TemplateSegment iTemplateSegment = (TemplateSegment) loopAtI.getContainer().get(0);
-			TemplateSegment otherTemplateSegment = (TemplateSegment) otherLoop.getContainer().get(0);
-			if (iTemplateSegment.getPosition() != otherTemplateSegment.getPosition()) {
-				return j;
-			}
-			j--;
-		}
-		return i;
+		return SegmentDispatch.resetToFirstEquivalentLoop(i, elmsArray);
 	}
 
 	protected boolean equivalentSegments(int i, ArrayList<IContainedObject> elmsArray) {
-		if (i == 0) {
-			return false;
-		}
-		TemplateSegment templateSegment = (TemplateSegment) elmsArray.get(i);
-		if (elmsArray.get(i - 1).getContainerType() != ContainerType.Segment) {
-			return false;
-		}
-		TemplateSegment otherTemplateSegment = (TemplateSegment) elmsArray.get(i - 1);
-		return templateSegment.getID().equals(otherTemplateSegment.getID())
-				& templateSegment.getPosition() == otherTemplateSegment.getPosition();
+		return SegmentDispatch.equivalentSegments(i, elmsArray);
 	}
 
 	protected int resetToFirstEquivalentSegment(int i, ArrayList<IContainedObject> elmsArray) {
-		if (i == 0) {
-			return 0;
-		}
-		int j = i;
-		var iTemplateSegment = elmsArray.get(i);
-		TemplateSegment segmentAtI = (TemplateSegment) iTemplateSegment;
-		while (j > -1) {
-			if (elmsArray.get(j).getContainerType() != ContainerType.Segment) {
-				return j;
-			}
-			if (!elmsArray.get(j).getID().equals(elmsArray.get(i).getID())) {
-				return j;
-			}
-			var iOtherTemplateSegment = elmsArray.get(j);
-			TemplateSegment otherSegment = (TemplateSegment) iOtherTemplateSegment;
-			if (!segmentAtI.getID().equals(otherSegment.getID())
-					|| segmentAtI.getPosition() != otherSegment.getPosition()) {
-				return j;
-			}
-			j--;
-		}
-		return i;
+		return SegmentDispatch.resetToFirstEquivalentSegment(i, elmsArray);
 	}
 
 	/**
@@ -952,18 +878,11 @@ public abstract class MetaContainer implements IContainedObject, ITemplatedObjec
 	 * @throws OBOEException if an invalid container type is encountered
 	 */
 	public void getContainerFormattedText(StringBuilder sbFormattedText, Format format) throws OBOEException {
-		for (var elms : theContainer) {
-			for (var elmsofelms : elms) {
-				if (elmsofelms.getContainerType() == ContainerType.Loop) {
-					Loop l = (Loop) elmsofelms;
-					sbFormattedText.append(l.getFormattedText(format));
-				} else if (elmsofelms.getContainerType() == ContainerType.Segment) {
-					Segment s = (Segment) elmsofelms;
-					sbFormattedText.append(s.getFormattedText(format));
-				} else {
-					throw new OBOEException("didn't expect this " + elmsofelms.getContainerType());
-				}
-			}
+		try {
+			appendContainerFormattedText(sbFormattedText, format);
+		} catch (IOException e) {
+			// a StringBuilder does not throw
+			throw new OBOEException(e.getMessage());
 		}
 	}
 
@@ -976,14 +895,29 @@ public abstract class MetaContainer implements IContainedObject, ITemplatedObjec
 	 * @throws OBOEException if an invalid container type is encountered
 	 */
 	public void writeContainerFormattedText(Writer inWriter, Format format) throws IOException, OBOEException {
+		appendContainerFormattedText(inWriter, format);
+	}
+
+	/**
+	 * Appends the formatted text representation of this container to any
+	 * Appendable. Loops and segments append their own text directly so nothing is
+	 * built up and copied at each nesting level.
+	 *
+	 * @param inAppendable the Appendable to append to
+	 * @param format       the output format (e.g., X12, XML)
+	 * @throws IOException   if an I/O error occurs
+	 * @throws OBOEException if an invalid container type is encountered
+	 */
+	public void appendContainerFormattedText(Appendable inAppendable, Format format)
+			throws IOException, OBOEException {
 		for (var elms : theContainer) {
 			for (var elmsofelms : elms) {
 				if (elmsofelms.getContainerType() == ContainerType.Loop) {
 					Loop l = (Loop) elmsofelms;
-					inWriter.write(l.getFormattedText(format));
+					l.appendFormattedText(inAppendable, format);
 				} else if (elmsofelms.getContainerType() == ContainerType.Segment) {
 					Segment s = (Segment) elmsofelms;
-					inWriter.write(s.getFormattedText(format));
+					s.appendFormattedText(inAppendable, format);
 				} else {
 					throw new OBOEException("didn't expect this " + elmsofelms.getContainerType());
 				}
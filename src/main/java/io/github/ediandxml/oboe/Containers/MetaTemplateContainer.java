@@ -56,6 +56,12 @@ public abstract class MetaTemplateContainer implements ITemplate, IContainer, Id
 	 */
 	protected final ArrayList<IContainedObject> theContainer;
 
+	/**
+	 * compiled segment dispatch for parsing, built on first use and dropped when
+	 * a container is added.
+	 */
+	private volatile SegmentDispatch segmentDispatch;
+
 	/**
 	 * Constructs a MetaTemplateContainer with empty key and container collections.
 	 */
@@ -90,6 +96,23 @@ public abstract class MetaTemplateContainer implements ITemplate, IContainer, Id
 		ContainerKey key = new ContainerKey(container.getContainerType(), container.getID());
 		theContainer.add(container);
 		keyContainer.put(key, theContainer.size() - 1);
+		segmentDispatch = null;
+	}
+
+	/**
+	 * Returns the compiled segment dispatch for this container, building it the
+	 * first time. Templates are shared between threads; two threads building it
+	 * at the same time build the same table.
+	 *
+	 * @return the segment dispatch
+	 */
+	SegmentDispatch getSegmentDispatch() {
+		SegmentDispatch dispatch = segmentDispatch;
+		if (dispatch == null) {
+			dispatch = new SegmentDispatch(theContainer);
+			segmentDispatch = dispatch;
+		}
+		return dispatch;
 	}
 
 	/**
@@ -16,6 +16,8 @@
 
 package io.github.ediandxml.oboe.Containers;
 
+import java.io.IOException;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -239,75 +241,91 @@ public class Segment implements IElementContainer, IContainedObject {
 
 	@Override
 	public String getFormattedText(Format format) {
+		StringBuilder sbFormattedText = new StringBuilder();
+		try {
+			appendFormattedText(sbFormattedText, format);
+		} catch (IOException e) {
+			// a StringBuilder does not throw
+			throw new OBOEException(e.getMessage());
+		}
+		return sbFormattedText.toString();
+	}
+
+	/**
+	 * like getFormattedText; appends to a Writer, StringBuilder or other
+	 * Appendable instead of building a string.
+	 *
+	 * @param inAppendable - object appended to
+	 * @param format       - format type see TransactionSet
+	 * @exception IOException
+	 */
+	@Override
+	public void appendFormattedText(Appendable inAppendable, Format format) throws IOException {
 
 		if (myElementContainer.getContainerSize() == 0) {
-			return "";
+			return;
 		}
-		StringBuilder sbFormattedText = new StringBuilder();
 
 		switch (format) {
 		case CSV_FORMAT:
-			sbFormattedText.append("Segment," + getID() + ",\"" + getName() + "\"" + Util.lineFeed);
+			inAppendable.append("Segment," + getID() + ",\"" + getName() + "\"" + Util.lineFeed);
 			break;
 		case XML_FORMAT:
-			sbFormattedText.append('<' + getShortName() + ">" + Util.lineFeed);
+			inAppendable.append('<' + getShortName() + ">" + Util.lineFeed);
 			break;
 		case VALID_XML_FORMAT:
 		case VALID_XML_FORMAT_WITH_POSITION:
-			sbFormattedText.append("<segment code=\"" + getID() + "\"");
-			sbFormattedText.append(" name=\"" + getName() + "\"");
+			inAppendable.append("<segment code=\"" + getID() + "\"");
+			inAppendable.append(" name=\"" + getName() + "\"");
 			if (format == Format.VALID_XML_FORMAT_WITH_POSITION) {
-				sbFormattedText.append(" docPosition=\"" + this.getPositionInIncomingDocument() + "\"");
+				inAppendable.append(" docPosition=\"" + this.getPositionInIncomingDocument() + "\"");
 			}
-			sbFormattedText.append(">" + Util.lineFeed);
+			inAppendable.append(">" + Util.lineFeed);
 			break;
 
 		case PREBUILD_FORMAT:
-			sbFormattedText.append(getID());
+			inAppendable.append(getID());
 			break;
 		case X12_FORMAT:
-			sbFormattedText.append(getID());
+			inAppendable.append(getID());
 			break;
 		case EDIFACT_FORMAT:
-			sbFormattedText.append(getID());
+			inAppendable.append(getID());
 			break;
 		case TRADACOMS_FORMAT:
-			sbFormattedText.append(getID());
+			inAppendable.append(getID());
 			break;
 		default:
-			sbFormattedText.append(getID() + ": ");
+			inAppendable.append(getID() + ": ");
 		}
 
-		sbFormattedText.append(myElementContainer.getFormattedText(format));
+		myElementContainer.appendFormattedText(inAppendable, format);
 
 		switch (format) {
 		case PREBUILD_FORMAT:
-			sbFormattedText.append(Envelope.PREBUILD_SEGMENT_DELIMITER.charAt(0));
+			inAppendable.append(Envelope.PREBUILD_SEGMENT_DELIMITER.charAt(0));
 			break;
 		case X12_FORMAT:
-			sbFormattedText.append(Envelope.X12_SEGMENT_DELIMITER.charAt(0));
+			inAppendable.append(Envelope.X12_SEGMENT_DELIMITER.charAt(0));
 			break;
 		case EDIFACT_FORMAT:
-			sbFormattedText.append(Envelope.EDIFACT_SEGMENT_DELIMITER.charAt(0));
+			inAppendable.append(Envelope.EDIFACT_SEGMENT_DELIMITER.charAt(0));
 			break;
 		case TRADACOMS_FORMAT:
-			sbFormattedText.append(Envelope.TRADACOMS_SEGMENT_DELIMITER.charAt(0));
+			inAppendable.append(Envelope.TRADACOMS_SEGMENT_DELIMITER.charAt(0));
 			break;
 
 		case XML_FORMAT:
-			sbFormattedText.append("</" + getShortName() + ">" + Util.lineFeed);
+			inAppendable.append("</" + getShortName() + ">" + Util.lineFeed);
 			break;
 		case VALID_XML_FORMAT:
 		case VALID_XML_FORMAT_WITH_POSITION:
 
-			sbFormattedText.append("</segment>" + Util.lineFeed);
+			inAppendable.append("</segment>" + Util.lineFeed);
 			break;
 		default:
 			break;
 		}
-
-		return new String(sbFormattedText);
-
 	}
 
 	/**
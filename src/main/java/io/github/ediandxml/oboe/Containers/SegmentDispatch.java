@@ -0,0 +1,205 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe.Containers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import io.github.ediandxml.oboe.IContainedObject;
+import io.github.ediandxml.oboe.Templates.TemplateLoop;
+import io.github.ediandxml.oboe.Templates.TemplateSegment;
+
+/**
+ * OBOE - Open Business Objects for EDI
+ * <p>
+ * compiled form of a template container used by MetaContainer.parse. Maps each
+ * segment id to the positions in the container that can take it (a segment
+ * with that id or a loop starting with it), in template order, and holds the
+ * equivalent segment and loop restart positions so the parser does not have to
+ * walk the container for every segment it reads.
+ *
+ * @author Joe McVerry
+ */
+final class SegmentDispatch {
+
+	private static final int[] NONE = new int[0];
+
+	/** the template container's entries */
+	final IContainedObject[] entries;
+
+	/** segment id to ascending candidate positions */
+	private final HashMap<String, int[]> positions;
+
+	/** position to restart at after an equivalent loop, -1 if none */
+	private final int[] loopRestart;
+
+	/** position to restart at after an equivalent segment, -1 if none */
+	private final int[] segmentRestart;
+
+	SegmentDispatch(List<IContainedObject> inContainer) {
+		entries = inContainer.toArray(new IContainedObject[inContainer.size()]);
+		ArrayList<IContainedObject> elmsArray = new ArrayList<>(inContainer);
+		loopRestart = new int[entries.length];
+		segmentRestart = new int[entries.length];
+		HashMap<String, ArrayList<Integer>> found = new HashMap<>();
+		for (int i = 0; i < entries.length; i++) {
+			loopRestart[i] = -1;
+			segmentRestart[i] = -1;
+			String id = null;
+			if (entries[i].getContainerType() == ContainerType.Loop) {
+				TemplateLoop templateLoop = (TemplateLoop) entries[i];
+				if (templateLoop.getContainer().isEmpty() == false) {
+					id = templateLoop.getContainer().get(0).getID();
+				}
+				if (equivalentLoops(i, elmsArray)) {
+					loopRestart[i] = resetToFirstEquivalentLoop(i, elmsArray);
+				}
+			} else if (entries[i].getContainerType() == ContainerType.Segment) {
+				id = entries[i].getID();
+				if (equivalentSegments(i, elmsArray)) {
+					segmentRestart[i] = resetToFirstEquivalentSegment(i, elmsArray);
+				}
+			}
+			if (id != null) {
+				found.computeIfAbsent(id, k -> new ArrayList<>()).add(i);
+			}
+		}
+		positions = new HashMap<>(found.size() * 2);
+		for (var entry : found.entrySet()) {
+			int[] pos = new int[entry.getValue().size()];
+			for (int p = 0; p < pos.length; p++) {
+				pos[p] = entry.getValue().get(p);
+			}
+			positions.put(entry.getKey(), pos);
+		}
+	}
+
+	/**
+	 * @param inID   segment id
+	 * @param inFrom first position to consider
+	 * @return the first position at or after inFrom that can take the segment, or
+	 *         -1
+	 */
+	int next(String inID, int inFrom) {
+		int[] pos = positions.getOrDefault(inID, NONE);
+		for (int p : pos) {
+			if (p >= inFrom) {
+				return p;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param i position of a loop
+	 * @return where to restart after the loop at i, or -1 if it is not part of an
+	 *         equivalent group
+	 */
+	int loopRestart(int i) {
+		return loopRestart[i];
+	}
+
+	/**
+	 * @param i position of a segment
+	 * @return where to restart after the segment at i, or -1 if it is not part of
+	 *         an equivalent group
+	 */
+	int segmentRestart(int i) {
+		return segmentRestart[i];
+	}
+
+	static boolean equivalentLoops(int i, ArrayList<IContainedObject> elmsArray) {
+		if (i == 0) {
+			return false;
+		}
+		var iTemplateLoop = elmsArray.get(i);
+		TemplateLoop loopAtI = (TemplateLoop) iTemplateLoop;
+		if (elmsArray.get(i - 1).getContainerType() != ContainerType.Loop) {
+			return false;
+		}
+		var iOtherTemplateLoop = elmsArray.get(i - 1);
+		TemplateLoop otherLoop = (TemplateLoop) iOtherTemplateLoop;
+		TemplateSegment iTemplateSegment = (TemplateSegment) loopAtI.getContainer().get(0);
+		TemplateSegment otherTemplateSegment = (TemplateSegment) otherLoop.getContainer().get(0);
+		return loopAtI.getContainer().get(0).getID().equals(otherLoop.getContainer().get(0).getID())
+				& iTemplateSegment.getPosition() == otherTemplateSegment.getPosition();
+	}
+
+	static int resetToFirstEquivalentLoop(int i, ArrayList<IContainedObject> elmsArray) {
+		if (i == 0) {
+			return 0;
+		}
+		int j = i;
+		var iTemplateLoop = elmsArray.get(i);
+		TemplateLoop loopAtI = (TemplateLoop) iTemplateLoop;
+		while (j > -1) {
+			if (elmsArray.get(j).getContainerType() != ContainerType.Loop) {
+				return j;
+			}
+			if (!elmsArray.get(j).getID().equals(elmsArray.get(i).getID())) {
+				return j;
+			}
+			var iOtherTemplateLoop = elmsArray.get(j);
+			TemplateLoop otherLoop = (TemplateLoop) iOtherTemplateLoop;
+			TemplateSegment iTemplateSegment = (TemplateSegment) loopAtI.getContainer().get(0);
+			TemplateSegment otherTemplateSegment = (TemplateSegment) otherLoop.getContainer().get(0);
+			if (iTemplateSegment.getPosition() != otherTemplateSegment.getPosition()) {
+				return j;
+			}
+			j--;
+		}
+		return i;
+	}
+
+	static boolean equivalentSegments(int i, ArrayList<IContainedObject> elmsArray) {
+		if (i == 0) {
+			return false;
+		}
+		TemplateSegment templateSegment = (TemplateSegment) elmsArray.get(i);
+		if (elmsArray.get(i - 1).getContainerType() != ContainerType.Segment) {
+			return false;
+		}
+		TemplateSegment otherTemplateSegment = (TemplateSegment) elmsArray.get(i - 1);
+		return templateSegment.getID().equals(otherTemplateSegment.getID())
+				& templateSegment.getPosition() == otherTemplateSegment.getPosition();
+	}
+
+	static int resetToFirstEquivalentSegment(int i, ArrayList<IContainedObject> elmsArray) {
+		if (i == 0) {
+			return 0;
+		}
+		int j = i;
+		var iTemplateSegment = elmsArray.get(i);
+		TemplateSegment segmentAtI = (TemplateSegment) iTemplateSegment;
+		while (j > -1) {
+			if (elmsArray.get(j).getContainerType() != ContainerType.Segment) {
+				return j;
+			}
+			if (!elmsArray.get(j).getID().equals(elmsArray.get(i).getID())) {
+				return j;
+			}
+			var iOtherTemplateSegment = elmsArray.get(j);
+			TemplateSegment otherSegment = (TemplateSegment) iOtherTemplateSegment;
+			if (!segmentAtI.getID().equals(otherSegment.getID())
+					|| segmentAtI.getPosition() != otherSegment.getPosition()) {
+				return j;
+			}
+			j--;
+		}
+		return i;
+	}
+}
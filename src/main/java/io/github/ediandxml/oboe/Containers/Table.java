@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.Writer;
 
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
+import io.github.ediandxml.oboe.Errors.OBOEException;
 import io.github.ediandxml.oboe.Templates.TemplateTable;
 import io.github.ediandxml.oboe.util.Util;
 import io.github.ediandxml.oboe.Format;
@@ -57,30 +58,44 @@ public class Table extends MetaContainer implements IContainedObject {
 	 */
 
 	public String getFormattedText(Format format) {
-
 		StringBuilder sbFormattedText = new StringBuilder();
+		try {
+			appendFormattedText(sbFormattedText, format);
+		} catch (IOException e) {
+			// a StringBuilder does not throw
+			throw new OBOEException(e.getMessage());
+		}
+		return sbFormattedText.toString();
+	}
+
+	/**
+	 * like getFormattedText; appends to a Writer, StringBuilder or other
+	 * Appendable instead of building a string.
+	 *
+	 * @param inAppendable - object appended to
+	 * @param format       - format type see TransactionSet
+	 * @exception IOException
+	 */
+	public void appendFormattedText(Appendable inAppendable, Format format) throws IOException {
 
 		if (format == Format.CSV_FORMAT) {
-			sbFormattedText.append("Table," + getShortName() + Util.lineFeed);
+			inAppendable.append("Table," + getShortName() + Util.lineFeed);
 		}
 		if (format == Format.XML_FORMAT) {
-			sbFormattedText.append("<" + getShortName() + ">" + Util.lineFeed);
+			inAppendable.append("<" + getShortName() + ">" + Util.lineFeed);
 		}
 		if ((format == Format.VALID_XML_FORMAT) || (format == Format.VALID_XML_FORMAT_WITH_POSITION)) {
-			sbFormattedText.append("<table section=\"" + getShortName() + "\">" + Util.lineFeed);
+			inAppendable.append("<table section=\"" + getShortName() + "\">" + Util.lineFeed);
 		}
 
-		getContainerFormattedText(sbFormattedText, format);
+		appendContainerFormattedText(inAppendable, format);
 
 		if (format == Format.XML_FORMAT) {
-			sbFormattedText.append("</" + getShortName() + ">" + Util.lineFeed);
+			inAppendable.append("</" + getShortName() + ">" + Util.lineFeed);
 		}
 		if ((format == Format.VALID_XML_FORMAT) || (format == Format.VALID_XML_FORMAT_WITH_POSITION)) {
-			sbFormattedText.append("</table>" + Util.lineFeed);
+			inAppendable.append("</table>" + Util.lineFeed);
 		}
-
-		return new String(sbFormattedText);
-
 	}
 
 	/**
@@ -91,28 +106,8 @@ public class Table extends MetaContainer implements IContainedObject {
 	 */
 
 	public void writeFormattedText(Writer inWriter, Format format) throws IOException {
-
-		if (format == Format.CSV_FORMAT) {
-			inWriter.write("Table," + getShortName() + Util.lineFeed);
-		}
-		if (format == Format.XML_FORMAT) {
-			inWriter.write("<" + getShortName() + ">" + Util.lineFeed);
-		}
-		if ((format == Format.VALID_XML_FORMAT) || (format == Format.VALID_XML_FORMAT_WITH_POSITION)) {
-			inWriter.write("<table section=\"" + getShortName() + "\">" + Util.lineFeed);
-		}
-
-		writeContainerFormattedText(inWriter, format);
-
-		if (format == Format.XML_FORMAT) {
-			inWriter.write("</" + getShortName() + ">" + Util.lineFeed);
-		}
-		if ((format == Format.VALID_XML_FORMAT) || (format == Format.VALID_XML_FORMAT_WITH_POSITION)) {
-			inWriter.write("</table>" + Util.lineFeed);
-		}
-
+		appendFormattedText(inWriter, format);
 		inWriter.flush();
-
 	}
 
 	/**
@@ -132,6 +132,11 @@ public class TransactionSet extends MetaContainer implements IContainedObject {
 	@Override
 	public boolean parse(ITokenizer TransactionTokenizedString) throws OBOEException {
 
+		TransactionSetStateMachine stateMachine = ((TemplateTransactionSet) getMyTemplate()).getStateMachine();
+		if (stateMachine != null) {
+			return stateMachine.parse(this, TransactionTokenizedString);
+		}
+
 		boolean used = false;
 
 		if (headerTable != null) {
@@ -682,23 +687,41 @@ public class TransactionSet extends MetaContainer implements IContainedObject {
 	 */
 
 	public String getFormattedText(Format format) {
-
 		StringBuilder sbFormattedText = new StringBuilder();
+		try {
+			appendFormattedText(sbFormattedText, format);
+		} catch (IOException e) {
+			// a StringBuilder does not throw
+			throw new OBOEException(e.getMessage());
+		}
+		return sbFormattedText.toString();
+	}
+
+	/**
+	 * like getFormattedText; appends to a Writer, StringBuilder or other
+	 * Appendable instead of building a string.
+	 *
+	 * @param inAppendable - object appended to
+	 * @param format       - format type see TransactionSet
+	 * @exception IOException
+	 */
+	public void appendFormattedText(Appendable inAppendable, Format format) throws IOException {
+
 		switch (format) {
 		case XML_FORMAT:
-			sbFormattedText.append('<' + getShortName() + " code=\"" + getID() + "\">" + Util.lineFeed);
+			inAppendable.append('<' + getShortName() + " code=\"" + getID() + "\">" + Util.lineFeed);
 			break;
 		case VALID_XML_FORMAT:
 		case VALID_XML_FORMAT_WITH_POSITION:
-			sbFormattedText.append("<transactionset code=\"" + getID() + "\"");
-			sbFormattedText.append(" name=\"" + getName() + "\"");
+			inAppendable.append("<transactionset code=\"" + getID() + "\"");
+			inAppendable.append(" name=\"" + getName() + "\"");
 			/*
 			 * if (format == Format.EDIFACT_FORMAT) { Segment unh = this.getSegment("UNH");
 			 * String v = unh.getCompositeElement("S009").getDataElement("0052").get().trim
 			 * ()+ unh.getCompositeElement("S009").getDataElement("0054").get().trim (); {
-			 * sbFormattedText.append(" version=\"" + v + "\""); } }
+			 * inAppendable.append(" version=\"" + v + "\""); } }
 			 */
-			sbFormattedText.append(">" + Util.lineFeed);
+			inAppendable.append(">" + Util.lineFeed);
 			break;
 
 		case PREBUILD_FORMAT:
@@ -708,28 +731,28 @@ public class TransactionSet extends MetaContainer implements IContainedObject {
 			break;
 
 		default:
-			sbFormattedText.append("Transaction Set: " + getName() + Util.lineFeed);
+			inAppendable.append("Transaction Set: " + getName() + Util.lineFeed);
 		}
 		if (headerTable != null) {
-			sbFormattedText.append(headerTable.getFormattedText(format));
+			headerTable.appendFormattedText(inAppendable, format);
 		}
 
 		if (detailTable != null) {
-			sbFormattedText.append(detailTable.getFormattedText(format));
+			detailTable.appendFormattedText(inAppendable, format);
 		}
 
 		if (summaryTable != null) {
-			sbFormattedText.append(summaryTable.getFormattedText(format));
+			summaryTable.appendFormattedText(inAppendable, format);
 		}
 
 		switch (format) {
 		case XML_FORMAT:
-			sbFormattedText.append("</" + getShortName() + ">" + Util.lineFeed);
+			inAppendable.append("</" + getShortName() + ">" + Util.lineFeed);
 			break;
 		case VALID_XML_FORMAT:
 		case VALID_XML_FORMAT_WITH_POSITION:
 
-			sbFormattedText.append("</transactionset>" + Util.lineFeed);
+			inAppendable.append("</transactionset>" + Util.lineFeed);
 			break;
 		case X12_FORMAT:
 		case EDIFACT_FORMAT:
@@ -739,8 +762,6 @@ public class TransactionSet extends MetaContainer implements IContainedObject {
 		default:
 			break;
 		}
-
-		return new String(sbFormattedText);
 	}
 
 	/**
@@ -754,56 +775,7 @@ public class TransactionSet extends MetaContainer implements IContainedObject {
 	 */
 
 	public void writeFormattedText(Writer inWriter, Format format) throws IOException {
-
-		switch (format) {
-		case XML_FORMAT:
-			inWriter.write('<' + getShortName() + " code=\"" + getID() + "\">" + Util.lineFeed);
-			break;
-		case VALID_XML_FORMAT:
-		case VALID_XML_FORMAT_WITH_POSITION:
-			inWriter.write("<transactionset code=\"" + getID() + "\"");
-			inWriter.write(" name=\"" + getName() + "\">" + Util.lineFeed);
-			break;
-
-		case PREBUILD_FORMAT:
-		case X12_FORMAT:
-		case EDIFACT_FORMAT:
-		case TRADACOMS_FORMAT:
-			break;
-
-		default:
-			inWriter.write("Transaction Set: " + getName() + Util.lineFeed);
-		}
-		if (headerTable != null) {
-			headerTable.writeFormattedText(inWriter, format);
-		}
-
-		if (detailTable != null) {
-			detailTable.writeFormattedText(inWriter, format);
-		}
-
-		if (summaryTable != null) {
-			summaryTable.writeFormattedText(inWriter, format);
-		}
-
-		switch (format) {
-		case XML_FORMAT:
-			inWriter.write("</" + getShortName() + ">" + Util.lineFeed);
-			break;
-		case VALID_XML_FORMAT:
-		case VALID_XML_FORMAT_WITH_POSITION:
-
-			inWriter.write("</transactionset>" + Util.lineFeed);
-			break;
-		case PREBUILD_FORMAT:
-		case X12_FORMAT:
-		case EDIFACT_FORMAT:
-		case TRADACOMS_FORMAT:
-			break;
-		default:
-			break;
-		}
-
+		appendFormattedText(inWriter, format);
 		inWriter.flush();
 	}
 
@@ -0,0 +1,311 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe.Containers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.github.ediandxml.oboe.IContainedObject;
+import io.github.ediandxml.oboe.Errors.DocumentErrors;
+import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.Parsers.SegmentParser;
+import io.github.ediandxml.oboe.Templates.TemplateLoop;
+import io.github.ediandxml.oboe.Templates.TemplateSegment;
+import io.github.ediandxml.oboe.Templates.TemplateTransactionSet;
+import io.github.ediandxml.oboe.Tokenizers.ITokenizer;
+
+/**
+ * OBOE - Open Business Objects for EDI
+ * <p>
+ * a transaction set template compiled into one flat state machine. Every
+ * segment and loop position of every table and loop is a numbered state; the
+ * transitions out of a container are indexed by segment id. parse drives the
+ * machine with an explicit stack of open containers instead of the recursive
+ * MetaContainer.parse descent, and produces the same containers and errors.
+ * <p>
+ * Built by TransactionSetFactory when OBOE.properties has compiledParser=true,
+ * or by calling compile and TemplateTransactionSet.setStateMachine. The machine
+ * is immutable and is shared by every transaction set built from the template.
+ *
+ * @author Joe McVerry
+ */
+public final class TransactionSetStateMachine {
+
+	private static final Logger logr = LogManager.getLogger(TransactionSetStateMachine.class);
+
+	private static final int[] NONE = new int[0];
+
+	/** template segment or loop for each state */
+	private final IContainedObject[] stateTemplate;
+
+	/** for loop states the node entered, otherwise -1 */
+	private final int[] stateChild;
+
+	/** state to go back to after an equivalent loop or segment, -1 if none */
+	private final int[] stateRestart;
+
+	/** per node, segment id to ascending states */
+	private final ArrayList<HashMap<String, int[]>> nodeTransitions = new ArrayList<>();
+
+	/** per node, the state of its first position */
+	private final ArrayList<Integer> nodeFirstState = new ArrayList<>();
+
+	/** nodes of the header, detail and summary tables, -1 if no table */
+	private final int headerNode, detailNode, summaryNode;
+
+	private final ArrayList<IContainedObject> states = new ArrayList<>();
+	private final ArrayList<Integer> children = new ArrayList<>();
+	private final ArrayList<Integer> restarts = new ArrayList<>();
+
+	private TransactionSetStateMachine(TemplateTransactionSet inTemplate) {
+		headerNode = addNode(inTemplate.getHeaderTemplateTable());
+		detailNode = addNode(inTemplate.getDetailTemplateTable());
+		summaryNode = addNode(inTemplate.getSummaryTemplateTable());
+
+		int count = states.size();
+		stateTemplate = states.toArray(new IContainedObject[count]);
+		stateChild = new int[count];
+		stateRestart = new int[count];
+		for (int s = 0; s < count; s++) {
+			stateChild[s] = children.get(s);
+			stateRestart[s] = restarts.get(s);
+		}
+		states.clear();
+		children.clear();
+		restarts.clear();
+	}
+
+	/**
+	 * compiles a transaction set template
+	 *
+	 * @param inTemplate the template
+	 * @return TransactionSetStateMachine
+	 */
+	public static TransactionSetStateMachine compile(TemplateTransactionSet inTemplate) {
+		return new TransactionSetStateMachine(inTemplate);
+	}
+
+	/**
+	 * numbers the positions of a table or loop and, depth first, of the loops
+	 * in it
+	 *
+	 * @return the node number or -1 for a missing table
+	 */
+	private int addNode(MetaTemplateContainer inContainer) {
+		if (inContainer == null) {
+			return -1;
+		}
+		ArrayList<IContainedObject> elmsArray = inContainer.getContainer();
+		int node = nodeTransitions.size();
+		int base = states.size();
+		HashMap<String, ArrayList<Integer>> found = new HashMap<>();
+		nodeTransitions.add(null);
+		nodeFirstState.add(base);
+
+		for (int i = 0; i < elmsArray.size(); i++) {
+			IContainedObject elms = elmsArray.get(i);
+			String id = null;
+			int restart = -1;
+			if (elms.getContainerType() == ContainerType.Loop) {
+				TemplateLoop templateLoop = (TemplateLoop) elms;
+				if (templateLoop.getContainer().isEmpty() == false) {
+					id = templateLoop.getContainer().get(0).getID();
+				}
+				if (SegmentDispatch.equivalentLoops(i, elmsArray)) {
+					restart = base + SegmentDispatch.resetToFirstEquivalentLoop(i, elmsArray);
+				}
+			} else if (elms.getContainerType() == ContainerType.Segment) {
+				id = elms.getID();
+				if (SegmentDispatch.equivalentSegments(i, elmsArray)) {
+					restart = base + SegmentDispatch.resetToFirstEquivalentSegment(i, elmsArray);
+				}
+			}
+			if (id != null) {
+				found.computeIfAbsent(id, k -> new ArrayList<>()).add(base + i);
+			}
+			states.add(elms);
+			children.add(-1);
+			restarts.add(restart);
+		}
+
+		for (int i = 0; i < elmsArray.size(); i++) {
+			if (elmsArray.get(i).getContainerType() == ContainerType.Loop) {
+				children.set(base + i, addNode((TemplateLoop) elmsArray.get(i)));
+			}
+		}
+
+		HashMap<String, int[]> transitions = new HashMap<>(found.size() * 2);
+		for (var entry : found.entrySet()) {
+			int[] to = new int[entry.getValue().size()];
+			for (int p = 0; p < to.length; p++) {
+				to[p] = entry.getValue().get(p);
+			}
+			transitions.put(entry.getKey(), to);
+		}
+		nodeTransitions.set(node, transitions);
+		return node;
+	}
+
+	/**
+	 * @return the first state at or after inFrom in the node that takes the
+	 *         segment id, or -1
+	 */
+	private int next(int inNode, String inID, int inFrom) {
+		for (int s : nodeTransitions.get(inNode).getOrDefault(inID, NONE)) {
+			if (s >= inFrom) {
+				return s;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return number of states in the machine
+	 */
+	public int getStateCount() {
+		return stateTemplate.length;
+	}
+
+	/** an open table or loop */
+	private static final class Frame {
+		final MetaContainer container;
+		final int node;
+		int state;
+		boolean isUsed = false;
+		boolean foundButNotQuiteRight = false;
+		String foundId = "";
+
+		Frame(MetaContainer inContainer, int inNode, int inState) {
+			container = inContainer;
+			node = inNode;
+			state = inState;
+		}
+	}
+
+	/**
+	 * parses the transaction set's tables, same result as TransactionSet.parse
+	 *
+	 * @param inTS       transaction set built from the compiled template
+	 * @param inTokenizer tokenizer positioned after the ST or UNH segment
+	 * @return boolean true if a table used a segment
+	 * @throws OBOEException
+	 */
+	public boolean parse(TransactionSet inTS, ITokenizer inTokenizer) throws OBOEException {
+		boolean used = false;
+		if (inTS.headerTable != null) {
+			used |= run(inTS.headerTable, headerNode, inTokenizer);
+		}
+		if (inTS.detailTable != null) {
+			used |= run(inTS.detailTable, detailNode, inTokenizer);
+		}
+		if (inTS.summaryTable != null) {
+			used |= run(inTS.summaryTable, summaryNode, inTokenizer);
+		}
+		return used;
+	}
+
+	private boolean run(MetaContainer inTable, int inNode, ITokenizer inTokenizer) throws OBOEException {
+		ArrayDeque<Frame> stack = new ArrayDeque<>();
+		inTable.byteOffset = inTokenizer.getInputByteCount();
+		stack.push(new Frame(inTable, inNode, nodeFirstState.get(inNode)));
+
+		while (true) {
+			Frame frame = stack.peek();
+			boolean result;
+			String nextToken = inTokenizer.getCurrentDataElement();
+			frame.foundId = nextToken;
+			if (nextToken == null) {
+				result = false;
+			} else {
+				int state = next(frame.node, nextToken, frame.state);
+				if (state < 0) {
+					if (frame.foundButNotQuiteRight) {
+						logr.info(
+								"Segment with id {} not used here. If using equivalent segments check the primary id value field for correctness. Near byte offset [{}]",
+								frame.foundId, frame.container.byteOffset);
+					}
+					result = frame.isUsed;
+				} else {
+					frame.state = state;
+					IContainedObject elms = stateTemplate[state];
+					if (elms.getContainerType() == ContainerType.Loop) {
+						TemplateLoop templateLoop = (TemplateLoop) elms;
+						frame.foundButNotQuiteRight = true;
+						if (templateLoop.canYouPrevalidate() && !templateLoop.isThisYou(inTokenizer)) {
+							frame.state++;
+							frame.isUsed = false;
+							continue;
+						}
+						if (templateLoop.getOccurs() == frame.container.getLoopCnt(nextToken)
+								&& templateLoop.getOccurs() != -1) {
+							inTokenizer.reportError(
+									"Duplicate loop or segment at byte offset(" + inTokenizer.getInputByteCount() + ")",
+									frame.container, "2", frame.container, DocumentErrors.ERROR_TYPE.Integrity);
+							result = true;
+						} else {
+							frame.foundButNotQuiteRight = false;
+							var currentLoop = new Loop(templateLoop, frame.container);
+							frame.container.addLoop(currentLoop);
+							currentLoop.byteOffset = inTokenizer.getInputByteCount();
+							stack.push(new Frame(currentLoop, stateChild[state], nodeFirstState.get(stateChild[state])));
+							continue;
+						}
+					} else {
+						TemplateSegment templateSegment = (TemplateSegment) elms;
+						frame.foundButNotQuiteRight = true;
+						if (templateSegment.canYouPrevalidate() && !templateSegment.isThisYou(inTokenizer)) {
+							frame.state++;
+							frame.isUsed = false;
+							continue;
+						}
+						frame.foundButNotQuiteRight = false;
+						var currentSegment = new Segment(templateSegment, frame.container);
+						currentSegment.setByteOffset(inTokenizer.getInputByteCount());
+						frame.container.addSegment(currentSegment);
+						SegmentParser.parse(currentSegment, inTokenizer);
+						if (templateSegment.getOccurs() == 1 && stateRestart[state] < 0) {
+							frame.state++;
+							continue;
+						}
+						if (stateRestart[state] >= 0) {
+							frame.state = stateRestart[state];
+						}
+						frame.isUsed = true;
+						continue;
+					}
+				}
+			}
+
+			// the container is done, hand control back to the one holding it
+			stack.pop();
+			Frame parent = stack.peek();
+			if (parent == null) {
+				return result;
+			}
+			TemplateLoop templateLoop = (TemplateLoop) stateTemplate[parent.state];
+			parent.isUsed = true;
+			if (templateLoop.getOccurs() == 1) {
+				parent.state++;
+			} else if (stateRestart[parent.state] >= 0) {
+				parent.state = stateRestart[parent.state];
+			}
+		}
+	}
+}
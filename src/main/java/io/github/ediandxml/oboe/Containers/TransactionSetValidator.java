@@ -0,0 +1,99 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe.Containers;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+
+import io.github.ediandxml.oboe.IContainedObject;
+import io.github.ediandxml.oboe.Errors.DocumentErrors;
+import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.util.Util;
+
+/**
+ * OBOE - Open Business Objects for EDI
+ * <p>
+ * runs the validation of a functional group's transaction sets. When
+ * OBOE.properties has parallelValidation=true each transaction set is
+ * validated as its own task with its own DocumentErrors, and the errors are
+ * appended to the caller's DocumentErrors in document order once all tasks
+ * are done, so the result is the same as validating one after the other.
+ * <p>
+ * Tasks run on the common fork join pool unless another executor is set.
+ *
+ * @author Joe McVerry
+ */
+public final class TransactionSetValidator {
+
+	private static volatile Executor executor = null;
+
+	private TransactionSetValidator() {
+	}
+
+	/**
+	 * sets where the validation tasks run
+	 *
+	 * @param inExecutor executor, null for the common fork join pool
+	 */
+	public static void setExecutor(Executor inExecutor) {
+		executor = inExecutor;
+	}
+
+	/**
+	 * validates each transaction set
+	 *
+	 * @param inSets       the transaction sets, in document order
+	 * @param inValidation validates one transaction set into the DocumentErrors
+	 *                     it is given
+	 * @param inDErr       where the errors end up
+	 */
+	public static void validate(List<? extends IContainedObject> inSets,
+			BiConsumer<TransactionSet, DocumentErrors> inValidation, DocumentErrors inDErr) {
+		if (inSets.size() < 2 || Util.propertyFileIndicatesParallelValidation() == false) {
+			for (IContainedObject ts : inSets) {
+				inValidation.accept((TransactionSet) ts, inDErr);
+			}
+			return;
+		}
+
+		Executor runOn = Objects.requireNonNullElse(executor, ForkJoinPool.commonPool());
+		List<CompletableFuture<DocumentErrors>> tasks = inSets.stream()
+				.map(ts -> CompletableFuture.supplyAsync(() -> {
+					DocumentErrors taskErrors = inDErr.createTaskErrors();
+					inValidation.accept((TransactionSet) ts, taskErrors);
+					return taskErrors;
+				}, runOn)).toList();
+
+		for (CompletableFuture<DocumentErrors> task : tasks) {
+			try {
+				inDErr.addAll(task.join());
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				throw new OBOEException(e.getMessage());
+			}
+		}
+	}
+}
@@ -32,8 +32,6 @@ import io.github.ediandxml.oboe.IContainedObject;
 
 public class CharDE extends DataElement {
 
-	protected String value[];
-
 	protected int cursor = -1;
 
 	/**
@@ -44,7 +42,6 @@ public class CharDE extends DataElement {
 	 */
 	public CharDE(TemplateDataElement inTDE, IContainedObject inParent) {
 		super(inTDE, inParent);
-		value = new String[inTDE.getOccurs()];
 	}
 
 	/**
@@ -56,13 +53,11 @@ public class CharDE extends DataElement {
 	 */
 	@Override
 	public int getLength() {
-		if (value == null) {
-			return 0;
-		}
 		int len = 0;
-		for (int i = 0; i < getOccurs(); i++) {
-			if (value[i] != null) {
-				len += value[i].length();
+		for (int i = 0; i < getValueSlots(); i++) {
+			String value = getValue(i);
+			if (value != null) {
+				len += value.length();
 			}
 		}
 		return len;
@@ -78,7 +73,7 @@ public class CharDE extends DataElement {
 	public void set(String inValue) {
 
 		cursor = 0;
-		value[cursor] = inValue;
+		setValue(cursor, inValue);
 	}
 
 	/**
@@ -98,7 +93,7 @@ public class CharDE extends DataElement {
 				inValue += ' ';
 			}
 		}
-		value[cursor] = inValue;
+		setValue(cursor, inValue);
 	}
 
 	/**
@@ -135,18 +130,20 @@ public class CharDE extends DataElement {
 	@Override
 	public String get(int inPos) {
 
-		if (value[inPos] == null) {
+		String value = getValue(inPos);
+		if (value == null) {
 			return null;
 		}
-		if (value[inPos].length() == 0) {
-			return value[inPos];
+		if (value.length() == 0) {
+			return value;
 		}
-		StringBuilder sb = new StringBuilder(value[inPos]);
-		for (int i = value[inPos].length(); i < getMinLength(); i++) {
+		StringBuilder sb = new StringBuilder(value);
+		for (int i = value.length(); i < getMinLength(); i++) {
 			sb.append(' ');
 		}
-		value[inPos] = sb.toString();
-		return value[inPos];
+		value = sb.toString();
+		setValue(inPos, value);
+		return value;
 	}
 
 	/**
@@ -164,11 +161,11 @@ public class CharDE extends DataElement {
 		StringBuilder sb = new StringBuilder();
 		String got;
 		int repeatCnt = -1;
-		for (repeatCnt = value.length - 1; (repeatCnt > -1) && (value[repeatCnt] == null); repeatCnt--) {
+		for (repeatCnt = getValueSlots() - 1; (repeatCnt > -1) && (getValue(repeatCnt) == null); repeatCnt--) {
 			;
 		}
-		for (int ii = 0; ii < value.length; ii++) {
-			if (value[ii] == null) {
+		for (int ii = 0; ii < getValueSlots(); ii++) {
+			if (getValue(ii) == null) {
 				break;
 			}
 			got = get(ii);
@@ -225,7 +222,7 @@ public class CharDE extends DataElement {
 				break;
 
 			default:
-				sb.append("\t" + getName() + ": " + value[0] + Util.lineFeed);
+				sb.append("\t" + getName() + ": " + getValue(0) + Util.lineFeed);
 				break;
 			}
 		}
@@ -253,8 +250,9 @@ public class CharDE extends DataElement {
 	 */
 	@Override
 	public boolean validate(DocumentErrors inDErr) {
+		String value = getValue(0);
 		if (isUsed() == false) {
-			if ((value[0] != null) && (value[0].length() > 0)) {
+			if ((value != null) && (value.length() > 0)) {
 				inDErr.addError(0, getID(), "field is not used, see " + getName() + " at position " + getPosition(),
 						getParent(), "10", this, DocumentErrors.ERROR_TYPE.Integrity);
 				return false;
@@ -264,36 +262,36 @@ public class CharDE extends DataElement {
 		}
 
 		if (isRequired()) {
-			if ((value[0] == null) || (value[0].length() == 0)) {
+			if ((value == null) || (value.length() == 0)) {
 				inDErr.addError(0, getID(), "Value Required, see " + getName() + " at position " + getPosition(),
 						getParent(), "1", this, DocumentErrors.ERROR_TYPE.Integrity);
 				return false;
 			}
 		} else // not required
-		if ((value[0] == null) || (value[0].length() == 0)) {
+		if ((value == null) || (value.length() == 0)) {
 			return true;
 		}
 
-		if (value[0].length() < getMinLength()) {
+		if (value.length() < getMinLength()) {
 			inDErr.addError(
-					getPosition(), getID(), "Data element value (" + value[0] + ") Too Short, see " + getName()
+					getPosition(), getID(), "Data element value (" + value + ") Too Short, see " + getName()
 							+ " at position " + getPosition(),
 					getParent(), "4", this, DocumentErrors.ERROR_TYPE.Integrity);
 			return false;
 		}
 
-		if (value[0].length() > getMaxLength()) {
+		if (value.length() > getMaxLength()) {
 			inDErr.addError(
-					getPosition(), getID(), "Data element value (" + value[0] + ") Too Long, see " + getName()
+					getPosition(), getID(), "Data element value (" + value + ") Too Long, see " + getName()
 							+ " at position " + getPosition(),
 					getParent(), "5", this, DocumentErrors.ERROR_TYPE.Integrity);
 			return false;
 		}
 
-		int pos = Util.isValidForCharacterSet(value[0]);
+		int pos = Util.isValidForCharacterSet(value);
 		if (pos > -1) {
 			inDErr.addError(getPosition(), getID(),
-					"Invalid character data at index " + pos + " for element with value (" + value[0] + ") " + getName()
+					"Invalid character data at index " + pos + " for element with value (" + value + ") " + getName()
 							+ " at position " + getPosition(),
 					getParent(), "5", this, DocumentErrors.ERROR_TYPE.Integrity);
 			return false;
@@ -314,14 +312,14 @@ public class CharDE extends DataElement {
 	@Override
 	public void useDefault() {
 		if (myTemplate != null) {
-			value[0] = ((TemplateDataElement) myTemplate).getDefault();
+			setValue(0, ((TemplateDataElement) myTemplate).getDefault());
 		} else {
 			char set[] = new char[getMinLength()];
 
 			for (int pos = 0; pos < getMinLength(); pos++) {
 				set[pos] = ' ';
 			}
-			value[0] = new String(set);
+			setValue(0, new String(set));
 		}
 
 	}
@@ -332,13 +330,13 @@ public class CharDE extends DataElement {
 	 */
 	@Override
 	public int getRepeatCount() {
-		for (int i = 0; i < value.length; i++) {
-			if (value[i] == null) {
+		for (int i = 0; i < getValueSlots(); i++) {
+			if (getValue(i) == null) {
 				return i;
 			}
 		}
 
-		return value.length;
+		return getValueSlots();
 	}
 
 }
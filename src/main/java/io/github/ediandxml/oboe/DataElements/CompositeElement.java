@@ -16,6 +16,7 @@
 
 package io.github.ediandxml.oboe.DataElements;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 import org.apache.logging.log4j.LogManager;
@@ -111,46 +112,65 @@ public class CompositeElement extends Element implements IElementContainer, ICon
 
 	@Override
 	public String getFormattedText(Format format) {
+		StringBuilder sbFormattedText = new StringBuilder();
+		try {
+			appendFormattedText(sbFormattedText, format);
+		} catch (IOException e) {
+			// a StringBuilder does not throw
+			throw new OBOEException(e.getMessage());
+		}
+		return sbFormattedText.toString();
+	}
+
+	/**
+	 * like getFormattedText; appends to a Writer, StringBuilder or other
+	 * Appendable instead of building a string.
+	 *
+	 * @param inAppendable - object appended to
+	 * @param format       - format type see TransactionSet
+	 * @exception IOException
+	 */
+	@Override
+	public void appendFormattedText(Appendable inAppendable, Format format) throws IOException {
 
 		if (getOccurs() > 1) {
 			resetCursor();
 		}
 		if (currentElementContainer.hasText() == false) {
-			return "";
+			return;
 		}
 
 		if (groupOfMyElements.size() == 0) {
 			if ((format == Format.X12_FORMAT) || (format == Format.EDIFACT_FORMAT)
 					|| (format == Format.TRADACOMS_FORMAT)) {
-				return "";
+				return;
 			}
 		}
 
-		StringBuilder sbFormattedText = new StringBuilder();
 
 		for (var ec : groupOfMyElements) {
 
 			switch (format) {
 			case CSV_FORMAT:
-				sbFormattedText.append("Composite DE," + getID() + "," + getName() + "\"" + Util.lineFeed);
+				inAppendable.append("Composite DE," + getID() + "," + getName() + "\"" + Util.lineFeed);
 				break;
 			case XML_FORMAT:
 				if (getShortName() != null) {
-					sbFormattedText.append('<' + getShortName());
-					sbFormattedText.append(">" + Util.lineFeed);
+					inAppendable.append('<' + getShortName());
+					inAppendable.append(">" + Util.lineFeed);
 				} else {
-					sbFormattedText.append('<' + getID());
-					sbFormattedText.append(">" + Util.lineFeed);
+					inAppendable.append('<' + getID());
+					inAppendable.append(">" + Util.lineFeed);
 				}
 				break;
 			case VALID_XML_FORMAT:
 			case VALID_XML_FORMAT_WITH_POSITION:
-				sbFormattedText.append("<composite code=\"" + getID() + "\"");
-				sbFormattedText.append(" name=\"" + getName() + "\"");
+				inAppendable.append("<composite code=\"" + getID() + "\"");
+				inAppendable.append(" name=\"" + getName() + "\"");
 				if (format == Format.VALID_XML_FORMAT_WITH_POSITION) {
-					sbFormattedText.append(" docPosition=\"" + this.getPosition() + "\"");
+					inAppendable.append(" docPosition=\"" + this.getPosition() + "\"");
 				}
-				sbFormattedText.append(">" + Util.lineFeed);
+				inAppendable.append(">" + Util.lineFeed);
 				break;
 
 			case PREBUILD_FORMAT:
@@ -162,23 +182,23 @@ public class CompositeElement extends Element implements IElementContainer, ICon
 			case TRADACOMS_FORMAT:
 				break;
 			default:
-				sbFormattedText.append(getID() + ": ");
+				inAppendable.append(getID() + ": ");
 			}
 
-			sbFormattedText.append(ec.getFormattedText(format));
+			ec.appendFormattedText(inAppendable, format);
 
 			switch (format) {
 			case XML_FORMAT:
 				if (getShortName() != null) {
-					sbFormattedText.append("</" + getShortName() + ">" + Util.lineFeed);
+					inAppendable.append("</" + getShortName() + ">" + Util.lineFeed);
 				} else {
-					sbFormattedText.append("</" + getID() + ">" + Util.lineFeed);
+					inAppendable.append("</" + getID() + ">" + Util.lineFeed);
 				}
 				break;
 			case VALID_XML_FORMAT:
 			case VALID_XML_FORMAT_WITH_POSITION:
 
-				sbFormattedText.append("</composite>" + Util.lineFeed);
+				inAppendable.append("</composite>" + Util.lineFeed);
 				break;
 			case X12_FORMAT:
 				break;
@@ -193,27 +213,24 @@ public class CompositeElement extends Element implements IElementContainer, ICon
 				}
 				switch (format) {
 				case PREBUILD_FORMAT:
-					sbFormattedText.append(Envelope.PREBUILD_REPEAT_DELIMITER.charAt(0));
+					inAppendable.append(Envelope.PREBUILD_REPEAT_DELIMITER.charAt(0));
 					break;
 				case X12_FORMAT:
 					if (Envelope.X12_REPEAT_DELIMITER.charAt(0) != '\u0000') {
-						sbFormattedText.append(Envelope.X12_REPEAT_DELIMITER.charAt(0));
+						inAppendable.append(Envelope.X12_REPEAT_DELIMITER.charAt(0));
 					}
 					break;
 				case EDIFACT_FORMAT:
-					sbFormattedText.append(Envelope.EDIFACT_REPEAT_DELIMITER.charAt(0));
+					inAppendable.append(Envelope.EDIFACT_REPEAT_DELIMITER.charAt(0));
 					break;
 				case TRADACOMS_FORMAT:
-					sbFormattedText.append(Envelope.TRADACOMS_REPEAT_DELIMITER.charAt(0));
+					inAppendable.append(Envelope.TRADACOMS_REPEAT_DELIMITER.charAt(0));
 					break;
 				default:
 					break;
 				}
 			}
 		}
-
-		return new String(sbFormattedText);
-
 	}
 
 	private int resetCursor() {
@@ -27,6 +27,18 @@ import io.github.ediandxml.oboe.IContainedObject;
  */
 
 public abstract class DataElement extends Element implements IContainedObject {
+
+	/**
+	 * the value, or the first one of a repeating element
+	 */
+	private String firstValue;
+
+	/**
+	 * values after the first, only built when a repeat is set and only as large
+	 * as needed
+	 */
+	private String moreValues[];
+
 	/**
 	 * templateDE representing this DataELement
 	 */
@@ -78,6 +90,107 @@ public abstract class DataElement extends Element implements IContainedObject {
 
 	}
 
+	/**
+	 * gets a stored value, no formatting
+	 *
+	 * @param inPos int position in array of repeating elements
+	 * @return String null if not set
+	 */
+	protected String getValue(int inPos) {
+		if (inPos == 0) {
+			return firstValue;
+		}
+		if (moreValues == null || inPos > moreValues.length) {
+			if (inPos < 0 || inPos >= getOccurs()) {
+				throw new ArrayIndexOutOfBoundsException(inPos);
+			}
+			return null;
+		}
+		return moreValues[inPos - 1];
+	}
+
+	/**
+	 * stores a value, no formatting
+	 *
+	 * @param inPos   int position in array of repeating elements
+	 * @param inValue String
+	 */
+	protected void setValue(int inPos, String inValue) {
+		if (inPos == 0) {
+			firstValue = inValue;
+			return;
+		}
+		if (moreValues == null || inPos > moreValues.length) {
+			if (inPos < 0 || inPos >= getOccurs()) {
+				throw new ArrayIndexOutOfBoundsException(inPos);
+			}
+			int size = Math.min(Math.max(inPos, moreValues == null ? 1 : moreValues.length * 2), getOccurs() - 1);
+			String newValues[] = new String[size];
+			if (moreValues != null) {
+				System.arraycopy(moreValues, 0, newValues, 0, moreValues.length);
+			}
+			moreValues = newValues;
+		}
+		moreValues[inPos - 1] = inValue;
+	}
+
+	/**
+	 * number of positions that can hold a value without growing, positions past
+	 * it are not set
+	 *
+	 * @return int
+	 */
+	protected int getValueSlots() {
+		return moreValues == null ? 1 : moreValues.length + 1;
+	}
+
+	/**
+	 * reads decimal digits in place instead of parsing a substring
+	 *
+	 * @param inText  CharSequence
+	 * @param inStart int first character
+	 * @param inEnd   int character after the last
+	 * @return int value, -1 if a character is not a digit
+	 */
+	static int parseDigits(CharSequence inText, int inStart, int inEnd) {
+		int result = 0;
+		for (int i = inStart; i < inEnd; i++) {
+			int digit = Character.digit(inText.charAt(i), 10);
+			if (digit < 0) {
+				return -1;
+			}
+			result = (result * 10) + digit;
+		}
+		return result;
+	}
+
+	/**
+	 * checks for a signed decimal number, digits with at most one decimal point,
+	 * in one pass without parsing it
+	 *
+	 * @param inText CharSequence
+	 * @return boolean true if it is a plain number
+	 */
+	static boolean isPlainNumber(CharSequence inText) {
+		int i = 0;
+		if ((inText.length() > 0) && ((inText.charAt(0) == '-') || (inText.charAt(0) == '+'))) {
+			i = 1;
+		}
+		boolean sawDigit = false;
+		boolean sawPoint = false;
+		for (; i < inText.length(); i++) {
+			char c = inText.charAt(i);
+			if ((c >= '0') && (c <= '9')) {
+				sawDigit = true;
+			} else if ((c == '.') && (sawPoint == false)) {
+				sawPoint = true;
+			} else {
+				return false;
+			}
+		}
+		return sawDigit;
+	}
+
 	/**
 	 * returns the number of data elements in a repeating data element.
 	 *
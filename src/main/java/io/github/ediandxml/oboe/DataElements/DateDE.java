@@ -16,8 +16,10 @@
 
 package io.github.ediandxml.oboe.DataElements;
 
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -37,9 +39,10 @@ import io.github.ediandxml.oboe.IContainedObject;
  */
 
 public class DateDE extends DataElement implements IContainedObject {
-	protected String value[];
 	protected int cursor = -1;
-	private Calendar calendar;
+
+	/** immutable so one instance serves every element and thread */
+	private static final DateTimeFormatter READABLE_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy");
 
 	private boolean setLengthIs6 = true;
 	static Logger logr = LogManager.getLogger(DateDE.class);
@@ -52,7 +55,6 @@ public class DateDE extends DataElement implements IContainedObject {
 	 */
 	public DateDE(TemplateDataElement inTDE, IContainedObject inParent) {
 		super(inTDE, inParent);
-		value = new String[inTDE.getOccurs()];
 	}
 
 	/**
@@ -80,32 +82,72 @@ public class DateDE extends DataElement implements IContainedObject {
 	@Override
 	public String get(int inPos) {
 
-		if (value[inPos] == null) {
+		if (getValue(inPos) == null) {
 			return null;
 		}
 
-		if (value[inPos].length() == 0) {
-			return value[inPos];
+		if (getValue(inPos).length() == 0) {
+			return getValue(inPos);
 		}
 
 		// testAndSetValue(inPos);
-		return value[inPos];
+		return getValue(inPos);
+	}
+
+	/**
+	 * century for a two digit year, 00 to 49 are 2000s
+	 */
+	private static int fullYear(int inYear) {
+		return inYear < 50 ? 2000 + inYear : 1900 + inYear;
 	}
 
-	private void testAndSetValue(int inPos) {
-		if (calendar == null) {
-			calendar = Calendar.getInstance();
+	private static int putTwoDigits(char inDigits[], int inPos, int inValue) {
+		inDigits[inPos] = (char) ('0' + (inValue / 10));
+		inDigits[inPos + 1] = (char) ('0' + (inValue % 10));
+		return inPos + 2;
+	}
+
+	/**
+	 * writes YYMMDD or YYYYMMDD
+	 */
+	private static String formatDate(int inYear, int inMonth, int inDay, boolean inShortForm) {
+		char digits[] = new char[inShortForm ? 6 : 8];
+		int pos = 0;
+		if (inShortForm == false) {
+			pos = putTwoDigits(digits, pos, inYear / 100);
 		}
+		pos = putTwoDigits(digits, pos, inYear % 100);
+		pos = putTwoDigits(digits, pos, inMonth);
+		putTwoDigits(digits, pos, inDay);
+		return new String(digits);
+	}
 
-		SimpleDateFormat sdf;
-		if (((getMinLength() == 6) && setLengthIs6) || (getMaxLength() == 6)) {
-			sdf = new SimpleDateFormat("yyMMdd");
+	/**
+	 * value as MMM dd, yyyy, a value that is not a date is returned as is
+	 */
+	private static String readable(String inValue) {
+		int year;
+		int offset;
+		if (inValue.length() == 8) {
+			year = parseDigits(inValue, 0, 4);
+			offset = 4;
+		} else if (inValue.length() == 6) {
+			year = parseDigits(inValue, 0, 2);
+			year = year < 0 ? year : fullYear(year);
+			offset = 2;
 		} else {
-			sdf = new SimpleDateFormat("yyyyMMdd");
+			return inValue;
+		}
+		int month = parseDigits(inValue, offset, offset + 2);
+		int day = parseDigits(inValue, offset + 2, offset + 4);
+		if ((year < 0) || (month < 0) || (day < 0)) {
+			return inValue;
+		}
+		try {
+			return READABLE_FORMAT.format(LocalDate.of(year, month, day));
+		} catch (DateTimeException dte) {
+			return inValue;
 		}
-
-		value[inPos] = sdf.format(calendar.getTime());
-
 	}
 
 	/**
@@ -148,7 +190,7 @@ public class DateDE extends DataElement implements IContainedObject {
 
 		setLengthIs6 = (inDate.length() == 6);
 		if (inDate.length() == 0) {
-			value[cursor] = "";
+			setValue(cursor, "");
 			return;
 		}
 
@@ -156,34 +198,47 @@ public class DateDE extends DataElement implements IContainedObject {
 			inDate = inDate.substring(0, 4) + inDate.substring(5, 7) + inDate.substring(8, 10);
 
 		}
-		testAndSetValue(cursor);
 		String vtest = validate(inDate);
 		if ((vtest != null) && (vtest.length() > 0)) {
-			value[cursor] = inDate;
+			setValue(cursor, inDate);
 			throw new OBOEException(vtest);
 		}
 
+		int year;
+		int offset;
 		if (inDate.length() == 6) {
-			if (Integer.parseInt(inDate.substring(0, 2)) < 50) {
-				if (getMinLength() == 8) {
+			year = parseDigits(inDate, 0, 2);
+			if (getMinLength() == 8) {
+				if (year < 50) {
 					logr.error("Date not Y2K compliant '20' will be prepended");
-				}
-				calendar.set(Calendar.YEAR, 2000 + Integer.parseInt(inDate.substring(0, 2)));
-			} else {
-				if (getMinLength() == 8) {
+				} else {
 					logr.error("Date not Y2K compliant '19' will be prepended");
 				}
-				calendar.set(Calendar.YEAR, 1900 + Integer.parseInt(inDate.substring(0, 2)));
 			}
-			calendar.set(Calendar.MONTH, Integer.parseInt(inDate.substring(2, 4)) - 1);
-			calendar.set(Calendar.DAY_OF_MONTH, Integer.parseInt(inDate.substring(4, 6)));
+			year = fullYear(year);
+			offset = 2;
 		} else if (inDate.length() == 8) {
-			calendar.set(Calendar.YEAR, Integer.parseInt(inDate.substring(0, 4)));
-			calendar.set(Calendar.MONTH, Integer.parseInt(inDate.substring(4, 6)) - 1);
-			calendar.set(Calendar.DAY_OF_MONTH, Integer.parseInt(inDate.substring(6, 8)));
+			year = parseDigits(inDate, 0, 4);
+			offset = 4;
+		} else {
+			setValue(cursor, inDate);
+			return;
+		}
+		int month = parseDigits(inDate, offset, offset + 2);
+		int day = parseDigits(inDate, offset + 2, offset + 4);
+
+		boolean shortForm = ((getMinLength() == 6) && setLengthIs6) || (getMaxLength() == 6);
+		if ((month == 2) && (day == 29) && (Year.isLeap(year) == false)) {
+			// validate only checks the year by 4, 1900 and 2100 roll over to March
+			month = 3;
+			day = 1;
+		} else if (inDate.length() == (shortForm ? 6 : 8)) {
+			// already in the stored form
+			setValue(cursor, inDate);
+			return;
 		}
 
-		testAndSetValue(cursor);
+		setValue(cursor, formatDate(year, month, day, shortForm));
 
 	}
 
@@ -209,13 +264,10 @@ public class DateDE extends DataElement implements IContainedObject {
 	 */
 	@Override
 	public int getLength() {
-		if (value == null) {
-			return 0;
-		}
 		int len = 0;
-		for (int i = 0; i < getOccurs(); i++) {
-			if (value[i] != null) {
-				len += value[i].length();
+		for (int i = 0; i < getValueSlots(); i++) {
+			if (getValue(i) != null) {
+				len += getValue(i).length();
 			}
 		}
 		return len;
@@ -233,16 +285,14 @@ public class DateDE extends DataElement implements IContainedObject {
 	@Override
 	public String getFormattedText(Format format) {
 
-		SimpleDateFormat sdf = new SimpleDateFormat("MMM dd, yyyy");
-
 		StringBuilder sb = new StringBuilder();
 		String got;
 		int repeatCnt = -1;
-		for (repeatCnt = value.length - 1; (repeatCnt > -1) && (value[repeatCnt] == null); repeatCnt--) {
+		for (repeatCnt = getValueSlots() - 1; (repeatCnt > -1) && (getValue(repeatCnt) == null); repeatCnt--) {
 			;
 		}
-		for (int ii = 0; ii < value.length; ii++) {
-			if (value[ii] == null) {
+		for (int ii = 0; ii < getValueSlots(); ii++) {
+			if (getValue(ii) == null) {
 				break;
 			}
 			got = get(ii);
@@ -252,7 +302,7 @@ public class DateDE extends DataElement implements IContainedObject {
 
 			switch (format) {
 			case CSV_FORMAT:
-				sb.append("Date DE," + getID() + ",\"" + getName() + "\",\"" + sdf.format(calendar.getTime()) + "\""
+				sb.append("Date DE," + getID() + ",\"" + getName() + "\",\"" + readable(got) + "\""
 						+ Util.lineFeed);
 				break;
 			case XML_FORMAT:
@@ -296,7 +346,7 @@ public class DateDE extends DataElement implements IContainedObject {
 				break;
 			default:
 				if ((got != null) && (got.length() > 0)) {
-					got = sdf.format(calendar.getTime());
+					got = readable(got);
 				}
 				sb.append("\t" + getName() + ": " + got + Util.lineFeed);
 			}
@@ -319,8 +369,6 @@ public class DateDE extends DataElement implements IContainedObject {
 
 		returnMessage = "";
 
-		String dd;
-
 		int i;
 		for (i = 0; i < inText.length(); i++) {
 			if (Character.isDigit(inText.charAt(i)) == false) {
@@ -335,50 +383,33 @@ public class DateDE extends DataElement implements IContainedObject {
 		int offset = 2;
 
 		if (inText.length() == 8) {
-			dd = inText.substring(0, 4);
-			i = Integer.parseInt(dd);
+			i = parseDigits(inText, 0, 4);
 			if ((i < 1850) || (i > 2150)) {
-				return "invalid year " + dd;
+				return "invalid year " + inText.substring(0, 4);
 			}
 			offset = 4;
 		} else {
-			dd = inText.substring(0, 2);
-			i = Integer.parseInt(dd);
+			i = parseDigits(inText, 0, 2);
 		}
 
-		dd = inText.substring(offset, offset + 2);
-		int m = Integer.parseInt(dd);
+		int m = parseDigits(inText, offset, offset + 2);
 		if ((m < 1) || (m > 12)) {
-			return "invalid month " + dd;
+			return "invalid month " + inText.substring(offset, offset + 2);
 		}
 
 		offset += 2;
-		dd = inText.substring(offset, offset + 2);
-		int d = Integer.parseInt(dd);
-		if (d < 1) {
-			return "invalid day " + dd;
-		}
+		int d = parseDigits(inText, offset, offset + 2);
 
-		if ((i % 4) == 0) {
-			if (m == 2) {
-				if (d > 29) {
-					return "invalid day " + dd;
-				}
-			}
+		int lastDay;
+		if (m == 2) {
+			lastDay = ((i % 4) == 0) ? 29 : 28;
+		} else if ((m == 9) || (m == 4) || (m == 6) || (m == 11)) {
+			lastDay = 30;
 		} else {
-			if (m == 2) {
-				if (d > 28) {
-					return "invalid day " + dd;
-				}
-			}
+			lastDay = 31;
 		}
-
-		if ((m == 9) || (m == 4) || (m == 6) || (m == 11)) {
-			if (d > 30) {
-				return "invalid day " + dd;
-			}
-		} else if (d > 31) {
-			return "invalid day " + dd;
+		if ((d < 1) || (d > lastDay)) {
+			return "invalid day " + inText.substring(offset, offset + 2);
 		}
 
 		return null;
@@ -393,7 +424,7 @@ public class DateDE extends DataElement implements IContainedObject {
 	@Override
 	public boolean validate(DocumentErrors inDErr) {
 		if (isUsed() == false) {
-			if ((value[0] != null) && (value[0].length() > 0)) {
+			if ((getValue(0) != null) && (getValue(0).length() > 0)) {
 				inDErr.addError(0, getID(), "field is not used, see " + getName() + " at position " + getPosition(),
 						getParent(), "10", this, DocumentErrors.ERROR_TYPE.Integrity);
 				return false;
@@ -403,27 +434,27 @@ public class DateDE extends DataElement implements IContainedObject {
 		}
 
 		if (isRequired()) {
-			if ((value[0] == null) || (value[0].length() == 0)) {
+			if ((getValue(0) == null) || (getValue(0).length() == 0)) {
 				inDErr.addError(0, getID(), "Value Required, see " + getName() + " at position " + getPosition(),
 						getParent(), "1", this, DocumentErrors.ERROR_TYPE.Integrity);
 				return false;
 			}
 		} else // not required
-		if ((value[0] == null) || (value[0].length() == 0)) {
+		if ((getValue(0) == null) || (getValue(0).length() == 0)) {
 			return true;
 		}
 
-		if (value[0].length() < getMinLength()) {
+		if (getValue(0).length() < getMinLength()) {
 			inDErr.addError(
-					getPosition(), getID(), "Data element value (" + value[0] + ") Too Short, see " + getName()
+					getPosition(), getID(), "Data element value (" + getValue(0) + ") Too Short, see " + getName()
 							+ " at position " + getPosition(),
 					getParent(), "4", this, DocumentErrors.ERROR_TYPE.Integrity);
 			return false;
 		}
 
-		if (value[0].length() > getMaxLength()) {
+		if (getValue(0).length() > getMaxLength()) {
 			inDErr.addError(
-					getPosition(), getID(), "Data element value (" + value[0] + ") Too Long, see " + getName()
+					getPosition(), getID(), "Data element value (" + getValue(0) + ") Too Long, see " + getName()
 							+ " at position " + getPosition(),
 					getParent(), "5", this, DocumentErrors.ERROR_TYPE.Integrity);
 			return false;
@@ -444,14 +475,14 @@ public class DateDE extends DataElement implements IContainedObject {
 	@Override
 	public void useDefault() {
 		if (myTemplate != null) {
-			value[0] = ((TemplateDataElement) myTemplate).getDefault();
+			setValue(0, ((TemplateDataElement) myTemplate).getDefault());
 		} else {
 			char set[] = new char[getMinLength()];
 
 			for (int pos = 0; pos < getMinLength(); pos++) {
 				set[pos] = ' ';
 			}
-			value[0] = new String(set);
+			setValue(0, new String(set));
 		}
 
 	}
@@ -462,13 +493,13 @@ public class DateDE extends DataElement implements IContainedObject {
 	 */
 	@Override
 	public int getRepeatCount() {
-		for (int i = 0; i < value.length; i++) {
-			if (value[i] == null) {
+		for (int i = 0; i < getValueSlots(); i++) {
+			if (getValue(i) == null) {
 				return i;
 			}
 		}
 
-		return value.length;
+		return getValueSlots();
 	}
 
 }
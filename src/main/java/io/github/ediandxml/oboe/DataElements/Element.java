@@ -16,6 +16,8 @@
 
 package io.github.ediandxml.oboe.DataElements;
 
+import java.io.IOException;
+
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Templates.TemplateElement;
 import io.github.ediandxml.oboe.Format;
@@ -126,6 +128,17 @@ public abstract class Element implements IContainedObject {
 
 	public abstract String getFormattedText(Format format);
 
+	/**
+	 * appends the formatted text
+	 *
+	 * @param inAppendable Writer, StringBuilder...
+	 * @param format       x12, EDIFACT...
+	 * @throws IOException
+	 */
+	public void appendFormattedText(Appendable inAppendable, Format format) throws IOException {
+		inAppendable.append(getFormattedText(format));
+	}
+
 	/**
 	 * returns error responses of contents
 	 *
@@ -32,7 +32,6 @@ import io.github.ediandxml.oboe.IContainedObject;
 
 public class IDDE extends DataElement implements IContainedObject {
 
-	protected String value[];
 	protected int cursor = -1;
 
 	/**
@@ -43,7 +42,6 @@ public class IDDE extends DataElement implements IContainedObject {
 	 */
 	public IDDE(TemplateDataElement inTDE, IContainedObject inParent) {
 		super(inTDE, inParent);
-		value = new String[inTDE.getOccurs()];
 	}
 
 	/**
@@ -55,13 +53,10 @@ public class IDDE extends DataElement implements IContainedObject {
 	 */
 	@Override
 	public int getLength() {
-		if (value == null) {
-			return 0;
-		}
 		int len = 0;
-		for (int i = 0; i < getOccurs(); i++) {
-			if (value[i] != null) {
-				len += value[i].length();
+		for (int i = 0; i < getValueSlots(); i++) {
+			if (getValue(i) != null) {
+				len += getValue(i).length();
 			}
 		}
 		return len;
@@ -76,7 +71,7 @@ public class IDDE extends DataElement implements IContainedObject {
 	@Override
 	public void set(String inValue) {
 		cursor = 0;
-		value[cursor] = inValue;
+		setValue(cursor, inValue);
 	}
 
 	/**
@@ -91,7 +86,7 @@ public class IDDE extends DataElement implements IContainedObject {
 		if (cursor >= getOccurs()) {
 			cursor = 0;
 		}
-		value[cursor] = inValue;
+		setValue(cursor, inValue);
 	}
 
 	/**
@@ -127,18 +122,18 @@ public class IDDE extends DataElement implements IContainedObject {
 
 	@Override
 	public String get(int inPos) {
-		if (value[inPos] == null) {
+		if (getValue(inPos) == null) {
 			return null;
 		}
-		if (value[inPos].length() == 0) {
-			return value[inPos];
+		if (getValue(inPos).length() == 0) {
+			return getValue(inPos);
 		}
-		StringBuilder sb = new StringBuilder(value[inPos]);
-		for (int i = value[inPos].length(); i < getMinLength(); i++) {
+		StringBuilder sb = new StringBuilder(getValue(inPos));
+		for (int i = getValue(inPos).length(); i < getMinLength(); i++) {
 			sb.append(' ');
 		}
-		value[inPos] = sb.toString();
-		return value[inPos];
+		setValue(inPos, sb.toString());
+		return getValue(inPos);
 	}
 
 	/**
@@ -162,7 +157,7 @@ public class IDDE extends DataElement implements IContainedObject {
 	 */
 	public String describe() {
 
-		return describe(value[0]);
+		return describe(getValue(0));
 	}
 
 	/**
@@ -203,11 +198,11 @@ public class IDDE extends DataElement implements IContainedObject {
 		StringBuilder sb = new StringBuilder();
 		String got;
 		int repeatCnt = -1;
-		for (repeatCnt = value.length - 1; (repeatCnt > -1) && (value[repeatCnt] == null); repeatCnt--) {
+		for (repeatCnt = getValueSlots() - 1; (repeatCnt > -1) && (getValue(repeatCnt) == null); repeatCnt--) {
 			;
 		}
-		for (int ii = 0; ii < value.length; ii++) {
-			if (value[ii] == null) {
+		for (int ii = 0; ii < getValueSlots(); ii++) {
+			if (getValue(ii) == null) {
 				break;
 			}
 			got = get(ii);
@@ -322,7 +317,7 @@ public class IDDE extends DataElement implements IContainedObject {
 	public boolean validate(DocumentErrors inDErr) {
 
 		if (isUsed() == false) {
-			if ((value[0] != null) && (value[0].length() > 0)) {
+			if ((getValue(0) != null) && (getValue(0).length() > 0)) {
 				inDErr.addError(0, getID(), "field is not used, see " + getName() + " at position " + getPosition(),
 						getParent(), "10", this, DocumentErrors.ERROR_TYPE.Integrity);
 				return false;
@@ -332,39 +327,39 @@ public class IDDE extends DataElement implements IContainedObject {
 		}
 
 		if (isRequired()) {
-			if ((value[0] == null) || (value[0].length() == 0)) {
+			if ((getValue(0) == null) || (getValue(0).length() == 0)) {
 				inDErr.addError(0, getID(), "value[0] Required, see " + getName() + " at position " + getPosition(),
 						getParent(), "1", this, DocumentErrors.ERROR_TYPE.Integrity);
 				return false;
 			}
 		} else // not required
-		if ((value[0] == null) || (value[0].length() == 0)) {
+		if ((getValue(0) == null) || (getValue(0).length() == 0)) {
 			return true;
 		}
 
-		if (value[0].length() < getMinLength()) {
+		if (getValue(0).length() < getMinLength()) {
 			inDErr.addError(
-					getPosition(), getID(), "Data element value (" + value[0] + ") Too Short, see " + getName()
+					getPosition(), getID(), "Data element value (" + getValue(0) + ") Too Short, see " + getName()
 							+ " at position " + getPosition(),
 					getParent(), "4", this, DocumentErrors.ERROR_TYPE.Integrity);
 			return false;
 		}
 
-		if (value[0].length() > getMaxLength()) {
+		if (getValue(0).length() > getMaxLength()) {
 			inDErr.addError(
-					getPosition(), getID(), "Data element value (" + value[0] + ") Too Long, see " + getName()
+					getPosition(), getID(), "Data element value (" + getValue(0) + ") Too Long, see " + getName()
 							+ " at position " + getPosition(),
 					getParent(), "5", this, DocumentErrors.ERROR_TYPE.Integrity);
 			return false;
 		}
 
-		if (value[0] == null) {
+		if (getValue(0) == null) {
 			return true;
 		}
 
-		if (isCodeValid(value[0]) == false) {
+		if (isCodeValid(getValue(0)) == false) {
 			inDErr.addError(
-					getPosition(), getID(), "Invalid ID dataelement text (" + value[0] + "), see " + getName()
+					getPosition(), getID(), "Invalid ID dataelement text (" + getValue(0) + "), see " + getName()
 							+ " at position " + getPosition(),
 					getParent(), "7", this, DocumentErrors.ERROR_TYPE.Integrity);
 			return false;
@@ -385,14 +380,14 @@ public class IDDE extends DataElement implements IContainedObject {
 	@Override
 	public void useDefault() {
 		if (myTemplate != null) {
-			value[0] = ((TemplateDataElement) myTemplate).getDefault();
+			setValue(0, ((TemplateDataElement) myTemplate).getDefault());
 		} else {
 			char set[] = new char[getMinLength()];
 
 			for (int pos = 0; pos < getMinLength(); pos++) {
 				set[pos] = ' ';
 			}
-			value[0] = new String(set);
+			setValue(0, new String(set));
 		}
 
 	}
@@ -403,13 +398,13 @@ public class IDDE extends DataElement implements IContainedObject {
 	 */
 	@Override
 	public int getRepeatCount() {
-		for (int i = 0; i < value.length; i++) {
-			if (value[i] == null) {
+		for (int i = 0; i < getValueSlots(); i++) {
+			if (getValue(i) == null) {
 				return i;
 			}
 		}
 
-		return value.length;
+		return getValueSlots();
 	}
 
 }
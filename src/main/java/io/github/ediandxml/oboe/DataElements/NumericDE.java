@@ -17,7 +17,6 @@
 package io.github.ediandxml.oboe.DataElements;
 
 import java.text.DecimalFormatSymbols;
-import java.text.NumberFormat;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -39,7 +38,6 @@ import io.github.ediandxml.oboe.IContainedObject;
 
 public class NumericDE extends DataElement implements IContainedObject {
 
-	protected String value[];
 	protected int cursor = -1;
 
 	/**
@@ -60,7 +58,6 @@ public class NumericDE extends DataElement implements IContainedObject {
 	 */
 	public NumericDE(TemplateDataElement inTDE, IContainedObject inParent) {
 		super(inTDE, inParent);
-		value = new String[inTDE.getOccurs()];
 		if (inTDE.getType().length() == 1) {
 			fractionDigits = -1;
 		} else {
@@ -145,18 +142,23 @@ public class NumericDE extends DataElement implements IContainedObject {
 		}
 
 		if (fractionDigits == -1) {
-			value[cursor] = inValue;
+			setValue(cursor, inValue);
 			return;
 		}
 
-		char array[] = new char[getMaxLength()];
+		// sign goes in the same array, digits are right justified after it
+		int signLength = negative ? 1 : 0;
+		char array[] = new char[getMaxLength() + signLength];
 
-		for (i = 0; i < getMaxLength(); i++) {
+		for (i = signLength; i < array.length; i++) {
 			array[i] = '0';
 		}
+		if (negative) {
+			array[0] = dfs.getMinusSign();
+		}
 
-		int j = getMaxLength() - 1;
-		for (i = inValue.length() - 1; (i > -1) && (j > -1); i--, j--) {
+		int j = array.length - 1;
+		for (i = inValue.length() - 1; (i > -1) && (j >= signLength); i--, j--) {
 			if (inValue.charAt(i) == dfs.getMinusSign()) {
 				break;
 			} else {
@@ -164,11 +166,7 @@ public class NumericDE extends DataElement implements IContainedObject {
 			}
 		}
 
-		if (negative) {
-			value[cursor] = dfs.getMinusSign() + new String(array);
-		} else {
-			value[cursor] = new String(array);
-		}
+		setValue(cursor, new String(array));
 
 	}
 
@@ -194,13 +192,10 @@ public class NumericDE extends DataElement implements IContainedObject {
 	 */
 	@Override
 	public int getLength() {
-		if (value == null) {
-			return 0;
-		}
 		int len = 0;
-		for (int i = 0; i < getOccurs(); i++) {
-			if (value[i] != null) {
-				len += value[i].length();
+		for (int i = 0; i < getValueSlots(); i++) {
+			if (getValue(i) != null) {
+				len += getValue(i).length();
 			}
 		}
 		return len;
@@ -226,34 +221,31 @@ public class NumericDE extends DataElement implements IContainedObject {
 	@Override
 	public String get(int inPos) {
 
-		if (value[inPos] == null) {
+		if (getValue(inPos) == null) {
 			return null;
 		}
 
 		if (fractionDigits == -1) {
-			return value[inPos];
+			return getValue(inPos);
 		}
 
+		String value = getValue(inPos);
+		int stop = value.length() - getMinLength();
+		boolean negative = (value.charAt(0) == dfs.getMinusSign());
+		int start = negative ? 1 : 0;
 		int i;
-
-		int stop = value[inPos].length() - getMinLength();
-		boolean negative = (value[inPos].charAt(0) == dfs.getMinusSign());
-		if (negative) {
-			i = 1;
-		} else {
-			i = 0;
-		}
-		for (; i < stop; i++) {
-			if ((value[inPos].charAt(i) > '0') && (value[inPos].charAt(i) <= '9')) {
+		for (i = start; i < stop; i++) {
+			if ((value.charAt(i) > '0') && (value.charAt(i) <= '9')) {
 				break;
 			}
 		}
 
-		value[inPos] = value[inPos].substring(i);
-		if (negative) {
-			value[inPos] = dfs.getMinusSign() + value[inPos];
+		// only copy when there are leading zeros to drop
+		if (i > start) {
+			value = negative ? dfs.getMinusSign() + value.substring(i) : value.substring(i);
+			setValue(inPos, value);
 		}
-		return value[inPos];
+		return value;
 
 	}
 
@@ -276,15 +268,17 @@ public class NumericDE extends DataElement implements IContainedObject {
 	 */
 	@Override
 	public String getFormattedText(Format format) {
-		int i;
+		// the EDI formats write the stored digits, the rest show the decimal point
+		boolean showDecimal = (format != Format.PREBUILD_FORMAT) && (format != Format.X12_FORMAT)
+				&& (format != Format.EDIFACT_FORMAT) && (format != Format.TRADACOMS_FORMAT);
 		StringBuilder sb = new StringBuilder();
 		String got;
 		int repeatCnt = -1;
-		for (repeatCnt = value.length - 1; (repeatCnt > -1) && (value[repeatCnt] == null); repeatCnt--) {
+		for (repeatCnt = getValueSlots() - 1; (repeatCnt > -1) && (getValue(repeatCnt) == null); repeatCnt--) {
 			;
 		}
-		for (int ii = 0; ii < value.length; ii++) {
-			if ((value[ii] == null) && (ii > 0)) {
+		for (int ii = 0; ii < getValueSlots(); ii++) {
+			if ((getValue(ii) == null) && (ii > 0)) {
 				break;
 			}
 			got = get(ii);
@@ -292,30 +286,18 @@ public class NumericDE extends DataElement implements IContainedObject {
 				got = "";
 			}
 
-			if ((fractionDigits > -1) && (got.length() > 0)) {
-				NumberFormat nf = NumberFormat.getNumberInstance();
-				nf.setMinimumFractionDigits(fractionDigits);
-				nf.setMaximumFractionDigits(fractionDigits);
-				nf.setGroupingUsed(false);
+			if (showDecimal && (fractionDigits > -1) && (got.length() > 0)) {
+				String formatted;
 				if (fractionDigits > 0) {
-					nf.setMinimumIntegerDigits(getMinLength() - fractionDigits - 1);
 					// subtract 1 for decimal
-					nf.setMaximumIntegerDigits(getMaxLength() - fractionDigits - 1);
+					formatted = formatImpliedDecimal(got, fractionDigits, getMinLength() - fractionDigits - 1,
+							getMaxLength() - fractionDigits - 1);
 				} else {
-					nf.setMinimumIntegerDigits(getMinLength() - fractionDigits);
-					nf.setMaximumIntegerDigits(getMaxLength() - fractionDigits);
+					formatted = formatImpliedDecimal(got, fractionDigits, getMinLength(), getMaxLength());
 				}
-
-				double d;
-				try {
-					d = Double.valueOf(got.trim()).doubleValue();
-					for (i = 0; i < fractionDigits; i++) {
-						d /= 10;
-					}
-					got = nf.format(d);
-				} catch (java.lang.NumberFormatException e1) {
+				if (formatted != null) {
+					got = formatted;
 				}
-
 			}
 
 			switch (format) {
@@ -391,6 +373,70 @@ public class NumericDE extends DataElement implements IContainedObject {
 
 	}
 
+	/**
+	 * puts the implied decimal point back into stored digits, working on the
+	 * digits themselves so no precision is lost however long the value is. The
+	 * output matches NumberFormat with the fraction digits fixed, no grouping and
+	 * the integer digit limits given: high order integer digits past the maximum
+	 * are dropped and short values are zero padded to the minimum.
+	 *
+	 * @param inValue          String digits with an optional sign
+	 * @param inFractionDigits int number of implied decimal places
+	 * @param inMinInteger     int least number of integer digits
+	 * @param inMaxInteger     int most number of integer digits
+	 * @return String formatted, null if inValue is not a whole number
+	 */
+	static String formatImpliedDecimal(String inValue, int inFractionDigits, int inMinInteger, int inMaxInteger) {
+		int start = 0;
+		int end = inValue.length();
+		while ((start < end) && (inValue.charAt(start) <= ' ')) {
+			start++;
+		}
+		while ((end > start) && (inValue.charAt(end - 1) <= ' ')) {
+			end--;
+		}
+		boolean negative = false;
+		if ((start < end) && ((inValue.charAt(start) == '-') || (inValue.charAt(start) == '+'))) {
+			negative = inValue.charAt(start) == '-';
+			start++;
+		}
+		if (start == end) {
+			return null;
+		}
+		for (int i = start; i < end; i++) {
+			if ((inValue.charAt(i) < '0') || (inValue.charAt(i) > '9')) {
+				return null;
+			}
+		}
+
+		int maxInteger = Math.max(inMaxInteger, 0);
+		int minInteger = Math.min(Math.max(inMinInteger, 0), maxInteger);
+		int point = end - inFractionDigits;
+		int firstSignificant = start;
+		while ((firstSignificant < point) && (inValue.charAt(firstSignificant) == '0')) {
+			firstSignificant++;
+		}
+		int integerDigits = Math.min(Math.max(point - firstSignificant, minInteger), maxInteger);
+
+		StringBuilder sb = new StringBuilder(integerDigits + inFractionDigits + 2);
+		if (negative) {
+			sb.append(dfs.getMinusSign());
+		}
+		// positions before start are leading zeros
+		for (int i = point - integerDigits; i < point; i++) {
+			sb.append(i < start ? '0' : inValue.charAt(i));
+		}
+		if (inFractionDigits > 0) {
+			sb.append(dfs.getDecimalSeparator());
+			for (int i = point; i < end; i++) {
+				sb.append(i < start ? '0' : inValue.charAt(i));
+			}
+		} else if (integerDigits == 0) {
+			sb.append('0');
+		}
+		return sb.toString();
+	}
+
 	/**
 	 * sets NumericDE object using an input string <br>
 	 * use class set method to set values with assumed decimal
@@ -557,8 +603,6 @@ public class NumericDE extends DataElement implements IContainedObject {
 			return returnMessage;
 		}
 
-		returnMessage = "";
-
 		int countDigits = 0;
 		for (int i = 0; i < inText.length(); i++) {
 			if (Character.isDigit(inText.charAt(i))) {
@@ -570,20 +614,15 @@ public class NumericDE extends DataElement implements IContainedObject {
 			return getID() + ": Invalid Number, too many digits";
 		}
 
-		NumberFormat nf = NumberFormat.getNumberInstance();
-		nf.setMinimumFractionDigits(fractionDigits);
-		nf.setMaximumFractionDigits(fractionDigits);
-		nf.setMinimumIntegerDigits(getMinLength());
-		nf.setMaximumIntegerDigits(getMaxLength());
 		String testText = inText.trim();
+		if (isPlainNumber(testText)) {
+			return null;
+		}
+		// anything else Java reads as a number is still accepted
 		try {
-			double d = Double.valueOf(testText).doubleValue();
-			for (int i = 0; i < fractionDigits; i++) {
-				d /= 10;
-			}
-			returnMessage = nf.format(d);
+			Double.parseDouble(testText);
 		} catch (java.lang.NumberFormatException e1) {
-			e1.printStackTrace();
+			logr.debug("{} is not a number", testText);
 			return getID() + ":Invalid Number Format";
 		}
 		return null;
@@ -605,7 +644,7 @@ public class NumericDE extends DataElement implements IContainedObject {
 		}
 
 		if (isUsed() == false) {
-			if ((value[0] != null) && (value[0].length() > 0)) {
+			if ((getValue(0) != null) && (getValue(0).length() > 0)) {
 				inDErr.addError(0, getID(), "field is not used, see " + getName() + " at position " + getPosition(),
 						getParent(), "10", this, DocumentErrors.ERROR_TYPE.Integrity);
 				return false;
@@ -615,29 +654,29 @@ public class NumericDE extends DataElement implements IContainedObject {
 		}
 
 		if (isRequired()) {
-			if ((value[0] == null) || (value[0].length() == 0)) {
+			if ((getValue(0) == null) || (getValue(0).length() == 0)) {
 				inDErr.addError(0, getID(), "value[0] Required, see " + getName() + " at position " + getPosition(),
 						getParent(), "1", this, DocumentErrors.ERROR_TYPE.Integrity);
 				return false;
 			}
 		} else // not required
-		if ((value[0] == null) || (value[0].length() == 0)) {
+		if ((getValue(0) == null) || (getValue(0).length() == 0)) {
 			return true;
 		}
 
-		if (value[0].length() < getMinLength()) {
+		if (getValue(0).length() < getMinLength()) {
 			inDErr.addError(
-					getPosition(), getID(), "Data element value (" + value[0] + ") Too Short, see " + getName()
+					getPosition(), getID(), "Data element value (" + getValue(0) + ") Too Short, see " + getName()
 							+ " at position " + getPosition(),
 					getParent(), "4", this, DocumentErrors.ERROR_TYPE.Integrity);
 			return false;
 		}
 
-		if ((value[0].charAt(0) == '-') && ((value[0].length() - 1) == getMaxLength())) {
+		if ((getValue(0).charAt(0) == '-') && ((getValue(0).length() - 1) == getMaxLength())) {
 			;
-		} else if (value[0].length() > getMaxLength()) {
+		} else if (getValue(0).length() > getMaxLength()) {
 			inDErr.addError(
-					getPosition(), getID(), "Data element value (" + value[0] + ") Too Long, see " + getName()
+					getPosition(), getID(), "Data element value (" + getValue(0) + ") Too Long, see " + getName()
 							+ " at position " + getPosition(),
 					getParent(), "5", this, DocumentErrors.ERROR_TYPE.Integrity);
 			return false;
@@ -658,14 +697,14 @@ public class NumericDE extends DataElement implements IContainedObject {
 	@Override
 	public void useDefault() {
 		if (myTemplate != null) {
-			value[0] = ((TemplateDataElement) myTemplate).getDefault();
+			setValue(0, ((TemplateDataElement) myTemplate).getDefault());
 		} else {
 			char set[] = new char[getMinLength()];
 
 			for (int pos = 0; pos < getMinLength(); pos++) {
 				set[pos] = '0';
 			}
-			value[0] = new String(set);
+			setValue(0, new String(set));
 		}
 
 	}
@@ -676,13 +715,13 @@ public class NumericDE extends DataElement implements IContainedObject {
 	 */
 	@Override
 	public int getRepeatCount() {
-		for (int i = 0; i < value.length; i++) {
-			if (value[i] == null) {
+		for (int i = 0; i < getValueSlots(); i++) {
+			if (getValue(i) == null) {
 				return i;
 			}
 		}
 
-		return value.length;
+		return getValueSlots();
 	}
 
 }
@@ -16,10 +16,8 @@
 
 package io.github.ediandxml.oboe.DataElements;
 
-import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
-import java.text.NumberFormat;
-import java.text.ParseException;
+import java.util.Arrays;
 
 import io.github.ediandxml.oboe.Containers.Envelope;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
@@ -36,10 +34,14 @@ import io.github.ediandxml.oboe.IContainedObject;
 
 public class RealDE extends DataElement {
 
-	protected String value[];
 	protected int savePrecision[];
 	protected int cursor = -1;
 
+	/**
+	 * grouping separator and minus sign of the default locale
+	 */
+	private static final DecimalFormatSymbols dfs = new DecimalFormatSymbols();
+
 	/**
 	 * constructs from its template
 	 *
@@ -48,8 +50,7 @@ public class RealDE extends DataElement {
 	 */
 	public RealDE(TemplateDataElement inTDE, IContainedObject inParent) {
 		super(inTDE, inParent);
-		value = new String[inTDE.getOccurs()];
-		savePrecision = new int[inTDE.getOccurs()];
+		savePrecision = new int[1];
 		cursor++;
 		if (cursor >= getOccurs()) {
 			cursor = 0;
@@ -82,16 +83,18 @@ public class RealDE extends DataElement {
 		if (cursor >= getOccurs()) {
 			cursor = 0;
 		}
+		if (cursor >= savePrecision.length) {
+			savePrecision = Arrays.copyOf(savePrecision,
+					Math.min(Math.max(cursor + 1, savePrecision.length * 2), getOccurs()));
+		}
 
 		inValue = inValue.trim();
 
 		if (inValue.length() == 0) {
-			value[cursor] = "";
+			setValue(cursor, "");
 			return;
 		}
 
-		DecimalFormatSymbols dfs = new DecimalFormatSymbols();
-
 		boolean foundDecimal = false;
 		savePrecision[cursor] = -1;
 		int lastNonZeroFraction = 0;
@@ -127,40 +130,91 @@ public class RealDE extends DataElement {
 
 		}
 
-		DecimalFormat df = new DecimalFormat();
-
-		try {
-			double d = df.parse(inValue).doubleValue();
-			String fmt = "#0";
-			if (savePrecision[cursor] > 0) {
-				if (Util.propertyFileIndicatesRealNumbersRetainPrecision() == true) {
-					fmt += ".";
-					for (int di = 0; di < savePrecision[cursor]; di++) {
-						fmt += "0";
-					}
-				} else if (lastNonZeroFraction > 0) {
-					fmt += ".";
-					for (int di = 0; di < lastNonZeroFraction; di++) {
-						fmt += "0";
-					}
-				}
+		int precision = 0;
+		if (savePrecision[cursor] > 0) {
+			if (Util.propertyFileIndicatesRealNumbersRetainPrecision() == true) {
+				precision = savePrecision[cursor];
+			} else if (lastNonZeroFraction > 0) {
+				precision = lastNonZeroFraction;
 			}
-			NumberFormat fmtr = new DecimalFormat(fmt);
-			value[cursor] = fmtr.format(d);
-			if ((value[cursor].charAt(0) == '0') && (value[cursor].length() > 1)) {
-				if (dfs.getDecimalSeparator() == value[cursor].charAt(1)) {
-					if (value[cursor].length() > getMinLength()) {
-						value[cursor] = value[cursor].substring(1);
-					}
+		}
+		setValue(cursor, formatReal(inValue, precision));
+		if ((getValue(cursor).charAt(0) == '0') && (getValue(cursor).length() > 1)) {
+			if ('.' == getValue(cursor).charAt(1)) {
+				if (getValue(cursor).length() > getMinLength()) {
+					setValue(cursor, getValue(cursor).substring(1));
 				}
 			}
-
-		} catch (ParseException p1) {
-			throw new OBOEException("java parse exception: " + p1.getMessage());
 		}
 
-		value[cursor] = get(cursor);
+		setValue(cursor, get(cursor));
+
+	}
+
+	/**
+	 * reads the number the way DecimalFormat parses it, an optional leading minus
+	 * then digits, grouping separators and a decimal point up to the first
+	 * character that does not belong, and writes it back as #0 with inPrecision
+	 * decimal places. Works on the digits so long values keep every digit.
+	 * Fraction digits past inPrecision are always zeros here so nothing needs
+	 * rounding.
+	 *
+	 * @param inValue     String trimmed, already checked for bad characters
+	 * @param inPrecision int number of decimal places written
+	 * @return String
+	 * @throws OBOEException no digits
+	 */
+	private static String formatReal(String inValue, int inPrecision) throws OBOEException {
+		int start = 0;
+		boolean negative = inValue.charAt(0) == dfs.getMinusSign();
+		if (negative) {
+			start = 1;
+		}
+		int point = -1;
+		boolean sawDigit = false;
+		int end;
+		for (end = start; end < inValue.length(); end++) {
+			char c = inValue.charAt(end);
+			if (Character.isDigit(c)) {
+				sawDigit = true;
+			} else if ((c == '.') && (point < 0)) {
+				point = end;
+			} else if ((c != dfs.getGroupingSeparator()) || (point >= 0)) {
+				// grouping separators are skipped up to the decimal point
+				break;
+			}
+		}
+		if (sawDigit == false) {
+			throw new OBOEException("java parse exception: Unparseable number: \"" + inValue + "\"");
+		}
 
+		StringBuilder sb = new StringBuilder(end - start + inPrecision + 2);
+		if (negative) {
+			sb.append(dfs.getMinusSign());
+		}
+		int integerStart = sb.length();
+		int integerEnd = point < 0 ? end : point;
+		for (int i = start; i < integerEnd; i++) {
+			int digit = Character.digit(inValue.charAt(i), 10);
+			// leading zeros are dropped
+			if ((digit > 0) || ((digit == 0) && (sb.length() > integerStart))) {
+				sb.append((char) ('0' + digit));
+			}
+		}
+		if (sb.length() == integerStart) {
+			sb.append('0');
+		}
+		if (inPrecision > 0) {
+			sb.append('.');
+			int written = 0;
+			for (int i = point + 1; (point >= 0) && (i < end) && (written < inPrecision); i++, written++) {
+				sb.append((char) ('0' + Character.digit(inValue.charAt(i), 10)));
+			}
+			for (; written < inPrecision; written++) {
+				sb.append('0');
+			}
+		}
+		return sb.toString();
 	}
 
 	/**
@@ -187,8 +241,8 @@ public class RealDE extends DataElement {
 	public int getLength() {
 
 		int len = 0;
-		for (int i = 0; i < getOccurs(); i++) {
-			if (value[i] != null) {
+		for (int i = 0; i < getValueSlots(); i++) {
+			if (getValue(i) != null) {
 				len += get(i).length();
 			}
 		}
@@ -216,20 +270,20 @@ public class RealDE extends DataElement {
 	@Override
 	public String get(int inPos) {
 
-		if (value[inPos] == null) {
+		if (getValue(inPos) == null) {
 			return null;
 		}
-		if (value[inPos].length() == 0) {
+		if (getValue(inPos).length() == 0) {
 			return "";
 		}
-		StringBuilder sb = new StringBuilder(value[inPos]);
+		StringBuilder sb = new StringBuilder(getValue(inPos));
 
-		int l = value[inPos].length();
-		if ((l < getMinLength()) || ((l == getMinLength()) && (value[inPos].indexOf('.') > -1))) // ignore
+		int l = getValue(inPos).length();
+		if ((l < getMinLength()) || ((l == getMinLength()) && (getValue(inPos).indexOf('.') > -1))) // ignore
 		// decimal
 		// point
 		{
-			if (value[inPos].indexOf('.') < 0) {
+			if (getValue(inPos).indexOf('.') < 0) {
 				sb.append('.');
 			} else {
 				l--;
@@ -258,8 +312,8 @@ public class RealDE extends DataElement {
 			}
 
 		}
-		value[inPos] = sb.toString();
-		return value[inPos];
+		setValue(inPos, sb.toString());
+		return getValue(inPos);
 	}
 
 	/**
@@ -286,12 +340,12 @@ public class RealDE extends DataElement {
 		StringBuilder sb = new StringBuilder();
 
 		int repeatCnt = -1;
-		for (repeatCnt = value.length - 1; (repeatCnt > -1) && (value[repeatCnt] == null); repeatCnt--) {
+		for (repeatCnt = getValueSlots() - 1; (repeatCnt > -1) && (getValue(repeatCnt) == null); repeatCnt--) {
 			;
 		}
 
-		for (i = 0; i < value.length; i++) {
-			if ((value[i] == null) && (i > 0)) {
+		for (i = 0; i < getValueSlots(); i++) {
+			if ((getValue(i) == null) && (i > 0)) {
 				break;
 			}
 			got = get(i);
@@ -361,7 +415,7 @@ public class RealDE extends DataElement {
 
 			default:
 				sb.append("\t" + getName() + ": ");
-				sb.append(value[i]);
+				sb.append(getValue(i));
 				sb.append(Util.lineFeed);
 			}
 		}
@@ -387,15 +441,12 @@ public class RealDE extends DataElement {
 			// if it was required the super call above catches that
 		}
 
-		NumberFormat nf = NumberFormat.getNumberInstance();
-		nf.setMinimumFractionDigits(getMinLength());
-		nf.setMaximumFractionDigits(getMinLength());
-		nf.setMinimumIntegerDigits(1);
-		nf.setMaximumIntegerDigits(getMaxLength());
-		try {
-			Double.valueOf(inText.trim()).doubleValue();
-		} catch (java.lang.NumberFormatException e1) {
-			returnMessage = "Invalid Real Number Format";
+		if (isPlainNumber(inText.trim()) == false) {
+			try {
+				Double.parseDouble(inText.trim());
+			} catch (java.lang.NumberFormatException e1) {
+				returnMessage = "Invalid Real Number Format";
+			}
 		}
 
 		return null;
@@ -411,7 +462,7 @@ public class RealDE extends DataElement {
 	public boolean validate(DocumentErrors inDErr) {
 
 		if (isUsed() == false) {
-			if ((value[0] != null) && (value[0].length() > 0)) {
+			if ((getValue(0) != null) && (getValue(0).length() > 0)) {
 				inDErr.addError(0, getID(), "field is not used, see " + getName() + " at position " + getPosition(),
 						getParent(), "10", this, DocumentErrors.ERROR_TYPE.Integrity);
 				return false;
@@ -421,27 +472,27 @@ public class RealDE extends DataElement {
 		}
 
 		if (isRequired()) {
-			if ((value[0] == null) || (value[0].length() == 0)) {
+			if ((getValue(0) == null) || (getValue(0).length() == 0)) {
 				inDErr.addError(0, getID(), "value[0] Required, see " + getName() + " at position " + getPosition(),
 						getParent(), "1", this, DocumentErrors.ERROR_TYPE.Integrity);
 				return false;
 			}
 		} else // not required
-		if ((value[0] == null) || (value[0].length() == 0)) {
+		if ((getValue(0) == null) || (getValue(0).length() == 0)) {
 			return true;
 		}
 
-		if (value[0].length() < getMinLength()) {
+		if (getValue(0).length() < getMinLength()) {
 			inDErr.addError(
-					getPosition(), getID(), "Data element value (" + value[0] + ") Too Short, see " + getName()
+					getPosition(), getID(), "Data element value (" + getValue(0) + ") Too Short, see " + getName()
 							+ " at position " + getPosition(),
 					getParent(), "4", this, DocumentErrors.ERROR_TYPE.Integrity);
 			return false;
 		}
 
-		if (value[0].length() > getMaxLength()) {
+		if (getValue(0).length() > getMaxLength()) {
 			inDErr.addError(
-					getPosition(), getID(), "Data element value (" + value[0] + ") Too Long, see " + getName()
+					getPosition(), getID(), "Data element value (" + getValue(0) + ") Too Long, see " + getName()
 							+ " at position " + getPosition(),
 					getParent(), "5", this, DocumentErrors.ERROR_TYPE.Integrity);
 			return false;
@@ -458,14 +509,14 @@ public class RealDE extends DataElement {
 	@Override
 	public void useDefault() {
 		if (myTemplate != null) {
-			value[0] = ((TemplateDataElement) myTemplate).getDefault();
+			setValue(0, ((TemplateDataElement) myTemplate).getDefault());
 		} else {
 			char set[] = new char[getMinLength()];
 
 			for (int pos = 0; pos < getMinLength(); pos++) {
 				set[pos] = ' ';
 			}
-			value[0] = new String(set);
+			setValue(0, new String(set));
 		}
 
 	}
@@ -476,13 +527,13 @@ public class RealDE extends DataElement {
 	 */
 	@Override
 	public int getRepeatCount() {
-		for (int i = 0; i < value.length; i++) {
-			if (value[i] == null) {
+		for (int i = 0; i < getValueSlots(); i++) {
+			if (getValue(i) == null) {
 				return i;
 			}
 		}
 
-		return value.length;
+		return getValueSlots();
 	}
 
 }
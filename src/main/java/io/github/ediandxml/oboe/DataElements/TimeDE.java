@@ -15,9 +15,6 @@
  */
 package io.github.ediandxml.oboe.DataElements;
 
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-
 import io.github.ediandxml.oboe.Containers.Envelope;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.OBOEException;
@@ -31,11 +28,8 @@ import io.github.ediandxml.oboe.IContainedObject;
  * 
  */
 public class TimeDE extends DataElement implements IContainedObject {
-	protected String value[];
 	protected int cursor = -1;
 
-	private Calendar calendar;
-
 	/**
 	 * constructs from its template
 	 *
@@ -44,26 +38,30 @@ public class TimeDE extends DataElement implements IContainedObject {
 	 */
 	public TimeDE(TemplateDataElement inTDE, IContainedObject inParent) {
 		super(inTDE, inParent);
-		value = new String[inTDE.getOccurs()];
 
 	}
 
-	private void testAndSetValue(int inTimeLength) {
-		if (calendar == null) {
-			calendar = Calendar.getInstance();
-		}
-
-		SimpleDateFormat sdf;
-		if ((getMaxLength() == 4) || (inTimeLength == 4)) {
-			sdf = new SimpleDateFormat("HHmm");
-		} else if ((getMaxLength() == 6) || (inTimeLength == 6)) {
-			sdf = new SimpleDateFormat("HHmmss");
-		} else {
-			sdf = new SimpleDateFormat("HHmmssSS");
+	/**
+	 * length of the value written out, HHMM, HHMMSS or all of it with the
+	 * decimal seconds
+	 *
+	 * @param inValue String validated time
+	 * @return int
+	 */
+	private int formattedLength(String inValue) {
+		if ((getMaxLength() == 4) || (inValue.length() == 4)) {
+			return Math.min(4, inValue.length());
+		} else if ((getMaxLength() == 6) || (inValue.length() == 6)) {
+			return Math.min(6, inValue.length());
 		}
+		return inValue.length();
+	}
 
-		value[cursor] = sdf.format(calendar.getTime());
-
+	/**
+	 * value as written out, no copy when it already has that length
+	 */
+	private String formatted(String inValue) {
+		return inValue.substring(0, formattedLength(inValue));
 	}
 
 	/**
@@ -92,18 +90,15 @@ public class TimeDE extends DataElement implements IContainedObject {
 	@Override
 	public String get(int inPos) {
 
-		if (value[inPos] == null) {
+		if (getValue(inPos) == null) {
 			return null;
 		}
 
-		if (value[inPos].length() == 0) {
-			return value[inPos];
+		if (getValue(inPos).length() == 0) {
+			return getValue(inPos);
 		}
 
-		cursor = inPos;
-
-		testAndSetValue(value[inPos].length());
-		return value[inPos].substring(0, getMinLength());
+		return getValue(inPos).substring(0, Math.min(getMinLength(), formattedLength(getValue(inPos))));
 	}
 
 	/**
@@ -142,7 +137,7 @@ public class TimeDE extends DataElement implements IContainedObject {
 		}
 
 		if (inTime.length() == 0) {
-			value[cursor] = "";
+			setValue(cursor, "");
 			return;
 		}
 
@@ -151,24 +146,7 @@ public class TimeDE extends DataElement implements IContainedObject {
 			throw new OBOEException(vtest);
 		}
 
-		testAndSetValue(inTime.length());
-		calendar.set(Calendar.HOUR_OF_DAY, Integer.parseInt(inTime.substring(0, 2)));
-		calendar.set(Calendar.MINUTE, Integer.parseInt(inTime.substring(2, 4)));
-		if (inTime.length() < 6) {
-			calendar.set(Calendar.SECOND, 0);
-		}
-
-		if (inTime.length() > 5) {
-			calendar.set(Calendar.SECOND, Integer.parseInt(inTime.substring(4, 6)));
-		}
-
-		if (inTime.length() < 8) {
-			calendar.set(Calendar.MILLISECOND, 0);
-		} else {
-			calendar.set(Calendar.MILLISECOND, Integer.parseInt(inTime.substring(6, 8)));
-		}
-
-		value[cursor] = inTime;
+		setValue(cursor, inTime);
 	}
 
 	/**
@@ -193,13 +171,10 @@ public class TimeDE extends DataElement implements IContainedObject {
 	 */
 	@Override
 	public int getLength() {
-		if (value == null) {
-			return 0;
-		}
 		int len = 0;
-		for (int i = 0; i < getOccurs(); i++) {
-			if (value[i] != null) {
-				len += value[i].length();
+		for (int i = 0; i < getValueSlots(); i++) {
+			if (getValue(i) != null) {
+				len += getValue(i).length();
 			}
 		}
 		return len;
@@ -217,35 +192,26 @@ public class TimeDE extends DataElement implements IContainedObject {
 	@Override
 	public String getFormattedText(Format format) {
 
-		SimpleDateFormat sdf;
-
 		StringBuilder sb = new StringBuilder();
 		String got;
 		int repeatCnt = -1;
-		for (repeatCnt = value.length - 1; (repeatCnt > -1) && (value[repeatCnt] == null); repeatCnt--) {
+		for (repeatCnt = getValueSlots() - 1; (repeatCnt > -1) && (getValue(repeatCnt) == null); repeatCnt--) {
 			;
 		}
-		for (int ii = 0; ii < value.length; ii++) {
-			if ((value[ii] == null) || (value[ii].length() == 0)) {
+		for (int ii = 0; ii < getValueSlots(); ii++) {
+			if ((getValue(ii) == null) || (getValue(ii).length() == 0)) {
 				break;
 			}
-			if ((getMaxLength() == 4) || (value[ii].length() == 4)) {
-				sdf = new SimpleDateFormat("HHmm");
-			} else if ((getMaxLength() == 6) || (value[ii].length() == 6)) {
-				sdf = new SimpleDateFormat("HHmmss");
-			} else {
-				sdf = new SimpleDateFormat("HHmmssSS");
-			}
-			got = sdf.format(calendar.getTime());
+			got = formatted(getValue(ii));
 
 			switch (format) {
 			case CSV_FORMAT:
-				sb.append("Time DE," + getID() + ",\"" + getName() + "\",\"" + sdf.format(calendar.getTime()) + "\""
+				sb.append("Time DE," + getID() + ",\"" + getName() + "\",\"" + got + "\""
 						+ Util.lineFeed);
 				break;
 			case XML_FORMAT:
 				sb.append("<" + getShortName());
-				sb.append(">" + sdf.format(calendar.getTime()) + "</" + getShortName() + ">" + Util.lineFeed);
+				sb.append(">" + got + "</" + getShortName() + ">" + Util.lineFeed);
 				break;
 			case VALID_XML_FORMAT:
 			case VALID_XML_FORMAT_WITH_POSITION:
@@ -283,7 +249,7 @@ public class TimeDE extends DataElement implements IContainedObject {
 				}
 				break;
 			default:
-				sb.append("\t" + getName() + ": " + sdf.format(calendar.getTime()) + Util.lineFeed);
+				sb.append("\t" + getName() + ": " + got + Util.lineFeed);
 			}
 		}
 		return sb.toString();
@@ -308,7 +274,6 @@ public class TimeDE extends DataElement implements IContainedObject {
 			return "Time field format must be HHMM (length 4) HHMMSS (length 6) or HHMMSSmm (length 7 or 8, mm - decimal seconds may be 1 or 2 digits)";
 		}
 
-		String dd;
 		int i;
 		for (i = 0; i < inText.length(); i++) {
 			if (Character.isDigit(inText.charAt(i)) == false) {
@@ -320,24 +285,16 @@ public class TimeDE extends DataElement implements IContainedObject {
 			return returnMessage;
 		}
 
-		dd = inText.substring(0, 2);
-		int m = Integer.parseInt(dd);
-		if (m > 23) {
-			return "invalid hour " + dd;
+		if (parseDigits(inText, 0, 2) > 23) {
+			return "invalid hour " + inText.substring(0, 2);
 		}
 
-		dd = inText.substring(2, 4);
-		m = Integer.parseInt(dd);
-		if (m > 59) {
-			return "invalid minute " + dd;
+		if (parseDigits(inText, 2, 4) > 59) {
+			return "invalid minute " + inText.substring(2, 4);
 		}
 
-		if (inText.length() > 5) {
-			dd = inText.substring(4, 6);
-			m = Integer.parseInt(dd);
-			if (m > 59) {
-				return "invalid second " + dd;
-			}
+		if ((inText.length() > 5) && (parseDigits(inText, 4, 6) > 59)) {
+			return "invalid second " + inText.substring(4, 6);
 		}
 
 		return null;
@@ -352,7 +309,7 @@ public class TimeDE extends DataElement implements IContainedObject {
 	@Override
 	public boolean validate(DocumentErrors inDErr) {
 		if (isUsed() == false) {
-			if ((value[0] != null) && (value[0].length() > 0)) {
+			if ((getValue(0) != null) && (getValue(0).length() > 0)) {
 				inDErr.addError(0, getID(), "field is not used, see " + getName() + " at position " + getPosition(),
 						getParent(), "10", this, DocumentErrors.ERROR_TYPE.Integrity);
 				return false;
@@ -361,27 +318,27 @@ public class TimeDE extends DataElement implements IContainedObject {
 			}
 		}
 		if (isRequired()) {
-			if ((value[0] == null) || (value[0].length() == 0)) {
+			if ((getValue(0) == null) || (getValue(0).length() == 0)) {
 				inDErr.addError(0, getID(), "value Required, see " + getName() + " at position " + getPosition(),
 						getParent(), "1", this, DocumentErrors.ERROR_TYPE.Integrity);
 				return false;
 			}
 		} else // not required
-		if ((value[0] == null) || (value[0].length() == 0)) {
+		if ((getValue(0) == null) || (getValue(0).length() == 0)) {
 			return true;
 		}
 
-		if (value[0].length() < getMinLength()) {
+		if (getValue(0).length() < getMinLength()) {
 			inDErr.addError(
-					getPosition(), getID(), "Data element value (" + value[0] + ") Too Short, see " + getName()
+					getPosition(), getID(), "Data element value (" + getValue(0) + ") Too Short, see " + getName()
 							+ " at position " + getPosition(),
 					getParent(), "4", this, DocumentErrors.ERROR_TYPE.Integrity);
 			return false;
 		}
 
-		if (value[0].length() > getMaxLength()) {
+		if (getValue(0).length() > getMaxLength()) {
 			inDErr.addError(
-					getPosition(), getID(), "Data element value (" + value[0] + ") Too Long, see " + getName()
+					getPosition(), getID(), "Data element value (" + getValue(0) + ") Too Long, see " + getName()
 							+ " at position " + getPosition(),
 					getParent(), "5", this, DocumentErrors.ERROR_TYPE.Integrity);
 			return false;
@@ -402,14 +359,14 @@ public class TimeDE extends DataElement implements IContainedObject {
 	@Override
 	public void useDefault() {
 		if (myTemplate != null) {
-			value[0] = ((TemplateDataElement) myTemplate).getDefault();
+			setValue(0, ((TemplateDataElement) myTemplate).getDefault());
 		} else {
 			char set[] = new char[getMinLength()];
 
 			for (int pos = 0; pos < getMinLength(); pos++) {
 				set[pos] = ' ';
 			}
-			value[0] = new String(set);
+			setValue(0, new String(set));
 		}
 
 	}
@@ -420,13 +377,13 @@ public class TimeDE extends DataElement implements IContainedObject {
 	 */
 	@Override
 	public int getRepeatCount() {
-		for (int i = 0; i < value.length; i++) {
-			if (value[i] == null) {
+		for (int i = 0; i < getValueSlots(); i++) {
+			if (getValue(i) == null) {
 				return i;
 			}
 		}
 
-		return value.length;
+		return getValueSlots();
 	}
 
 }
@@ -21,11 +21,13 @@ package io.github.ediandxml.oboe.EDIFACT;
  * 
  */
 
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
-import java.io.FileReader;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -36,6 +38,7 @@ import io.github.ediandxml.oboe.Containers.Segment;
 import io.github.ediandxml.oboe.Containers.TransactionSet;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.util.MappedDocument;
 import io.github.ediandxml.oboe.EDIDocumentHandler;
 import io.github.ediandxml.oboe.Format;
 
@@ -88,25 +91,44 @@ public class EDIFACTDocumentHandler implements EDIDocumentHandler {
 	 * object if you use this constructor and there are document errors the method
 	 * will not make the envelope object available
 	 *
-	 * @param inString file name of the edi document
+	 * @param inString file name of the edi document, read with the charset of
+	 *                 its syntax identifier, see EDIFACTEnvelope.getCharset
 	 * @exception OBOEException - unknown transaction set, this transaction set is
 	 *                          undefined to OBOE - parsing erros
 	 */
 
 	public EDIFACTDocumentHandler(String inString) throws OBOEException {
+		this(inString, null);
+	}
+
+	/**
+	 * create a parser for transaction set and parser what is coming from the file
+	 *
+	 * @param inString  file name of the edi document
+	 * @param inCharset how the file is encoded, null to use the charset of its
+	 *                  syntax identifier
+	 * @exception OBOEException - unknown transaction set, this transaction set is
+	 *                          undefined to OBOE - parsing erros
+	 */
+
+	public EDIFACTDocumentHandler(String inString, Charset inCharset) throws OBOEException {
 		try {
 
 			parser = new EDIFACTDocumentParser();
 
 			parser.registerHandler(this);
 
-			startParsing(new FileReader(inString));
+			Path file = Paths.get(inString);
+			Charset charset = inCharset == null ? EDIFACTEnvelope.getCharset(file) : inCharset;
+			try (Reader reader = MappedDocument.openReader(file, charset)) {
+				startParsing(reader);
+			}
 
 			envelope.validate(parser.getDocumentErrors());
 		} catch (OBOEException e) {
 
 			logr.error(e.getMessage(), e);
-		} catch (FileNotFoundException e) {
+		} catch (IOException e) {
 			// catch block Sep 9, 2005
 			logr.error(e.getMessage(), e);
 		}
@@ -248,14 +270,14 @@ public class EDIFACTDocumentHandler implements EDIDocumentHandler {
 	public static void main(String args[]) {
 		EDIFACTDocumentHandler dh = null;
 		try {
-			FileReader fr = new FileReader(args[0]);
-
 			dh = new EDIFACTDocumentHandler();
 
-			dh.startParsing(fr);
+			Path file = Paths.get(args[0]);
+			try (Reader reader = MappedDocument.openReader(file, EDIFACTEnvelope.getCharset(file))) {
+				dh.startParsing(reader);
+			}
 
 			dh.parser.getDocumentErrors().logErrors();
-			fr.close();
 			Envelope x = dh.getEnvelope();
 			FileOutputStream fos = new FileOutputStream(args[0] + ".xml");
 			x.writeFormattedText(new PrintWriter(fos), Format.VALID_XML_FORMAT);
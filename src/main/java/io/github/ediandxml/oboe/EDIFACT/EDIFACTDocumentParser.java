@@ -86,6 +86,16 @@ public class EDIFACTDocumentParser extends EDIDocumentParser {
 		return parseDocument(new StringReader(inString), true);
 	}
 
+	/**
+	 * builds the tokenizer that reads the document
+	 *
+	 * @param inReader reader object containing edi data
+	 * @return Tokenizer
+	 */
+	protected Tokenizer makeTokenizer(Reader inReader) {
+		return new EDIFACTTokenizer(inReader, dErr);
+	}
+
 	/**
 	 * method that controls the parsing
 	 *
@@ -114,7 +124,7 @@ public class EDIFACTDocumentParser extends EDIDocumentParser {
 			return false;
 		}
 
-		Tokenizer et = new EDIFACTTokenizer(inReader, dErr);
+		Tokenizer et = makeTokenizer(inReader);
 		// , posStop-1));
 		envelope.setDelimiters(et.getSeparators());
 
@@ -370,7 +380,7 @@ public class EDIFACTDocumentParser extends EDIDocumentParser {
 		}
 
 		if (io.github.ediandxml.oboe.util.Util.propertyFileIndicatesTHROW_PARSING_EXCEPTION()
-				&& (dErr.getErrorCount() > 0)) {
+				&& (dErr.getTotalErrorCount() > 0)) {
 			// dErr.logErrors();
 			throw new OBOEException(dErr);
 		}
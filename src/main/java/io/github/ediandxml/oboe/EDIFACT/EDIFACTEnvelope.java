@@ -24,12 +24,14 @@ package io.github.ediandxml.oboe.EDIFACT;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PipedReader;
-import java.io.PipedWriter;
+import java.io.InputStream;
 import java.io.PushbackInputStream;
-import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -64,6 +66,41 @@ public class EDIFACTEnvelope extends Envelope {
 	public static String idInterchangeHeader = "UNB";
 	public static String idInterchangeTrailer = "UNZ";
 
+	/**
+	 * the charset for the syntax identifier in UNB, UNOA, UNOB and UNOC data is
+	 * single byte and read as ISO-8859-1, other levels such as UNOW and UNOY may
+	 * be multi byte and are decoded with the default charset
+	 *
+	 * @param inStart the start of the document, at least through the syntax
+	 *                identifier
+	 * @return Charset
+	 */
+	public static Charset getCharset(String inStart) {
+		int at = inStart.indexOf(idInterchangeHeader);
+		if (at < 0 || at + 8 > inStart.length()) {
+			return Charset.defaultCharset();
+		}
+		switch (inStart.substring(at + 4, at + 8)) {
+		case "UNOA":
+		case "UNOB":
+		case "UNOC":
+			return StandardCharsets.ISO_8859_1;
+		default:
+			return Charset.defaultCharset();
+		}
+	}
+
+	/**
+	 * @param inFile the edi document
+	 * @return the charset for the syntax identifier in the file's UNB segment
+	 * @throws IOException file can not be read
+	 */
+	public static Charset getCharset(Path inFile) throws IOException {
+		try (InputStream is = Files.newInputStream(inFile)) {
+			return getCharset(new String(is.readNBytes(128), StandardCharsets.ISO_8859_1));
+		}
+	}
+
 	/**
 	 * instantiates the class from a TemplateEnvelope, creates mandatory segments
 	 * UNB and UNZ and creates one emtpy functional group
@@ -525,7 +562,12 @@ public class EDIFACTEnvelope extends Envelope {
 		FunctionalGroup fg;
 		for (int i = 0; i < getFunctionalGroupCount(); i++) {
 			fg = getFunctionalGroup(i);
-			sb.append(fg.getFormattedText(format));
+			try {
+				fg.appendFormattedText(sb, format);
+			} catch (IOException e) {
+				// a StringBuilder does not throw
+				throw new OBOEException(e.getMessage());
+			}
 		}
 
 		seg = getSegment(idInterchangeTrailer);
@@ -538,15 +580,11 @@ public class EDIFACTEnvelope extends Envelope {
 		}
 
 		if (inFormat == Format.EDIFACT_FORMAT) {
-			StringReader sr = new StringReader(sb.toString());
-			StringWriter sw = new StringWriter();
-			PreDelimiter pd = new PreDelimiter(sr, sw);
-			pd.start();
-			try {
-				pd.join();
-			} catch (InterruptedException e) {
-
-				e.printStackTrace();
+			StringWriter sw = new StringWriter(sb.length());
+			try (DelimiterWriter dw = new DelimiterWriter(sw)) {
+				dw.write(sb.toString());
+			} catch (IOException e) {
+				throw new OBOEException(e.getMessage());
 			}
 			return sw.toString();
 		}
@@ -563,18 +601,12 @@ public class EDIFACTEnvelope extends Envelope {
 	public void writeFormattedText(Writer inWriter, Format inFormat) throws OBOEException, IOException {
 
 		Writer writer = inWriter;
-		PreDelimiter pd = null;
 		Format format = inFormat;
 
 		if (inFormat == Format.EDIFACT_FORMAT) {
 			// temporarily set, will reset at end.
 			format = Format.PREBUILD_FORMAT;
-			PipedReader pr = new PipedReader();
-			@SuppressWarnings("resource")
-			PipedWriter pw = new PipedWriter(pr);
-			writer = pw;
-			pd = new Envelope.PreDelimiter(pr, inWriter);
-			pd.start();
+			writer = new DelimiterWriter(inWriter);
 
 		}
 
@@ -599,11 +631,11 @@ public class EDIFACTEnvelope extends Envelope {
 		}
 		Segment seg = getSegment(idServiceString);
 		if (seg != null) {
-			writer.write(seg.getFormattedText(format));
+			seg.appendFormattedText(writer, format);
 		}
 
 		seg = getSegment(idInterchangeHeader);
-		writer.write(seg.getFormattedText(format));
+		seg.appendFormattedText(writer, format);
 
 		FunctionalGroup fg;
 		for (int i = 0; i < getFunctionalGroupCount(); i++) {
@@ -612,7 +644,7 @@ public class EDIFACTEnvelope extends Envelope {
 		}
 
 		seg = getSegment(idInterchangeTrailer);
-		writer.write(seg.getFormattedText(format));
+		seg.appendFormattedText(writer, format);
 		if (format == Format.XML_FORMAT) {
 			writer.write("</Envelope>" + io.github.ediandxml.oboe.util.Util.lineFeed);
 		}
@@ -623,15 +655,6 @@ public class EDIFACTEnvelope extends Envelope {
 		writer.flush();
 		writer.close();
 
-		if (pd != null) {
-			try {
-				pd.join();
-			} catch (InterruptedException e) {
-
-				e.printStackTrace();
-			}
-		}
-
 	}
 
 	/**
@@ -0,0 +1,427 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package io.github.ediandxml.oboe.EDIFACT;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import io.github.ediandxml.oboe.Containers.Envelope;
+import io.github.ediandxml.oboe.Containers.FunctionalGroup;
+import io.github.ediandxml.oboe.Containers.MetaContainer;
+import io.github.ediandxml.oboe.Containers.Segment;
+import io.github.ediandxml.oboe.Containers.TransactionSet;
+import io.github.ediandxml.oboe.DataElements.CompositeElement;
+import io.github.ediandxml.oboe.DataElements.Element;
+import io.github.ediandxml.oboe.Errors.DocumentErrors;
+import io.github.ediandxml.oboe.Errors.DocumentErrors.ERROR_TYPE;
+import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.Parsers.SegmentParser;
+import io.github.ediandxml.oboe.Tokenizers.IDataTokenizer;
+import io.github.ediandxml.oboe.Tokenizers.Tokenizer;
+import io.github.ediandxml.oboe.util.MappedDocument;
+import io.github.ediandxml.oboe.util.Util;
+import io.github.ediandxml.oboe.Format;
+import io.github.ediandxml.oboe.TransactionSetFactory;
+
+/**
+ * OBOE - Open Business Objects for EDI
+ * <p>
+ * parses an EDIFACT file with each message parsed on its own worker.
+ * <p>
+ * The file is memory mapped and the UNH to UNT ranges are found with one pass
+ * over the bytes, which are read as ISO-8859-1, for UNOW or UNOY data in UTF-8
+ * use EDIFACTDocumentParser with a decoding Reader. The interchange and group
+ * segments are parsed by EDIFACTDocumentParser as usual, with the segment
+ * positions and byte offsets they have in the file. When a group starts its
+ * messages are handed to the executor, each with its own tokenizer and
+ * DocumentErrors. Before the UNE segment (or the end of the group when there
+ * are no UNG segments) the messages are passed to the EDIDocumentHandlers in
+ * document order, their errors are added to the parser's DocumentErrors in the
+ * same order.
+ * <p>
+ * Handlers get startTransactionSet and endTransactionSet after the message is
+ * parsed. A segment a message can not place ends the parsing of the document
+ * as it does for EDIFACTDocumentParser, the messages after it are not passed.
+ * Files too large to map are parsed one segment after the other.
+ *
+ * @author Joe McVerry
+ */
+
+public class EDIFACTParallelDocumentParser extends EDIFACTDocumentParser {
+
+	/** segments, relative to zero, making up a message */
+	record Slice(int first, int last) {
+	}
+
+	/**
+	 * stoppedAtID is the segment the message could not place, null if the message
+	 * ended with its last segment
+	 */
+	record Parsed(TransactionSet transactionSet, DocumentErrors errors, String stoppedAtID, int stoppedAtPosition) {
+	}
+
+	private final Executor executor;
+
+	private MappedDocument document;
+	private String serviceStringText;
+	private ArrayList<ArrayList<Slice>> groups;
+	/** segments left in the document without its messages */
+	private int skeletonSegments[];
+	private int nextGroup;
+	private Segment interchangeHeader;
+	private Envelope envelope;
+	private boolean stopped;
+	private final ArrayDeque<CompletableFuture<Parsed>> pending = new ArrayDeque<>();
+
+	/**
+	 * messages are parsed on the common fork join pool
+	 */
+	public EDIFACTParallelDocumentParser() {
+		this(null);
+	}
+
+	/**
+	 * @param inExecutor where messages are parsed, null for the common fork join
+	 *                   pool
+	 */
+	public EDIFACTParallelDocumentParser(Executor inExecutor) {
+		super();
+		executor = inExecutor == null ? ForkJoinPool.commonPool() : inExecutor;
+	}
+
+	/**
+	 * parses an EDIFACT file and passes results to EDIDocumentHandlers
+	 *
+	 * @param inFile     the edi document
+	 * @param inValidate boolean - call validation logic on envelope if true
+	 * @return boolean - true - continue or false - halted
+	 * @throws IOException   file can not be read
+	 * @exception OBOEException - most likely unknown segment
+	 */
+	public boolean parseDocument(Path inFile, boolean inValidate) throws IOException, OBOEException {
+		if (MappedDocument.isMappable(inFile) == false) {
+			try (Reader reader = MappedDocument.openReader(inFile, StandardCharsets.ISO_8859_1)) {
+				return parseDocument(reader, inValidate);
+			}
+		}
+		document = new MappedDocument(inFile);
+		stopped = false;
+		try {
+			boolean result = parseDocument(new StringReader(index()), inValidate);
+			if (stopped == false) {
+				return result;
+			}
+			// the rest is what EDIFACTDocumentParser does after the segment
+			resetWhyHaltParser();
+			if (inValidate) {
+				envelope.validate(dErr);
+			}
+			if (Util.propertyFileIndicatesTHROW_PARSING_EXCEPTION() && (dErr.getTotalErrorCount() > 0)) {
+				throw new OBOEException(dErr);
+			}
+			return true;
+		} finally {
+			for (CompletableFuture<Parsed> future : pending) {
+				future.cancel(false);
+			}
+			pending.clear();
+			document = null;
+			groups = null;
+			skeletonSegments = null;
+			interchangeHeader = null;
+			envelope = null;
+		}
+	}
+
+	/**
+	 * finds the messages
+	 *
+	 * @return the document without its messages
+	 */
+	private String index() {
+		char elementSeparator = Envelope.EDIFACT_FIELD_DELIMITER.charAt(0);
+		char terminator = Envelope.EDIFACT_SEGMENT_DELIMITER.charAt(0);
+		char release = Envelope.EDIFACT_ESCAPE_CHARACTER.charAt(0);
+		char skip = 0;
+		int serviceStringLength = 0;
+		// same delimiter positions EDIFACTTokenizer uses
+		if (document.length() >= 10 && document.getText(0, 3).equals("UNA")) {
+			elementSeparator = document.charAt(4);
+			release = document.charAt(6);
+			terminator = document.charAt(8);
+			serviceStringLength = 9;
+			if (document.charAt(9) != 'U') {
+				skip = document.charAt(9);
+				serviceStringLength = 10;
+			}
+		}
+		serviceStringText = document.getText(0, serviceStringLength);
+		// EDIFACTTokenizer drops line breaks when they are not the terminator
+		document.index(serviceStringLength, terminator, skip, release, terminator != '\n' && terminator != '\r');
+
+		groups = new ArrayList<>();
+		nextGroup = 0;
+		ArrayList<Slice> group = null;
+		StringBuilder skeleton = new StringBuilder(serviceStringText);
+		int segments[] = new int[document.getSegmentCount()];
+		int segmentCount = 0;
+		int copyFrom = serviceStringLength;
+		int sliceStart = -1;
+		boolean afterHeader = false;
+		for (int seg = 0; seg < document.getSegmentCount(); seg++) {
+			boolean unh = document.segmentIDEquals(seg, "UNH", elementSeparator);
+			boolean ung = document.segmentIDEquals(seg, EDIFACTFunctionalGroup.idHeader, elementSeparator);
+			boolean une = document.segmentIDEquals(seg, EDIFACTFunctionalGroup.idTrailer, elementSeparator);
+			boolean unz = document.segmentIDEquals(seg, EDIFACTEnvelope.idInterchangeTrailer, elementSeparator);
+			boolean startsSlice = unh && (afterHeader || sliceStart >= 0);
+			if (sliceStart >= 0 && (unh || ung || une || unz)) {
+				group.add(new Slice(sliceStart, seg));
+				copyFrom = document.getSegmentStart(seg);
+				sliceStart = -1;
+			}
+			if (startsSlice) {
+				if (group == null) {
+					// messages directly after UNB are one group
+					group = new ArrayList<>();
+					groups.add(group);
+				}
+				skeleton.append(document.getText(copyFrom, document.getSegmentStart(seg)));
+				sliceStart = seg;
+			}
+			afterHeader = false;
+			if (sliceStart < 0) {
+				if (ung) {
+					group = new ArrayList<>();
+					groups.add(group);
+					afterHeader = true;
+				} else if (document.segmentIDEquals(seg, EDIFACTEnvelope.idInterchangeHeader, elementSeparator)) {
+					afterHeader = true;
+				}
+				segments[segmentCount++] = seg;
+			}
+		}
+		if (sliceStart >= 0) {
+			group.add(new Slice(sliceStart, document.getSegmentCount()));
+		} else {
+			skeleton.append(document.getText(copyFrom, document.length()));
+		}
+		skeletonSegments = Arrays.copyOf(segments, segmentCount);
+		return skeleton.toString();
+	}
+
+	/**
+	 * the interchange and group segments are read from the document without its
+	 * messages, their segment positions and byte offsets are set to where they are
+	 * in the file
+	 */
+	@Override
+	protected Tokenizer makeTokenizer(Reader inReader) {
+		if (document == null) {
+			return super.makeTokenizer(inReader);
+		}
+		return new EDIFACTTokenizer(inReader, dErr) {
+			private int next = 0;
+
+			@Override
+			public IDataTokenizer getNextSegment(MetaContainer inSegContainer) {
+				// UNA is not one of the indexed segments
+				if ((currentTokenStringToken.startsWith("UNA") == false) && (next < skeletonSegments.length)) {
+					int seg = skeletonSegments[next++];
+					setStartingPosition(seg, document.getTokenCharactersBefore(seg));
+				}
+				return super.getNextSegment(inSegContainer);
+			}
+		};
+	}
+
+	@Override
+	public void notifyStartEnvelope(Envelope inEnv) {
+		envelope = inEnv;
+		super.notifyStartEnvelope(inEnv);
+	}
+
+	@Override
+	public void notifyStartFunctionalGroup(FunctionalGroup inFG) {
+		super.notifyStartFunctionalGroup(inFG);
+		if (document != null && halted() == false && nextGroup < groups.size()) {
+			submit(groups.get(nextGroup++), inFG);
+		}
+	}
+
+	@Override
+	public void notifyStartSegment(Segment inSeg) {
+		if (document != null && (inSeg.getID().equals(EDIFACTFunctionalGroup.idTrailer)
+				|| inSeg.getID().equals(EDIFACTEnvelope.idInterchangeTrailer))) {
+			passTransactionSets(inSeg.getID().equals(EDIFACTFunctionalGroup.idTrailer));
+			if (halted()) {
+				return;
+			}
+		}
+		super.notifyStartSegment(inSeg);
+	}
+
+	@Override
+	public void notifyEndSegment(Segment inSeg) {
+		super.notifyEndSegment(inSeg);
+		if (document != null && inSeg.getID().equals(EDIFACTEnvelope.idInterchangeHeader)) {
+			interchangeHeader = inSeg;
+		}
+	}
+
+	@Override
+	public void notifyEndTransactionSet(TransactionSet inTS) {
+		if (document != null && inTS == null) {
+			// a group without UNG ends here
+			passTransactionSets(false);
+			return;
+		}
+		super.notifyEndTransactionSet(inTS);
+	}
+
+	@Override
+	public void notifyEndEnvelope(Envelope inEnv) {
+		if (document != null) {
+			passTransactionSets(false);
+			if (halted()) {
+				return;
+			}
+		}
+		super.notifyEndEnvelope(inEnv);
+	}
+
+	/**
+	 * starts parsing the messages of a group
+	 */
+	private void submit(ArrayList<Slice> inSlices, FunctionalGroup inFG) {
+		String testProduction = "";
+		Element tde = interchangeHeader.getElement("0035");
+		if (tde != null) {
+			testProduction = tde.get();
+		}
+		String sender = ((CompositeElement) interchangeHeader.getElement("S002")).getElement("0004").get();
+		String receiver = ((CompositeElement) interchangeHeader.getElement("S003")).getElement("0010").get();
+		String testOrProduction = testProduction;
+
+		for (Slice slice : inSlices) {
+			DocumentErrors msgErrors = dErr.createTaskErrors();
+			pending.add(CompletableFuture
+					.supplyAsync(() -> parse(slice, receiver, sender, testOrProduction, inFG, msgErrors), executor));
+		}
+	}
+
+	/**
+	 * parses one message, runs on a worker
+	 */
+	private Parsed parse(Slice inSlice, String inReceiver, String inSender, String inTestOrProduction,
+			FunctionalGroup inFG, DocumentErrors inErrors) {
+		String text = serviceStringText + document.getText(document.getSegmentStart(inSlice.first()),
+				document.getSegmentStart(inSlice.last()));
+		Tokenizer et = new EDIFACTTokenizer(new StringReader(text), inErrors);
+		if (serviceStringText.length() > 0) {
+			et.getNextSegment(null);
+		}
+		et.setStartingPosition(inSlice.first(), document.getTokenCharactersBefore(inSlice.first()));
+		et.getNextSegment(null);
+		et.getNextDataElement();
+
+		Segment UNH_Message_Header = Message_Header.getInstance();
+		UNH_Message_Header.setByteOffset(et.getInputByteCount());
+		SegmentParser.parse(UNH_Message_Header, et);
+		CompositeElement msgID = (CompositeElement) UNH_Message_Header.getElement("S009");
+
+		TransactionSet parsedTransactionSet = TransactionSetFactory.buildTransactionSet(
+				msgID.getElement("0065").get(), null,
+				msgID.getElement("0052").get() + msgID.getElement("0054").get(), inReceiver, inSender,
+				inTestOrProduction);
+		UNH_Message_Header.setParent(parsedTransactionSet);
+		parsedTransactionSet.setFormat(Format.EDIFACT_FORMAT);
+		parsedTransactionSet.setParent(inFG);
+		parsedTransactionSet.getHeaderTable().addContainer(UNH_Message_Header);
+		parsedTransactionSet.parse(et);
+
+		return new Parsed(parsedTransactionSet, inErrors, et.getCurrentDataElement(), et.getSegmentPos());
+	}
+
+	/**
+	 * waits for the messages in document order and passes them to the handlers
+	 *
+	 * @param inAtGroupTrailer true when called for the UNE segment
+	 */
+	private void passTransactionSets(boolean inAtGroupTrailer) {
+		while (pending.isEmpty() == false) {
+			Parsed parsed;
+			try {
+				parsed = pending.poll().join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				throw new OBOEException(e.getMessage());
+			}
+			dErr.addAll(parsed.errors());
+			notifyStartTransactionSet(parsed.transactionSet());
+			if (halted()) {
+				return;
+			}
+			notifyEndTransactionSet(parsed.transactionSet());
+			if (halted()) {
+				return;
+			}
+			if (parsed.stoppedAtID() != null) {
+				stopAt(parsed, inAtGroupTrailer);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * reports the segment a message could not place the way EDIFACTDocumentParser
+	 * does and halts the parser, the messages after it are dropped
+	 */
+	private void stopAt(Parsed inParsed, boolean inAtGroupTrailer) {
+		if (inAtGroupTrailer) {
+			dErr.addError(0, EDIFACTFunctionalGroup.idTrailer,
+					"More segments to process starting at segment position " + inParsed.stoppedAtPosition()
+							+ ". Problem " + inParsed.stoppedAtID() + " is not defined. Expecting "
+							+ EDIFACTFunctionalGroup.idTrailer,
+					envelope, "0", null, ERROR_TYPE.Integrity);
+		}
+		dErr.addError(0, EDIFACTEnvelope.idInterchangeTrailer,
+				"More segments to process starting at segment position " + inParsed.stoppedAtPosition() + ". Problem "
+						+ inParsed.stoppedAtID() + " is not defined. Expecting " + EDIFACTEnvelope.idInterchangeTrailer,
+				envelope, "0", null, ERROR_TYPE.Integrity);
+		for (CompletableFuture<Parsed> future : pending) {
+			future.cancel(false);
+		}
+		pending.clear();
+		stopped = true;
+		setWhyHaltParser("More segments to process");
+	}
+}
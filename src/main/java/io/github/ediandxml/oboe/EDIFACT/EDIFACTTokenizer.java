@@ -56,7 +56,7 @@ public class EDIFACTTokenizer extends Tokenizer implements ITokenizer {
 		PushbackReader pbr = new PushbackReader(inReader, 10);
 		char firstSeg[] = new char[10];
 		try {
-			if (pbr.read(firstSeg, 0, 10) != 10) {
+			if (readFully(pbr, firstSeg) != 10) {
 				throw new OBOEException("expected data not read");
 			}
 		} catch (IOException ioe) {
@@ -68,7 +68,7 @@ public class EDIFACTTokenizer extends Tokenizer implements ITokenizer {
 			tokenseparatorCharacter = firstSeg[8] + "";
 			separators.append(tokenseparatorCharacter);
 			escapeCharacters = firstSeg[6] + "";
-			transactionSetTokenizer = new ReaderTokenizer(pbr, tokenseparatorCharacter, escapeCharacters);
+			transactionSetTokenizer = makeReaderTokenizer(pbr, tokenseparatorCharacter, escapeCharacters);
 			tokenseparatorCharacter = firstSeg[4] + "";
 			separators.append(tokenseparatorCharacter);
 			tokenGroups[0] = firstSeg[3];
@@ -82,6 +82,10 @@ public class EDIFACTTokenizer extends Tokenizer implements ITokenizer {
 					// combination
 					((ReaderTokenizer) transactionSetTokenizer).setSkipChar(firstSeg[9]);
 				}
+				if (firstSeg[8] != 10 && firstSeg[8] != 13) {
+					// line breaks after the segment delimiter are just formatting
+					((ReaderTokenizer) transactionSetTokenizer).setSkipLineBreaks(true);
+				}
 			} catch (IOException ioe) {
 				ioe.printStackTrace();
 				throw new OBOEException(ioe.getMessage());
@@ -95,7 +99,8 @@ public class EDIFACTTokenizer extends Tokenizer implements ITokenizer {
 				ioe.printStackTrace();
 				throw new OBOEException(ioe.getMessage());
 			}
-			transactionSetTokenizer = new ReaderTokenizer(pbr, Envelope.EDIFACT_SEGMENT_DELIMITER, "?");
+			transactionSetTokenizer = makeReaderTokenizer(pbr, Envelope.EDIFACT_SEGMENT_DELIMITER, "?");
+			((ReaderTokenizer) transactionSetTokenizer).setSkipLineBreaks(true);
 			separators.append(Envelope.EDIFACT_SEGMENT_DELIMITER);
 			tokenseparatorCharacter = Envelope.EDIFACT_FIELD_DELIMITER;
 			separators.append(Envelope.EDIFACT_FIELD_DELIMITER);
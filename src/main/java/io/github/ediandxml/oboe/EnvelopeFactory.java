@@ -46,6 +46,7 @@ import io.github.ediandxml.oboe.Templates.TemplateDataElement;
 import io.github.ediandxml.oboe.Templates.TemplateEnvelope;
 import io.github.ediandxml.oboe.Templates.TemplateFunctionalGroup;
 import io.github.ediandxml.oboe.Templates.TemplateSegment;
+import io.github.ediandxml.oboe.util.TemplateCache;
 import io.github.ediandxml.oboe.util.Util;
 
 /**
@@ -819,7 +820,11 @@ public class EnvelopeFactory extends DefaultHandler implements ContentHandler {
 		xmlFoundDirectoryPath = inFoundPath;
 	}
 
-	static private Hashtable<String, TemplateEnvelope> envBuilt = new Hashtable<String, TemplateEnvelope>();
+	/**
+	 * store read template envelopes in a cache for quick look up, each envelope is
+	 * parsed once
+	 */
+	static private final TemplateCache<TemplateEnvelope> envBuilt = new TemplateCache<TemplateEnvelope>();
 
 	/**
 	 * static class method will build a envelope based on input string and
@@ -834,11 +839,6 @@ public class EnvelopeFactory extends DefaultHandler implements ContentHandler {
 	 */
 	public static TemplateEnvelope buildEnvelope(String inFileName, String version) {
 
-		String path;
-
-		String msgDescriptionSearchPath;
-
-		TemplateEnvelope currentEnvelope;
 		String searchDirective = null;
 		try {
 			searchDirective = Util.getOBOEProperty(Util.SEARCH_DIRECTIVE);
@@ -857,10 +857,25 @@ public class EnvelopeFactory extends DefaultHandler implements ContentHandler {
 			version = "";
 		}
 
-		TemplateEnvelope gotBuilt = envBuilt.get(version + inFileName);
-		if (gotBuilt != null) {
-			return gotBuilt;
-		}
+		final String versionPath = version;
+		return envBuilt.get(version + inFileName, key -> parseEnvelope(inFileName, versionPath));
+
+	}
+
+	/**
+	 * parses an envelope message description found in the classpath
+	 *
+	 * @param inFileName String without the path or xml file extension
+	 * @param version    String subpath to find version specific envelope message
+	 *                   descriptions
+	 * @return TemplateEnvelope
+	 * @throws OBOEException io error most likely
+	 */
+	private static TemplateEnvelope parseEnvelope(String inFileName, String version) {
+
+		String path;
+
+		String msgDescriptionSearchPath;
 
 		try {
 			EnvelopeFactory ef = new EnvelopeFactory();
@@ -890,10 +905,7 @@ public class EnvelopeFactory extends DefaultHandler implements ContentHandler {
 			ef.setDirectoryPath(path, msgDescriptionSearchPath);
 
 			ef.parse(is);
-			currentEnvelope = ef.currentEnvelope;
-
-			envBuilt.put(version + inFileName, currentEnvelope);
-			return currentEnvelope;
+			return ef.currentEnvelope;
 
 		}
 
@@ -904,9 +916,19 @@ public class EnvelopeFactory extends DefaultHandler implements ContentHandler {
 
 	}
 
+	/**
+	 * returns the envelope template cache, use it to read the hit, miss and load
+	 * time counters
+	 *
+	 * @return TemplateCache
+	 */
+	public static TemplateCache<TemplateEnvelope> getTemplateCache() {
+		return envBuilt;
+	}
+
 	/* written for test classes */
 	public static void reloadbuiltTable() {
-		envBuilt = new Hashtable<String, TemplateEnvelope>();
+		envBuilt.clear();
 	}
 
 }
@@ -18,6 +18,7 @@ package io.github.ediandxml.oboe.Errors;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -30,6 +31,11 @@ import io.github.ediandxml.oboe.IContainedObject;
 /**
  * Manages errors in EDI documents for the OBOE (Open Business Objects for EDI)
  * framework. Stores and reports errors based on WEDI SNIP Testing Types.
+ * <p>
+ * For badly broken documents the number of errors kept can be capped (see
+ * setMaximumErrorsRetained), a cap of zero only counts them. Errors can also be
+ * passed to an ErrorSink as they are added so they can be written out without
+ * keeping the containers they point to.
  */
 public class DocumentErrors {
 
@@ -51,6 +57,26 @@ public class DocumentErrors {
 		}
 	}
 
+	/** Receives errors as they are added */
+	@FunctionalInterface
+	public interface ErrorSink {
+		/**
+		 * Called for every error at or below the reporting level, whether or not it
+		 * is kept.
+		 *
+		 * @param position    The position of the segment in error
+		 * @param id          The ID of the segment in error
+		 * @param description The description of the error
+		 * @param container   The container owning the erroneous segment or the last
+		 *                    valid container
+		 * @param code        The X12 or EDIFACT error code
+		 * @param errorObject The object causing the error
+		 * @param level       The error level
+		 */
+		void error(int position, String id, String description, IContainedObject container, String code,
+				Object errorObject, ERROR_TYPE level);
+	}
+
 	/** Record to store error details */
 	record ErrorRecord(Integer position, String id, String description, IContainedObject container, String code,
 			Object errorObject, Boolean reportable, ERROR_TYPE level) {
@@ -62,25 +88,31 @@ public class DocumentErrors {
 	/** Minimum level of error checking (defaults to Requirement) */
 	private ERROR_TYPE errorLevel = ERROR_TYPE.Requirement;
 
+	/** Most errors kept in errorRecords */
+	private int maximumErrorsRetained = Integer.MAX_VALUE;
+
+	/** Errors added, including the ones not kept */
+	private int totalErrorCount = 0;
+
+	/** Where errors go as they are added, may be null */
+	private ErrorSink errorSink;
+
 	/**
-	 * Constructs a DocumentErrors instance, initializing the error level from OBOE
-	 * properties.
+	 * Errors of a task held for the sink of the object that created it, null when
+	 * that object has no sink
+	 */
+	private ArrayList<ErrorRecord> sinkRecords;
+
+	/**
+	 * Constructs a DocumentErrors instance, initializing the error level and the
+	 * number of errors kept from OBOE properties.
 	 */
 	public DocumentErrors() {
-		try {
-			String errorLevelProperty = Util.getOBOEProperty(Util.ERROR_LEVEL_TO_REPORT);
-			if (errorLevelProperty != null) {
-				for (ERROR_TYPE level : ERROR_TYPE.values()) {
-					if (errorLevelProperty.equals(level.name())) {
-						setErrorLevelToReport(level);
-						return;
-					}
-				}
-				logger.error("Unknown error level in properties file: {}", errorLevelProperty);
-			}
-		} catch (IOException | OBOEException e) {
-			logger.error("Error initializing error level: {}", e.getMessage(), e);
+		ERROR_TYPE level = Util.propertyFileErrorLevelToReport();
+		if (level != null) {
+			errorLevel = level;
 		}
+		maximumErrorsRetained = Util.propertyFileMaximumErrorsRetained();
 	}
 
 	/**
@@ -101,6 +133,83 @@ public class DocumentErrors {
 		return errorLevel;
 	}
 
+	/**
+	 * Sets the most errors kept, errors past it are still counted and passed to
+	 * the sink. Zero only counts errors.
+	 *
+	 * @param maximum The number of errors kept, Integer.MAX_VALUE for no limit
+	 */
+	public void setMaximumErrorsRetained(int maximum) {
+		if (maximum < 0) {
+			throw new IllegalArgumentException("Maximum errors retained can not be negative: " + maximum);
+		}
+		this.maximumErrorsRetained = maximum;
+	}
+
+	/**
+	 * Gets the most errors kept.
+	 *
+	 * @return The maximum, Integer.MAX_VALUE when there is no limit
+	 */
+	public int getMaximumErrorsRetained() {
+		return maximumErrorsRetained;
+	}
+
+	/**
+	 * Sets where errors are passed as they are added.
+	 *
+	 * @param sink The sink, null for none
+	 */
+	public void setErrorSink(ErrorSink sink) {
+		this.errorSink = sink;
+	}
+
+	/**
+	 * Gets where errors are passed as they are added.
+	 *
+	 * @return The sink or null
+	 */
+	public ErrorSink getErrorSink() {
+		return errorSink;
+	}
+
+	/**
+	 * Creates an object that collects the errors of work done on another thread,
+	 * to be appended here with addAll. It reports the same error level and keeps
+	 * no more errors than this object would. When this object has a sink the new
+	 * one also holds every error for it, they reach the sink in order when they
+	 * are appended.
+	 *
+	 * @return The errors for the task
+	 */
+	public DocumentErrors createTaskErrors() {
+		DocumentErrors taskErrors = new DocumentErrors();
+		taskErrors.setErrorLevelToReport(errorLevel);
+		taskErrors.setMaximumErrorsRetained(maximumErrorsRetained);
+		if (errorSink != null) {
+			taskErrors.sinkRecords = new ArrayList<>();
+		}
+		return taskErrors;
+	}
+
+	/**
+	 * Returns a sink that writes each error as a line, in the format of
+	 * writeErrors. Write failures are thrown as OBOEExceptions.
+	 *
+	 * @param writer Where the errors are written
+	 * @return The sink
+	 */
+	public static ErrorSink writerSink(Writer writer) {
+		return (position, id, description, container, code, errorObject, level) -> {
+			try {
+				writer.write(formatLogMessage(position, id, description, container, code, errorObject));
+				writer.write("\n");
+			} catch (IOException e) {
+				throw new OBOEException("Failed to write error: " + e.getMessage());
+			}
+		};
+	}
+
 	/**
 	 * Adds an error to the error records if the error level is within the reporting
 	 * threshold.
@@ -117,13 +226,50 @@ public class DocumentErrors {
 	 */
 	public void addError(int position, String id, String description, IContainedObject container, String code,
 			Object errorObject, ERROR_TYPE level) {
-		if (level.getType() <= errorLevel.getType()) {
+		if (level.getType() > errorLevel.getType()) {
+			return;
+		}
+		totalErrorCount++;
+		if (errorSink != null) {
+			errorSink.error(position, id, description, container, code, errorObject, level);
+		}
+		if (sinkRecords != null) {
+			sinkRecords.add(new ErrorRecord(position, id, description, container, code, errorObject, false, level));
+		}
+		if (errorRecords.size() < maximumErrorsRetained) {
 			errorRecords.add(new ErrorRecord(position, id, description, container, code, errorObject, false, level));
 		}
 	}
 
 	/**
-	 * Returns the number of recorded errors.
+	 * Appends the errors recorded in another DocumentErrors object, in the order
+	 * they were recorded there. The errors are passed to this object's sink, all
+	 * of them when the other object was created by createTaskErrors, and kept up
+	 * to this object's maximum, the ones the other object only counted are
+	 * counted here too.
+	 *
+	 * @param other The errors to append
+	 */
+	public void addAll(DocumentErrors other) {
+		List<ErrorRecord> records = other.errorRecords;
+		if (errorSink != null) {
+			for (ErrorRecord er : other.sinkRecords == null ? records : other.sinkRecords) {
+				errorSink.error(er.position(), er.id(), er.description(), er.container(), er.code(),
+						er.errorObject(), er.level());
+			}
+		}
+		int room = maximumErrorsRetained - errorRecords.size();
+		if (room >= records.size()) {
+			errorRecords.addAll(records);
+		} else if (room > 0) {
+			errorRecords.addAll(records.subList(0, room));
+		}
+		totalErrorCount += other.totalErrorCount;
+	}
+
+	/**
+	 * Returns the number of recorded errors, the ones that can be looked up by
+	 * index.
 	 *
 	 * @return The error count
 	 */
@@ -131,6 +277,25 @@ public class DocumentErrors {
 		return errorRecords.size();
 	}
 
+	/**
+	 * Returns the number of errors added, including the ones not kept because of
+	 * the maximum.
+	 *
+	 * @return The total error count
+	 */
+	public int getTotalErrorCount() {
+		return totalErrorCount;
+	}
+
+	/**
+	 * Checks if errors were added that are not kept.
+	 *
+	 * @return True if some errors were only counted
+	 */
+	public boolean isTruncated() {
+		return totalErrorCount > errorRecords.size();
+	}
+
 	/**
 	 * Gets the position of the segment in error at the specified index.
 	 *
@@ -258,7 +423,10 @@ public class DocumentErrors {
 	 * @param index   The index in the error records list
 	 */
 	private void appendByteOffset(StringBuilder message, int index) {
-		Object errorObject = getErrorObject(index);
+		appendByteOffset(message, getErrorObject(index));
+	}
+
+	private static void appendByteOffset(StringBuilder message, Object errorObject) {
 		if (errorObject instanceof Loop loop && loop.byteOffset > -1) {
 			message.append(" near byte offset of [").append(loop.byteOffset).append("]");
 		} else if (errorObject instanceof Segment segment && segment.getByteOffset() > -1) {
@@ -282,14 +450,19 @@ public class DocumentErrors {
 	 * @return The formatted log message
 	 */
 	private String formatLogMessage(int index) {
-		StringBuilder message = new StringBuilder().append(getErrorID(index)).append(" ").append(getErrorCode(index))
-				.append(" ").append(getErrorPosition(index)).append(" ").append(getErrorDescription(index)).append(" ");
-		IContainedObject container = getContainer(index);
+		ErrorRecord er = errorRecords.get(index);
+		return formatLogMessage(er.position(), er.id(), er.description(), er.container(), er.code(), er.errorObject());
+	}
+
+	private static String formatLogMessage(int position, String id, String description, IContainedObject container,
+			String code, Object errorObject) {
+		StringBuilder message = new StringBuilder().append(id).append(" ").append(code).append(" ").append(position)
+				.append(" ").append(description).append(" ");
 		if (container instanceof Segment segment) {
 			message.append("Segment ID:").append(segment.getID()).append(" name:").append(segment.getName());
 		} else if (container != null) {
 			message.append(container);
-			appendByteOffset(message, index);
+			appendByteOffset(message, errorObject);
 		}
 		return message.toString();
 	}
@@ -0,0 +1,398 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package io.github.ediandxml.oboe.Parsers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import io.github.ediandxml.oboe.EDIFACT.EDIFACTEnvelope;
+import io.github.ediandxml.oboe.EDIFACT.EDIFACTFunctionalGroup;
+import io.github.ediandxml.oboe.EDIFACT.EDIFACTTokenizer;
+import io.github.ediandxml.oboe.Errors.DocumentErrors;
+import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.Tokenizers.IDataTokenizer;
+import io.github.ediandxml.oboe.Tokenizers.SegmentTokenizer;
+import io.github.ediandxml.oboe.Tokenizers.Tokenizer;
+import io.github.ediandxml.oboe.x12.X12Envelope;
+import io.github.ediandxml.oboe.x12.X12FunctionalGroup;
+import io.github.ediandxml.oboe.x12.X12Tokenizer;
+
+/**
+ * OBOE - Open Business Objects for EDI
+ * <p>
+ * pull style reader for EDI documents. Instead of building an Envelope and
+ * calling EDIDocumentHandlers the caller asks for one event at a time:
+ *
+ * <pre>
+ * EDIEventReader reader = EDIEventReader.forX12(new FileReader(file));
+ * while (reader.hasNext()) {
+ * 	switch (reader.nextEvent()) {
+ * 	case START_TRANSACTION_SET:
+ * 		if (reader.getTransactionSetID().equals("997")) {
+ * 			reader.skipTransactionSet();
+ * 		}
+ * 		break;
+ * 	case SEGMENT:
+ * 		String id = reader.getSegmentID();
+ * 		String value = reader.getElement(1);
+ * 		break;
+ * 	default:
+ * 		break;
+ * 	}
+ * }
+ * </pre>
+ *
+ * Every segment produces one segment level event. Envelope, group and
+ * transaction set header and trailer segments produce the START_ and END_
+ * events, all other segments produce SEGMENT. While a segment level event is
+ * current its elements can be read with getElement. If element events are on
+ * (the default) each element of the segment then follows as an ELEMENT event.
+ * <p>
+ * Nothing is kept after the reader moves on, so memory use does not depend on
+ * the size of the document. Segments are not checked against the message
+ * descriptions, use the DocumentHandlers for validation.
+ */
+
+public class EDIEventReader implements AutoCloseable {
+
+	/** event types returned by nextEvent */
+	public enum EventType {
+		START_INTERCHANGE, START_GROUP, START_TRANSACTION_SET, SEGMENT, ELEMENT, END_TRANSACTION_SET, END_GROUP,
+		END_INTERCHANGE, END_DOCUMENT
+	}
+
+	private static final Map<String, EventType> x12ControlSegments = new HashMap<>();
+	private static final Map<String, EventType> edifactControlSegments = new HashMap<>();
+
+	static {
+		x12ControlSegments.put(X12Envelope.idInterchangeHeader, EventType.START_INTERCHANGE);
+		x12ControlSegments.put(X12FunctionalGroup.idHeader, EventType.START_GROUP);
+		x12ControlSegments.put("ST", EventType.START_TRANSACTION_SET);
+		x12ControlSegments.put("SE", EventType.END_TRANSACTION_SET);
+		x12ControlSegments.put(X12FunctionalGroup.idTrailer, EventType.END_GROUP);
+		x12ControlSegments.put(X12Envelope.idInterchangeTrailer, EventType.END_INTERCHANGE);
+
+		edifactControlSegments.put(EDIFACTEnvelope.idInterchangeHeader, EventType.START_INTERCHANGE);
+		edifactControlSegments.put(EDIFACTFunctionalGroup.idHeader, EventType.START_GROUP);
+		edifactControlSegments.put("UNH", EventType.START_TRANSACTION_SET);
+		edifactControlSegments.put("UNT", EventType.END_TRANSACTION_SET);
+		edifactControlSegments.put(EDIFACTFunctionalGroup.idTrailer, EventType.END_GROUP);
+		edifactControlSegments.put(EDIFACTEnvelope.idInterchangeTrailer, EventType.END_INTERCHANGE);
+	}
+
+	private final Reader reader;
+	private final Tokenizer tokenizer;
+	private final Map<String, EventType> controlSegments;
+	/** element holding the transaction set id in the transaction set header */
+	private final int transactionSetIDPosition;
+	private final DocumentErrors dErr;
+
+	private final SegmentTokenizer componentTokenizer = new SegmentTokenizer();
+
+	private EventType eventType = null;
+	private IDataTokenizer currentSegment = null;
+	private String segmentID = null;
+	private int elementCount = 0;
+	private int elementPosition = 0;
+	private boolean reportElements = true;
+	private boolean documentEnded = false;
+	private String transactionSetID = null;
+
+	/**
+	 * builds a pull reader for an X12 document
+	 *
+	 * @param inReader the edi document
+	 * @return EDIEventReader
+	 * @throws OBOEException the ISA segment could not be read
+	 */
+	public static EDIEventReader forX12(Reader inReader) throws OBOEException {
+		DocumentErrors dErr = new DocumentErrors();
+		return new EDIEventReader(inReader, new X12Tokenizer(inReader, dErr), dErr, x12ControlSegments, 1);
+	}
+
+	/**
+	 * builds a pull reader for an EDIFACT document
+	 *
+	 * @param inReader the edi document
+	 * @return EDIEventReader
+	 * @throws OBOEException the UNA or UNB segment could not be read
+	 */
+	public static EDIEventReader forEDIFACT(Reader inReader) throws OBOEException {
+		DocumentErrors dErr = new DocumentErrors();
+		return new EDIEventReader(inReader, new EDIFACTTokenizer(inReader, dErr), dErr, edifactControlSegments, 2);
+	}
+
+	private EDIEventReader(Reader inReader, Tokenizer inTokenizer, DocumentErrors inDErr,
+			Map<String, EventType> inControlSegments, int inTransactionSetIDPosition) {
+		reader = inReader;
+		tokenizer = inTokenizer;
+		dErr = inDErr;
+		controlSegments = inControlSegments;
+		transactionSetIDPosition = inTransactionSetIDPosition;
+	}
+
+	/**
+	 * turns ELEMENT events on or off, when off nextEvent only returns segment level
+	 * events. Elements are still available through getElement.
+	 *
+	 * @param inReportElements boolean
+	 */
+	public void setReportElements(boolean inReportElements) {
+		reportElements = inReportElements;
+	}
+
+	/**
+	 * are there more events
+	 *
+	 * @return boolean false after END_DOCUMENT has been returned
+	 */
+	public boolean hasNext() {
+		return eventType != EventType.END_DOCUMENT;
+	}
+
+	/**
+	 * moves to the next event
+	 *
+	 * @return EventType
+	 * @throws NoSuchElementException if END_DOCUMENT was already returned
+	 */
+	public EventType nextEvent() {
+		if (hasNext() == false) {
+			throw new NoSuchElementException("end of document already reached");
+		}
+
+		if (reportElements && (currentSegment != null) && (elementPosition + 1 < elementCount)) {
+			elementPosition++;
+			eventType = EventType.ELEMENT;
+			return eventType;
+		}
+
+		if (nextSegment() == false) {
+			eventType = EventType.END_DOCUMENT;
+			return eventType;
+		}
+
+		EventType controlType = controlSegments.get(segmentID);
+		eventType = (controlType == null) ? EventType.SEGMENT : controlType;
+
+		if (eventType == EventType.START_TRANSACTION_SET) {
+			transactionSetID = componentAt(getElement(transactionSetIDPosition), 0);
+		} else if (eventType == EventType.START_GROUP || eventType == EventType.START_INTERCHANGE) {
+			transactionSetID = null;
+		}
+
+		return eventType;
+	}
+
+	/**
+	 * reads segments until a non empty one is found
+	 *
+	 * @return boolean false at end of input
+	 */
+	private boolean nextSegment() {
+		currentSegment = null;
+		segmentID = null;
+		elementCount = 0;
+		elementPosition = 0;
+		while (documentEnded == false) {
+			if (tokenizer.hasMoreSegments() == false) {
+				documentEnded = true;
+				break;
+			}
+			IDataTokenizer segment = tokenizer.getNextSegment(null);
+			String id = segment.getTokenAt(0);
+			if (id == null) {
+				continue;
+			}
+			id = id.trim();
+			if (id.length() == 0) {
+				continue;
+			}
+			currentSegment = segment;
+			segmentID = id;
+			elementCount = segment.countTokens();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * skips the rest of the current transaction set, the next event returned is
+	 * END_TRANSACTION_SET (or END_GROUP, END_INTERCHANGE, END_DOCUMENT if the
+	 * trailer is missing). Segments are skipped without reporting elements.
+	 *
+	 * @return EventType the event now current
+	 */
+	public EventType skipTransactionSet() {
+		while (true) {
+			if (nextSegment() == false) {
+				eventType = EventType.END_DOCUMENT;
+				return eventType;
+			}
+			EventType controlType = controlSegments.get(segmentID);
+			if (controlType == EventType.END_TRANSACTION_SET || controlType == EventType.END_GROUP
+					|| controlType == EventType.END_INTERCHANGE) {
+				eventType = controlType;
+				return eventType;
+			}
+		}
+	}
+
+	/**
+	 * no more ELEMENT events for the current segment
+	 */
+	public void skipElements() {
+		elementPosition = elementCount;
+	}
+
+	/**
+	 * the current event type
+	 *
+	 * @return EventType, null before the first call to nextEvent
+	 */
+	public EventType getEventType() {
+		return eventType;
+	}
+
+	/**
+	 * id of the current segment
+	 *
+	 * @return String, null after END_DOCUMENT
+	 */
+	public String getSegmentID() {
+		return segmentID;
+	}
+
+	/**
+	 * position (line number) of the current segment in the document
+	 *
+	 * @return int
+	 */
+	public int getSegmentPosition() {
+		return tokenizer.getSegmentPos();
+	}
+
+	/**
+	 * number of elements in the current segment, not counting the segment id
+	 *
+	 * @return int
+	 */
+	public int getElementCount() {
+		return Math.max(elementCount - 1, 0);
+	}
+
+	/**
+	 * returns a element of the current segment
+	 *
+	 * @param inPosition int - relative to 1, 0 returns the segment id
+	 * @return String, null if the segment is shorter
+	 */
+	public String getElement(int inPosition) {
+		if (currentSegment == null || inPosition < 0 || inPosition >= elementCount) {
+			return null;
+		}
+		return currentSegment.getTokenAt(inPosition);
+	}
+
+	/**
+	 * returns the components of a composite element of the current segment
+	 *
+	 * @param inPosition int - relative to 1
+	 * @return List of String, empty if the element is not there
+	 */
+	public List<String> getComponents(int inPosition) {
+		List<String> components = new ArrayList<>();
+		String value = getElement(inPosition);
+		if (value == null) {
+			return components;
+		}
+		componentTokenizer.reset(value, tokenizer.getElementSeparator(), tokenizer.getEscapeCharacters());
+		for (int i = 0; i < componentTokenizer.countTokens(); i++) {
+			components.add(componentTokenizer.getTokenAt(i));
+		}
+		return components;
+	}
+
+	private String componentAt(String inValue, int inPosition) {
+		if (inValue == null) {
+			return null;
+		}
+		componentTokenizer.reset(inValue, tokenizer.getElementSeparator(), tokenizer.getEscapeCharacters());
+		return componentTokenizer.getTokenAt(inPosition);
+	}
+
+	/**
+	 * position of the current ELEMENT event within its segment
+	 *
+	 * @return int - relative to 1
+	 */
+	public int getElementPosition() {
+		return elementPosition;
+	}
+
+	/**
+	 * for ELEMENT events the element value, otherwise the segment id
+	 *
+	 * @return String
+	 */
+	public String getText() {
+		if (eventType == EventType.ELEMENT) {
+			return getElement(elementPosition);
+		}
+		return segmentID;
+	}
+
+	/**
+	 * id of the last transaction set started, ST01 or the message type in UNH02
+	 *
+	 * @return String, null before the first transaction set of a group
+	 */
+	public String getTransactionSetID() {
+		return transactionSetID;
+	}
+
+	/**
+	 * the delimiters found in the interchange header
+	 *
+	 * @return String
+	 */
+	public String getSeparators() {
+		return tokenizer.getSeparators();
+	}
+
+	/**
+	 * errors the tokenizer found
+	 *
+	 * @return DocumentErrors
+	 */
+	public DocumentErrors getDocumentErrors() {
+		return dErr;
+	}
+
+	/**
+	 * closes the reader
+	 */
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
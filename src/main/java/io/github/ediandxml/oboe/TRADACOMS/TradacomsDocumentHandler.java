@@ -20,6 +20,8 @@ import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.PrintWriter;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -30,6 +32,7 @@ import io.github.ediandxml.oboe.Containers.Segment;
 import io.github.ediandxml.oboe.Containers.TransactionSet;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.util.MappedDocument;
 import io.github.ediandxml.oboe.EDIDocumentHandler;
 import io.github.ediandxml.oboe.Format;
 
@@ -221,10 +224,10 @@ public class TradacomsDocumentHandler implements EDIDocumentHandler {
 				logr.debug(br.readLine());
 				br.close();
 
-				FileReader fr = new FileReader(arg);
 				dh = new TradacomsDocumentHandler();
-				dh.startParsing(fr);
-				fr.close();
+				try (Reader reader = MappedDocument.openReader(Paths.get(arg), StandardCharsets.ISO_8859_1)) {
+					dh.startParsing(reader);
+				}
 				Envelope x = dh.getEnvelope();
 				// System.out.println(x.getFormattedText(Format.VALID_XML_FORMAT));
 				System.out.println("xml results");
@@ -317,7 +317,7 @@ public class TradacomsDocumentParser extends EDIDocumentParser {
 			}
 
 			if (io.github.ediandxml.oboe.util.Util.propertyFileIndicatesTHROW_PARSING_EXCEPTION()
-					&& (dErr.getErrorCount() > 0)) {
+					&& (dErr.getTotalErrorCount() > 0)) {
 				dErr.logErrors();
 				logr.info("doprevalidate=" + Util.propertyFileIndicatesDoPrevalidate());
 				throw new OBOEException(dErr);
@@ -449,7 +449,12 @@ public class TradacomsEnvelope extends Envelope {
 		FunctionalGroup fg;
 		for (int i = 0; i < getFunctionalGroupCount(); i++) {
 			fg = getFunctionalGroup(i);
-			sb.append(fg.getFormattedText(format));
+			try {
+				fg.appendFormattedText(sb, format);
+			} catch (IOException e) {
+				// a StringBuilder does not throw
+				throw new OBOEException(e.getMessage());
+			}
 		}
 
 		sb.append(getSegment(idInterchangeTrailer).getFormattedText(format));
@@ -490,7 +495,7 @@ public class TradacomsEnvelope extends Envelope {
 			inWriter.write("Envelope" + io.github.ediandxml.oboe.util.Util.lineFeed);
 		}
 
-		inWriter.write(getSegment(idInterchangeHeader).getFormattedText(format));
+		getSegment(idInterchangeHeader).appendFormattedText(inWriter, format);
 
 		FunctionalGroup fg;
 		for (int i = 0; i < getFunctionalGroupCount(); i++) {
@@ -498,7 +503,7 @@ public class TradacomsEnvelope extends Envelope {
 			fg.writeFormattedText(inWriter, format);
 		}
 
-		inWriter.write(getSegment(idInterchangeTrailer).getFormattedText(format));
+		getSegment(idInterchangeTrailer).appendFormattedText(inWriter, format);
 		if (format == Format.XML_FORMAT) {
 			inWriter.write("</Envelope>" + io.github.ediandxml.oboe.util.Util.lineFeed);
 		}
@@ -27,7 +27,6 @@ import io.github.ediandxml.oboe.Containers.Envelope;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.OBOEException;
 import io.github.ediandxml.oboe.Tokenizers.ITokenizer;
-import io.github.ediandxml.oboe.Tokenizers.ReaderTokenizer;
 import io.github.ediandxml.oboe.Tokenizers.Tokenizer;
 
 /**
@@ -63,7 +62,7 @@ public class TradacomsTokenizer extends Tokenizer implements ITokenizer {
 		PushbackReader pbr = new PushbackReader(inReader, 10);
 		char firstSeg[] = new char[10];
 		try {
-			if (pbr.read(firstSeg, 0, 10) != 10) {
+			if (readFully(pbr, firstSeg) != 10) {
 				throw new OBOEException("expected data not read");
 			}
 		} catch (IOException ioe) {
@@ -76,7 +75,7 @@ public class TradacomsTokenizer extends Tokenizer implements ITokenizer {
 			ioe.printStackTrace();
 			throw new OBOEException(ioe.getMessage());
 		}
-		transactionSetTokenizer = new ReaderTokenizer(pbr, Envelope.TRADACOMS_SEGMENT_DELIMITER, "?");
+		transactionSetTokenizer = makeReaderTokenizer(pbr, Envelope.TRADACOMS_SEGMENT_DELIMITER, "?");
 		separators.append(Envelope.TRADACOMS_SEGMENT_DELIMITER);
 		tokenseparatorCharacter = Envelope.TRADACOMS_FIELD_DELIMITER + Envelope.TRADACOMS_SEGID_DELIMITER;
 		separators.append(Envelope.TRADACOMS_FIELD_DELIMITER);
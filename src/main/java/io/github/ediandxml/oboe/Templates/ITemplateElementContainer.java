@@ -45,6 +45,8 @@ public interface ITemplateElementContainer {
 
 	public int doYouUseThisElement(String inID, int startAt);
 
+	public int[] getPositions(String inID);
+
 	public int doYouUseThisXMLElement(String inXML, int startAt);
 
 	public boolean canYouPrevalidate();
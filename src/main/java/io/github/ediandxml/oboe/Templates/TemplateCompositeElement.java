@@ -28,6 +28,7 @@ import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.OBOEException;
 import io.github.ediandxml.oboe.Tokenizers.ITokenizer;
 import io.github.ediandxml.oboe.Tokenizers.Tokenizer;
+import io.github.ediandxml.oboe.util.ValidatingMethod;
 import io.github.ediandxml.oboe.IContainedObject;
 
 /**
@@ -165,6 +166,17 @@ public class TemplateCompositeElement extends TemplateElement implements ITempla
 		return myElementContainer.doYouUseThisElement(inID, startAt);
 	}
 
+	/**
+	 * positions of the elements with an id, in position order
+	 *
+	 * @return int[] empty if the id is not used, do not change it
+	 * @param inID String id
+	 */
+	@Override
+	public int[] getPositions(String inID) {
+		return myElementContainer.getPositions(inID);
+	}
+
 	/**
 	 * routine to ask if it uses a dataelement by its XML Tag
 	 *
@@ -236,7 +248,7 @@ public class TemplateCompositeElement extends TemplateElement implements ITempla
 	}
 
 	/** method used to validate with */
-	private Method validatingMethod = null;
+	private ValidatingMethod validatingMethod = null;
 
 	/**
 	 * gets the validating Method as specified in message description
@@ -248,7 +260,7 @@ public class TemplateCompositeElement extends TemplateElement implements ITempla
 		if (validatingMethod == null) {
 			return null;
 		}
-		return validatingMethod.getDeclaringClass().getName() + "." + validatingMethod.getName();
+		return validatingMethod.getName();
 	}
 
 	/**
@@ -258,7 +270,7 @@ public class TemplateCompositeElement extends TemplateElement implements ITempla
 	 */
 
 	public void setValidatingMethod(Method inValidatingMethod) {
-		validatingMethod = inValidatingMethod;
+		validatingMethod = ValidatingMethod.of(inValidatingMethod);
 	}
 
 	/**
@@ -275,17 +287,7 @@ public class TemplateCompositeElement extends TemplateElement implements ITempla
 			return true;
 		}
 
-		Object objArray[] = new Object[2];
-		objArray[0] = inCDE;
-		objArray[1] = inDocErrs;
-		Boolean b;
-		try {
-			b = (Boolean) validatingMethod.invoke(null, objArray);
-		} catch (Exception e1) {
-			throw new OBOEException(e1.getMessage());
-		}
-
-		return b.booleanValue();
+		return validatingMethod.run(inCDE, inDocErrs);
 	}
 
 	@Override
@@ -16,6 +16,9 @@
 
 package io.github.ediandxml.oboe.Templates;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 
 import org.apache.logging.log4j.LogManager;
@@ -26,7 +29,9 @@ import io.github.ediandxml.oboe.DataElements.Element;
 import io.github.ediandxml.oboe.DataElements.IDListProcessor;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.util.CharacterSet;
 import io.github.ediandxml.oboe.util.Util;
+import io.github.ediandxml.oboe.util.ValidatingMethod;
 import io.github.ediandxml.oboe.IContainedObject;
 
 /**
@@ -59,6 +64,12 @@ public class TemplateDataElement extends TemplateElement {
 	private String loadFromProperty = null;
 	private String loadFromClassMethod = null;
 
+	/** loadFromClassMethod bound on first use */
+	private volatile MethodHandle loadMethodHandle = null;
+
+	/** loadFromClassMethod could not be bound */
+	private volatile boolean loadMethodFailed = false;
+
 	static Logger logr = LogManager.getLogger(TemplateDataElement.class);
 
 	/**
@@ -221,19 +232,8 @@ public class TemplateDataElement extends TemplateElement {
 			return "field at position " + getPosition() + " id=" + getID() + " field value too long.";
 		}
 
-		for (int i = 0; i < testText.length(); i++) {
-			char ch = testText.charAt(i);
-			if (((ch >= 'A') && (ch <= 'Z')) || ((ch >= '0') && (ch <= '9')) || (ch == '!') || (ch == '"')
-					|| (ch == '&') || (ch == '\'') || (ch == '(') || (ch == ')') || (ch == '*') || (ch == '+')
-					|| (ch == '\'') || (ch == '-') || (ch == '.') || (ch == '/') || (ch == ':') || (ch == ';')
-					|| (ch == '?') || (ch == '=') || (ch == ' ') || ((ch >= 'a') && (ch <= 'z')) || (ch == '%')
-					|| (ch == '~') || (ch == '@') || (ch == '[') || (ch == ']') || (ch == '_') || (ch == '{')
-					|| (ch == '}') || (ch == '\\') || (ch == '|') || (ch == '<') || (ch == '>') || (ch == '#')
-					|| (ch == '$')) {
-				;
-			} else {
-				return "field at position " + getPosition() + " id=" + getID() + " invalid character.";
-			}
+		if (CharacterSet.TEMPLATE_DEFAULT.firstInvalid(testText) > -1) {
+			return "field at position " + getPosition() + " id=" + getID() + " invalid character.";
 		}
 
 		return null;
@@ -267,6 +267,8 @@ public class TemplateDataElement extends TemplateElement {
 		loadFromConstant = null;
 		loadFromProperty = null;
 		loadFromClassMethod = inString;
+		loadMethodHandle = null;
+		loadMethodFailed = false;
 	}
 
 	/**
@@ -334,28 +336,14 @@ public class TemplateDataElement extends TemplateElement {
 		}
 
 		if (loadFromClassMethod != null) {
-			int pos = loadFromClassMethod.lastIndexOf('.');
-			if (pos <= 0) {
-				logr.error("Can't find method " + loadFromClassMethod + " for DE " + this.getID() + " in "
-						+ this.getParent().getID());
-				return null;
-			}
-			String classname = loadFromClassMethod.substring(0, pos);
-			if (pos == loadFromClassMethod.length()) {
+			MethodHandle loadMethod = getLoadMethod();
+			if (loadMethod == null) {
 				return null;
 			}
-			String methodname = loadFromClassMethod.substring(pos + 1);
 			try {
-				Class<?> loadClass = Class.forName(classname);
-				Class<?> parms[] = new Class[0];
-				Method loadMethod = loadClass.getMethod(methodname, parms);
-				if (loadMethod == null) {
-					return null;
-				}
-				return (String) loadMethod.invoke(null, (Object[]) parms);
-
-			} catch (Exception e1) {
-				e1.printStackTrace();
+				return (String) loadMethod.invokeExact();
+			} catch (Throwable e1) {
+				logr.error(e1.getMessage(), e1);
 				return null;
 			}
 
@@ -371,6 +359,40 @@ public class TemplateDataElement extends TemplateElement {
 		return null;
 	}
 
+	/**
+	 * binds loadFromClassMethod the first time it is needed. a method that can
+	 * not be found is remembered so it is only looked for, and reported, once.
+	 *
+	 * @return MethodHandle returning the default or null
+	 */
+	private MethodHandle getLoadMethod() {
+		MethodHandle handle = loadMethodHandle;
+		if (handle != null || loadMethodFailed) {
+			return handle;
+		}
+		String classMethod = loadFromClassMethod;
+		int pos = classMethod.lastIndexOf('.');
+		if (pos <= 0) {
+			logr.error("Can't find method " + classMethod + " for DE " + this.getID() + " in "
+					+ this.getParent().getID());
+			loadMethodFailed = true;
+			return null;
+		}
+		String classname = classMethod.substring(0, pos);
+		String methodname = classMethod.substring(pos + 1);
+		try {
+			Class<?> loadClass = Class.forName(classname);
+			handle = MethodHandles.publicLookup().unreflect(loadClass.getMethod(methodname))
+					.asType(MethodType.methodType(String.class));
+		} catch (ReflectiveOperationException | RuntimeException e1) {
+			logr.error("Can't find method " + classMethod + " for DE " + this.getID(), e1);
+			loadMethodFailed = true;
+			return null;
+		}
+		loadMethodHandle = handle;
+		return handle;
+	}
+
 	@Override
 	public String getEmptyData() {
 		char cArray[] = new char[getMaxLength()];
@@ -381,7 +403,7 @@ public class TemplateDataElement extends TemplateElement {
 	}
 
 	/** method used to validate with */
-	private Method validatingMethod = null;
+	private ValidatingMethod validatingMethod = null;
 
 	/**
 	 * gets the validating Method as specified in message description
@@ -393,7 +415,7 @@ public class TemplateDataElement extends TemplateElement {
 		if (validatingMethod == null) {
 			return null;
 		}
-		return validatingMethod.getDeclaringClass().getName() + "." + validatingMethod.getName();
+		return validatingMethod.getName();
 	}
 
 	/**
@@ -403,7 +425,7 @@ public class TemplateDataElement extends TemplateElement {
 	 */
 
 	public void setValidatingMethod(Method inValidatingMethod) {
-		validatingMethod = inValidatingMethod;
+		validatingMethod = ValidatingMethod.of(inValidatingMethod);
 	}
 
 	/**
@@ -420,17 +442,7 @@ public class TemplateDataElement extends TemplateElement {
 			return true;
 		}
 
-		Object objArray[] = new Object[2];
-		objArray[0] = inDE;
-		objArray[1] = inDocErrs;
-		Boolean b;
-		try {
-			b = (Boolean) validatingMethod.invoke(null, objArray);
-		} catch (Exception e1) {
-			throw new OBOEException(e1.getMessage());
-		}
-
-		return b.booleanValue();
+		return validatingMethod.run(inDE, inDocErrs);
 	}
 
 	@Override
@@ -16,7 +16,9 @@
 
 package io.github.ediandxml.oboe.Templates;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.TreeMap;
 
 import io.github.ediandxml.oboe.Containers.MetaContainer;
@@ -35,6 +37,15 @@ public class TemplateElementContainer implements ITemplateElementContainer {
 	 */
 	public TreeMap<Integer, TemplateElement> templateDataElementList;
 
+	private static final int NO_POSITIONS[] = new int[0];
+
+	/**
+	 * positions of the elements with each id, in position order. Filled in as
+	 * the template is loaded, an array is replaced rather than changed so one
+	 * handed out never changes.
+	 */
+	private final HashMap<String, int[]> positionsByID = new HashMap<String, int[]>();
+
 	public Identifier who;
 
 	protected TemplateElementContainer(Identifier who) {
@@ -62,6 +73,18 @@ public class TemplateElementContainer implements ITemplateElementContainer {
 		}
 		templateDataElementList.put(inTemplateElement.getPosition(), inTemplateElement);
 
+		int positions[] = getPositions(inTemplateElement.getID());
+		int insertAt = -Arrays.binarySearch(positions, inTemplateElement.getPosition()) - 1;
+		int newPositions[] = new int[positions.length + 1];
+		System.arraycopy(positions, 0, newPositions, 0, insertAt);
+		newPositions[insertAt] = inTemplateElement.getPosition();
+		System.arraycopy(positions, insertAt, newPositions, insertAt + 1, positions.length - insertAt);
+		positionsByID.put(inTemplateElement.getID(), newPositions);
+	}
+
+	@Override
+	public int[] getPositions(String inID) {
+		return positionsByID.getOrDefault(inID, NO_POSITIONS);
 	}
 
 	@Override
@@ -79,13 +102,10 @@ public class TemplateElementContainer implements ITemplateElementContainer {
 	@Override
 	public TemplateElement getTemplateElement(String id) {
 
-		for (var tce : templateDataElementList.values()) {
-			if (!tce.IAmATemplateDE()) {
-				continue;
-			}
-			TemplateDataElement tde = (TemplateDataElement) tce;
-			if (tde.getID().compareTo(id) == 0) {
-				return tde;
+		for (int pos : getPositions(id)) {
+			var tce = templateDataElementList.get(pos);
+			if (tce.IAmATemplateDE()) {
+				return tce;
 			}
 		}
 		return null;
@@ -111,8 +131,11 @@ public class TemplateElementContainer implements ITemplateElementContainer {
 	@Override
 	public int doYouUseThisElement(String inID, int startAt) {
 
-		for (var pos = startAt; pos < templateDataElementList.size(); pos++) {
-			if (templateDataElementList.get(pos).getID().equals(inID)) {
+		for (int pos : getPositions(inID)) {
+			if (pos >= templateDataElementList.size()) {
+				break;
+			}
+			if (pos >= startAt) {
 				return pos;
 			}
 		}
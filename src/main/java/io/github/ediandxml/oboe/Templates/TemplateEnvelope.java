@@ -29,6 +29,7 @@ import io.github.ediandxml.oboe.Containers.Envelope;
 import io.github.ediandxml.oboe.Containers.MetaTemplateContainer;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.util.ValidatingMethod;
 import io.github.ediandxml.oboe.IContainedObject;
 
 /**
@@ -118,7 +119,7 @@ public class TemplateEnvelope extends MetaTemplateContainer implements ITemplate
 	}
 
 	/** method used to validate with */
-	private Method validatingMethod = null;
+	private ValidatingMethod validatingMethod = null;
 
 	/**
 	 * gets the validating Method as specified in message description
@@ -130,7 +131,7 @@ public class TemplateEnvelope extends MetaTemplateContainer implements ITemplate
 		if (validatingMethod == null) {
 			return null;
 		}
-		return validatingMethod.getDeclaringClass().getName() + "." + validatingMethod.getName();
+		return validatingMethod.getName();
 	}
 
 	/**
@@ -140,7 +141,7 @@ public class TemplateEnvelope extends MetaTemplateContainer implements ITemplate
 	 */
 
 	public void setValidatingMethod(Method inValidatingMethod) {
-		validatingMethod = inValidatingMethod;
+		validatingMethod = ValidatingMethod.of(inValidatingMethod);
 	}
 
 	/**
@@ -157,17 +158,7 @@ public class TemplateEnvelope extends MetaTemplateContainer implements ITemplate
 			return true;
 		}
 
-		Object objArray[] = new Object[2];
-		objArray[0] = inEnv;
-		objArray[1] = inDocErrs;
-		Boolean b;
-		try {
-			b = (Boolean) validatingMethod.invoke(null, objArray);
-		} catch (Exception e1) {
-			throw new OBOEException(e1.getMessage());
-		}
-
-		return b.booleanValue();
+		return validatingMethod.run(inEnv, inDocErrs);
 	}
 
 	/**
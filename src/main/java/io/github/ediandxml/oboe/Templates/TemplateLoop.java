@@ -29,6 +29,7 @@ import io.github.ediandxml.oboe.Errors.OBOEException;
 import io.github.ediandxml.oboe.Tokenizers.ITokenizer;
 import io.github.ediandxml.oboe.Tokenizers.Tokenizer;
 import io.github.ediandxml.oboe.util.Util;
+import io.github.ediandxml.oboe.util.ValidatingMethod;
 import io.github.ediandxml.oboe.IContainedObject;
 
 /**
@@ -276,7 +277,7 @@ public class TemplateLoop extends MetaTemplateContainer implements ITemplate, IC
 	}
 
 	/** method used to validate with */
-	private Method validatingMethod = null;
+	private ValidatingMethod validatingMethod = null;
 
 	/**
 	 * gets the validating Method as specified in message description
@@ -288,7 +289,7 @@ public class TemplateLoop extends MetaTemplateContainer implements ITemplate, IC
 		if (validatingMethod == null) {
 			return null;
 		}
-		return validatingMethod.getDeclaringClass().getName() + "." + validatingMethod.getName();
+		return validatingMethod.getName();
 	}
 
 	/**
@@ -298,7 +299,7 @@ public class TemplateLoop extends MetaTemplateContainer implements ITemplate, IC
 	 */
 
 	public void setValidatingMethod(Method inValidatingMethod) {
-		validatingMethod = inValidatingMethod;
+		validatingMethod = ValidatingMethod.of(inValidatingMethod);
 	}
 
 	/**
@@ -315,18 +316,12 @@ public class TemplateLoop extends MetaTemplateContainer implements ITemplate, IC
 			return true;
 		}
 
-		Object objArray[] = new Object[2];
-		objArray[0] = inLoop;
-		objArray[1] = inDocErrs;
-		Boolean b;
 		try {
-			b = (Boolean) validatingMethod.invoke(null, objArray);
-		} catch (Exception e1) {
+			return validatingMethod.run(inLoop, inDocErrs);
+		} catch (OBOEException e1) {
 			logr.error(e1.getMessage(), e1);
-			throw new OBOEException(e1.getMessage());
+			throw e1;
 		}
-
-		return b.booleanValue();
 	}
 
 	@Override
@@ -33,6 +33,7 @@ import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.OBOEException;
 import io.github.ediandxml.oboe.Tokenizers.ITokenizer;
 import io.github.ediandxml.oboe.Tokenizers.Tokenizer;
+import io.github.ediandxml.oboe.util.ValidatingMethod;
 import io.github.ediandxml.oboe.ElementRules;
 import io.github.ediandxml.oboe.IContainedObject;
 
@@ -375,6 +376,17 @@ public class TemplateSegment implements ITemplate, IContainedObject, ITemplateEl
 		return myElementContainer.doYouUseThisElement(inID, startAt);
 	}
 
+	/**
+	 * positions of the elements with an id, in position order
+	 *
+	 * @return int[] empty if the id is not used, do not change it
+	 * @param inID String id
+	 */
+	@Override
+	public int[] getPositions(String inID) {
+		return myElementContainer.getPositions(inID);
+	}
+
 	/**
 	 * routine to ask if it uses a dataelement
 	 *
@@ -494,7 +506,7 @@ public class TemplateSegment implements ITemplate, IContainedObject, ITemplateEl
 	}
 
 	/** method used to validate with */
-	private Method validatingMethod = null;
+	private ValidatingMethod validatingMethod = null;
 
 	/**
 	 * gets the validating Method as specified in message description
@@ -506,7 +518,7 @@ public class TemplateSegment implements ITemplate, IContainedObject, ITemplateEl
 		if (validatingMethod == null) {
 			return null;
 		}
-		return validatingMethod.getDeclaringClass().getName() + "." + validatingMethod.getName();
+		return validatingMethod.getName();
 	}
 
 	/**
@@ -516,7 +528,7 @@ public class TemplateSegment implements ITemplate, IContainedObject, ITemplateEl
 	 */
 
 	public void setValidatingMethod(Method inValidatingMethod) {
-		validatingMethod = inValidatingMethod;
+		validatingMethod = ValidatingMethod.of(inValidatingMethod);
 	}
 
 	/**
@@ -534,17 +546,7 @@ public class TemplateSegment implements ITemplate, IContainedObject, ITemplateEl
 			return true;
 		}
 
-		Object objArray[] = new Object[2];
-		objArray[0] = inSeg;
-		objArray[1] = inDocErrs;
-		Boolean b;
-		try {
-			b = (Boolean) validatingMethod.invoke(null, objArray);
-		} catch (Exception e1) {
-			throw new OBOEException(e1.getMessage());
-		}
-
-		return b.booleanValue();
+		return validatingMethod.run(inSeg, inDocErrs);
 	}
 
 	@Override
@@ -26,6 +26,7 @@ import io.github.ediandxml.oboe.Containers.Table;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.OBOEException;
 import io.github.ediandxml.oboe.IContainedObject;
+import io.github.ediandxml.oboe.util.ValidatingMethod;
 
 /**
  * class for Template Tables a general class for the transaction set's heading
@@ -142,7 +143,7 @@ public class TemplateTable extends MetaTemplateContainer implements ITemplate, I
 	}
 
 	/** method used to validate with */
-	private Method validatingMethod = null;
+	private ValidatingMethod validatingMethod = null;
 
 	/**
 	 * gets the validating Method as specified in message description
@@ -154,7 +155,7 @@ public class TemplateTable extends MetaTemplateContainer implements ITemplate, I
 		if (validatingMethod == null) {
 			return null;
 		}
-		return validatingMethod.getDeclaringClass().getName() + "." + validatingMethod.getName();
+		return validatingMethod.getName();
 	}
 
 	/**
@@ -164,7 +165,7 @@ public class TemplateTable extends MetaTemplateContainer implements ITemplate, I
 	 */
 
 	public void setValidatingMethod(Method inValidatingMethod) {
-		validatingMethod = inValidatingMethod;
+		validatingMethod = ValidatingMethod.of(inValidatingMethod);
 	}
 
 	/**
@@ -181,17 +182,7 @@ public class TemplateTable extends MetaTemplateContainer implements ITemplate, I
 			return true;
 		}
 
-		Object objArray[] = new Object[2];
-		objArray[0] = inTable;
-		objArray[1] = inDocErrs;
-		Boolean b;
-		try {
-			b = (Boolean) validatingMethod.invoke(null, objArray);
-		} catch (Exception e1) {
-			throw new OBOEException(e1.getMessage());
-		}
-
-		return b.booleanValue();
+		return validatingMethod.run(inTable, inDocErrs);
 	}
 
 	@Override
@@ -28,8 +28,10 @@ import io.github.ediandxml.oboe.Containers.ContainerKey;
 import io.github.ediandxml.oboe.Containers.ContainerType;
 import io.github.ediandxml.oboe.Containers.MetaTemplateContainer;
 import io.github.ediandxml.oboe.Containers.TransactionSet;
+import io.github.ediandxml.oboe.Containers.TransactionSetStateMachine;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.util.ValidatingMethod;
 import io.github.ediandxml.oboe.Format;
 import io.github.ediandxml.oboe.IContainedObject;
 
@@ -348,8 +350,29 @@ public class TemplateTransactionSet extends MetaTemplateContainer implements ITe
 		return parent;
 	}
 
+	/** compiled parser, null when the recursive parser is used */
+	private volatile TransactionSetStateMachine stateMachine = null;
+
+	/**
+	 * gets the compiled parser
+	 *
+	 * @return TransactionSetStateMachine or null if not compiled
+	 */
+	public TransactionSetStateMachine getStateMachine() {
+		return stateMachine;
+	}
+
+	/**
+	 * sets the compiled parser, pass null to go back to the recursive parser
+	 *
+	 * @param inStateMachine compiled from this template
+	 */
+	public void setStateMachine(TransactionSetStateMachine inStateMachine) {
+		stateMachine = inStateMachine;
+	}
+
 	/** method used to validate with */
-	private Method validatingMethod = null;
+	private ValidatingMethod validatingMethod = null;
 
 	/**
 	 * gets the validating Method as specified in message description
@@ -361,7 +384,7 @@ public class TemplateTransactionSet extends MetaTemplateContainer implements ITe
 		if (validatingMethod == null) {
 			return null;
 		}
-		return validatingMethod.getDeclaringClass().getName() + "." + validatingMethod.getName();
+		return validatingMethod.getName();
 	}
 
 	/**
@@ -371,7 +394,7 @@ public class TemplateTransactionSet extends MetaTemplateContainer implements ITe
 	 */
 
 	public void setValidatingMethod(Method inValidatingMethod) {
-		validatingMethod = inValidatingMethod;
+		validatingMethod = ValidatingMethod.of(inValidatingMethod);
 	}
 
 	/**
@@ -388,17 +411,7 @@ public class TemplateTransactionSet extends MetaTemplateContainer implements ITe
 			return true;
 		}
 
-		Object objArray[] = new Object[2];
-		objArray[0] = inTS;
-		objArray[1] = inDocErrs;
-		Boolean b;
-		try {
-			b = (Boolean) validatingMethod.invoke(null, objArray);
-		} catch (Exception e1) {
-			throw new OBOEException(e1.getMessage());
-		}
-
-		return b.booleanValue();
+		return validatingMethod.run(inTS, inDocErrs);
 	}
 
 	public void addIDListFile(File inFile) {
@@ -0,0 +1,374 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package io.github.ediandxml.oboe.Tokenizers;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import io.github.ediandxml.oboe.Errors.OBOEException;
+
+/**
+ * block buffered version of the ReaderTokenizer. <br>
+ * input is read into a large reusable char array and scanned in place, the
+ * delimiter, escape and skip characters are looked up in a precomputed
+ * character class table instead of String.indexOf calls. Escapes and skip
+ * characters are removed in place so the current segment is always a slice of
+ * the buffer, see getSegmentBuffer, getSegmentOffset and getSegmentLength.
+ * <br>
+ * escape and skip character handling is identical to ReaderTokenizer.
+ *
+ * OBOE - Open Business Objects for EDI
+ */
+
+public class BufferedReaderTokenizer extends ReaderTokenizer {
+
+	/** default size of the char window */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	/** character class flags */
+	private static final byte TOKEN = 1;
+	private static final byte ESCAPE = 2;
+	private static final byte SKIP = 4;
+
+	/**
+	 * character class table indexed by character value, sized to the highest
+	 * special character so anything beyond it is an ordinary character
+	 */
+	private byte charClass[] = new byte[0];
+
+	/** the char window */
+	private char buffer[];
+
+	/** next character to scan */
+	private int bufferPos = 0;
+
+	/** end of valid data in the window */
+	private int bufferLimit = 0;
+
+	/** end of input reached */
+	private boolean eof = false;
+
+	/** start of last segment in the window */
+	private int segmentOffset = 0;
+
+	/** length of last segment in the window */
+	private int segmentLength = 0;
+
+	/**
+	 * constructor
+	 *
+	 * @param inReader           - Reader object containing tokenized data
+	 * @param inTokens           - list of tokens
+	 * @param inEscapeCharacters - list of characters to escape and allow tokens in
+	 *                           the text pass an empty string or null if no escape
+	 *                           characters used
+	 */
+	public BufferedReaderTokenizer(Reader inReader, String inTokens, String inEscapeCharacters) {
+		this(inReader, inTokens, inEscapeCharacters, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * constructor
+	 *
+	 * @param inReader           - Reader object containing tokenized data
+	 * @param inTokens           - list of tokens
+	 * @param inEscapeCharacters - list of characters to escape and allow tokens in
+	 *                           the text pass an empty string or null if no escape
+	 *                           characters used
+	 * @param inBufferSize       - initial size of the char window, grows if a
+	 *                           segment does not fit
+	 */
+	public BufferedReaderTokenizer(Reader inReader, String inTokens, String inEscapeCharacters, int inBufferSize) {
+		super(inReader, inTokens, inEscapeCharacters);
+		buffer = new char[Math.max(inBufferSize, 128)];
+		for (int i = 0; i < tokens.length(); i++) {
+			markCharacter(tokens.charAt(i), TOKEN);
+		}
+		for (int i = 0; i < escapeCharacters.length(); i++) {
+			markCharacter(escapeCharacters.charAt(i), ESCAPE);
+		}
+	}
+
+	private void markCharacter(char inChar, byte inClass) {
+		if (inChar >= charClass.length) {
+			byte newClass[] = new byte[inChar + 1];
+			System.arraycopy(charClass, 0, newClass, 0, charClass.length);
+			charClass = newClass;
+		}
+		charClass[inChar] |= inClass;
+	}
+
+	@Override
+	public void setSkipChar(char inChar) {
+		super.setSkipChar(inChar);
+		for (int i = 0; i < charClass.length; i++) {
+			charClass[i] &= ~SKIP;
+		}
+		markCharacter(inChar, SKIP);
+		if (skipLineBreaks) {
+			markCharacter('\r', SKIP);
+			markCharacter('\n', SKIP);
+		}
+	}
+
+	@Override
+	public void setSkipLineBreaks(boolean inSkip) {
+		super.setSkipLineBreaks(inSkip);
+		if (inSkip) {
+			markCharacter('\r', SKIP);
+			markCharacter('\n', SKIP);
+		}
+	}
+
+	/**
+	 * moves the unscanned part of the window (and the segment being built) to the
+	 * front, growing the window if nothing can be moved
+	 *
+	 * @param inKeepFrom first position in the window that must be kept
+	 * @return int the number of characters the window shifted by
+	 */
+	private int compact(int inKeepFrom) {
+		int shift = inKeepFrom;
+		if (shift > 0) {
+			System.arraycopy(buffer, shift, buffer, 0, bufferLimit - shift);
+			bufferLimit -= shift;
+			bufferPos -= shift;
+		}
+		if (bufferLimit == buffer.length) {
+			char newBuffer[] = new char[buffer.length * 2];
+			System.arraycopy(buffer, 0, newBuffer, 0, bufferLimit);
+			buffer = newBuffer;
+		}
+		return shift;
+	}
+
+	/**
+	 * reads more data into the free end of the window
+	 *
+	 * @return boolean false at end of input
+	 * @throws IOException
+	 */
+	private boolean fill() throws IOException {
+		if (eof) {
+			return false;
+		}
+		int read = tokenReader.read(buffer, bufferLimit, buffer.length - bufferLimit);
+		if (read < 0) {
+			eof = true;
+			return false;
+		}
+		bufferLimit += read;
+		return true;
+	}
+
+	/**
+	 * discards everything already scanned and reads more data
+	 *
+	 * @return boolean false at end of input
+	 * @throws IOException
+	 */
+	private boolean refill() throws IOException {
+		if (eof) {
+			return false;
+		}
+		compact(bufferPos);
+		return fill();
+	}
+
+	/**
+	 * to get next token
+	 *
+	 * @return String - the next token
+	 *
+	 */
+	@Override
+	public String nextToken() {
+
+		int start = bufferPos;
+		int write = bufferPos;
+		byte cls[] = charClass;
+		int clsLength = cls.length;
+
+		try {
+			scan: while (true) {
+				if (bufferPos >= bufferLimit) {
+					if (eof) {
+						break;
+					}
+					int shift = compact(start);
+					start -= shift;
+					write -= shift;
+					if (fill() == false) {
+						break;
+					}
+				}
+				char buf[] = buffer;
+				int limit = bufferLimit;
+				int pos = bufferPos;
+				while (pos < limit) {
+					char currentChar = buf[pos];
+					if (currentChar >= clsLength || cls[currentChar] == 0) {
+						buf[write++] = currentChar;
+						pos++;
+						continue;
+					}
+					byte currentClass = cls[currentChar];
+					if ((currentClass & ESCAPE) != 0) {
+						if (pos + 1 >= limit) {
+							// need the escaped character, pull in more data
+							bufferPos = pos;
+							int shift = compact(start);
+							start -= shift;
+							write -= shift;
+							if (fill() == false) {
+								bufferPos = bufferLimit;
+								break scan;
+							}
+							continue scan;
+						}
+						char escapedChar = buf[pos + 1];
+						byte escapedClass = escapedChar < clsLength ? cls[escapedChar] : 0;
+						if (((escapedClass & TOKEN) != 0) && ((escapedClass & ESCAPE) != 0)) {
+							// escaping a delimiter so keep it
+							buf[write++] = escapedChar;
+						} else {
+							buf[write++] = currentChar;
+							buf[write++] = escapedChar;
+						}
+						pos += 2;
+						continue;
+					}
+					if ((currentClass & SKIP) != 0) {
+						// ignore the carriage return and catch the linefeed
+						pos++;
+						continue;
+					}
+					if ((currentClass & TOKEN) != 0) {
+						bufferPos = pos + 1;
+						break scan;
+					}
+					buf[write++] = currentChar;
+					pos++;
+				}
+				bufferPos = pos;
+			}
+		} catch (IOException ioe) {
+			return null;
+		}
+
+		segmentOffset = start;
+		segmentLength = write - start;
+		return new String(buffer, segmentOffset, segmentLength);
+	}
+
+	/**
+	 * returns the char window holding the last segment returned by nextToken. The
+	 * contents are only valid until the next call to this tokenizer.
+	 *
+	 * @return char[]
+	 */
+	public char[] getSegmentBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * returns where the last segment starts in the char window
+	 *
+	 * @return int
+	 */
+	public int getSegmentOffset() {
+		return segmentOffset;
+	}
+
+	/**
+	 * returns the length of the last segment in the char window
+	 *
+	 * @return int
+	 */
+	public int getSegmentLength() {
+		return segmentLength;
+	}
+
+	/**
+	 * pulls more data out of reader stream for binarytokenizer
+	 *
+	 * @param inLength int length
+	 * @return byte[]
+	 * @exception OBOEException - not enough data read
+	 */
+	@Override
+	public byte[] getMoreData(int inLength) throws OBOEException {
+
+		byte readArray[] = new byte[inLength];
+
+		int pos = 0;
+		for (pos = 0; pos < tokens.length(); pos++) {
+			readArray[pos] = (byte) tokens.charAt(pos);
+			// assume the end marker not read
+		}
+
+		char currentChar = ' ';
+
+		try {
+			while (pos < inLength) {
+				if (bufferPos >= bufferLimit && refill() == false) {
+					break;
+				}
+				readArray[pos] = (byte) buffer[bufferPos];
+				bufferPos++;
+				pos++;
+			}
+
+			if (pos != inLength) {
+				throw new OBOEException("Binary read length error.  Asked for " + inLength + " read only " + pos);
+			}
+
+			if (bufferPos < bufferLimit || refill()) {
+				currentChar = buffer[bufferPos];
+				bufferPos++;
+			}
+		} catch (java.io.IOException ioe) {
+			ioe.printStackTrace();
+			throw new OBOEException("IO error: " + ioe.getMessage());
+		}
+
+		if (tokens.indexOf(currentChar) < 0) {
+			throw new OBOEException(
+					"Binary read error.  Last character not end of segment delimiter found " + currentChar);
+		}
+
+		return readArray;
+	}
+
+	/**
+	 * indicates if there are more data elements to parse
+	 *
+	 * @return boolean more to parse?
+	 *
+	 */
+	@Override
+	public boolean hasMoreElements() {
+		if (bufferPos < bufferLimit) {
+			return true;
+		}
+		try {
+			return refill();
+		} catch (IOException ioe) {
+			return false;
+		}
+	}
+}
@@ -49,6 +49,12 @@ public class ReaderTokenizer implements IDataTokenizer {
 
 	private char skipChar = (char) -1;
 
+	/**
+	 * line breaks that are only there to make the data readable, skipped when
+	 * the segment delimiter is something else
+	 */
+	protected boolean skipLineBreaks = false;
+
 	/**
 	 * escape characters to allow tokens in the text
 	 */
@@ -89,7 +95,9 @@ public class ReaderTokenizer implements IDataTokenizer {
 		char currentChar;
 
 		try {
-			while (tokenReader.ready()) {
+			while (true) {
+				// read blocks until data arrives or the end of input is reached,
+				// ready() is false whenever a socket or pipe is simply empty
 				currentValue = tokenReader.read();
 				if (currentValue == -1) {
 					break;
@@ -117,6 +125,9 @@ public class ReaderTokenizer implements IDataTokenizer {
 					// ignore the carriage return and catch the linefeed
 					continue;
 				}
+				if (skipLineBreaks && (currentChar == '\r' || currentChar == '\n')) {
+					continue;
+				}
 				if (tokens.indexOf(currentChar) > -1) {
 					break;
 				}
@@ -150,7 +161,7 @@ public class ReaderTokenizer implements IDataTokenizer {
 		char currentChar = ' ';
 
 		try {
-			while (tokenReader.ready() && (pos < inLength)) {
+			while (pos < inLength) {
 				currentValue = tokenReader.read();
 				if (currentValue == -1) {
 					break;
@@ -201,6 +212,16 @@ public class ReaderTokenizer implements IDataTokenizer {
 		skipChar = inChar;
 	}
 
+	/**
+	 * skip carriage returns and line feeds as they are read, same as running the
+	 * input through a CRLFFilterReader first. Only use when neither is a token.
+	 *
+	 * @param inSkip boolean
+	 */
+	public void setSkipLineBreaks(boolean inSkip) {
+		skipLineBreaks = inSkip;
+	}
+
 	/**
 	 * indicates if there are more data elements to parse
 	 * 
@@ -211,10 +232,10 @@ public class ReaderTokenizer implements IDataTokenizer {
 	public boolean hasMoreElements() {
 		try {
 			int c = tokenReader.read();
-			tokenReader.unread(c);
 			if (c == -1) {
 				return false;
 			}
+			tokenReader.unread(c);
 			return true; // moreTokens;
 		} catch (IOException ioe) {
 			return false;
@@ -0,0 +1,306 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package io.github.ediandxml.oboe.Tokenizers;
+
+/**
+ * reusable version of the DataTokenizer. <br>
+ * instead of copying every token into its own String the element boundaries
+ * are recorded in an int offset table over the segment string. A token is only
+ * turned into a String when nextToken or getTokenAt asks for it, and is then
+ * kept until the tokenizer is reset. Resetting to read the same segment again
+ * (see rewind) does not rescan the segment. <br>
+ * token and escape handling is identical to DataTokenizer.
+ *
+ * OBOE - Open Business Objects for EDI
+ */
+
+public class SegmentTokenizer implements IDataTokenizer {
+
+	/** character class flags */
+	private static final byte TOKEN = 1;
+	private static final byte ESCAPE = 2;
+
+	/**
+	 * current position within the token table
+	 */
+	protected int currentPos = -1;
+
+	/**
+	 * current tokenized string
+	 */
+	protected String tokenString = "";
+
+	/**
+	 * what breaks up fields
+	 */
+	protected String tokens = "";
+
+	/**
+	 * escape characters to allow tokens in the text
+	 */
+	protected String escapeCharacters = "";
+
+	/**
+	 * character class table indexed by character value
+	 */
+	private byte charClass[] = new byte[0];
+
+	/**
+	 * start offset of each token in tokenString
+	 */
+	private int tokenStarts[] = new int[32];
+
+	/**
+	 * end offset (exclusive) of each token in tokenString
+	 */
+	private int tokenEnds[] = new int[32];
+
+	/**
+	 * tokens already turned into Strings
+	 */
+	private String tokenValues[] = new String[32];
+
+	/**
+	 * how many tokens in the table
+	 */
+	private int tokenCount = 0;
+
+	protected int positionInStream;
+
+	/**
+	 * constructor, call reset before using
+	 */
+	public SegmentTokenizer() {
+	}
+
+	/**
+	 * tokenizes a new string
+	 *
+	 * @param inString           - string to be tokenized
+	 * @param inTokens           - list of tokens
+	 * @param inEscapeCharacters - list of characters to escape and allow tokens in
+	 *                           the text. pass an empty string or null if no escape
+	 *                           characters used
+	 * @return this tokenizer
+	 */
+	public SegmentTokenizer reset(String inString, String inTokens, String inEscapeCharacters) {
+		if (inEscapeCharacters == null) {
+			inEscapeCharacters = "";
+		}
+		if (inTokens.equals(tokens) == false || inEscapeCharacters.equals(escapeCharacters) == false) {
+			setDelimiters(inTokens, inEscapeCharacters);
+		}
+
+		for (int i = 0; i < tokenCount; i++) {
+			tokenValues[i] = null;
+		}
+		tokenString = inString;
+		tokenCount = 0;
+
+		int stringLength = tokenString.length();
+		byte cls[] = charClass;
+		int clsLength = cls.length;
+		int startPos = 0;
+		int pos = 0;
+
+		while (pos < stringLength) {
+			char c = tokenString.charAt(pos);
+			if (c >= clsLength || cls[c] == 0) {
+				pos++;
+				continue;
+			}
+			if ((cls[c] & ESCAPE) != 0) {
+				// the escape and the character it escapes stay in the token
+				pos += 2;
+				continue;
+			}
+			addToken(startPos, pos);
+			pos++;
+			startPos = pos;
+		}
+		if (pos != startPos) {
+			addToken(startPos, Math.min(pos, stringLength));
+		}
+
+		currentPos = -1;
+		return this;
+	}
+
+	private void setDelimiters(String inTokens, String inEscapeCharacters) {
+		tokens = inTokens;
+		escapeCharacters = inEscapeCharacters;
+		int max = -1;
+		for (int i = 0; i < tokens.length(); i++) {
+			max = Math.max(max, tokens.charAt(i));
+		}
+		for (int i = 0; i < escapeCharacters.length(); i++) {
+			max = Math.max(max, escapeCharacters.charAt(i));
+		}
+		charClass = new byte[max + 1];
+		for (int i = 0; i < tokens.length(); i++) {
+			charClass[tokens.charAt(i)] |= TOKEN;
+		}
+		// escapes are tested first, same as DataTokenizer
+		for (int i = 0; i < escapeCharacters.length(); i++) {
+			charClass[escapeCharacters.charAt(i)] = ESCAPE;
+		}
+	}
+
+	private void addToken(int inStart, int inEnd) {
+		if (tokenCount == tokenStarts.length) {
+			int newSize = tokenStarts.length * 2;
+			int newStarts[] = new int[newSize];
+			int newEnds[] = new int[newSize];
+			String newValues[] = new String[newSize];
+			System.arraycopy(tokenStarts, 0, newStarts, 0, tokenCount);
+			System.arraycopy(tokenEnds, 0, newEnds, 0, tokenCount);
+			tokenStarts = newStarts;
+			tokenEnds = newEnds;
+			tokenValues = newValues;
+		}
+		tokenStarts[tokenCount] = inStart;
+		tokenEnds[tokenCount] = inEnd;
+		tokenCount++;
+	}
+
+	/**
+	 * positions the tokenizer back at the start of the current string without
+	 * rescanning it
+	 *
+	 * @return this tokenizer
+	 */
+	public SegmentTokenizer rewind() {
+		currentPos = -1;
+		return this;
+	}
+
+	/**
+	 * to get next token
+	 *
+	 * @return String - the next token
+	 *
+	 */
+	@Override
+	public String nextToken() {
+
+		currentPos++;
+		if (currentPos < tokenCount) {
+			return getTokenAt(currentPos);
+		}
+
+		return null;
+
+	}
+
+	/**
+	 * gets the token in tokenized string at a specifiec position
+	 *
+	 * @param pos int position, if < 0 or > the total returns null
+	 * @return String
+	 */
+	@Override
+	public String getTokenAt(int pos) {
+		if (pos < 0) {
+			return null;
+		}
+		if (pos < tokenCount) {
+			String value = tokenValues[pos];
+			if (value == null) {
+				value = tokenString.substring(tokenStarts[pos], tokenEnds[pos]);
+				tokenValues[pos] = value;
+			}
+			return value;
+		}
+		return null;
+
+	}
+
+	/**
+	 * returns where a token starts in the tokenized string
+	 *
+	 * @param pos int position
+	 * @return int offset
+	 */
+	public int getTokenStart(int pos) {
+		return tokenStarts[pos];
+	}
+
+	/**
+	 * returns where a token ends (exclusive) in the tokenized string
+	 *
+	 * @param pos int position
+	 * @return int offset
+	 */
+	public int getTokenEnd(int pos) {
+		return tokenEnds[pos];
+	}
+
+	/**
+	 * compares a token to a string without turning the token into a String
+	 *
+	 * @param pos     int position
+	 * @param inValue String to compare against
+	 * @return boolean
+	 */
+	public boolean tokenEquals(int pos, String inValue) {
+		if (pos < 0 || pos >= tokenCount) {
+			return false;
+		}
+		int len = tokenEnds[pos] - tokenStarts[pos];
+		return len == inValue.length() && tokenString.regionMatches(tokenStarts[pos], inValue, 0, len);
+	}
+
+	/**
+	 * indicates if there are more data elements to parse
+	 *
+	 * @return boolean more to parse?
+	 *
+	 */
+	@Override
+	public boolean hasMoreElements() {
+		return (currentPos < tokenCount);
+	}
+
+	/**
+	 * how many tokens in list
+	 *
+	 * @return int - a count
+	 *
+	 */
+	@Override
+	public int countTokens() {
+
+		return tokenCount;
+	}
+
+	/**
+	 */
+	public String getTokenString() {
+		return tokenString;
+	}
+
+	@Override
+	public int getPositionInStream() {
+		return positionInStream;
+	}
+
+	@Override
+	public void setPositionInStream(int positionInStream) {
+		this.positionInStream = positionInStream;
+	}
+
+}
@@ -16,6 +16,9 @@
 
 package io.github.ediandxml.oboe.Tokenizers;
 
+import java.io.IOException;
+import java.io.Reader;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -23,6 +26,7 @@ import io.github.ediandxml.oboe.Containers.MetaContainer;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.DocumentErrors.ERROR_TYPE;
 import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.util.Util;
 
 /**
  * class to assist in tokenizing input transaction sets <br>
@@ -49,6 +53,14 @@ public abstract class Tokenizer implements ITokenizer {
 	 * String current tokenizer
 	 */
 	protected IDataTokenizer currentTokenizer;
+	/**
+	 * reused for every segment, see getNextSegment and resetSegment
+	 */
+	protected SegmentTokenizer segmentTokenizer = new SegmentTokenizer();
+	/**
+	 * reused for composite subfields, see makeSubfieldTokenizer
+	 */
+	protected SegmentTokenizer subfieldTokenizer = new SegmentTokenizer();
 	/**
 	 * String current data element value
 	 */
@@ -110,6 +122,44 @@ public abstract class Tokenizer implements ITokenizer {
 		dErr = inDErr;
 	}
 
+	/**
+	 * fills the buffer from the reader. A single read on a socket, pipe or
+	 * decompressing stream can return fewer characters than are on the way, so
+	 * keep reading until the buffer is full or the input ends.
+	 * 
+	 * @param inReader what's to be tokenized
+	 * @param inBuffer where to put the characters
+	 * @return int number of characters read
+	 * @throws IOException
+	 */
+	protected static int readFully(Reader inReader, char inBuffer[]) throws IOException {
+		int total = 0;
+		while (total < inBuffer.length) {
+			int read = inReader.read(inBuffer, total, inBuffer.length - total);
+			if (read < 0) {
+				break;
+			}
+			total += read;
+		}
+		return total;
+	}
+
+	/**
+	 * builds the segment level tokenizer. If the OBOE.properties file has
+	 * bufferedTokenizer=true the block buffered scanner is used.
+	 * 
+	 * @param inReader           what's to be tokenized
+	 * @param inTokens           segment delimiters
+	 * @param inEscapeCharacters escape characters
+	 * @return ReaderTokenizer
+	 */
+	protected ReaderTokenizer makeReaderTokenizer(Reader inReader, String inTokens, String inEscapeCharacters) {
+		if (Util.propertyFileIndicatesBufferedTokenizer()) {
+			return new BufferedReaderTokenizer(inReader, inTokens, inEscapeCharacters);
+		}
+		return new ReaderTokenizer(inReader, inTokens, inEscapeCharacters);
+	}
+
 	/**
 	 * return the separator characters that were used to parse the document
 	 * 
@@ -166,7 +216,8 @@ public abstract class Tokenizer implements ITokenizer {
 			currentTokenizer = new BinaryTokenizer(currentTokenStringToken, tokenseparatorCharacter,
 					(ReaderTokenizer) transactionSetTokenizer);
 		} else {
-			currentTokenizer = new DataTokenizer(currentTokenStringToken, tokenseparatorCharacter, escapeCharacters);
+			currentTokenizer = segmentTokenizer.reset(currentTokenStringToken, tokenseparatorCharacter,
+					escapeCharacters);
 		}
 
 		currentTokenizer.setPositionInStream(inputByteCount);
@@ -186,6 +237,9 @@ public abstract class Tokenizer implements ITokenizer {
 	 */
 	public String getRestOfSegment() {
 
+		if (currentTokenizer instanceof SegmentTokenizer) {
+			return ((SegmentTokenizer) currentTokenizer).getTokenString().substring(3, 8);
+		}
 		return ((DataTokenizer) currentTokenizer).getTokenString().substring(3, 8);
 	}
 
@@ -210,7 +264,13 @@ public abstract class Tokenizer implements ITokenizer {
 	public IDataTokenizer resetSegment() {
 		dataelementPos = -1;
 
-		currentTokenizer = new DataTokenizer(currentTokenStringToken, tokenseparatorCharacter, escapeCharacters);
+		if (currentTokenizer == segmentTokenizer) {
+			// same segment string, no need to tokenize it again
+			segmentTokenizer.rewind();
+		} else {
+			currentTokenizer = segmentTokenizer.reset(currentTokenStringToken, tokenseparatorCharacter,
+					escapeCharacters);
+		}
 		getNextDataElement();
 		return currentTokenizer;
 	}
@@ -326,7 +386,7 @@ public abstract class Tokenizer implements ITokenizer {
 	 */
 	@Override
 	public IDataTokenizer makeSubfieldTokenizer() {
-		return new DataTokenizer(currentDataElement, new String(tokenGroups), escapeCharacters);
+		return subfieldTokenizer.reset(currentDataElement, getElementSeparator(), escapeCharacters);
 	}
 
 	/**
@@ -452,6 +512,19 @@ public abstract class Tokenizer implements ITokenizer {
 		return inputByteCount;
 	}
 
+	/**
+	 * sets the segment position and character count as if the segments before
+	 * had been read, for a tokenizer that reads only part of a document
+	 *
+	 * @param inSegmentPos     number of segments before the next one read
+	 * @param inInputByteCount number of characters counted before the next
+	 *                         segment
+	 */
+	public void setStartingPosition(int inSegmentPos, int inInputByteCount) {
+		segmentPos = inSegmentPos;
+		inputByteCount = inInputByteCount;
+	}
+
 	/**
 	 * returns the relative segment position
 	 *
@@ -20,12 +20,13 @@ import java.io.CharArrayWriter;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.StringReader;
 import java.lang.reflect.Method;
 import java.text.DecimalFormat;
 import java.util.Hashtable;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
@@ -42,6 +43,7 @@ import org.xml.sax.helpers.DefaultHandler;
 
 import io.github.ediandxml.oboe.Containers.MetaTemplateContainer;
 import io.github.ediandxml.oboe.Containers.TransactionSet;
+import io.github.ediandxml.oboe.Containers.TransactionSetStateMachine;
 import io.github.ediandxml.oboe.DataElements.IDList;
 import io.github.ediandxml.oboe.DataElements.IDList.IncludeOrExclude;
 import io.github.ediandxml.oboe.DataElements.IDListProcessor;
@@ -53,6 +55,7 @@ import io.github.ediandxml.oboe.Templates.TemplateLoop;
 import io.github.ediandxml.oboe.Templates.TemplateSegment;
 import io.github.ediandxml.oboe.Templates.TemplateTable;
 import io.github.ediandxml.oboe.Templates.TemplateTransactionSet;
+import io.github.ediandxml.oboe.util.TemplateCache;
 import io.github.ediandxml.oboe.util.Util;
 
 /**
@@ -1197,21 +1200,35 @@ public class TransactionSetFactory extends DefaultHandler implements ContentHand
 		foundMessageFolder = inFoundPath;
 	}
 
-	/** store read template ts in a hash table for quick look up */
-	static private Hashtable<String, TemplateTransactionSet> tsBuilt = new Hashtable<String, TemplateTransactionSet>();
+	/**
+	 * store read template ts in a cache for quick look up, keyed by the resolved
+	 * message description path. Each path is parsed once.
+	 */
+	static private final TemplateCache<TemplateTransactionSet> tsBuilt = new TemplateCache<TemplateTransactionSet>();
 
 	/**
 	 * @return the tsBuilt
 	 */
 	public static TemplateTransactionSet getTemplateTransactionSet(String path, String id) {
-		return tsBuilt.get(path + id);
+		return tsBuilt.getIfPresent(path + id);
+	}
+
+	/**
+	 * returns the template cache, use it to read the hit, miss and load time
+	 * counters
+	 *
+	 * @return TemplateCache
+	 */
+	public static TemplateCache<TemplateTransactionSet> getTemplateCache() {
+		return tsBuilt;
 	}
 
 	/**
 	 * static method to clear built hash table, created for test purposes
 	 */
 	static public void clearTable() {
-		tsBuilt = new Hashtable<String, TemplateTransactionSet>();
+		tsBuilt.clear();
+		resolvedPaths.clear();
 	}
 
 	/**
@@ -1405,14 +1422,10 @@ public class TransactionSetFactory extends DefaultHandler implements ContentHand
 		// description
 		// messageDescriptionFolder - full path name to message description
 
-		String messageDescriptionFolder = "", messageDescriptionSearchPath = "", messageDescriptionFolderPath = "";
+		String messageDescriptionFolder = "";
 
 		TemplateTransactionSet currentTransactionSet;
 
-		InputStream xmlFile = null;
-
-		int i;
-
 		String searchDirective = inSearchDirective;
 
 		try {
@@ -1430,127 +1443,178 @@ public class TransactionSetFactory extends DefaultHandler implements ContentHand
 			throw new OBOEException(ex.getMessage());
 		}
 
-		String searchPaths[] = null;
-		boolean foundXMLFile = false;
-
-		if (searchDirective != null) {
-			{
-				String lilDirectives[] = searchDirective.split(",");
-				searchLoop: for (int idirs = 0; idirs < lilDirectives.length; idirs++) {
-
-					searchPaths = new String[lilDirectives[idirs].length() + 1];
-					StringBuilder searchPath = new StringBuilder(messageDescriptionFolder);
-					searchPaths[0] = messageDescriptionFolder;
-
-					for (i = 0; i < lilDirectives[idirs].length(); i++) {
-						switch (lilDirectives[idirs].charAt(i)) {
-						case 'V':
-							if ((inVersionDirectory != null) && (inVersionDirectory.length() > 0)) {
-								searchPath.append(inVersionDirectory.trim());
-								searchPath.append(File.separatorChar);
-							}
-
-							break;
-						case 'X': // gets a substring of the version
-							// e.g. 004010X097 becomes 004010
-							if ((inVersionDirectory != null) && (inVersionDirectory.length() > 0)) {
-								logr.debug("X directive: using " + inVersionDirectory.trim()
-										+ " to search directory with name of "
-										+ inVersionDirectory.trim().substring(0, 6));
-								searchPath.append(inVersionDirectory.trim().substring(0, 6));
-								searchPath.append(File.separatorChar);
-							}
-							break;
-						case 'R':
-							if ((inReceiverIDDirectory != null) && (inReceiverIDDirectory.length() > 0)) {
-								searchPath.append(inReceiverIDDirectory.trim());
-								searchPath.append(File.separatorChar);
-							}
-
-							break;
-						case 'S':
-							if ((inSenderIDDirectory != null) && (inSenderIDDirectory.length() > 0)) {
-								searchPath.append(inSenderIDDirectory.trim());
-								searchPath.append(File.separatorChar);
-							}
-
-							break;
-						case 'T':
-							if ((inTestOrProductionDirectory != null) && (inTestOrProductionDirectory.length() > 0)) {
-								searchPath.append(inTestOrProductionDirectory.trim());
-								searchPath.append(File.separatorChar);
-							}
-
-							break;
-
-						default:
-							throw new OBOEException(
-									"searchDirective (" + lilDirectives[idirs] + ") contains illegal character");
-						} // switch
-						searchPaths[i + 1] = new String(searchPath);
-					} // for int i
-					for (i = lilDirectives[idirs].length(); i > 0; i--) // there's
-																		// at
-																		// least
-																		// one
-					{
-						messageDescriptionFolderPath = searchPaths[i] + inTSID + ".xml";
-
-						xmlFile = TransactionSetFactory.class.getClassLoader()
-								.getResourceAsStream(messageDescriptionFolderPath);
-
-						logr.debug("looking for " + messageDescriptionFolderPath);
-						if (xmlFile != null) {
-							messageDescriptionSearchPath = searchPaths[i];
-							foundXMLFile = true;
-							break searchLoop;
-						}
-					}
-				}
+		String resolveKey = String.join("|", messageDescriptionFolder, String.valueOf(searchDirective), inTSID,
+				String.valueOf(inVersionDirectory), String.valueOf(inReceiverIDDirectory),
+				String.valueOf(inSenderIDDirectory), String.valueOf(inTestOrProductionDirectory));
 
-			}
+		ResolvedPath resolved = resolvedPaths.get(resolveKey);
+		if (resolved == null) {
+			resolved = resolvePath(inTSID, messageDescriptionFolder, searchDirective, inVersionDirectory,
+					inReceiverIDDirectory, inSenderIDDirectory, inTestOrProductionDirectory);
+			resolvedPaths.putIfAbsent(resolveKey, resolved);
 		}
-		if (foundXMLFile == false) {
-			messageDescriptionFolderPath = messageDescriptionFolder + inTSID + ".xml";
-			logr.debug("looking for " + messageDescriptionFolderPath);
-			messageDescriptionSearchPath = messageDescriptionFolder;
-			xmlFile = TransactionSetFactory.class.getClassLoader().getResourceAsStream(messageDescriptionFolderPath);
+
+		String messageDescriptionFolderPath = resolved.path();
+		String messageDescriptionSearchPath = resolved.searchPath();
+
+		if (resolved.found() == false) {
+			throw new OBOEException("XML Message Description not found " + messageDescriptionFolderPath);
 		}
 
+		final String definedFolder = messageDescriptionFolder;
+		final String foundFolder = messageDescriptionSearchPath;
+		Function<String, TemplateTransactionSet> loader = path -> parseTransactionSet(path, definedFolder,
+				foundFolder);
+
 		if (inSaveInArrayListIndicator) {
-			TemplateTransactionSet tts = tsBuilt.get(messageDescriptionFolderPath);
-			if (tts != null) {
-				return new TransactionSet(tts, null);
-			}
+			currentTransactionSet = tsBuilt.get(messageDescriptionFolderPath, loader);
+		} else {
+			currentTransactionSet = tsBuilt.reload(messageDescriptionFolderPath, loader);
 		}
 
-		if ((xmlFile == null)) {
-			throw new OBOEException("XML Message Description not found " + messageDescriptionFolderPath);
+		if (currentTransactionSet.getStateMachine() == null && Util.propertyFileIndicatesCompiledParser()) {
+			currentTransactionSet.setStateMachine(TransactionSetStateMachine.compile(currentTransactionSet));
 		}
 
-		try {
+		return new TransactionSet(currentTransactionSet, null);
 
-			synchronized (tsBuilt) {
+	}
 
-				TransactionSetFactory tsf = new TransactionSetFactory();
+	/**
+	 * where a message description was found
+	 *
+	 * @param path       classpath name of the message description
+	 * @param searchPath directory the message description was found in
+	 * @param found      false if the message description does not exist
+	 */
+	private record ResolvedPath(String path, String searchPath, boolean found) {
+	}
 
-				tsf.knownSystemID = messageDescriptionFolderPath;
+	/**
+	 * remembers where message descriptions were found, or not found, for each
+	 * combination of folder, search directive and directory values so the
+	 * classpath is only searched once per combination
+	 */
+	static private final ConcurrentHashMap<String, ResolvedPath> resolvedPaths = new ConcurrentHashMap<String, ResolvedPath>();
 
-				logr.debug("using ts description file" + messageDescriptionFolderPath);
+	/**
+	 * searches the classpath for a message description using the search directive,
+	 * see buildTransactionSet for the search rules
+	 *
+	 * @return ResolvedPath
+	 * @throws OBOEException searchDirective contains illegal character
+	 */
+	private static ResolvedPath resolvePath(String inTSID, String messageDescriptionFolder, String searchDirective,
+			String inVersionDirectory, String inReceiverIDDirectory, String inSenderIDDirectory,
+			String inTestOrProductionDirectory) throws OBOEException {
+
+		String messageDescriptionFolderPath;
+		String searchPaths[] = null;
+		int i;
+
+		if (searchDirective != null) {
+			String lilDirectives[] = searchDirective.split(",");
+			for (int idirs = 0; idirs < lilDirectives.length; idirs++) {
+
+				searchPaths = new String[lilDirectives[idirs].length() + 1];
+				StringBuilder searchPath = new StringBuilder(messageDescriptionFolder);
+				searchPaths[0] = messageDescriptionFolder;
+
+				for (i = 0; i < lilDirectives[idirs].length(); i++) {
+					switch (lilDirectives[idirs].charAt(i)) {
+					case 'V':
+						if ((inVersionDirectory != null) && (inVersionDirectory.length() > 0)) {
+							searchPath.append(inVersionDirectory.trim());
+							searchPath.append(File.separatorChar);
+						}
 
-				tsf.setDirectoryPaths(messageDescriptionFolder, messageDescriptionSearchPath);
+						break;
+					case 'X': // gets a substring of the version
+						// e.g. 004010X097 becomes 004010
+						if ((inVersionDirectory != null) && (inVersionDirectory.length() > 0)) {
+							logr.debug("X directive: using " + inVersionDirectory.trim()
+									+ " to search directory with name of "
+									+ inVersionDirectory.trim().substring(0, 6));
+							searchPath.append(inVersionDirectory.trim().substring(0, 6));
+							searchPath.append(File.separatorChar);
+						}
+						break;
+					case 'R':
+						if ((inReceiverIDDirectory != null) && (inReceiverIDDirectory.length() > 0)) {
+							searchPath.append(inReceiverIDDirectory.trim());
+							searchPath.append(File.separatorChar);
+						}
 
-				InputSource is;
+						break;
+					case 'S':
+						if ((inSenderIDDirectory != null) && (inSenderIDDirectory.length() > 0)) {
+							searchPath.append(inSenderIDDirectory.trim());
+							searchPath.append(File.separatorChar);
+						}
 
-				is = new InputSource(
-						TransactionSetFactory.class.getClassLoader().getResourceAsStream(messageDescriptionFolderPath));
+						break;
+					case 'T':
+						if ((inTestOrProductionDirectory != null) && (inTestOrProductionDirectory.length() > 0)) {
+							searchPath.append(inTestOrProductionDirectory.trim());
+							searchPath.append(File.separatorChar);
+						}
 
-				tsf.parse(is);
-				currentTransactionSet = tsf.currentTransactionSet;
-				tsBuilt.put(messageDescriptionFolderPath, currentTransactionSet);
+						break;
+
+					default:
+						throw new OBOEException(
+								"searchDirective (" + lilDirectives[idirs] + ") contains illegal character");
+					} // switch
+					searchPaths[i + 1] = new String(searchPath);
+				} // for int i
+				for (i = lilDirectives[idirs].length(); i > 0; i--) // there's
+																	// at
+																	// least
+																	// one
+				{
+					messageDescriptionFolderPath = searchPaths[i] + inTSID + ".xml";
+
+					logr.debug("looking for " + messageDescriptionFolderPath);
+					if (TransactionSetFactory.class.getClassLoader().getResource(messageDescriptionFolderPath) != null) {
+						return new ResolvedPath(messageDescriptionFolderPath, searchPaths[i], true);
+					}
+				}
 			}
+		}
 
-			return new TransactionSet(currentTransactionSet, null);
+		messageDescriptionFolderPath = messageDescriptionFolder + inTSID + ".xml";
+		logr.debug("looking for " + messageDescriptionFolderPath);
+		return new ResolvedPath(messageDescriptionFolderPath, messageDescriptionFolder,
+				TransactionSetFactory.class.getClassLoader().getResource(messageDescriptionFolderPath) != null);
+	}
+
+	/**
+	 * parses a message description found in the classpath
+	 *
+	 * @param inPath        classpath name of the message description
+	 * @param inDefinedPath messageDescriptionFolder property value
+	 * @param inFoundPath   directory the message description was found in
+	 * @return TemplateTransactionSet
+	 * @throws OBOEException parsing error
+	 */
+	private static TemplateTransactionSet parseTransactionSet(String inPath, String inDefinedPath,
+			String inFoundPath) throws OBOEException {
+		try {
+
+			TransactionSetFactory tsf = new TransactionSetFactory();
+
+			tsf.knownSystemID = inPath;
+
+			logr.debug("using ts description file" + inPath);
+
+			tsf.setDirectoryPaths(inDefinedPath, inFoundPath);
+
+			InputSource is;
+
+			is = new InputSource(TransactionSetFactory.class.getClassLoader().getResourceAsStream(inPath));
+
+			tsf.parse(is);
+			return tsf.currentTransactionSet;
 
 		} catch (Exception ex) {
 			logr.error(ex.getMessage(), ex);
@@ -250,7 +250,12 @@ public class ACHEnvelope extends Envelope {
 		FunctionalGroup fg;
 		for (i = 0; i < getFunctionalGroupCount(); i++) {
 			fg = getFunctionalGroup(i);
-			sb.append(fg.getFormattedText(format));
+			try {
+				fg.appendFormattedText(sb, format);
+			} catch (IOException e) {
+				// a StringBuilder does not throw
+				throw new OBOEException(e.getMessage());
+			}
 		}
 		s = getSegment(idTrailer);
 		sb.append(s.getFormattedText(format));
@@ -294,14 +299,14 @@ public class ACHEnvelope extends Envelope {
 
 		int i;
 		Segment s = getSegment(idHeader);
-		inWriter.write(s.getFormattedText(format));
+		s.appendFormattedText(inWriter, format);
 		FunctionalGroup fg;
 		for (i = 0; i < getFunctionalGroupCount(); i++) {
 			fg = getFunctionalGroup(i);
 			fg.writeFormattedText(inWriter, format);
 		}
 		s = getSegment(idTrailer);
-		inWriter.write(s.getFormattedText(format));
+		s.appendFormattedText(inWriter, format);
 
 		if (format == Format.XML_FORMAT) {
 			inWriter.write("</Envelope>" + io.github.ediandxml.oboe.util.Util.lineFeed);
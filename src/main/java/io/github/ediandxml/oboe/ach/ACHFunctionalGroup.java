@@ -19,6 +19,7 @@ package io.github.ediandxml.oboe.ach;
 import io.github.ediandxml.oboe.Containers.FunctionalGroup;
 import io.github.ediandxml.oboe.Containers.Segment;
 import io.github.ediandxml.oboe.Containers.TransactionSet;
+import io.github.ediandxml.oboe.Containers.TransactionSetValidator;
 import io.github.ediandxml.oboe.DataElements.DataElement;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.DocumentErrors.ERROR_TYPE;
@@ -127,15 +128,10 @@ public class ACHFunctionalGroup extends FunctionalGroup {
 			inDErr.addError(0, "Envelope", "Missing FunctionalGroup Header", this, "3", this, ERROR_TYPE.Integrity);
 		}
 
-		int i;
-		TransactionSet ts;
 		if (getTransactionSetCount() == 0) {
 			inDErr.addError(0, "FG", "No transaction sets", this, "4", this, ERROR_TYPE.Integrity);
 		} else {
-			for (i = 0; i < getTransactionSetCount(); i++) {
-				ts = getTransactionSet(i);
-				ts.validate(inDErr);
-			}
+			TransactionSetValidator.validate(getTransactionSets(), TransactionSet::validate, inDErr);
 		}
 
 		if (getTransactionSetCount() < 1) {
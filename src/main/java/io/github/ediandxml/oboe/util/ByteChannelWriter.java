@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Writer that encodes straight into a large direct ByteBuffer and hands full
+ * buffers to a WritableByteChannel, for writing very large documents to files
+ * or sockets without going through an OutputStream.
+ * <p>
+ * Characters the charset cannot encode are replaced, the same as
+ * OutputStreamWriter. Closing the writer closes the channel.
+ *
+ * @author Joe McVerry
+ */
+public class ByteChannelWriter extends Writer {
+
+	/** default number of characters buffered before encoding */
+	public static final int DEFAULT_BUFFER_SIZE = 128 * 1024;
+
+	private final WritableByteChannel channel;
+	private final CharsetEncoder encoder;
+	private final CharBuffer chars;
+	private final ByteBuffer bytes;
+	private boolean closed = false;
+
+	/**
+	 * @param inChannel where the bytes go
+	 * @param inCharset how characters are encoded
+	 */
+	public ByteChannelWriter(WritableByteChannel inChannel, Charset inCharset) {
+		this(inChannel, inCharset, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * @param inChannel    where the bytes go
+	 * @param inCharset    how characters are encoded
+	 * @param inBufferSize number of characters buffered before encoding
+	 */
+	public ByteChannelWriter(WritableByteChannel inChannel, Charset inCharset, int inBufferSize) {
+		channel = inChannel;
+		encoder = inCharset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		chars = CharBuffer.allocate(Math.max(inBufferSize, 1024));
+		bytes = ByteBuffer.allocateDirect((int) Math.ceil(chars.capacity() * encoder.maxBytesPerChar()));
+	}
+
+	@Override
+	public void write(int inChar) throws IOException {
+		ensureOpen();
+		if (chars.hasRemaining() == false) {
+			encode(false);
+		}
+		chars.put((char) inChar);
+	}
+
+	@Override
+	public void write(char[] inBuffer, int inOffset, int inLength) throws IOException {
+		ensureOpen();
+		while (inLength > 0) {
+			if (chars.hasRemaining() == false) {
+				encode(false);
+			}
+			int n = Math.min(inLength, chars.remaining());
+			chars.put(inBuffer, inOffset, n);
+			inOffset += n;
+			inLength -= n;
+		}
+	}
+
+	@Override
+	public void write(String inString, int inOffset, int inLength) throws IOException {
+		ensureOpen();
+		while (inLength > 0) {
+			if (chars.hasRemaining() == false) {
+				encode(false);
+			}
+			int n = Math.min(inLength, chars.remaining());
+			chars.put(inString, inOffset, inOffset + n);
+			inOffset += n;
+			inLength -= n;
+		}
+	}
+
+	/**
+	 * encodes the buffered characters, writing the byte buffer to the channel
+	 * whenever it fills
+	 */
+	private void encode(boolean inEndOfInput) throws IOException {
+		chars.flip();
+		while (true) {
+			CoderResult result = encoder.encode(chars, bytes, inEndOfInput);
+			if (result.isOverflow()) {
+				drain();
+				continue;
+			}
+			if (result.isError()) {
+				result.throwException();
+			}
+			break;
+		}
+		// a lone high surrogate stays behind for the next call
+		chars.compact();
+	}
+
+	private void drain() throws IOException {
+		bytes.flip();
+		while (bytes.hasRemaining()) {
+			channel.write(bytes);
+		}
+		bytes.clear();
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("writer closed");
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		ensureOpen();
+		encode(false);
+		drain();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		try {
+			encode(true);
+			while (encoder.flush(bytes).isOverflow()) {
+				drain();
+			}
+			drain();
+		} finally {
+			closed = true;
+			channel.close();
+		}
+	}
+}
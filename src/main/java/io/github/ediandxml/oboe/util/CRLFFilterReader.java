@@ -0,0 +1,286 @@
+/*
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe.util;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reader that drops carriage returns and line feeds as the data goes by, only
+ * holding one buffer of data no matter how large the document is.
+ * <p>
+ * If the first line is exactly an ISA segment (105 characters, the element
+ * separator at positions 3 and 103) the line break is the X12 segment
+ * delimiter, so every line break is kept and written as the platform line
+ * separator instead.
+ *
+ * @author Joe McVerry
+ */
+public class CRLFFilterReader extends FilterReader {
+
+	static Logger logr = LogManager.getLogger(CRLFFilterReader.class);
+
+	/** default size of the read buffer */
+	public static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+	/** length of an ISA segment without its delimiter */
+	private static final int ISA_LENGTH = 105;
+
+	private static final char LINE_SEPARATOR[] = System.lineSeparator().toCharArray();
+
+	private final char buffer[];
+	private int bufferPos = 0;
+	private int bufferLimit = 0;
+	private boolean eof = false;
+
+	private boolean started = false;
+	private boolean preserveCRLF = false;
+
+	/** last line break was a CR, a LF right after it is part of the same break */
+	private boolean lastWasCR = false;
+
+	/** characters written since the last line break */
+	private boolean lineOpen = false;
+
+	/** next character of the line separator being written, -1 when none */
+	private int separatorPos = -1;
+
+	/**
+	 * @param inReader the data to filter
+	 */
+	public CRLFFilterReader(Reader inReader) {
+		this(inReader, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * @param inReader     the data to filter
+	 * @param inBufferSize size of the read buffer
+	 */
+	public CRLFFilterReader(Reader inReader, int inBufferSize) {
+		super(inReader);
+		buffer = new char[Math.max(inBufferSize, ISA_LENGTH + 2)];
+	}
+
+	/**
+	 * filters a byte stream. Bytes are read as ISO-8859-1 so every byte other
+	 * than CR and LF comes out unchanged.
+	 *
+	 * @param inStream the data to filter
+	 * @return InputStream
+	 */
+	public static InputStream filter(InputStream inStream) {
+		return new ByteFilter(new CRLFFilterReader(new InputStreamReader(inStream, StandardCharsets.ISO_8859_1)));
+	}
+
+	/**
+	 * @return true if line breaks are kept because they delimit segments, only
+	 *         known after the first read
+	 */
+	public boolean isPreservingCRLF() {
+		return preserveCRLF;
+	}
+
+	/**
+	 * reads far enough to see if the first line is an ISA segment delimited by
+	 * the line break
+	 */
+	private void start() throws IOException {
+		started = true;
+		while (bufferLimit < ISA_LENGTH + 2 && eof == false) {
+			int read = in.read(buffer, bufferLimit, buffer.length - bufferLimit);
+			if (read < 0) {
+				eof = true;
+			} else {
+				bufferLimit += read;
+			}
+		}
+		if (bufferLimit == 0) {
+			logr.error("Failed to read input during CRLF removal");
+			return;
+		}
+		int firstBreak = -1;
+		for (int i = 0; i < bufferLimit; i++) {
+			if (buffer[i] == '\r' || buffer[i] == '\n') {
+				firstBreak = i;
+				break;
+			}
+		}
+		preserveCRLF = firstBreak == ISA_LENGTH && buffer[3] == buffer[ISA_LENGTH - 2];
+		if (preserveCRLF) {
+			logr.info("Preserving CRLF as it appears to be a segment delimiter");
+		}
+	}
+
+	private boolean fill() throws IOException {
+		if (eof) {
+			return false;
+		}
+		int read = in.read(buffer, 0, buffer.length);
+		if (read < 0) {
+			eof = true;
+			return false;
+		}
+		bufferPos = 0;
+		bufferLimit = read;
+		return true;
+	}
+
+	@Override
+	public int read() throws IOException {
+		char one[] = new char[1];
+		int read = read(one, 0, 1);
+		return read < 0 ? -1 : one[0];
+	}
+
+	@Override
+	public int read(char[] inBuffer, int inOffset, int inLength) throws IOException {
+		if (started == false) {
+			start();
+		}
+		if (inLength == 0) {
+			return 0;
+		}
+		int n = 0;
+		while (n < inLength) {
+			if (separatorPos >= 0) {
+				inBuffer[inOffset + n++] = LINE_SEPARATOR[separatorPos++];
+				if (separatorPos == LINE_SEPARATOR.length) {
+					separatorPos = -1;
+				}
+				continue;
+			}
+			if (bufferPos >= bufferLimit) {
+				// hand back what is ready rather than wait on more input
+				if (n > 0 || fill() == false) {
+					break;
+				}
+			}
+			char c = buffer[bufferPos++];
+			if (c == '\n' && lastWasCR) {
+				lastWasCR = false;
+				continue;
+			}
+			lastWasCR = c == '\r';
+			if (c == '\r' || c == '\n') {
+				if (preserveCRLF) {
+					separatorPos = 0;
+					lineOpen = false;
+				}
+				continue;
+			}
+			lineOpen = true;
+			inBuffer[inOffset + n++] = c;
+		}
+		if (n == 0 && eof && bufferPos >= bufferLimit && separatorPos < 0) {
+			if (preserveCRLF && lineOpen) {
+				// the last line gets a separator like all the others
+				lineOpen = false;
+				separatorPos = 0;
+				return read(inBuffer, inOffset, inLength);
+			}
+			return -1;
+		}
+		return n;
+	}
+
+	/**
+	 * @return true if a character is already buffered that read will hand back,
+	 *         buffered line breaks that are dropped do not count
+	 */
+	@Override
+	public boolean ready() throws IOException {
+		if (separatorPos >= 0) {
+			return true;
+		}
+		for (int i = bufferPos; i < bufferLimit; i++) {
+			if (buffer[i] != '\r' && buffer[i] != '\n') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	@Override
+	public void mark(int inReadAheadLimit) throws IOException {
+		throw new IOException("mark() not supported");
+	}
+
+	@Override
+	public void reset() throws IOException {
+		throw new IOException("reset() not supported");
+	}
+
+	@Override
+	public long skip(long inCount) throws IOException {
+		char skipBuffer[] = new char[(int) Math.min(inCount, 1024)];
+		long skipped = 0;
+		while (skipped < inCount) {
+			int read = read(skipBuffer, 0, (int) Math.min(inCount - skipped, skipBuffer.length));
+			if (read < 0) {
+				break;
+			}
+			skipped += read;
+		}
+		return skipped;
+	}
+
+	/**
+	 * narrows the filtered ISO-8859-1 characters back to bytes
+	 */
+	private static final class ByteFilter extends InputStream {
+		private final CRLFFilterReader reader;
+		private final char chars[] = new char[DEFAULT_BUFFER_SIZE];
+
+		ByteFilter(CRLFFilterReader inReader) {
+			reader = inReader;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int c = reader.read();
+			return c < 0 ? -1 : c & 0xff;
+		}
+
+		@Override
+		public int read(byte[] inBuffer, int inOffset, int inLength) throws IOException {
+			if (inLength == 0) {
+				return 0;
+			}
+			int read = reader.read(chars, 0, Math.min(inLength, chars.length));
+			for (int i = 0; i < read; i++) {
+				inBuffer[inOffset + i] = (byte) chars[i];
+			}
+			return read;
+		}
+
+		@Override
+		public void close() throws IOException {
+			reader.close();
+		}
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe.util;
+
+/**
+ * Immutable set of characters allowed in data element values, held as a bit
+ * table indexed by character value so a value is checked with one array load
+ * per character.
+ * <p>
+ * The predefined sets follow the X12 basic and extended character sets and the
+ * EDIFACT UNOA, UNOB and UNOC syntax levels. forDefinition builds a set from
+ * the OBOE.properties validCharacterSet value, which is either one of the
+ * predefined names or a list of characters where a...z, A...Z and 0...9 stand
+ * for the whole range.
+ *
+ * @author Joe McVerry
+ */
+public final class CharacterSet {
+
+	/** X12 basic character set */
+	public static final CharacterSet X12_BASIC = new CharacterSet("A...Z0...9 !\"&'()*+,-./:;?=");
+
+	/** X12 extended character set */
+	public static final CharacterSet X12_EXTENDED = new CharacterSet(
+			"A...Za...z0...9 !\"&'()*+,-./:;?=%@[]_{}\\|<>~#$");
+
+	/** EDIFACT level A */
+	public static final CharacterSet UNOA = new CharacterSet("A...Z0...9 .,-()/='+:?!\"%&*;<>");
+
+	/** EDIFACT level B */
+	public static final CharacterSet UNOB = new CharacterSet("A...Za...z0...9 .,-()/='+:?!\"%&*;<>#@[]\\^_`{|}~$");
+
+	/** EDIFACT level C, ISO 8859-1 */
+	public static final CharacterSet UNOC = new CharacterSet(latin1());
+
+	/**
+	 * what TemplateDataElement accepts when no character set is given, the X12
+	 * extended set without the comma
+	 */
+	public static final CharacterSet TEMPLATE_DEFAULT = new CharacterSet(
+			"A...Za...z0...9 !\"&'()*+-./:;?=%~@[]_{}\\|<>#$");
+
+	private final long bits[];
+
+	private final String definition;
+
+	private CharacterSet(String inDefinition) {
+		definition = inDefinition;
+		String chars = expand(inDefinition);
+		int max = 0;
+		for (int i = 0; i < chars.length(); i++) {
+			max = Math.max(max, chars.charAt(i));
+		}
+		bits = new long[(max >> 6) + 1];
+		for (int i = 0; i < chars.length(); i++) {
+			char c = chars.charAt(i);
+			bits[c >> 6] |= 1L << c;
+		}
+	}
+
+	/**
+	 * returns the character set for a validCharacterSet property value
+	 *
+	 * @param inDefinition X12BASIC, X12EXTENDED, UNOA, UNOB, UNOC or a list of
+	 *                     characters
+	 * @return CharacterSet
+	 */
+	public static CharacterSet forDefinition(String inDefinition) {
+		switch (inDefinition) {
+		case "X12BASIC":
+			return X12_BASIC;
+		case "X12EXTENDED":
+			return X12_EXTENDED;
+		case "UNOA":
+			return UNOA;
+		case "UNOB":
+			return UNOB;
+		case "UNOC":
+			return UNOC;
+		default:
+			return new CharacterSet(inDefinition);
+		}
+	}
+
+	/**
+	 * @param inChar character to test
+	 * @return true if the character is in the set
+	 */
+	public boolean contains(char inChar) {
+		int word = inChar >> 6;
+		return word < bits.length && (bits[word] & (1L << inChar)) != 0;
+	}
+
+	/**
+	 * @param inText value to test
+	 * @return position of the first character not in the set, or -1
+	 */
+	public int firstInvalid(CharSequence inText) {
+		return firstInvalid(inText, 0, inText.length());
+	}
+
+	/**
+	 * checks part of a buffer, such as a whole segment
+	 *
+	 * @param inText  text to test
+	 * @param inStart first position
+	 * @param inEnd   position after the last
+	 * @return position of the first character not in the set, or -1
+	 */
+	public int firstInvalid(CharSequence inText, int inStart, int inEnd) {
+		long table[] = bits;
+		for (int i = inStart; i < inEnd; i++) {
+			char c = inText.charAt(i);
+			int word = c >> 6;
+			if (word >= table.length || (table[word] & (1L << c)) == 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * expands a character set definition (e.g., "a...z") into a full string.
+	 */
+	static String expand(String charSet) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < charSet.length(); i++) {
+			if (i + 4 < charSet.length()) {
+				String range = charSet.substring(i, i + 5);
+				if (range.equals("a...z")) {
+					for (char c = 'a'; c <= 'z'; c++) {
+						sb.append(c);
+					}
+					i += 4;
+					continue;
+				} else if (range.equals("A...Z")) {
+					for (char c = 'A'; c <= 'Z'; c++) {
+						sb.append(c);
+					}
+					i += 4;
+					continue;
+				} else if (range.equals("0...9")) {
+					for (char c = '0'; c <= '9'; c++) {
+						sb.append(c);
+					}
+					i += 4;
+					continue;
+				}
+			}
+			sb.append(charSet.charAt(i));
+		}
+		return sb.toString();
+	}
+
+	private static String latin1() {
+		StringBuilder sb = new StringBuilder();
+		for (char c = ' '; c <= '~'; c++) {
+			sb.append(c);
+		}
+		for (char c = '\u00A0'; c <= '\u00FF'; c++) {
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public String toString() {
+		return "CharacterSet[" + definition + "]";
+	}
+}
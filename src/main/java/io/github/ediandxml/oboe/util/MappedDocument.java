@@ -0,0 +1,452 @@
+/*
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe.util;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import io.github.ediandxml.oboe.Errors.OBOEException;
+
+/**
+ * EDI file mapped into memory with FileChannel.map, with an index of where
+ * each segment starts. The index is built with a single pass over the bytes,
+ * the segments themselves are only turned into characters when asked for.
+ * <p>
+ * Bytes are read as ISO-8859-1, delimiters are always single byte characters.
+ * getReader widens each byte straight into a char, there is no charset decoder
+ * and the file is not copied onto the heap, so it is the cheaper way to hand
+ * a large file to the document parsers when its data is single byte.
+ * getReader(Charset) decodes the bytes, use it when the file may hold multi byte
+ * characters such as EDIFACT UNOW or UNOY data in UTF-8.
+ * <p>
+ * A file can be mapped when it is no larger than Integer.MAX_VALUE bytes,
+ * openReader streams larger files through a FileReader instead.
+ *
+ * @author Joe McVerry
+ */
+public final class MappedDocument {
+
+	private final ByteBuffer data;
+
+	/** where each segment starts, segmentStarts[segmentCount] is the end */
+	private int segmentStarts[] = new int[0];
+
+	/** bytes before each segment the tokenizers do not count */
+	private int ignoredBefore[] = new int[0];
+
+	private int segmentCount = 0;
+
+	private int indexedFrom = 0;
+
+	private boolean skipLineBreaks = false;
+
+	/**
+	 * maps the file
+	 *
+	 * @param inFile the edi document
+	 * @throws IOException   file can not be read
+	 * @throws OBOEException file is too large to map, see isMappable
+	 */
+	public MappedDocument(Path inFile) throws IOException {
+		try (FileChannel channel = FileChannel.open(inFile, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new OBOEException("File too large to map " + inFile);
+			}
+			data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+	}
+
+	/**
+	 * @param inFile the edi document
+	 * @return true if the file fits in one mapped buffer
+	 * @throws IOException file can not be read
+	 */
+	public static boolean isMappable(Path inFile) throws IOException {
+		return Files.size(inFile) <= Integer.MAX_VALUE;
+	}
+
+	/**
+	 * reader for the name based entry points, the file is mapped when it can be
+	 * and streamed through a FileReader when it is too large
+	 *
+	 * @param inFile    the edi document
+	 * @param inCharset how the file is encoded
+	 * @return Reader over the whole file, close it when done
+	 * @throws IOException file can not be read
+	 */
+	public static Reader openReader(Path inFile, Charset inCharset) throws IOException {
+		if (isMappable(inFile) == false) {
+			return new BufferedReader(new FileReader(inFile.toFile(), inCharset));
+		}
+		return new MappedDocument(inFile).getReader(inCharset);
+	}
+
+	/**
+	 * @return number of bytes
+	 */
+	public int length() {
+		return data.limit();
+	}
+
+	/**
+	 * @param inPos byte position
+	 * @return the byte as a character
+	 */
+	public char charAt(int inPos) {
+		return (char) (data.get(inPos) & 0xff);
+	}
+
+	/**
+	 * @return Reader over the whole file, closing it does nothing
+	 */
+	public Reader getReader() {
+		return new MappedReader(data.duplicate());
+	}
+
+	/**
+	 * @param inCharset how the file is encoded
+	 * @return Reader over the whole file decoding it with the charset, closing it
+	 *         does nothing
+	 */
+	public Reader getReader(Charset inCharset) {
+		if (inCharset.equals(StandardCharsets.ISO_8859_1)) {
+			return getReader();
+		}
+		return new InputStreamReader(getInputStream(), inCharset);
+	}
+
+	/**
+	 * @return InputStream over the whole file, closing it does nothing
+	 */
+	public InputStream getInputStream() {
+		return new MappedInputStream(data.duplicate());
+	}
+
+	/**
+	 * @param inFrom first byte
+	 * @param inTo   byte after the last one
+	 * @return the bytes as a String
+	 */
+	public String getText(int inFrom, int inTo) {
+		byte bytes[] = new byte[inTo - inFrom];
+		data.get(inFrom, bytes);
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * finds the start of every segment the same way the ReaderTokenizer splits
+	 * them: a segment ends at the terminator unless the terminator follows the
+	 * release character.
+	 *
+	 * @param inFrom       where the first segment starts
+	 * @param inTerminator segment terminator
+	 * @param inSkip       character the tokenizer drops (the CR of a CR/LF
+	 *                     terminator), 0 for none
+	 * @param inRelease    release (escape) character, 0 for none
+	 */
+	public void index(int inFrom, char inTerminator, char inSkip, char inRelease) {
+		index(inFrom, inTerminator, inSkip, inRelease, false);
+	}
+
+	/**
+	 * finds the start of every segment the same way the ReaderTokenizer splits
+	 * them: a segment ends at the terminator unless the terminator follows the
+	 * release character.
+	 *
+	 * @param inFrom           where the first segment starts
+	 * @param inTerminator     segment terminator
+	 * @param inSkip           character the tokenizer drops (the CR of a CR/LF
+	 *                         terminator), 0 for none
+	 * @param inRelease        release (escape) character, 0 for none
+	 * @param inSkipLineBreaks the tokenizer drops carriage returns and line feeds
+	 */
+	public void index(int inFrom, char inTerminator, char inSkip, char inRelease, boolean inSkipLineBreaks) {
+		int length = length();
+		int starts[] = new int[1024];
+		int ignored[] = new int[1024];
+		int count = 0;
+		int ignoredCount = 0;
+		int ignoredAtStart = 0;
+		byte terminator = (byte) inTerminator;
+		byte skip = (byte) inSkip;
+		byte release = (byte) inRelease;
+
+		int pos = inFrom;
+		int start = inFrom;
+		while (pos < length) {
+			byte b = data.get(pos);
+			if (inRelease != 0 && b == release) {
+				pos += 2;
+				continue;
+			}
+			if ((inSkip != 0 && b == skip) || (inSkipLineBreaks && (b == '\r' || b == '\n'))) {
+				ignoredCount++;
+			} else if (b == terminator) {
+				if (count + 1 >= starts.length) {
+					starts = Arrays.copyOf(starts, starts.length * 2);
+					ignored = Arrays.copyOf(ignored, ignored.length * 2);
+				}
+				starts[count] = start;
+				ignored[count] = ignoredAtStart;
+				count++;
+				ignoredCount++;
+				start = pos + 1;
+				ignoredAtStart = ignoredCount;
+			}
+			pos++;
+		}
+		if (start < length && isBlank(start, length, inSkipLineBreaks) == false) {
+			if (count + 1 >= starts.length) {
+				starts = Arrays.copyOf(starts, starts.length + 2);
+				ignored = Arrays.copyOf(ignored, ignored.length + 2);
+			}
+			starts[count] = start;
+			ignored[count] = ignoredAtStart;
+			count++;
+		}
+		starts[count] = length;
+		ignored[count] = ignoredCount;
+
+		segmentStarts = starts;
+		ignoredBefore = ignored;
+		segmentCount = count;
+		indexedFrom = inFrom;
+		skipLineBreaks = inSkipLineBreaks;
+	}
+
+	/**
+	 * @return true if there is nothing but line breaks the tokenizer drops
+	 */
+	private boolean isBlank(int inFrom, int inTo, boolean inSkipLineBreaks) {
+		if (inSkipLineBreaks == false) {
+			return false;
+		}
+		for (int i = inFrom; i < inTo; i++) {
+			byte b = data.get(i);
+			if (b != '\r' && b != '\n') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return number of segments found by index
+	 */
+	public int getSegmentCount() {
+		return segmentCount;
+	}
+
+	/**
+	 * @param inSegment segment number, relative to zero
+	 * @return where the segment starts
+	 */
+	public int getSegmentStart(int inSegment) {
+		return segmentStarts[inSegment];
+	}
+
+	/**
+	 * @param inSegment segment number, relative to zero
+	 * @return where the next segment starts, after the terminator
+	 */
+	public int getSegmentEnd(int inSegment) {
+		return segmentStarts[inSegment + 1];
+	}
+
+	/**
+	 * number of characters a tokenizer reading from the indexed position has
+	 * counted when it gets to the segment, terminators and skipped characters
+	 * are not counted
+	 *
+	 * @param inSegment segment number, relative to zero
+	 * @return int
+	 */
+	public int getTokenCharactersBefore(int inSegment) {
+		return segmentStarts[inSegment] - indexedFrom - ignoredBefore[inSegment];
+	}
+
+	/**
+	 * tests the segment id without building a String
+	 *
+	 * @param inSegment   segment number, relative to zero
+	 * @param inID        segment id
+	 * @param inSeparator element separator
+	 * @return true if the segment has the id
+	 */
+	public boolean segmentIDEquals(int inSegment, String inID, char inSeparator) {
+		int start = segmentStarts[inSegment];
+		int end = segmentStarts[inSegment + 1];
+		if (skipLineBreaks) {
+			while (start < end && (charAt(start) == '\r' || charAt(start) == '\n')) {
+				start++;
+			}
+		}
+		int idLength = inID.length();
+		if (end - start <= idLength) {
+			return false;
+		}
+		for (int i = 0; i < idLength; i++) {
+			if (charAt(start + i) != inID.charAt(i)) {
+				return false;
+			}
+		}
+		char after = charAt(start + idLength);
+		return after == inSeparator || end - start == idLength + 1;
+	}
+
+	/**
+	 * reads the mapped bytes as ISO-8859-1 characters
+	 */
+	private static final class MappedReader extends Reader {
+		private final ByteBuffer buffer;
+		private int mark = 0;
+
+		MappedReader(ByteBuffer inBuffer) {
+			buffer = inBuffer;
+		}
+
+		@Override
+		public int read() {
+			if (buffer.hasRemaining() == false) {
+				return -1;
+			}
+			return buffer.get() & 0xff;
+		}
+
+		@Override
+		public int read(char[] inBuffer, int inOffset, int inLength) {
+			if (inLength == 0) {
+				return 0;
+			}
+			int remaining = buffer.remaining();
+			if (remaining == 0) {
+				return -1;
+			}
+			int n = Math.min(inLength, remaining);
+			int pos = buffer.position();
+			for (int i = 0; i < n; i++) {
+				inBuffer[inOffset + i] = (char) (buffer.get(pos + i) & 0xff);
+			}
+			buffer.position(pos + n);
+			return n;
+		}
+
+		@Override
+		public long skip(long inCount) {
+			int n = (int) Math.min(Math.max(inCount, 0), buffer.remaining());
+			buffer.position(buffer.position() + n);
+			return n;
+		}
+
+		@Override
+		public boolean ready() {
+			return true;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return true;
+		}
+
+		@Override
+		public void mark(int inReadAheadLimit) {
+			mark = buffer.position();
+		}
+
+		@Override
+		public void reset() {
+			buffer.position(mark);
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	/**
+	 * reads the mapped bytes
+	 */
+	private static final class MappedInputStream extends InputStream {
+		private final ByteBuffer buffer;
+		private int mark = 0;
+
+		MappedInputStream(ByteBuffer inBuffer) {
+			buffer = inBuffer;
+		}
+
+		@Override
+		public int read() {
+			if (buffer.hasRemaining() == false) {
+				return -1;
+			}
+			return buffer.get() & 0xff;
+		}
+
+		@Override
+		public int read(byte[] inBuffer, int inOffset, int inLength) {
+			if (inLength == 0) {
+				return 0;
+			}
+			int remaining = buffer.remaining();
+			if (remaining == 0) {
+				return -1;
+			}
+			int n = Math.min(inLength, remaining);
+			buffer.get(inBuffer, inOffset, n);
+			return n;
+		}
+
+		@Override
+		public long skip(long inCount) {
+			int n = (int) Math.min(Math.max(inCount, 0), buffer.remaining());
+			buffer.position(buffer.position() + n);
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+
+		@Override
+		public boolean markSupported() {
+			return true;
+		}
+
+		@Override
+		public synchronized void mark(int inReadLimit) {
+			mark = buffer.position();
+		}
+
+		@Override
+		public synchronized void reset() {
+			buffer.position(mark);
+		}
+	}
+}
@@ -15,13 +15,13 @@
  */
 package io.github.ediandxml.oboe.util;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -364,7 +364,7 @@ public class MessageStripper {
 
 		Util.setOBOEProperty("THROW_PARSING_EXCEPTION", "false");
 
-		InputStreamReader isr = new InputStreamReader(new FileInputStream(args[0]));
+		Reader isr = MappedDocument.openReader(Paths.get(args[0]), StandardCharsets.ISO_8859_1);
 		MessageStripper ms;
 
 		if (args.length == 0) {
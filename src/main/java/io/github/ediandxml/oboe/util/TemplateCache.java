@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import io.github.ediandxml.oboe.Errors.OBOEException;
+
+/**
+ * Thread safe cache for parsed message description templates.
+ * <p>
+ * Each key is loaded exactly once: the first caller for a key runs the loader
+ * while later callers for the same key wait for that result. Different keys
+ * load in parallel. A failed load is not cached so the next request tries
+ * again. The loader runs outside of any map lock, so a loader may itself use
+ * the cache.
+ *
+ * @param <T> template type
+ * @author Joe McVerry
+ */
+public final class TemplateCache<T> {
+
+	private final ConcurrentHashMap<String, CompletableFuture<T>> entries = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder loadNanos = new LongAdder();
+
+	/**
+	 * Returns the template for the key, loading it if this is the first request.
+	 *
+	 * @param key    the cache key
+	 * @param loader builds the template for the key
+	 * @return the template
+	 * @throws OBOEException if the loader fails
+	 */
+	public T get(String key, Function<String, T> loader) {
+		CompletableFuture<T> entry = entries.get(key);
+		if (entry == null) {
+			CompletableFuture<T> newEntry = new CompletableFuture<>();
+			entry = entries.putIfAbsent(key, newEntry);
+			if (entry == null) {
+				misses.increment();
+				load(key, loader, newEntry);
+				return join(newEntry);
+			}
+		}
+		hits.increment();
+		return join(entry);
+	}
+
+	/**
+	 * Returns the template for the key if it has been loaded.
+	 *
+	 * @param key the cache key
+	 * @return the template or null
+	 */
+	public T getIfPresent(String key) {
+		CompletableFuture<T> entry = entries.get(key);
+		if (entry == null || entry.isDone() == false || entry.isCompletedExceptionally()) {
+			return null;
+		}
+		return entry.join();
+	}
+
+	/**
+	 * Loads the template and replaces whatever is stored for the key.
+	 *
+	 * @param key    the cache key
+	 * @param loader builds the template for the key
+	 * @return the template
+	 * @throws OBOEException if the loader fails
+	 */
+	public T reload(String key, Function<String, T> loader) {
+		CompletableFuture<T> newEntry = new CompletableFuture<>();
+		misses.increment();
+		load(key, loader, newEntry);
+		T value = join(newEntry);
+		entries.put(key, newEntry);
+		return value;
+	}
+
+	private void load(String key, Function<String, T> loader, CompletableFuture<T> entry) {
+		long start = System.nanoTime();
+		try {
+			T value = loader.apply(key);
+			entry.complete(value);
+		} catch (RuntimeException | Error ex) {
+			entries.remove(key, entry);
+			entry.completeExceptionally(ex);
+		} finally {
+			loadNanos.add(System.nanoTime() - start);
+		}
+	}
+
+	private T join(CompletableFuture<T> entry) {
+		try {
+			return entry.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new OBOEException("Interrupted waiting for message description");
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new OBOEException(cause.getMessage());
+		}
+	}
+
+	/**
+	 * Removes all templates. The counters are not reset.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * @return number of templates held
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return number of requests answered from the cache
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return number of requests that had to load a template
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return total time spent loading templates in nanoseconds
+	 */
+	public long getLoadTimeNanos() {
+		return loadNanos.sum();
+	}
+
+	/**
+	 * Resets the hit, miss and load time counters.
+	 */
+	public void resetStatistics() {
+		hits.reset();
+		misses.reset();
+		loadNanos.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "TemplateCache[size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+				+ ", loadTimeNanos=" + getLoadTimeNanos() + "]";
+	}
+}
@@ -15,35 +15,38 @@
  */
 package io.github.ediandxml.oboe.util;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.Externalizable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Reader;
-import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import io.github.ediandxml.oboe.Containers.Envelope;
+import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.OBOEException;
 
 /**
@@ -67,15 +70,19 @@ public final class Util {
 	public static final String X12_DELIMITERS = "x12Delimiters";
 	public static final String EDIFACT_DELIMITERS = "EDIFACTDelimiters";
 	public static final String TRADACOMS_DELIMITERS = "TradacomsDelimiters";
+	public static final String BUFFERED_TOKENIZER = "bufferedTokenizer";
+	public static final String COMPILED_PARSER = "compiledParser";
+	public static final String PARALLEL_VALIDATION = "parallelValidation";
+	public static final String MAXIMUM_ERRORS_RETAINED = "maximumErrorsRetained";
 
 	private static final String PROPERTIES_FILE_NAME = "OBOE.properties";
-	private static final String LINE_SEPARATOR = System.lineSeparator();
 
-	private static final Map<String, String> PROPERTIES = new ConcurrentHashMap<>();
+	private static volatile PropertySnapshot properties;
 	private static volatile Path propertyFile;
 	private static volatile long lastUpdate = -1;
 	private static volatile boolean recheckProperties;
-	private static volatile String validCharacters;
+	private static volatile CharacterSet validCharacters;
+	private static WatchService propertyWatcher;
 
 	// if you are using the rules and code builder
 	// store your transaction message files here that you don't want changed
@@ -86,8 +93,7 @@ public final class Util {
 
 	static {
 		try {
-			String test = getOBOEProperty(CHECK_PROPERTY_FILE_FOR_CHANGES);
-			recheckProperties = test != null && ("true".equalsIgnoreCase(test) || "yes".equalsIgnoreCase(test));
+			snapshot();
 			LOGGER.debug("recheckProperties is {}", recheckProperties);
 		} catch (IOException e) {
 			LOGGER.error("Failed to initialize recheckProperties");
@@ -286,8 +292,7 @@ public final class Util {
 	 */
 	public static boolean propertyFileIndicatesTHROW_PARSING_EXCEPTION() {
 		try {
-			String value = getOBOEProperty(THROW_PARSING_EXCEPTION);
-			return value == null || !value.equalsIgnoreCase("false");
+			return snapshot().throwParsingException;
 		} catch (IOException e) {
 			LOGGER.debug("Failed to read THROW_PARSING_EXCEPTION property");
 			return true;
@@ -302,8 +307,7 @@ public final class Util {
 	 */
 	public static boolean propertyFileIndicatesDoPrevalidate() {
 		try {
-			String value = getOBOEProperty(DO_PREVALIDATE);
-			return value != null && value.equalsIgnoreCase("true");
+			return snapshot().doPrevalidate;
 		} catch (IOException e) {
 			LOGGER.debug("Failed to read doPrevalidate property");
 			return false;
@@ -318,14 +322,87 @@ public final class Util {
 	 */
 	public static boolean propertyFileIndicatesRealNumbersRetainPrecision() {
 		try {
-			String value = getOBOEProperty(REAL_NUMBERS_RETAIN_PRECISION);
-			return value != null && value.equalsIgnoreCase("true");
+			return snapshot().realNumbersRetainPrecision;
 		} catch (IOException e) {
 			LOGGER.debug("Failed to read realNumbersRetainPrecision property");
 			return false;
 		}
 	}
 
+	/**
+	 * Checks if the tokenizers should use the block buffered scanner based on the
+	 * OBOE.properties file.
+	 *
+	 * @return true if the buffered scanner is enabled, false otherwise
+	 */
+	public static boolean propertyFileIndicatesBufferedTokenizer() {
+		try {
+			return snapshot().bufferedTokenizer;
+		} catch (IOException e) {
+			LOGGER.debug("Failed to read bufferedTokenizer property");
+			return false;
+		}
+	}
+
+	/**
+	 * Checks if transaction set templates should be compiled into a state machine
+	 * for parsing based on the OBOE.properties file.
+	 *
+	 * @return true if the compiled parser is enabled, false otherwise
+	 */
+	public static boolean propertyFileIndicatesCompiledParser() {
+		try {
+			return snapshot().compiledParser;
+		} catch (IOException e) {
+			LOGGER.debug("Failed to read compiledParser property");
+			return false;
+		}
+	}
+
+	/**
+	 * Checks if the transaction sets of a functional group should be validated in
+	 * parallel based on the OBOE.properties file.
+	 *
+	 * @return true if parallel validation is enabled, false otherwise
+	 */
+	public static boolean propertyFileIndicatesParallelValidation() {
+		try {
+			return snapshot().parallelValidation;
+		} catch (IOException e) {
+			LOGGER.debug("Failed to read parallelValidation property");
+			return false;
+		}
+	}
+
+	/**
+	 * Gets the error level DocumentErrors reports to from the OBOE.properties
+	 * file.
+	 *
+	 * @return the level or null if not set or not a known level
+	 */
+	public static DocumentErrors.ERROR_TYPE propertyFileErrorLevelToReport() {
+		try {
+			return snapshot().errorLevelToReport;
+		} catch (IOException e) {
+			LOGGER.debug("Failed to read errorLevelToReport property");
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the most errors a DocumentErrors keeps from the OBOE.properties file.
+	 *
+	 * @return the maximum, Integer.MAX_VALUE if not set
+	 */
+	public static int propertyFileMaximumErrorsRetained() {
+		try {
+			return snapshot().maximumErrorsRetained;
+		} catch (IOException e) {
+			LOGGER.debug("Failed to read maximumErrorsRetained property");
+			return Integer.MAX_VALUE;
+		}
+	}
+
 	/**
 	 * Retrieves the message description folder from OBOE.properties.
 	 *
@@ -357,6 +434,84 @@ public final class Util {
 		return input.substring(0, end);
 	}
 
+	/**
+	 * the loaded properties and the flags read on hot paths. Never changed once
+	 * built, a reload or a call to setOBOEProperty builds a new one and swaps it
+	 * in.
+	 */
+	private static final class PropertySnapshot {
+		final Map<String, String> values;
+		final boolean throwParsingException;
+		final boolean doPrevalidate;
+		final boolean realNumbersRetainPrecision;
+		final boolean bufferedTokenizer;
+		final boolean compiledParser;
+		final boolean parallelValidation;
+		final DocumentErrors.ERROR_TYPE errorLevelToReport;
+		final int maximumErrorsRetained;
+
+		PropertySnapshot(Map<String, String> inValues) {
+			values = Collections.unmodifiableMap(new HashMap<>(inValues));
+			String value = get(THROW_PARSING_EXCEPTION);
+			throwParsingException = value == null || !value.equalsIgnoreCase("false");
+			doPrevalidate = isTrue(DO_PREVALIDATE);
+			realNumbersRetainPrecision = isTrue(REAL_NUMBERS_RETAIN_PRECISION);
+			bufferedTokenizer = isTrue(BUFFERED_TOKENIZER);
+			compiledParser = isTrue(COMPILED_PARSER);
+			parallelValidation = isTrue(PARALLEL_VALIDATION);
+			errorLevelToReport = errorLevel(get(ERROR_LEVEL_TO_REPORT));
+			maximumErrorsRetained = maximumErrors(get(MAXIMUM_ERRORS_RETAINED));
+		}
+
+		private static DocumentErrors.ERROR_TYPE errorLevel(String value) {
+			if (value == null) {
+				return null;
+			}
+			for (DocumentErrors.ERROR_TYPE level : DocumentErrors.ERROR_TYPE.values()) {
+				if (value.equals(level.name())) {
+					return level;
+				}
+			}
+			LOGGER.error("Unknown error level in properties file: {}", value);
+			return null;
+		}
+
+		private static int maximumErrors(String value) {
+			if (value == null || value.isEmpty()) {
+				return Integer.MAX_VALUE;
+			}
+			try {
+				return Math.max(Integer.parseInt(value), 0);
+			} catch (NumberFormatException e) {
+				LOGGER.error("Invalid maximumErrorsRetained in properties file: {}", value);
+				return Integer.MAX_VALUE;
+			}
+		}
+
+		String get(String key) {
+			String value = values.get(key);
+			return value != null ? value.trim() : null;
+		}
+
+		private boolean isTrue(String key) {
+			String value = get(key);
+			return value != null && value.equalsIgnoreCase("true");
+		}
+	}
+
+	/**
+	 * @return the current property snapshot, loading OBOE.properties the first
+	 *         time
+	 * @throws IOException if the file cannot be loaded
+	 */
+	private static PropertySnapshot snapshot() throws IOException {
+		PropertySnapshot snap = properties;
+		if (snap == null) {
+			snap = loadProperties();
+		}
+		return snap;
+	}
+
 	/**
 	 * Sets a property in OBOE.properties.
 	 *
@@ -366,20 +521,27 @@ public final class Util {
 	public static void setOBOEProperty(String key, String value) {
 		Objects.requireNonNull(key, "Property key must not be null");
 		Objects.requireNonNull(value, "Property value must not be null");
-		if (PROPERTIES.isEmpty()) {
+		synchronized (Util.class) {
+			PropertySnapshot snap;
 			try {
-				loadProperties();
+				snap = snapshot();
 			} catch (IOException e) {
 				throw new OBOEException("Something wrong with oboe.properties file", e);
-
+			}
+			Map<String, String> values = new HashMap<>(snap.values);
+			values.put(key, value);
+			properties = new PropertySnapshot(values);
+			if (key.equals(VALID_CHARACTER_SET)) {
+				validCharacters = null;
 			}
 		}
-		PROPERTIES.put(key, value);
 		LOGGER.debug("Set property {} = {}", key, value);
 	}
 
 	/**
-	 * Retrieves a property from OBOE.properties.
+	 * Retrieves a property from OBOE.properties. When checkPropertyFileForChanges
+	 * is set the file is watched in the background and reloaded when it changes,
+	 * lookups never touch the file system.
 	 *
 	 * @param key the property key
 	 * @return the property value, or null if not found
@@ -387,47 +549,120 @@ public final class Util {
 	 */
 	public static String getOBOEProperty(String key) throws IOException {
 		Objects.requireNonNull(key, "Property key must not be null");
-		if (PROPERTIES.isEmpty()) {
-			loadProperties();
-		}
-		if (propertyFile != null && recheckProperties
-				&& Files.getLastModifiedTime(propertyFile).toMillis() > lastUpdate) {
-			loadProperties();
-		}
-		String value = PROPERTIES.get(key);
-		return value != null ? value.trim() : null;
+		return snapshot().get(key);
 	}
 
 	/**
 	 * Closes and resets the OBOE.properties file.
 	 */
-	public static void closeOBOEProperty() {
-		PROPERTIES.clear();
+	public static synchronized void closeOBOEProperty() {
+		properties = null;
 		propertyFile = null;
 		lastUpdate = -1;
+		if (propertyWatcher != null) {
+			try {
+				propertyWatcher.close();
+			} catch (IOException e) {
+				LOGGER.debug("Failed to close properties watcher");
+			}
+			propertyWatcher = null;
+		}
 		LOGGER.debug("Closed and reset OBOE properties");
 	}
 
 	/**
 	 * Loads the OBOE.properties file from various locations.
 	 *
+	 * @return the loaded snapshot
 	 * @throws IOException if the file cannot be loaded
 	 */
-	private static synchronized void loadProperties() throws IOException {
-		if (!PROPERTIES.isEmpty() && !(propertyFile != null && recheckProperties)) {
-			return;
+	private static synchronized PropertySnapshot loadProperties() throws IOException {
+		if (properties != null) {
+			return properties;
 		}
+		return readProperties();
+	}
+
+	private static synchronized PropertySnapshot readProperties() throws IOException {
 		try (InputStream is = getPropertiesFile()) {
 			Properties props = new Properties();
 			props.load(is);
-			PROPERTIES.clear();
-			props.forEach((k, v) -> PROPERTIES.put(k.toString(), v.toString()));
+			Map<String, String> values = new HashMap<>();
+			props.forEach((k, v) -> values.put(k.toString(), v.toString()));
+			PropertySnapshot snap = new PropertySnapshot(values);
+			String test = snap.get(CHECK_PROPERTY_FILE_FOR_CHANGES);
+			recheckProperties = test != null && ("true".equalsIgnoreCase(test) || "yes".equalsIgnoreCase(test));
 			if (propertyFile != null) {
 				lastUpdate = Files.getLastModifiedTime(propertyFile).toMillis();
 				LOGGER.debug("Loaded properties from {}", propertyFile);
 			} else {
 				LOGGER.debug("Loaded properties from classpath");
 			}
+			properties = snap;
+			validCharacters = null;
+			if (recheckProperties) {
+				watchPropertyFile();
+			}
+			return snap;
+		}
+	}
+
+	/**
+	 * starts a daemon thread that reloads the properties file when it changes
+	 */
+	private static synchronized void watchPropertyFile() {
+		Path file = propertyFile;
+		if (propertyWatcher != null || file == null) {
+			return;
+		}
+		Path dir = file.toAbsolutePath().getParent();
+		if (dir == null) {
+			return;
+		}
+		WatchService watcher;
+		try {
+			watcher = dir.getFileSystem().newWatchService();
+			dir.register(watcher, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+		} catch (IOException e) {
+			LOGGER.error("Can not watch {} for changes", file);
+			return;
+		}
+		propertyWatcher = watcher;
+		Thread thread = new Thread(() -> {
+			Path name = file.getFileName();
+			while (true) {
+				WatchKey key;
+				try {
+					key = watcher.take();
+				} catch (InterruptedException | ClosedWatchServiceException e) {
+					return;
+				}
+				boolean changed = false;
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (name.equals(event.context())) {
+						changed = true;
+					}
+				}
+				key.reset();
+				if (changed) {
+					reloadProperties(watcher, file);
+				}
+			}
+		}, "OBOE.properties watcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private static synchronized void reloadProperties(WatchService inWatcher, Path inFile) {
+		if (propertyWatcher != inWatcher) {
+			return;
+		}
+		try {
+			if (Files.getLastModifiedTime(inFile).toMillis() > lastUpdate) {
+				readProperties();
+			}
+		} catch (IOException | OBOEException e) {
+			LOGGER.error("Failed to reload {}, keeping the current properties", inFile);
 		}
 	}
 
@@ -494,63 +729,26 @@ public final class Util {
 
 	/**
 	 * Removes CRLF from an InputStream, preserving it if it’s a segment delimiter.
+	 * The stream is filtered as it is read, see CRLFFilterReader.
 	 *
 	 * @param input the input stream
 	 * @return a new InputStream without CRLF
 	 * @throws IOException if an I/O error occurs
 	 */
 	public static InputStream removeCRLFFromStream(InputStream input) throws IOException {
-		try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
-				ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-			String line = reader.readLine();
-			if (line == null) {
-				LOGGER.error("Failed to read input stream during CRLF removal");
-				return new ByteArrayInputStream(new byte[0]);
-			}
-			boolean preserveCRLF = line.length() == 105 && line.charAt(3) == line.charAt(103);
-			if (preserveCRLF) {
-				LOGGER.info("Preserving CRLF as it appears to be a segment delimiter");
-			}
-			do {
-				baos.write(line.getBytes(StandardCharsets.UTF_8));
-				if (preserveCRLF) {
-					baos.write(LINE_SEPARATOR.getBytes(StandardCharsets.UTF_8));
-				}
-				line = reader.readLine();
-			} while (line != null);
-			return new ByteArrayInputStream(baos.toByteArray());
-		}
+		return CRLFFilterReader.filter(input);
 	}
 
 	/**
-	 * Removes CRLF from a Reader, preserving it if it’s a segment delimiter.
+	 * Removes CRLF from a Reader, preserving it if it’s a segment delimiter. The
+	 * reader is filtered as it is read, see CRLFFilterReader.
 	 *
 	 * @param input the input reader
 	 * @return a new Reader without CRLF
 	 * @throws IOException if an I/O error occurs
 	 */
 	public static Reader removeCRLFFromReader(Reader input) throws IOException {
-		Path tempFile = Files.createTempFile("oboe", ".tmp");
-		try (BufferedReader reader = new BufferedReader(input);
-				BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
-			String line = reader.readLine();
-			if (line == null) {
-				LOGGER.error("Failed to read input during CRLF removal");
-				return new StringReader("");
-			}
-			boolean preserveCRLF = line.length() == 105 && line.charAt(3) == line.charAt(103);
-			if (preserveCRLF) {
-				LOGGER.info("Preserving CRLF as it appears to be a segment delimiter");
-			}
-			do {
-				writer.write(line);
-				if (preserveCRLF) {
-					writer.write(LINE_SEPARATOR);
-				}
-				line = reader.readLine();
-			} while (line != null);
-		}
-		return Files.newBufferedReader(tempFile, StandardCharsets.UTF_8);
+		return new CRLFFilterReader(input);
 	}
 
 	/**
@@ -599,7 +797,14 @@ public final class Util {
 	 */
 	public static void resetValids() {
 		validCharacters = null;
-		PROPERTIES.remove(VALID_CHARACTER_SET);
+		synchronized (Util.class) {
+			PropertySnapshot snap = properties;
+			if (snap != null && snap.values.containsKey(VALID_CHARACTER_SET)) {
+				Map<String, String> values = new HashMap<>(snap.values);
+				values.remove(VALID_CHARACTER_SET);
+				properties = new PropertySnapshot(values);
+			}
+		}
 		LOGGER.debug("Reset valid character set");
 	}
 
@@ -613,60 +818,31 @@ public final class Util {
 		if (input == null || input.isEmpty()) {
 			return -1;
 		}
-		try {
-			if (validCharacters == null) {
-				String charSet = getOBOEProperty(VALID_CHARACTER_SET);
-				if (charSet == null) {
-					return -1;
-				}
-				validCharacters = expandCharacterSet(charSet);
-				LOGGER.debug("Expanded valid character set: {}", validCharacters);
-			}
-			for (int i = 0; i < input.length(); i++) {
-				if (validCharacters.indexOf(input.charAt(i)) < 0) {
-					return i;
-				}
-			}
-		} catch (IOException e) {
-			LOGGER.error("Failed to validate character set");
-		}
-		return -1;
+		CharacterSet valids = getValidCharacterSet();
+		return valids == null ? -1 : valids.firstInvalid(input);
 	}
 
 	/**
-	 * Expands a character set definition (e.g., "a...z") into a full string.
+	 * Returns the character set defined by validCharacterSet in OBOE.properties.
 	 *
-	 * @param charSet the character set definition
-	 * @return the expanded character set
+	 * @return the character set, or null if none is defined
 	 */
-	private static String expandCharacterSet(String charSet) {
-		StringBuilder sb = new StringBuilder();
-		for (int i = 0; i < charSet.length(); i++) {
-			if (i + 4 < charSet.length()) {
-				String range = charSet.substring(i, i + 5);
-				if (range.equals("a...z")) {
-					for (char c = 'a'; c <= 'z'; c++) {
-						sb.append(c);
-					}
-					i += 4;
-					continue;
-				} else if (range.equals("A...Z")) {
-					for (char c = 'A'; c <= 'Z'; c++) {
-						sb.append(c);
-					}
-					i += 4;
-					continue;
-				} else if (range.equals("0...9")) {
-					for (char c = '0'; c <= '9'; c++) {
-						sb.append(c);
-					}
-					i += 4;
-					continue;
+	public static CharacterSet getValidCharacterSet() {
+		CharacterSet valids = validCharacters;
+		if (valids == null) {
+			try {
+				String charSet = getOBOEProperty(VALID_CHARACTER_SET);
+				if (charSet == null) {
+					return null;
 				}
+				valids = CharacterSet.forDefinition(charSet);
+				validCharacters = valids;
+				LOGGER.debug("Valid character set: {}", valids);
+			} catch (IOException e) {
+				LOGGER.error("Failed to validate character set");
 			}
-			sb.append(charSet.charAt(i));
 		}
-		return sb.toString();
+		return valids;
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import io.github.ediandxml.oboe.Errors.DocumentErrors;
+import io.github.ediandxml.oboe.Errors.OBOEException;
+
+/**
+ * A validating method named in a message description, bound once to a
+ * MethodHandle when the template is loaded so running it for every container
+ * does no reflection.
+ * <p>
+ * The method is static, takes the container being validated and a
+ * DocumentErrors object and returns a boolean.
+ *
+ * @author Joe McVerry
+ */
+public final class ValidatingMethod {
+
+	private static final MethodType RUN_TYPE = MethodType.methodType(boolean.class, Object.class,
+			DocumentErrors.class);
+
+	private final Method method;
+	private final MethodHandle handle;
+
+	private ValidatingMethod(Method inMethod) {
+		method = inMethod;
+		try {
+			handle = MethodHandles.publicLookup().unreflect(inMethod).asType(RUN_TYPE);
+		} catch (IllegalAccessException | RuntimeException e) {
+			throw new OBOEException("Validating method " + getName() + " can not be used: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * binds a validating method
+	 *
+	 * @param inMethod static method, may be null
+	 * @return ValidatingMethod or null if inMethod is null
+	 * @throws OBOEException if the method is not accessible or has the wrong
+	 *                       signature
+	 */
+	public static ValidatingMethod of(Method inMethod) {
+		return inMethod == null ? null : new ValidatingMethod(inMethod);
+	}
+
+	/**
+	 * @return the class and method name as written in a message description
+	 */
+	public String getName() {
+		return method.getDeclaringClass().getName() + "." + method.getName();
+	}
+
+	/**
+	 * @return the reflected method
+	 */
+	public Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * runs the method
+	 *
+	 * @param inContainer container being validated
+	 * @param inDocErrs   document errors
+	 * @return what the method returned
+	 * @exception OBOEException with message from the exception the method threw
+	 */
+	public boolean run(Object inContainer, DocumentErrors inDocErrs) throws OBOEException {
+		try {
+			return (boolean) handle.invokeExact(inContainer, inDocErrs);
+		} catch (OBOEException e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new OBOEException(e.getMessage());
+		}
+	}
+}
@@ -16,12 +16,12 @@
 
 package io.github.ediandxml.oboe.x12;
 
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 
 import io.github.ediandxml.oboe.Containers.Envelope;
 import io.github.ediandxml.oboe.Containers.FunctionalGroup;
@@ -32,11 +32,16 @@ import io.github.ediandxml.oboe.Errors.OBOEException;
 import io.github.ediandxml.oboe.EnvelopeFactory;
 import io.github.ediandxml.oboe.Format;
 import io.github.ediandxml.oboe.TransactionSetFactory;
+import io.github.ediandxml.oboe.util.ByteChannelWriter;
 
 /**
  * OBOE - Open Business Objects for EDI
  * 
  * Use this if you need to create extremly large EDI documents
+ * <p>
+ * segments and transaction sets are written to the target as soon as they are
+ * finished, only the envelope, the current functional group and the current
+ * transaction set are held in memory.
  *
  * @author Joe McVerry
  * 
@@ -59,20 +64,54 @@ public class LargeDocumentGenerator {
 	private Segment isa = null;
 	private Segment iea = null;
 	private DocumentErrors derr = null;
-	private File tempFile;
-	private Writer w;
-	private FileWriter fw;
+	private Writer fw;
 
+	/** size of the buffer in front of the caller's writer */
+	private static final int WRITER_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * output goes to the writer, which is flushed but not closed by endEnvelope
+	 *
+	 * @param w Writer
+	 * @throws IOException
+	 */
 	public LargeDocumentGenerator(Writer w) throws IOException {
-		this.w = w;
 		derr = new DocumentErrors();
 		env = new X12Envelope(EnvelopeFactory.buildEnvelope("x12.envelope", ""));
 		isa = env.createInterchange_Header();
 
 		iea = env.createInterchange_Trailer();
 
-		tempFile = File.createTempFile("large", "oboe");
-		fw = new FileWriter(tempFile);
+		fw = new BufferedWriter(w, WRITER_BUFFER_SIZE);
+	}
+
+	/**
+	 * output is encoded with the default charset into direct buffers and written
+	 * to the channel. endEnvelope flushes but does not close the channel.
+	 *
+	 * @param inChannel WritableByteChannel, such as a FileChannel
+	 * @throws IOException
+	 */
+	public LargeDocumentGenerator(WritableByteChannel inChannel) throws IOException {
+		this(inChannel, Charset.defaultCharset());
+	}
+
+	/**
+	 * output is encoded into direct buffers and written to the channel.
+	 * endEnvelope flushes but does not close the channel.
+	 *
+	 * @param inChannel WritableByteChannel, such as a FileChannel
+	 * @param inCharset Charset
+	 * @throws IOException
+	 */
+	public LargeDocumentGenerator(WritableByteChannel inChannel, Charset inCharset) throws IOException {
+		derr = new DocumentErrors();
+		env = new X12Envelope(EnvelopeFactory.buildEnvelope("x12.envelope", ""));
+		isa = env.createInterchange_Header();
+
+		iea = env.createInterchange_Trailer();
+
+		fw = new ByteChannelWriter(inChannel, inCharset);
 	}
 
 	public DocumentErrors getDocumentErrors() {
@@ -126,7 +165,7 @@ public class LargeDocumentGenerator {
 			testedEnvSegs = true;
 		}
 		fg = (X12FunctionalGroup) env.createFunctionalGroup();
-		fw.write(isa.getFormattedText(Format.X12_FORMAT));
+		isa.appendFormattedText(fw, Format.X12_FORMAT);
 		gs = fg.createAndAddSegment("GS");
 
 		ge = fg.createAndAddSegment("GE");
@@ -144,14 +183,14 @@ public class LargeDocumentGenerator {
 			gs.validate(derr);
 			testedGS = true;
 		}
-		fw.write(gs.getFormattedText(Format.X12_FORMAT));
+		gs.appendFormattedText(fw, Format.X12_FORMAT);
 		ts = TransactionSetFactory.buildTransactionSet(id);
 		return ts;
 	}
 
 	public TransactionSet endTransationSet() throws IOException {
 		ts.validate(derr);
-		ts.writeFormattedText(fw, Format.X12_FORMAT);
+		ts.appendFormattedText(fw, Format.X12_FORMAT);
 		tscnt++;
 		return ts;
 	}
@@ -160,7 +199,7 @@ public class LargeDocumentGenerator {
 		ge.setDataElementValue(1, "" + tscnt);
 		ge.setDataElementValue(2, gs.getDataElementValue(6));
 		ge.validate(derr);
-		fw.write(ge.getFormattedText(Format.X12_FORMAT));
+		ge.appendFormattedText(fw, Format.X12_FORMAT);
 		fgcnt++;
 		return fg;
 	}
@@ -169,14 +208,8 @@ public class LargeDocumentGenerator {
 		iea.setDataElementValue(1, "" + fgcnt);
 		iea.setDataElementValue(2, isa.getDataElementValue(13));
 		iea.validate(derr);
-		fw.write(iea.getFormattedText(Format.X12_FORMAT));
-		fw.close();
-		FileReader fr = new FileReader(tempFile);
-		int ch;
-		while ((ch = fr.read()) > 0) {
-			w.write(ch);
-		}
-		fr.close();
+		iea.appendFormattedText(fw, Format.X12_FORMAT);
+		fw.flush();
 		return env;
 	}
 }
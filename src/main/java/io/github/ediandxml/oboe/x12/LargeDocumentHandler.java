@@ -16,7 +16,10 @@
 
 package io.github.ediandxml.oboe.x12;
 
+import java.io.IOException;
+import java.io.PrintWriter;
 import java.io.Reader;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -25,14 +28,29 @@ import io.github.ediandxml.oboe.Containers.Envelope;
 import io.github.ediandxml.oboe.Containers.FunctionalGroup;
 import io.github.ediandxml.oboe.Containers.Segment;
 import io.github.ediandxml.oboe.Containers.TransactionSet;
+import io.github.ediandxml.oboe.DataElements.Element;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.util.Util;
 import io.github.ediandxml.oboe.EDIDocumentHandler;
 
 /**
  * OBOE - Open Business Objects for EDI
  * 
  * Use this if you need to parse extremely large EDI documents.
+ * <p>
+ * Transaction sets are never added to their functional group. Each one is
+ * validated when the parser reaches its end, handed to the callback and then
+ * dropped, so memory use is bounded by the largest single ST-SE rather than by
+ * the whole interchange. Functional groups are not added to the envelope
+ * either; the envelope returned by getEnvelope only holds the ISA, IEA and the
+ * other interchange segments.
+ * <p>
+ * The GS01/ST, control number and count checks normally done by
+ * X12FunctionalGroup.validate and X12Envelope.validate are done here as each
+ * group and the interchange end, against running counts. Error records in
+ * DocumentErrors still refer to the objects in error, so a document with many
+ * errors keeps those transaction sets reachable.
  *
  * @author Joe McVerry
  * 
@@ -40,119 +58,333 @@ import io.github.ediandxml.oboe.EDIDocumentHandler;
 public class LargeDocumentHandler implements EDIDocumentHandler {
 	static Logger logr = LogManager.getLogger(LargeDocumentHandler.class);
 
-	/*
-	 * (non-Javadoc)
+	X12DocumentParser parser;
+	X12Envelope envelope = null;
+	FunctionalGroup functionalGroup = null;
+
+	/** receives each transaction set after it is validated */
+	private final Consumer<TransactionSet> transactionSetConsumer;
+
+	/** transaction sets seen in the current functional group */
+	private int groupTransactionSetCount = 0;
+
+	/** transaction sets seen in the interchange */
+	private int transactionSetCount = 0;
+
+	/** functional groups seen in the interchange */
+	private int functionalGroupCount = 0;
+
+	/**
+	 * create the handler, call startParsing to parse the document
 	 *
-	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#endEnvelope(Envelope)
+	 * @param inConsumer receives each transaction set, the transaction set
+	 *                   should not be kept after the call returns
 	 */
-	@Override
-	public void endEnvelope(Envelope inEnv) {
-		// TODO Auto-generated method stub
+	public LargeDocumentHandler(Consumer<TransactionSet> inConsumer) {
+		transactionSetConsumer = inConsumer;
+		parser = new X12DocumentParser();
+		parser.registerHandler(this);
+	}
 
+	/**
+	 * create the handler and parse the document
+	 *
+	 * @param inReader   the edi document
+	 * @param inConsumer receives each transaction set, the transaction set
+	 *                   should not be kept after the call returns
+	 * @throws OBOEException
+	 */
+	public LargeDocumentHandler(Reader inReader, Consumer<TransactionSet> inConsumer) throws OBOEException {
+		this(inConsumer);
+		startParsing(inReader);
 	}
 
 	/*
 	 * (non-Javadoc)
 	 *
-	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#endFunctionalGroup(
-	 * FunctionalGroup)
+	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#startParsing(java.io.
+	 * Reader)
 	 */
 	@Override
-	public void endFunctionalGroup(FunctionalGroup inFG) {
-		// TODO Auto-generated method stub
+	public void startParsing(Reader inReader) throws OBOEException {
 
+		parser.parseDocument(inReader, false);
+
+		if (parser.halted() == false) {
+			validateEnvelope(parser.getDocumentErrors());
+		}
+
+		if (parser.getDocumentErrors().getTotalErrorCount() > 0) {
+			if (Util.propertyFileIndicatesTHROW_PARSING_EXCEPTION()) {
+				PrintWriter pw = new PrintWriter(System.out);
+				try {
+					parser.getDocumentErrors().writeErrors(pw);
+				} catch (IOException e) {
+					e.printStackTrace();
+					throw new OBOEException(e.getLocalizedMessage());
+				}
+				throw new OBOEException(parser.getDocumentErrors());
+			} else {
+				logr.error("Validation failed, check DocumentErrors object");
+			}
+		}
 	}
 
 	/*
 	 * (non-Javadoc)
 	 *
-	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#endSegment(Segment)
+	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#startEnvelope(Envelope)
 	 */
 	@Override
-	public void endSegment(Segment inSeg) {
-		// TODO Auto-generated method stub
-
+	public void startEnvelope(Envelope inEnv) {
+		envelope = (X12Envelope) inEnv;
+		functionalGroupCount = 0;
+		transactionSetCount = 0;
 	}
 
 	/*
 	 * (non-Javadoc)
 	 *
-	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#endTransactionSet(
-	 * TransactionSet)
+	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#startFunctionalGroup(
+	 * FunctionalGroup)
 	 */
 	@Override
-	public void endTransactionSet(TransactionSet inTS) {
-		// TODO Auto-generated method stub
-
+	public void startFunctionalGroup(FunctionalGroup inFG) {
+		functionalGroup = inFG;
+		groupTransactionSetCount = 0;
 	}
 
 	/*
 	 * (non-Javadoc)
 	 *
-	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#getDocumentErrors()
+	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#startTransactionSet(
+	 * TransactionSet)
 	 */
 	@Override
-	public DocumentErrors getDocumentErrors() {
-		// TODO Auto-generated method stub
-		return null;
+	public void startTransactionSet(TransactionSet inTS) {
+		// not added to the functional group, see endTransactionSet
 	}
 
 	/*
 	 * (non-Javadoc)
 	 *
-	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#startEnvelope(Envelope)
+	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#startSegment(Segment)
 	 */
 	@Override
-	public void startEnvelope(Envelope inEnv) {
-		// TODO Auto-generated method stub
+	public void startSegment(Segment inSeg) {
+
+		if (inSeg.getID().compareTo(X12Envelope.idInterchangeHeader) == 0) {
+			envelope.addSegment(inSeg);
+		} else if (inSeg.getID().compareTo(X12Envelope.idInterchangeTrailer) == 0) {
+			envelope.addSegment(inSeg);
+		} else if (inSeg.getID().compareTo(X12Envelope.idGradeofServiceRequest) == 0) {
+			envelope.addSegment(inSeg);
+		} else if (inSeg.getID().compareTo(X12Envelope.idDeferredDeliveryRequest) == 0) {
+			envelope.addSegment(inSeg);
+		} else if (inSeg.getID().compareTo(X12Envelope.idInterchangeAcknowledgment) == 0) {
+			envelope.addSegment(inSeg);
+		} else if (inSeg.getID().compareTo(X12FunctionalGroup.idHeader) == 0) {
+			functionalGroup.addSegment(inSeg);
+		} else if (inSeg.getID().compareTo(X12FunctionalGroup.idTrailer) == 0) {
+			functionalGroup.addSegment(inSeg);
+		}
 
 	}
 
 	/*
 	 * (non-Javadoc)
 	 *
-	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#startFunctionalGroup(
-	 * FunctionalGroup)
+	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#endSegment(Segment)
 	 */
 	@Override
-	public void startFunctionalGroup(FunctionalGroup inFG) {
-		// TODO Auto-generated method stub
+	public void endSegment(Segment inSeg) {
+		;
+	}
+
+	/**
+	 * validates the transaction set, passes it to the callback and lets it go
+	 */
+	@Override
+	public void endTransactionSet(TransactionSet inTS) {
+		DocumentErrors dErr = parser.getDocumentErrors();
+		Segment header = functionalGroup.getHeader();
+		if (header != null) {
+			String fggrp = header.getElement(1).get();
+			if (fggrp.compareTo(inTS.getFunctionalGroup()) != 0) {
+				dErr.addError(0, "FG", "Functional Identifier Code (GS01-479) value is " + fggrp
+						+ " does not match for Transaction Set ID " + inTS.getID() + "-" + inTS.getFunctionalGroup(),
+						functionalGroup, "6", functionalGroup, DocumentErrors.ERROR_TYPE.Requirement);
+			}
+		}
+		inTS.validate(dErr);
+		groupTransactionSetCount++;
+		transactionSetCount++;
+		transactionSetConsumer.accept(inTS);
+	}
 
+	/**
+	 * validates the group header and trailer against the number of transaction
+	 * sets seen
+	 */
+	@Override
+	public void endFunctionalGroup(FunctionalGroup inFG) {
+		validateFunctionalGroup(inFG, parser.getDocumentErrors());
+		functionalGroupCount++;
+		functionalGroup = null;
 	}
 
 	/*
 	 * (non-Javadoc)
 	 *
-	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#startParsing(java.io.
-	 * Reader)
+	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#endEnvelope(Envelope)
 	 */
 	@Override
-	public void startParsing(Reader inReader) throws OBOEException {
-		// TODO Auto-generated method stub
+	public void endEnvelope(Envelope inEnv) {
+		envelope = (X12Envelope) inEnv;
+	}
+
+	/**
+	 * same checks as X12FunctionalGroup.validate with the transaction sets
+	 * already validated
+	 */
+	private void validateFunctionalGroup(FunctionalGroup inFG, DocumentErrors inDErr) {
+		boolean hNoErr = false, tNoErr = false;
+		Segment header = inFG.getHeader();
+		Segment trailer = inFG.getTrailer();
+		if (header != null) {
+			hNoErr = header.validate(inDErr);
+		} else {
+			inDErr.addError(0, "Envelope", "Missing FunctionalGroup Header", inFG, "3", inFG,
+					DocumentErrors.ERROR_TYPE.Integrity);
+		}
+
+		if (groupTransactionSetCount == 0) {
+			inDErr.addError(0, "FG", "No transaction sets", inFG, "4", inFG, DocumentErrors.ERROR_TYPE.Integrity);
+		}
 
+		if (trailer != null) {
+			tNoErr = trailer.validate(inDErr);
+		} else {
+			inDErr.addError(0, "FG", "Missing FunctionalGroup Trailer", inFG, "4", inFG,
+					DocumentErrors.ERROR_TYPE.Integrity);
+		}
+
+		if ((header != null) && (trailer != null) && (hNoErr == true) && (tNoErr == true)) {
+			Element de1 = header.getElement("28");
+			Element de2 = trailer.getElement("28");
+			if ((de1 != null) && (de2 != null)) {
+				if ((de1.get() != null) && (de2.get() != null)) {
+					if (de1.get().compareTo(de2.get()) != 0) {
+						inDErr.addError(0, "FG", "Control number mismatch (28)", inFG, "4", header,
+								DocumentErrors.ERROR_TYPE.Integrity);
+					}
+				}
+			}
+			de1 = trailer.getElement("97");
+			int saidCount = Integer.parseInt(de1.get());
+			if (saidCount != groupTransactionSetCount) {
+				inDErr.addError(0, "97", "Transaction Set Count Mismatch.  Should Be " + groupTransactionSetCount,
+						inFG, "7", trailer.getElement("97"), DocumentErrors.ERROR_TYPE.Integrity);
+			}
+		}
 	}
 
-	/*
-	 * (non-Javadoc)
+	/**
+	 * same checks as X12Envelope.validate with the functional groups already
+	 * validated
+	 */
+	private void validateEnvelope(DocumentErrors inDErr) {
+		boolean hNoErr = false, tNoErr = false;
+		Segment seg, seghdr;
+
+		seg = envelope.getSegment(X12Envelope.idInterchangeHeader);
+		if (seg == null) {
+			inDErr.addError(0, "Envelope", "Missing ISA Segment", envelope, "1", envelope,
+					DocumentErrors.ERROR_TYPE.Integrity);
+		} else {
+			hNoErr = seg.validate(inDErr);
+		}
+
+		seghdr = seg;
+
+		seg = envelope.getSegment(X12Envelope.idGradeofServiceRequest);
+		if (seg != null) {
+			seg.validate(inDErr);
+		}
+
+		seg = envelope.getSegment(X12Envelope.idDeferredDeliveryRequest);
+		if (seg != null) {
+			seg.validate(inDErr);
+		}
+
+		boolean ta1Found = false;
+		for (int i = 0; i < envelope.getInterchange_AcknowledgmentCount(); i++) {
+			seg = envelope.getSegment(X12Envelope.idInterchangeAcknowledgment, i);
+			seg.validate(inDErr);
+			ta1Found = true;
+		}
+
+		if ((functionalGroupCount == 0) && (ta1Found == false)) {
+			inDErr.addError(0, "Envelope", "No functional groups", envelope, "3", envelope,
+					DocumentErrors.ERROR_TYPE.Integrity);
+		}
+
+		seg = envelope.getSegment(X12Envelope.idInterchangeTrailer);
+		if (seg == null) {
+			inDErr.addError(0, "Envelope", "Missing IEA Segment", envelope, "3", envelope,
+					DocumentErrors.ERROR_TYPE.Integrity);
+		} else {
+			tNoErr = seg.validate(inDErr);
+			if ((hNoErr == true) && (tNoErr == true) && (seghdr != null)) {
+				Element de1 = seghdr.getElement("I12");
+				Element de2 = seg.getElement("I12");
+				if ((de1 != null) && (de2 != null)) {
+					if ((de1.get() != null) && (de2.get() != null)) {
+						if (de1.get().compareTo(de2.get()) != 0) {
+							inDErr.addError(0, X12Envelope.idInterchangeHeader, "Control number mismatch (I12)",
+									envelope, "3", seghdr, DocumentErrors.ERROR_TYPE.Integrity);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * returns the envelope, it only holds the interchange segments
 	 *
-	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#startSegment(Segment)
+	 * @return Envelope
 	 */
-	@Override
-	public void startSegment(Segment inSeg) {
-		// TODO Auto-generated method stub
+	public Envelope getEnvelope() {
+		return envelope;
+	}
+
+	/**
+	 * @return number of transaction sets passed to the callback
+	 */
+	public int getTransactionSetCount() {
+		return transactionSetCount;
+	}
 
+	/**
+	 * @return number of functional groups parsed
+	 */
+	public int getFunctionalGroupCount() {
+		return functionalGroupCount;
 	}
 
 	/*
 	 * (non-Javadoc)
 	 *
-	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#startTransactionSet(
-	 * TransactionSet)
+	 * @see io.github.ediandxml.oboe.EDIDocumentHandler#getDocumentErrors()
 	 */
 	@Override
-	public void startTransactionSet(TransactionSet inTS) {
-		// TODO Auto-generated method stub
+	public DocumentErrors getDocumentErrors() {
+		return parser.getDocumentErrors();
+	}
 
+	public X12DocumentParser getParser() {
+		return parser;
 	}
 
 }
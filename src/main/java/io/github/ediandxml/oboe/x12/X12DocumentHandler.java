@@ -25,11 +25,12 @@ package io.github.ediandxml.oboe.x12;
  * 
  */
 
-import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -40,6 +41,7 @@ import io.github.ediandxml.oboe.Containers.Segment;
 import io.github.ediandxml.oboe.Containers.TransactionSet;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
 import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.util.MappedDocument;
 import io.github.ediandxml.oboe.util.Util;
 import io.github.ediandxml.oboe.EDIDocumentHandler;
 import io.github.ediandxml.oboe.Format;
@@ -84,25 +86,40 @@ public class X12DocumentHandler implements EDIDocumentHandler {
 	 * object if you use this constructor and there are document errors the method
 	 * will not make the envelope object available
 	 * 
-	 * @param inString filename to parse
+	 * @param inString filename to parse, read as ISO-8859-1
 	 * @exception OBOEException - unknown transaction set, this transaction set is
 	 *                          undefined to OBOE - parsing errors
 	 */
 
 	public X12DocumentHandler(String inString) throws OBOEException {
+		this(inString, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * create a parser for transaction set and parser what is coming from the file
+	 *
+	 * @param inString  filename to parse
+	 * @param inCharset how the file is encoded
+	 * @exception OBOEException - unknown transaction set, this transaction set is
+	 *                          undefined to OBOE - parsing errors
+	 */
+
+	public X12DocumentHandler(String inString, Charset inCharset) throws OBOEException {
 		try {
 
 			parser = new X12DocumentParser();
 
 			parser.registerHandler(this);
 
-			startParsing(new FileReader(inString));
+			try (Reader reader = MappedDocument.openReader(Paths.get(inString), inCharset)) {
+				startParsing(reader);
+			}
 
 			envelope.validate(parser.getDocumentErrors());
 		} catch (OBOEException e) {
 
 			logr.error(e.getMessage(), e);
-		} catch (FileNotFoundException e) {
+		} catch (IOException e) {
 			// catch block Sep 9, 2005
 			logr.error(e.getMessage(), e);
 		}
@@ -123,7 +140,7 @@ public class X12DocumentHandler implements EDIDocumentHandler {
 
 		envelope.validate(parser.getDocumentErrors());
 
-		if (parser.getDocumentErrors().getErrorCount() > 0) {
+		if (parser.getDocumentErrors().getTotalErrorCount() > 0) {
 			if (Util.propertyFileIndicatesTHROW_PARSING_EXCEPTION()) {
 				PrintWriter pw = new PrintWriter(System.out);
 				try {
@@ -262,11 +279,11 @@ public class X12DocumentHandler implements EDIDocumentHandler {
 	public static void main(String args[]) {
 
 		try {
-			FileReader fr = new FileReader(args[0]);
 			X12DocumentHandler dh = new X12DocumentHandler();
-			dh.startParsing(fr);
+			try (Reader reader = MappedDocument.openReader(Paths.get(args[0]), StandardCharsets.ISO_8859_1)) {
+				dh.startParsing(reader);
+			}
 
-			fr.close();
 			Envelope env = dh.getEnvelope();
 			// TransactionSet ts =
 			// env.getFunctionalGroup(0).getTransactionSet(0);
@@ -98,6 +98,16 @@ public class X12DocumentParser extends EDIDocumentParser {
 		return redefineVersion;
 	}
 
+	/**
+	 * builds the tokenizer that reads the document
+	 *
+	 * @param inReader the edi document
+	 * @return Tokenizer
+	 */
+	protected Tokenizer makeTokenizer(Reader inReader) {
+		return new X12Tokenizer(inReader, dErr);
+	}
+
 	/**
 	 * parses an X12 Document and passes results to EDIDocumentHandlers
 	 *
@@ -119,8 +129,8 @@ public class X12DocumentParser extends EDIDocumentParser {
 			dErr = new DocumentErrors();
 		}
 		X12Envelope envelope;
-		Tokenizer tokenizer = new X12Tokenizer(inReader, dErr); // ,
-																// posStop-1));
+		Tokenizer tokenizer = makeTokenizer(inReader); // ,
+														// posStop-1));
 		logr.debug("env ver = " + tokenizer.getVersion());
 		try {
 			TemplateEnvelope te = EnvelopeFactory.buildEnvelope("x12.envelope",
@@ -388,7 +398,7 @@ public class X12DocumentParser extends EDIDocumentParser {
 		}
 
 		if (io.github.ediandxml.oboe.util.Util.propertyFileIndicatesTHROW_PARSING_EXCEPTION()
-				&& (dErr.getErrorCount() > 0)) {
+				&& (dErr.getTotalErrorCount() > 0)) {
 
 			// dErr.logErrors();
 
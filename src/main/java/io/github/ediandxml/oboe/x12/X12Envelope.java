@@ -28,10 +28,7 @@ package io.github.ediandxml.oboe.x12;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PipedReader;
-import java.io.PipedWriter;
 import java.io.PushbackInputStream;
-import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 
@@ -724,7 +721,12 @@ public class X12Envelope extends Envelope {
 		FunctionalGroup fg;
 		for (i = 0; i < getFunctionalGroupCount(); i++) {
 			fg = getFunctionalGroup(i);
-			sb.append(fg.getFormattedText(format));
+			try {
+				fg.appendFormattedText(sb, format);
+			} catch (IOException e) {
+				// a StringBuilder does not throw
+				throw new OBOEException(e.getMessage());
+			}
 		}
 		seg = getSegment(idInterchangeTrailer);
 		if (seg == null) {
@@ -741,14 +743,11 @@ public class X12Envelope extends Envelope {
 		}
 
 		if (inFormat == Format.X12_FORMAT) {
-			StringReader sr = new StringReader(sb.toString());
-			StringWriter sw = new StringWriter();
-			PreDelimiter pd = new PreDelimiter(sr, sw);
-			pd.start();
-			try {
-				pd.join();
-			} catch (InterruptedException e) {
-				e.printStackTrace();
+			StringWriter sw = new StringWriter(sb.length());
+			try (DelimiterWriter dw = new DelimiterWriter(sw)) {
+				dw.write(sb.toString());
+			} catch (IOException e) {
+				throw new OBOEException(e.getMessage());
 			}
 			return sw.toString();
 		}
@@ -766,17 +765,11 @@ public class X12Envelope extends Envelope {
 
 		Writer writer = inWriter;
 		Format format = inFormat;
-		PreDelimiter pd = null;
 
 		if (inFormat == Format.X12_FORMAT) {
 			// temporarily set, will reset at end.
 			format = Format.PREBUILD_FORMAT;
-			PipedReader pr = new PipedReader();
-			@SuppressWarnings("resource")
-			PipedWriter pw = new PipedWriter(pr);
-			writer = pw;
-			pd = new Envelope.PreDelimiter(pr, inWriter);
-			pd.start();
+			writer = new DelimiterWriter(inWriter);
 
 		}
 
@@ -796,23 +789,23 @@ public class X12Envelope extends Envelope {
 			writer.write("<Envelope>" + io.github.ediandxml.oboe.util.Util.lineFeed);
 		}
 		Segment seg = getSegment(idInterchangeHeader);
-		writer.write(seg.getFormattedText(format));
+		seg.appendFormattedText(writer, format);
 
 		seg = getSegment(idGradeofServiceRequest);
 		if (seg != null) {
-			writer.write(seg.getFormattedText(format));
+			seg.appendFormattedText(writer, format);
 		}
 
 		seg = getSegment(idDeferredDeliveryRequest);
 		if (seg != null) {
-			writer.write(seg.getFormattedText(format));
+			seg.appendFormattedText(writer, format);
 		}
 
 		int i;
 
 		for (i = 0; i < getInterchange_AcknowledgmentCount(); i++) {
 			seg = getSegment(idInterchangeAcknowledgment, i);
-			writer.write(seg.getFormattedText(format));
+			seg.appendFormattedText(writer, format);
 		}
 
 		FunctionalGroup fg;
@@ -825,7 +818,7 @@ public class X12Envelope extends Envelope {
 			writer.write(io.github.ediandxml.oboe.util.Util.lineFeed + "missing IEA segment"
 					+ io.github.ediandxml.oboe.util.Util.lineFeed);
 		} else {
-			writer.write(seg.getFormattedText(format));
+			seg.appendFormattedText(writer, format);
 		}
 
 		if (format == Format.XML_FORMAT) {
@@ -838,15 +831,6 @@ public class X12Envelope extends Envelope {
 
 		writer.flush();
 		writer.close();
-		if (pd != null) {
-			try {
-				pd.join();
-			} catch (InterruptedException e) {
-
-				e.printStackTrace();
-			}
-		}
-
 	}
 
 	/**
@@ -19,6 +19,7 @@ package io.github.ediandxml.oboe.x12;
 import io.github.ediandxml.oboe.Containers.FunctionalGroup;
 import io.github.ediandxml.oboe.Containers.Segment;
 import io.github.ediandxml.oboe.Containers.TransactionSet;
+import io.github.ediandxml.oboe.Containers.TransactionSetValidator;
 import io.github.ediandxml.oboe.DataElements.DataElement;
 import io.github.ediandxml.oboe.DataElements.Element;
 import io.github.ediandxml.oboe.Errors.DocumentErrors;
@@ -151,20 +152,18 @@ public class X12FunctionalGroup extends FunctionalGroup {
 					DocumentErrors.ERROR_TYPE.Integrity);
 		}
 
-		int i;
-		TransactionSet ts;
 		if (getTransactionSetCount() == 0) {
 			inDErr.addError(0, "FG", "No transaction sets", this, "4", this, DocumentErrors.ERROR_TYPE.Integrity);
 		} else {
-			for (i = 0; i < getTransactionSetCount(); i++) {
-				ts = getTransactionSet(i);
-				if (fggrp.compareTo(ts.getFunctionalGroup()) != 0) {
-					inDErr.addError(0, "FG", "Functional Identifier Code (GS01-479) value is " + fggrp
+			String gs01 = fggrp;
+			TransactionSetValidator.validate(getTransactionSets(), (ts, tsDErr) -> {
+				if (gs01.compareTo(ts.getFunctionalGroup()) != 0) {
+					tsDErr.addError(0, "FG", "Functional Identifier Code (GS01-479) value is " + gs01
 							+ " does not match for Transaction Set ID " + ts.getID() + "-" + ts.getFunctionalGroup(),
 							this, "6", this, DocumentErrors.ERROR_TYPE.Requirement);
 				}
-				ts.validate(inDErr);
-			}
+				ts.validate(tsDErr);
+			}, inDErr);
 		}
 
 		if (getTransactionSetCount() < 1) {
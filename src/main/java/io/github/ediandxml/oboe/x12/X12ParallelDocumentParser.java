@@ -0,0 +1,409 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package io.github.ediandxml.oboe.x12;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import io.github.ediandxml.oboe.Containers.Envelope;
+import io.github.ediandxml.oboe.Containers.FunctionalGroup;
+import io.github.ediandxml.oboe.Containers.MetaContainer;
+import io.github.ediandxml.oboe.Containers.Segment;
+import io.github.ediandxml.oboe.Containers.TransactionSet;
+import io.github.ediandxml.oboe.Errors.DocumentErrors;
+import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.Tokenizers.IDataTokenizer;
+import io.github.ediandxml.oboe.Tokenizers.SegmentTokenizer;
+import io.github.ediandxml.oboe.Tokenizers.Tokenizer;
+import io.github.ediandxml.oboe.util.MappedDocument;
+import io.github.ediandxml.oboe.Format;
+import io.github.ediandxml.oboe.TransactionSetFactory;
+
+/**
+ * OBOE - Open Business Objects for EDI
+ * <p>
+ * parses an X12 file with each transaction set parsed on its own worker.
+ * <p>
+ * The file is memory mapped and the ST to SE ranges are found with one pass
+ * over the bytes, which are read as ISO-8859-1. The envelope and functional
+ * group segments are parsed by X12DocumentParser as usual. When a GS segment
+ * has been parsed the transaction sets of that group are handed to the
+ * executor, each with its own tokenizer and DocumentErrors. Before the GE
+ * segment the transaction sets are passed to the EDIDocumentHandlers in
+ * document order, their errors are added to the parser's DocumentErrors in the
+ * same order.
+ * <p>
+ * Handlers get startTransactionSet and endTransactionSet after the
+ * transaction set is parsed. Documents with BIN segments and files too large
+ * to map are parsed one segment after the other.
+ *
+ * @author Joe McVerry
+ */
+
+public class X12ParallelDocumentParser extends X12DocumentParser {
+
+	/** segments, relative to zero, making up a transaction set */
+	record Slice(int first, int last, boolean endsAtInterchangeTrailer) {
+	}
+
+	record Parsed(TransactionSet transactionSet, DocumentErrors errors) {
+	}
+
+	private final Executor executor;
+
+	private MappedDocument document;
+	private String interchangeHeaderText;
+	private char elementSeparator;
+	private char skipCharacter;
+	private ArrayList<ArrayList<Slice>> groups;
+	/** segments left in the document without its transaction sets */
+	private int skeletonSegments[];
+	private int nextGroup;
+	private Segment interchangeHeader;
+	private FunctionalGroup currentGroup;
+	private final ArrayDeque<CompletableFuture<Parsed>> pending = new ArrayDeque<>();
+
+	/**
+	 * transaction sets are parsed on the common fork join pool
+	 */
+	public X12ParallelDocumentParser() {
+		this(null);
+	}
+
+	/**
+	 * @param inExecutor where transaction sets are parsed, null for the common
+	 *                   fork join pool
+	 */
+	public X12ParallelDocumentParser(Executor inExecutor) {
+		super();
+		executor = inExecutor == null ? ForkJoinPool.commonPool() : inExecutor;
+	}
+
+	/**
+	 * parses an X12 file and passes results to EDIDocumentHandlers
+	 *
+	 * @param inFile     the edi document
+	 * @param inValidate - if true call validation method of the envelope after
+	 *                   parsing
+	 * @return boolean - true - continue or false - halted
+	 * @throws IOException   file can not be read
+	 * @exception OBOEException - unknown transaction set, this transaction set is
+	 *                          undefined to OBOE
+	 */
+	public boolean parseDocument(Path inFile, boolean inValidate) throws IOException, OBOEException {
+		if (MappedDocument.isMappable(inFile) == false) {
+			try (Reader reader = MappedDocument.openReader(inFile, StandardCharsets.ISO_8859_1)) {
+				return parseDocument(reader, inValidate);
+			}
+		}
+		document = new MappedDocument(inFile);
+		try {
+			String skeleton = index();
+			if (skeleton == null) {
+				Reader reader = document.getReader();
+				document = null;
+				return parseDocument(reader, inValidate);
+			}
+			return parseDocument(new StringReader(skeleton), inValidate);
+		} finally {
+			for (CompletableFuture<Parsed> future : pending) {
+				future.cancel(false);
+			}
+			pending.clear();
+			document = null;
+			groups = null;
+			skeletonSegments = null;
+			interchangeHeader = null;
+			currentGroup = null;
+		}
+	}
+
+	/**
+	 * finds the transaction sets
+	 *
+	 * @return the document without its transaction sets or null if the document
+	 *         can not be split
+	 */
+	private String index() {
+		if (document.length() < 107) {
+			return null;
+		}
+		elementSeparator = document.charAt(3);
+		char terminator = 0;
+		char skip = 0;
+		int found = 0;
+		for (int i = 0; i < 104; i++) {
+			if (document.charAt(i) == elementSeparator && ++found == 16) {
+				char first = document.charAt(i + 2);
+				char second = document.charAt(i + 3);
+				terminator = first;
+				if ((first == 10 && second == 13) || (first == 13 && second == 10)) {
+					terminator = '\n';
+					skip = first;
+				}
+				break;
+			}
+		}
+		if (found != 16) {
+			return null;
+		}
+
+		skipCharacter = skip;
+		// X12Tokenizer drops line breaks when they are not the terminator
+		document.index(0, terminator, skip, (char) 0, terminator != '\n' && terminator != '\r');
+		interchangeHeaderText = document.getText(0, document.getSegmentEnd(0));
+
+		groups = new ArrayList<>();
+		nextGroup = 0;
+		ArrayList<Slice> group = null;
+		StringBuilder skeleton = new StringBuilder();
+		int segments[] = new int[document.getSegmentCount()];
+		int segmentCount = 0;
+		int copyFrom = 0;
+		int sliceStart = -1;
+		boolean afterGroupHeader = false;
+		for (int seg = 0; seg < document.getSegmentCount(); seg++) {
+			if (document.segmentIDEquals(seg, "BIN", elementSeparator)) {
+				return null;
+			}
+			boolean st = document.segmentIDEquals(seg, "ST", elementSeparator);
+			boolean ge = document.segmentIDEquals(seg, X12FunctionalGroup.idTrailer, elementSeparator);
+			boolean iea = document.segmentIDEquals(seg, X12Envelope.idInterchangeTrailer, elementSeparator);
+			// same as X12DocumentParser, a transaction set follows GS or another one
+			boolean startsSlice = st && (afterGroupHeader || sliceStart >= 0);
+			if (sliceStart >= 0 && (st || ge || iea)) {
+				group.add(new Slice(sliceStart, seg, iea));
+				copyFrom = document.getSegmentStart(seg);
+				sliceStart = -1;
+			}
+			if (startsSlice) {
+				skeleton.append(document.getText(copyFrom, document.getSegmentStart(seg)));
+				sliceStart = seg;
+			}
+			afterGroupHeader = false;
+			if (sliceStart < 0 && document.segmentIDEquals(seg, X12FunctionalGroup.idHeader, elementSeparator)) {
+				group = new ArrayList<>();
+				groups.add(group);
+				afterGroupHeader = true;
+			}
+			if (sliceStart < 0) {
+				segments[segmentCount++] = seg;
+			}
+		}
+		if (sliceStart >= 0) {
+			group.add(new Slice(sliceStart, document.getSegmentCount(), false));
+		} else {
+			skeleton.append(document.getText(copyFrom, document.length()));
+		}
+		skeletonSegments = Arrays.copyOf(segments, segmentCount);
+		return skeleton.toString();
+	}
+
+	/**
+	 * the envelope segments are read from the document without its transaction
+	 * sets, their segment positions and byte offsets are set to where they are in
+	 * the file
+	 */
+	@Override
+	protected Tokenizer makeTokenizer(Reader inReader) {
+		if (document == null) {
+			return super.makeTokenizer(inReader);
+		}
+		return new X12Tokenizer(inReader, dErr) {
+			private int next = 0;
+
+			@Override
+			public IDataTokenizer getNextSegment(MetaContainer inSegContainer) {
+				if (next < skeletonSegments.length) {
+					int seg = skeletonSegments[next++];
+					setStartingPosition(seg, document.getTokenCharactersBefore(seg));
+				}
+				return super.getNextSegment(inSegContainer);
+			}
+		};
+	}
+
+	@Override
+	public void notifyStartFunctionalGroup(FunctionalGroup inFG) {
+		currentGroup = inFG;
+		super.notifyStartFunctionalGroup(inFG);
+	}
+
+	@Override
+	public void notifyStartSegment(Segment inSeg) {
+		if (document != null && (inSeg.getID().equals(X12FunctionalGroup.idTrailer)
+				|| inSeg.getID().equals(X12Envelope.idInterchangeTrailer))) {
+			passTransactionSets();
+			if (halted()) {
+				return;
+			}
+		}
+		super.notifyStartSegment(inSeg);
+	}
+
+	@Override
+	public void notifyEndSegment(Segment inSeg) {
+		super.notifyEndSegment(inSeg);
+		if (document == null) {
+			return;
+		}
+		if (inSeg.getID().equals(X12Envelope.idInterchangeHeader)) {
+			interchangeHeader = inSeg;
+		} else if (inSeg.getID().equals(X12FunctionalGroup.idHeader) && nextGroup < groups.size()) {
+			submit(groups.get(nextGroup++), inSeg);
+		}
+	}
+
+	@Override
+	public void notifyEndEnvelope(Envelope inEnv) {
+		if (document != null) {
+			passTransactionSets();
+			if (halted()) {
+				return;
+			}
+		}
+		super.notifyEndEnvelope(inEnv);
+	}
+
+	/**
+	 * starts parsing the transaction sets of a functional group
+	 */
+	private void submit(ArrayList<Slice> inSlices, Segment inGroupHeader) {
+		FunctionalGroup fg = currentGroup;
+		String gs08 = inGroupHeader.getElement("480").get();
+		String receiver = interchangeHeader.getElement("I07").get();
+		String sender = interchangeHeader.getElement("I06").get();
+		String testOrProduction = interchangeHeader.getElement("I14").get();
+		SegmentTokenizer st = new SegmentTokenizer();
+
+		for (Slice slice : inSlices) {
+			DocumentErrors tsErrors = dErr.createTaskErrors();
+
+			String stText = document.getText(document.getSegmentStart(slice.first()),
+					document.getSegmentEnd(slice.first()) - 1);
+			if (skipCharacter != 0) {
+				stText = stText.replace(String.valueOf(skipCharacter), "");
+			} else {
+				stText = stText.replace("\r", "").replace("\n", "");
+			}
+			st.reset(stText, String.valueOf(elementSeparator), "");
+			String id = st.getTokenAt(1);
+			String version = st.getTokenAt(3);
+			if (version == null) {
+				version = gs08;
+			} else if (version.equals(gs08) == false) {
+				tsErrors.addError(slice.first() + 1, "ST", "GS08 and ST03 do not match", fg, "?", null,
+						DocumentErrors.ERROR_TYPE.Integrity);
+			}
+			if (redefineVersion != null) {
+				version = redefineVersion;
+			} else {
+				redefineVersion = version;
+			}
+
+			String tsVersion = version;
+			pending.add(CompletableFuture.supplyAsync(
+					() -> parse(slice, id, tsVersion, receiver, sender, testOrProduction, fg, tsErrors), executor));
+		}
+	}
+
+	/**
+	 * parses one transaction set, runs on a worker
+	 */
+	private Parsed parse(Slice inSlice, String inID, String inVersion, String inReceiver, String inSender,
+			String inTestOrProduction, FunctionalGroup inFG, DocumentErrors inErrors) {
+		String text = interchangeHeaderText + document.getText(document.getSegmentStart(inSlice.first()),
+				document.getSegmentStart(inSlice.last()));
+		X12Tokenizer tokenizer = new X12Tokenizer(new StringReader(text), inErrors);
+		tokenizer.getNextSegment(null);
+		tokenizer.setStartingPosition(inSlice.first(), document.getTokenCharactersBefore(inSlice.first()));
+		tokenizer.getNextSegment(null);
+		tokenizer.getNextDataElement();
+		tokenizer.getNextDataElement();
+		tokenizer.resetSegment();
+
+		TransactionSet parsedTransactionSet = TransactionSetFactory.buildTransactionSet(inID, null, inVersion,
+				inReceiver, inSender, inTestOrProduction);
+		parsedTransactionSet.setParent(inFG);
+		parsedTransactionSet.setFormat(Format.X12_FORMAT);
+		parsedTransactionSet.parse(tokenizer);
+
+		String findID = tokenizer.getCurrentDataElement();
+		while (findID != null) {
+			if (findID.length() > 0) {
+				tokenizer.getLastMetaContainer().whyNotUsed(tokenizer);
+				tokenizer.getNextSegment(tokenizer.getLastMetaContainer());
+				tokenizer.getNextDataElement();
+				if (parsedTransactionSet.continueParse(tokenizer.getLastMetaContainer(), tokenizer) == false) {
+					tokenizer.reportError("May not be able to restart parser", "?");
+				}
+			} else {
+				tokenizer.reportError("Empty Data Line Error", "?");
+				tokenizer.getNextSegment(tokenizer.getLastMetaContainer());
+				tokenizer.getNextDataElement();
+				if (parsedTransactionSet.continueParse(tokenizer.getLastMetaContainer(), tokenizer) == false) {
+					tokenizer.reportError("Can not restart parser", "?");
+				}
+			}
+			findID = tokenizer.getCurrentDataElement();
+		}
+		if (inSlice.endsAtInterchangeTrailer()) {
+			tokenizer.reportError("Should not appear before end of functional group", "2");
+		}
+		return new Parsed(parsedTransactionSet, inErrors);
+	}
+
+	/**
+	 * waits for the transaction sets in document order and passes them to the
+	 * handlers
+	 */
+	private void passTransactionSets() {
+		while (pending.isEmpty() == false) {
+			Parsed parsed;
+			try {
+				parsed = pending.poll().join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				throw new OBOEException(e.getMessage());
+			}
+			dErr.addAll(parsed.errors());
+			notifyStartTransactionSet(parsed.transactionSet());
+			if (halted()) {
+				return;
+			}
+			notifyEndTransactionSet(parsed.transactionSet());
+			if (halted()) {
+				return;
+			}
+		}
+	}
+}
@@ -62,7 +62,7 @@ public class X12Tokenizer extends Tokenizer implements ITokenizer {
 		PushbackReader pbr = new PushbackReader(inReader, 107);
 		char firstSeg[] = new char[107];
 		try {
-			if (pbr.read(firstSeg, 0, 107) != 107) {
+			if (readFully(pbr, firstSeg) != 107) {
 				throw new OBOEException("expected data not read");
 			}
 			pbr.unread(firstSeg);
@@ -154,13 +154,16 @@ public class X12Tokenizer extends Tokenizer implements ITokenizer {
 
 		// TransactionSetTokenizer = new DataTokenizer(str,
 		// tokenseparatorCharacter, escapeCharacters);
-		transactionSetTokenizer = new ReaderTokenizer(pbr, tokenseparatorCharacter, escapeCharacters);
+		transactionSetTokenizer = makeReaderTokenizer(pbr, tokenseparatorCharacter, escapeCharacters);
 
 		tokenseparatorCharacter = firstSeg[3] + "";
 
 		if (((firstSeg[i + 2] == 10) && (firstSeg[i + 3] == 13))
 				|| ((firstSeg[i + 2] == 13) && (firstSeg[i + 3] == 10))) {
 			((ReaderTokenizer) transactionSetTokenizer).setSkipChar(firstSeg[i + 2]);
+		} else if (firstSeg[i + 2] != 10 && firstSeg[i + 2] != 13) {
+			// line breaks after the segment delimiter are just formatting
+			((ReaderTokenizer) transactionSetTokenizer).setSkipLineBreaks(true);
 		}
 
 		dataElementReady = false;
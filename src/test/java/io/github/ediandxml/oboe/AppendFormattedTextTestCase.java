@@ -0,0 +1,68 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.Containers.Envelope;
+import io.github.ediandxml.oboe.Containers.FunctionalGroup;
+import io.github.ediandxml.oboe.Containers.TransactionSet;
+import io.github.ediandxml.oboe.x12.X12DocumentHandler;
+
+public class AppendFormattedTextTestCase {
+
+	private FunctionalGroup getFunctionalGroup() throws IOException {
+		Envelope x;
+		try (FileReader fr = new FileReader("testFiles/sample.output.840.1")) {
+			x = new X12DocumentHandler(fr).getEnvelope();
+		}
+		return x.getFunctionalGroup(0);
+	}
+
+	@Test
+	public void testAppendMatchesFormattedText() throws IOException {
+		TransactionSet ts = getFunctionalGroup().getTransactionSet(0);
+		for (Format format : new Format[] { Format.X12_FORMAT, Format.XML_FORMAT, Format.VALID_XML_FORMAT,
+				Format.CSV_FORMAT }) {
+			String expected = ts.getFormattedText(format);
+
+			StringWriter sw = new StringWriter();
+			ts.writeFormattedText(sw, format);
+			assertEquals(expected, sw.toString());
+
+			CharBuffer cb = CharBuffer.allocate(expected.length());
+			ts.appendFormattedText(cb, format);
+			cb.flip();
+			assertEquals(expected, cb.toString());
+		}
+	}
+
+	@Test
+	public void testFunctionalGroupAppend() throws IOException {
+		FunctionalGroup fg = getFunctionalGroup();
+		StringBuilder sb = new StringBuilder();
+		fg.appendFormattedText(sb, Format.X12_FORMAT);
+		assertEquals(fg.getFormattedText(Format.X12_FORMAT), sb.toString());
+	}
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.Tokenizers.BufferedReaderTokenizer;
+import io.github.ediandxml.oboe.Tokenizers.ReaderTokenizer;
+
+public class BufferedReaderTokenizerTestCase {
+
+	private void compare(String inData, String inTokens, String inEscapes, char inSkipChar, int inBufferSize) {
+		ReaderTokenizer rt = new ReaderTokenizer(new StringReader(inData), inTokens, inEscapes);
+		BufferedReaderTokenizer brt = new BufferedReaderTokenizer(new StringReader(inData), inTokens, inEscapes,
+				inBufferSize);
+		if (inSkipChar != 0) {
+			rt.setSkipChar(inSkipChar);
+			brt.setSkipChar(inSkipChar);
+		}
+		while (rt.hasMoreElements()) {
+			assertEquals(true, brt.hasMoreElements());
+			String token = rt.nextToken();
+			assertEquals(token, brt.nextToken());
+			assertEquals(token,
+					new String(brt.getSegmentBuffer(), brt.getSegmentOffset(), brt.getSegmentLength()));
+		}
+		assertFalse(brt.hasMoreElements());
+	}
+
+	@Test
+	public void testSimpleSegments() {
+		compare("ISA*00*~GS*PO~ST*850*0001~SE*2*0001~", "~", "", (char) 0, 128);
+	}
+
+	@Test
+	public void testSegmentsLargerThanBuffer() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 50; i++) {
+			sb.append("N1*ST*");
+			for (int j = 0; j < i * 10; j++) {
+				sb.append((char) ('A' + (j % 26)));
+			}
+			sb.append("~");
+		}
+		compare(sb.toString(), "~", "", (char) 0, 128);
+	}
+
+	@Test
+	public void testEscapesAndSkipCharacter() {
+		compare("UNB+UNOA:1?+abc+def'\r\nUNH+1+ORDERS?'D'\r\nFTX+AAA+++a??b?:c'\r\nUNZ+1?", "'", "?", '\r', 128);
+		compare("UNB+UNOA:1?+abc+def'\r\nUNH+1+ORDERS?'D'\r\n", "'?", "?", '\r', 128);
+	}
+
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.util.ByteChannelWriter;
+
+public class ByteChannelWriterTestCase {
+
+	@Test
+	public void testWritesMoreThanTheBuffer() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			sb.append("N1*ST*caf\u00e9 \ud83d\ude00 ").append(i).append('~');
+		}
+		String expected = sb.toString();
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (ByteChannelWriter bcw = new ByteChannelWriter(Channels.newChannel(baos), StandardCharsets.UTF_8, 1024)) {
+			// mix single chars, strings and arrays so buffer boundaries split surrogates
+			bcw.write(expected.charAt(0));
+			bcw.write(expected, 1, 999);
+			bcw.write(expected.toCharArray(), 1000, 1001);
+			bcw.append(expected, 2001, expected.length());
+		}
+		assertEquals(expected, baos.toString(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.Containers.Envelope;
+import io.github.ediandxml.oboe.util.CRLFFilterReader;
+import io.github.ediandxml.oboe.util.Util;
+import io.github.ediandxml.oboe.x12.X12DocumentHandler;
+
+public class CRLFFilterReaderTestCase {
+
+	private String filter(String inText, int inBufferSize) throws IOException {
+		StringWriter sw = new StringWriter();
+		try (CRLFFilterReader reader = new CRLFFilterReader(new StringReader(inText), inBufferSize)) {
+			reader.transferTo(sw);
+		}
+		return sw.toString();
+	}
+
+	@Test
+	public void testLineBreaksDropped() throws IOException {
+		String text = "UNB+UNOA:1'\r\nUNH+1'\nUNT+2+1'\r\n\r\nUNZ+1'";
+		assertEquals("UNB+UNOA:1'UNH+1'UNT+2+1'UNZ+1'", filter(text, 1));
+		assertEquals("", filter("", 1));
+
+		InputStream is = Util.removeCRLFFromStream(
+				new ByteArrayInputStream("Aé~\r\nB~".getBytes(StandardCharsets.ISO_8859_1)));
+		assertEquals("Aé~B~", new String(is.readAllBytes(), StandardCharsets.ISO_8859_1));
+	}
+
+	@Test
+	public void testLineBreakIsTerminator() throws IOException {
+		String doc = new String(Files.readAllBytes(Paths.get("testFiles/sample.output.840.1")),
+				StandardCharsets.ISO_8859_1);
+		String crlf = doc.replace("\n", "\r\n");
+		String expected = doc.replace("\n", System.lineSeparator());
+		if (doc.endsWith("\n") == false) {
+			expected += System.lineSeparator();
+		}
+		// small buffer so the CR and LF pairs are split across reads
+		assertEquals(expected, filter(crlf, 1));
+		assertEquals(expected, filter(doc, 4096));
+
+		CRLFFilterReader reader = new CRLFFilterReader(new StringReader(doc));
+		reader.read();
+		assertTrue(reader.isPreservingCRLF());
+		reader.close();
+	}
+
+	@Test
+	public void testTokenizerSkipsLineBreaks() throws IOException {
+		String doc = new String(Files.readAllBytes(Paths.get("testFiles/sample.output.840.1")));
+		String tilde = doc.replace("\n", "~");
+		Envelope expected = new X12DocumentHandler(new StringReader(tilde)).getEnvelope();
+
+		String formatted = doc.replace("\n", "~\r\n");
+		Envelope parsed = new X12DocumentHandler(new StringReader(formatted)).getEnvelope();
+		assertEquals(expected.getFormattedText(Format.X12_FORMAT), parsed.getFormattedText(Format.X12_FORMAT));
+
+		CRLFFilterReader reader = new CRLFFilterReader(new StringReader(formatted));
+		parsed = new X12DocumentHandler(reader).getEnvelope();
+		assertFalse(reader.isPreservingCRLF());
+		assertEquals(expected.getFormattedText(Format.X12_FORMAT), parsed.getFormattedText(Format.X12_FORMAT));
+	}
+
+	@Test
+	public void testReadyIgnoresDroppedLineBreaks() throws IOException {
+		try (CRLFFilterReader reader = new CRLFFilterReader(new StringReader("AB\r\n\r\n"))) {
+			char got[] = new char[1];
+			assertEquals(1, reader.read(got, 0, 1));
+			assertTrue(reader.ready());
+			assertEquals(1, reader.read(got, 0, 1));
+			assertEquals('B', got[0]);
+			// only line breaks are left
+			assertFalse(reader.ready());
+			assertEquals(-1, reader.read(got, 0, 1));
+		}
+	}
+}
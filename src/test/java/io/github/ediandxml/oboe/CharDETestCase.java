@@ -21,6 +21,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import io.github.ediandxml.oboe.Containers.Envelope;
 import io.github.ediandxml.oboe.DataElements.CharDE;
 import io.github.ediandxml.oboe.Templates.TemplateDataElement;
 import io.github.ediandxml.oboe.util.Util;
@@ -65,6 +66,28 @@ public class CharDETestCase {
 		assertEquals("Value", de.getFormattedText(Format.EDIFACT_FORMAT));
 	}
 
+	@Test
+	public void testRepeats() {
+		CharDE rde = new CharDE(new TemplateDataElement("ID", "Name", 1, "AN", 'O', "Description", 1, 42, "xmltag",
+				null, null, 99, true), null);
+		assertEquals(0, rde.getRepeatCount());
+		assertEquals(0, rde.getLength());
+		rde.set("A");
+		assertEquals(1, rde.getRepeatCount());
+		assertEquals(null, rde.get(98));
+		rde.setNext("BB");
+		rde.setNext("CCC");
+		assertEquals(3, rde.getRepeatCount());
+		assertEquals(6, rde.getLength());
+		assertEquals("CCC", rde.get(2));
+		assertEquals(null, rde.get(3));
+		assertEquals("A^BB^CCC",
+				rde.getFormattedText(Format.EDIFACT_FORMAT).replace(Envelope.EDIFACT_REPEAT_DELIMITER, "^"));
+		rde.set("D");
+		assertEquals("D", rde.get());
+		assertEquals("BB", rde.get(1));
+	}
+
 	public void testSetNull() {
 		de.set(getIn());
 		assertEquals(null, de.get());
@@ -146,6 +146,35 @@ public class DateDETestCase {
 		assertEquals(value8, de.getFormattedText(Format.EDIFACT_FORMAT));
 	}
 
+	@Test
+	public void testStoredForm() {
+		de.set("990605");
+		assertEquals("990605", de.get());
+		de.set("2004-02-29");
+		assertEquals("20040229", de.get());
+		// validate only checks the year by 4
+		de8.set("21000229");
+		assertEquals("21000301", de8.get());
+	}
+
+	@Test
+	public void testReadableRepeats() {
+		DateDE rde = new DateDE(
+				new TemplateDataElement("ID", "Name", 1, "DT", 'R', "Description", 8, 8, "xmltag", null, null, 2, true),
+				null);
+		rde.set("20040101");
+		rde.setNext("20051231");
+		SimpleDateFormat sdf = new SimpleDateFormat("MMM dd, yyyy");
+		Calendar calendar = Calendar.getInstance();
+		calendar.clear();
+		calendar.set(2004, Calendar.JANUARY, 1);
+		String first = sdf.format(calendar.getTime());
+		calendar.set(2005, Calendar.DECEMBER, 31);
+		String second = sdf.format(calendar.getTime());
+		assertEquals("\tName: " + first + Util.lineFeed + "\tName: " + second + Util.lineFeed,
+				rde.getFormattedText(Format.UNDEFINED));
+	}
+
 	@Test
 
 	public void testValidate() {
@@ -0,0 +1,63 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.Containers.Envelope;
+import io.github.ediandxml.oboe.EDIFACT.EDIFACTDocumentHandler;
+import io.github.ediandxml.oboe.x12.X12DocumentHandler;
+
+public class DelimiterWriterTestCase {
+
+	@Test
+	public void testX12WriteMatchesFormattedText() throws IOException {
+		String expected = new String(Files.readAllBytes(Paths.get("testFiles/sample.output.840.1"))).replace("\r",
+				"");
+
+		Envelope x;
+		try (FileReader fr = new FileReader("testFiles/sample.output.840.1")) {
+			x = new X12DocumentHandler(fr).getEnvelope();
+		}
+		StringWriter sw = new StringWriter();
+		x.writeFormattedText(sw, Format.X12_FORMAT);
+		assertEquals(expected, sw.toString());
+		assertEquals(expected, x.getFormattedText(Format.X12_FORMAT));
+	}
+
+	@Test
+	public void testEDIFACTWriteEscapesDelimiters() throws IOException {
+
+		Envelope x;
+		try (FileReader fr = new FileReader("testFiles/orders.escape")) {
+			x = new EDIFACTDocumentHandler(fr).getEnvelope();
+		}
+		String expected = x.getFormattedText(Format.EDIFACT_FORMAT);
+		StringWriter sw = new StringWriter();
+		x.writeFormattedText(sw, Format.EDIFACT_FORMAT);
+		assertEquals(expected, sw.toString());
+		assertEquals(true, expected.contains("++?'company"));
+	}
+
+}
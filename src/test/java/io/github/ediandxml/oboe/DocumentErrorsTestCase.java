@@ -0,0 +1,118 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.Errors.DocumentErrors;
+
+public class DocumentErrorsTestCase {
+
+	private void addErrors(DocumentErrors inDErr, int inCount) {
+		for (int i = 0; i < inCount; i++) {
+			inDErr.addError(i + 1, "BEG", "error " + i, null, "7", null, DocumentErrors.ERROR_TYPE.Integrity);
+		}
+	}
+
+	@Test
+	public void testMaximumErrorsRetained() {
+		DocumentErrors dErr = new DocumentErrors();
+		dErr.setErrorLevelToReport(DocumentErrors.ERROR_TYPE.Requirement);
+		dErr.setMaximumErrorsRetained(3);
+		addErrors(dErr, 10);
+		dErr.addError(11, "N1", "not reported", null, "7", null, DocumentErrors.ERROR_TYPE.CodeSet);
+
+		assertEquals(3, dErr.getErrorCount());
+		assertEquals(10, dErr.getTotalErrorCount());
+		assertTrue(dErr.isTruncated());
+		assertEquals("error 2", dErr.getErrorDescription(2));
+		assertEquals(3, dErr.getError().length);
+
+		DocumentErrors other = new DocumentErrors();
+		other.setMaximumErrorsRetained(Integer.MAX_VALUE);
+		addErrors(other, 2);
+		DocumentErrors all = new DocumentErrors();
+		all.setMaximumErrorsRetained(Integer.MAX_VALUE);
+		all.addAll(other);
+		all.addAll(dErr);
+		assertEquals(5, all.getErrorCount());
+		assertEquals(12, all.getTotalErrorCount());
+	}
+
+	@Test
+	public void testCountOnly() {
+		DocumentErrors dErr = new DocumentErrors();
+		dErr.setMaximumErrorsRetained(0);
+		addErrors(dErr, 5);
+		assertEquals(0, dErr.getErrorCount());
+		assertEquals(5, dErr.getTotalErrorCount());
+		assertNull(dErr.getError());
+
+		DocumentErrors none = new DocumentErrors();
+		assertFalse(none.isTruncated());
+		assertEquals(0, none.getTotalErrorCount());
+	}
+
+	@Test
+	public void testErrorSink() throws Exception {
+		List<String> ids = new ArrayList<>();
+		DocumentErrors dErr = new DocumentErrors();
+		dErr.setMaximumErrorsRetained(0);
+		dErr.setErrorSink((position, id, description, container, code, errorObject, level) -> ids.add(id + position));
+		addErrors(dErr, 3);
+		assertEquals(List.of("BEG1", "BEG2", "BEG3"), ids);
+
+		StringWriter sw = new StringWriter();
+		DocumentErrors written = new DocumentErrors();
+		written.setErrorSink(DocumentErrors.writerSink(sw));
+		addErrors(written, 2);
+
+		StringWriter expected = new StringWriter();
+		written.writeErrors(expected);
+		assertEquals(expected.toString(), sw.toString());
+	}
+
+	@Test
+	public void testTaskErrorsWithSink() {
+		List<String> ids = new ArrayList<>();
+		DocumentErrors dErr = new DocumentErrors();
+		dErr.setMaximumErrorsRetained(0);
+		dErr.setErrorSink((position, id, description, container, code, errorObject, level) -> ids.add(id + position));
+
+		DocumentErrors first = dErr.createTaskErrors();
+		DocumentErrors second = dErr.createTaskErrors();
+		addErrors(second, 2);
+		addErrors(first, 3);
+		// the tasks keep no more than dErr does
+		assertEquals(0, first.getErrorCount());
+		assertEquals(3, first.getTotalErrorCount());
+
+		dErr.addAll(first);
+		dErr.addAll(second);
+		assertEquals(List.of("BEG1", "BEG2", "BEG3", "BEG1", "BEG2"), ids);
+		assertEquals(0, dErr.getErrorCount());
+		assertEquals(5, dErr.getTotalErrorCount());
+	}
+}
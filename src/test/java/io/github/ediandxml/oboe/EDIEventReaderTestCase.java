@@ -0,0 +1,114 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.Parsers.EDIEventReader;
+import io.github.ediandxml.oboe.Parsers.EDIEventReader.EventType;
+
+public class EDIEventReaderTestCase {
+
+	@Test
+	public void testX12Events() throws IOException {
+		List<String> lines = Files.readAllLines(Paths.get("testFiles/sample.output.840.1"));
+
+		List<EventType> segmentEvents = new ArrayList<>();
+		int elements = 0;
+		int segments = 0;
+		try (EDIEventReader reader = EDIEventReader.forX12(new FileReader("testFiles/sample.output.840.1"))) {
+			while (reader.hasNext()) {
+				EventType type = reader.nextEvent();
+				if (type == EventType.ELEMENT) {
+					elements++;
+					assertEquals(reader.getElement(reader.getElementPosition()), reader.getText());
+					continue;
+				}
+				if (type == EventType.END_DOCUMENT) {
+					break;
+				}
+				segmentEvents.add(type);
+				String expected[] = lines.get(segments).split("\\*", -1);
+				assertEquals(expected[0], reader.getSegmentID());
+				assertEquals(expected.length - 1, reader.getElementCount());
+				segments++;
+				if (type == EventType.START_TRANSACTION_SET) {
+					assertEquals("840", reader.getTransactionSetID());
+				}
+			}
+			assertFalse(reader.hasNext());
+		}
+
+		assertEquals(lines.size(), segments);
+		assertEquals(EventType.START_INTERCHANGE, segmentEvents.get(0));
+		assertEquals(EventType.START_GROUP, segmentEvents.get(1));
+		assertEquals(EventType.START_TRANSACTION_SET, segmentEvents.get(2));
+		assertEquals(EventType.SEGMENT, segmentEvents.get(3));
+		assertEquals(EventType.END_TRANSACTION_SET, segmentEvents.get(segments - 3));
+		assertEquals(EventType.END_GROUP, segmentEvents.get(segments - 2));
+		assertEquals(EventType.END_INTERCHANGE, segmentEvents.get(segments - 1));
+
+		int expectedElements = 0;
+		for (String line : lines) {
+			expectedElements += line.split("\\*", -1).length - 1;
+		}
+		assertEquals(expectedElements, elements);
+	}
+
+	@Test
+	public void testSkipTransactionSet() throws IOException {
+		try (EDIEventReader reader = EDIEventReader.forX12(new FileReader("testFiles/sample.output.840.1"))) {
+			reader.setReportElements(false);
+			assertEquals(EventType.START_INTERCHANGE, reader.nextEvent());
+			assertEquals(EventType.START_GROUP, reader.nextEvent());
+			assertEquals(EventType.START_TRANSACTION_SET, reader.nextEvent());
+			assertEquals(EventType.END_TRANSACTION_SET, reader.skipTransactionSet());
+			assertEquals("SE", reader.getSegmentID());
+			assertEquals(EventType.END_GROUP, reader.nextEvent());
+			assertEquals(EventType.END_INTERCHANGE, reader.nextEvent());
+			assertEquals(EventType.END_DOCUMENT, reader.nextEvent());
+		}
+	}
+
+	@Test
+	public void testEDIFACTComponents() throws IOException {
+		String orders = new String(Files.readAllBytes(Paths.get("testFiles/orders")));
+		try (EDIEventReader reader = EDIEventReader.forEDIFACT(new StringReader(orders))) {
+			reader.setReportElements(false);
+			EventType type;
+			do {
+				type = reader.nextEvent();
+			} while (type != EventType.START_TRANSACTION_SET && type != EventType.END_DOCUMENT);
+			assertEquals(EventType.START_TRANSACTION_SET, type);
+			assertEquals("UNH", reader.getSegmentID());
+			assertEquals("ORDERS", reader.getTransactionSetID());
+			assertEquals("ORDERS", reader.getComponents(2).get(0));
+			assertEquals(EventType.END_TRANSACTION_SET, reader.skipTransactionSet());
+		}
+	}
+
+}
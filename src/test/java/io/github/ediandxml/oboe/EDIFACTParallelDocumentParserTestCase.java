@@ -0,0 +1,133 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static io.github.ediandxml.oboe.ParallelTestDocuments.edifactDocument;
+import static io.github.ediandxml.oboe.ParallelTestDocuments.errors;
+import static io.github.ediandxml.oboe.ParallelTestDocuments.parseInParallel;
+import static io.github.ediandxml.oboe.ParallelTestDocuments.parseSequentially;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.ediandxml.oboe.Containers.Envelope;
+import io.github.ediandxml.oboe.Containers.TransactionSet;
+import io.github.ediandxml.oboe.EDIFACT.EDIFACTDocumentHandler;
+import io.github.ediandxml.oboe.EDIFACT.EDIFACTParallelDocumentParser;
+
+public class EDIFACTParallelDocumentParserTestCase {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testSameResultAsSequentialParser() throws IOException {
+		String doc = edifactDocument(8, false);
+		// the 3rd and 6th messages are missing a qualifier
+		int at = 0;
+		for (int n = 0; n < 6; n++) {
+			at = doc.indexOf("DTM+61:", at + 1);
+			if (n == 2 || n == 5) {
+				doc = doc.substring(0, at) + "DTM+:" + doc.substring(at + 7);
+			}
+		}
+		Path file = tempDir.resolve("parallel.edifact");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Files.writeString(file, doc);
+
+			EDIFACTDocumentHandler sequential = parseSequentially(doc, new EDIFACTDocumentHandler());
+			Envelope expected = sequential.getEnvelope();
+
+			EDIFACTParallelDocumentParser parser = new EDIFACTParallelDocumentParser(executor);
+			Envelope parsed = parseInParallel(file, parser);
+
+			assertEquals(8, parsed.getFunctionalGroup(0).getTransactionSetCount());
+			assertTrue(parser.getDocumentErrors().getErrorCount() >= 2);
+			assertEquals(expected.getFormattedText(Format.EDIFACT_FORMAT),
+					parsed.getFormattedText(Format.EDIFACT_FORMAT));
+			assertEquals(errors(sequential.getDocumentErrors()), errors(parser.getDocumentErrors()));
+			for (int i = 0; i < 8; i++) {
+				TransactionSet ts = parsed.getFunctionalGroup(0).getTransactionSet(i);
+				assertEquals(
+						expected.getFunctionalGroup(0).getTransactionSet(i).getHeaderTable().getSegment("BGM")
+								.getByteOffset(),
+						ts.getHeaderTable().getSegment("BGM").getByteOffset());
+			}
+			assertEquals(expected.getInterchange_Trailer().getByteOffset(),
+					parsed.getInterchange_Trailer().getByteOffset());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testGroupTrailers() throws IOException {
+		String doc = edifactDocument(5, true);
+		Path file = tempDir.resolve("parallel.edifact");
+		Files.writeString(file, doc);
+
+		EDIFACTDocumentHandler sequential = parseSequentially(doc, new EDIFACTDocumentHandler());
+		Envelope expected = sequential.getEnvelope();
+
+		EDIFACTParallelDocumentParser parser = new EDIFACTParallelDocumentParser();
+		Envelope parsed = parseInParallel(file, parser);
+
+		assertEquals(5, parsed.getFunctionalGroup(0).getTransactionSetCount());
+		assertEquals(expected.getFormattedText(Format.EDIFACT_FORMAT), parsed.getFormattedText(Format.EDIFACT_FORMAT));
+		assertEquals(errors(sequential.getDocumentErrors()), errors(parser.getDocumentErrors()));
+		assertEquals(expected.getFunctionalGroup(0).getTrailer().getByteOffset(),
+				parsed.getFunctionalGroup(0).getTrailer().getByteOffset());
+		assertEquals(expected.getInterchange_Trailer().getByteOffset(),
+				parsed.getInterchange_Trailer().getByteOffset());
+	}
+
+	@Test
+	public void testUnknownSegmentEndsParsing() throws IOException {
+		for (boolean group : new boolean[] { false, true }) {
+			String doc = edifactDocument(6, group);
+			// a segment the 4th message can not place
+			int at = 0;
+			for (int n = 0; n < 4; n++) {
+				at = doc.indexOf("BGM+", at + 1);
+			}
+			doc = doc.substring(0, at) + "XYZ+1'" + doc.substring(at);
+			Path file = tempDir.resolve("parallel.edifact");
+			Files.writeString(file, doc);
+
+			EDIFACTDocumentHandler sequential = parseSequentially(doc, new EDIFACTDocumentHandler());
+			Envelope expected = sequential.getEnvelope();
+
+			EDIFACTParallelDocumentParser parser = new EDIFACTParallelDocumentParser();
+			Envelope parsed = parseInParallel(file, parser);
+
+			// messages after the segment are not passed
+			assertEquals(4, expected.getFunctionalGroup(0).getTransactionSetCount());
+			assertEquals(4, parsed.getFunctionalGroup(0).getTransactionSetCount());
+			// expecting UNE when there is a group, expecting UNZ
+			assertEquals(group ? 2 : 1, parser.getDocumentErrors().getErrorCount());
+			assertEquals(errors(sequential.getDocumentErrors()), errors(parser.getDocumentErrors()));
+		}
+	}
+}
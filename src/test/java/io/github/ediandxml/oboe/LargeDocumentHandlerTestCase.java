@@ -0,0 +1,95 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.Containers.FunctionalGroup;
+import io.github.ediandxml.oboe.Containers.TransactionSet;
+import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.x12.LargeDocumentHandler;
+import io.github.ediandxml.oboe.x12.X12DocumentHandler;
+
+public class LargeDocumentHandlerTestCase {
+
+	@Test
+	public void testSameResultAsDocumentHandler() throws IOException {
+		String doc = new String(Files.readAllBytes(Paths.get("testFiles/sample.output.840.1")));
+
+		X12DocumentHandler full = new X12DocumentHandler(new StringReader(doc));
+		String expected = full.getEnvelope().getFunctionalGroup(0).getTransactionSet(0)
+				.getFormattedText(Format.X12_FORMAT);
+
+		List<String> received = new ArrayList<>();
+		LargeDocumentHandler large = new LargeDocumentHandler(new StringReader(doc),
+				ts -> received.add(ts.getFormattedText(Format.X12_FORMAT)));
+
+		assertEquals(1, received.size());
+		assertEquals(expected, received.get(0));
+		assertEquals(1, large.getTransactionSetCount());
+		assertEquals(1, large.getFunctionalGroupCount());
+		assertEquals(0, large.getEnvelope().getFunctionalGroupCount());
+		assertEquals(full.getDocumentErrors().getErrorCount(), large.getDocumentErrors().getErrorCount());
+	}
+
+	@Test
+	public void testTransactionSetsAreReleased() throws IOException {
+		String doc = new String(Files.readAllBytes(Paths.get("testFiles/sample.output.840.1")));
+		int stStart = doc.indexOf("ST*840");
+		int geStart = doc.indexOf("GE*1*");
+		String ts = doc.substring(stStart, geStart);
+		String big = doc.substring(0, stStart) + ts + ts + ts + "GE*3*" + doc.substring(geStart + 5);
+
+		List<TransactionSet> received = new ArrayList<>();
+		LargeDocumentHandler large = new LargeDocumentHandler(new StringReader(big), received::add);
+
+		assertEquals(3, received.size());
+		assertEquals(3, large.getTransactionSetCount());
+		for (TransactionSet t : received) {
+			assertEquals("840", t.getID());
+			assertEquals(0, ((FunctionalGroup) t.getParent()).getTransactionSetCount());
+		}
+		assertEquals(0, large.getEnvelope().getFunctionalGroupCount());
+		assertEquals(0, large.getDocumentErrors().getErrorCount());
+	}
+
+	@Test
+	public void testGroupCountMismatchReported() throws IOException {
+		String doc = new String(Files.readAllBytes(Paths.get("testFiles/sample.output.840.1")));
+		String bad = doc.replace("GE*1*", "GE*2*");
+
+		LargeDocumentHandler large = new LargeDocumentHandler(ts -> {
+		});
+		try {
+			large.startParsing(new StringReader(bad));
+		} catch (OBOEException oe) {
+			// oboe.properties may ask for parsing errors to be thrown
+		}
+
+		assertEquals(1, large.getDocumentErrors().getErrorCount());
+		assertEquals("7", large.getDocumentErrors().getErrorCode(0));
+	}
+
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.ediandxml.oboe.Containers.Envelope;
+import io.github.ediandxml.oboe.EDIFACT.EDIFACTEnvelope;
+import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.util.MappedDocument;
+import io.github.ediandxml.oboe.x12.X12DocumentHandler;
+
+public class MappedDocumentTestCase {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testReaderAndInputStream() throws IOException {
+		Path file = Paths.get("testFiles/sample.output.840.1");
+		MappedDocument document = new MappedDocument(file);
+		assertEquals(Files.size(file), document.length());
+
+		StringWriter sw = new StringWriter();
+		try (Reader reader = document.getReader()) {
+			reader.transferTo(sw);
+		}
+		assertEquals(new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1), sw.toString());
+
+		try (InputStream is = document.getInputStream()) {
+			assertEquals(new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1),
+					new String(is.readAllBytes(), StandardCharsets.ISO_8859_1));
+		}
+	}
+
+	@Test
+	public void testReaderWithCharset() throws IOException {
+		Path file = tempDir.resolve("mapped.edi");
+		String text = "NAD+BY+++M\u00fcller Stra\u00dfe\u20ac'";
+		Files.writeString(file, text, StandardCharsets.UTF_8);
+		MappedDocument document = new MappedDocument(file);
+
+		StringWriter sw = new StringWriter();
+		try (Reader reader = document.getReader(StandardCharsets.UTF_8)) {
+			reader.transferTo(sw);
+		}
+		assertEquals(text, sw.toString());
+
+		sw = new StringWriter();
+		try (Reader reader = document.getReader(StandardCharsets.ISO_8859_1)) {
+			reader.transferTo(sw);
+		}
+		assertEquals(new String(text.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1), sw.toString());
+		// the mapping is released with the document
+		document = null;
+	}
+
+	@Test
+	public void testIndex() throws IOException {
+		Path file = tempDir.resolve("mapped.edi");
+		Files.writeString(file, "AB*1~CD*2?~3~EF~");
+		MappedDocument document = new MappedDocument(file);
+		document.index(0, '~', (char) 0, '?');
+		assertEquals(3, document.getSegmentCount());
+		assertTrue(document.segmentIDEquals(1, "CD", '*'));
+		assertFalse(document.segmentIDEquals(1, "C", '*'));
+		assertTrue(document.segmentIDEquals(2, "EF", '*'));
+		assertEquals("CD*2?~3~", document.getText(document.getSegmentStart(1), document.getSegmentEnd(1)));
+		assertEquals(4 + 7, document.getTokenCharactersBefore(2));
+		document = null;
+	}
+
+	@Test
+	public void testProcessEDIEnvelopeFromFile() throws IOException {
+		Path file = Paths.get("testFiles/sample.output.840.1");
+		String doc = new String(Files.readAllBytes(file));
+		Envelope expected = new X12DocumentHandler(new StringReader(doc)).getEnvelope();
+
+		Envelope mapped = Envelope.processEDIEnvelope(file);
+		assertEquals(expected.getFormattedText(Format.X12_FORMAT), mapped.getFormattedText(Format.X12_FORMAT));
+
+		X12DocumentHandler byName = new X12DocumentHandler(file.toString());
+		assertEquals(expected.getFormattedText(Format.X12_FORMAT),
+				byName.getEnvelope().getFormattedText(Format.X12_FORMAT));
+	}
+
+	@Test
+	public void testProcessEDIEnvelopeDecodesFile() throws IOException {
+		String doc = new String(Files.readAllBytes(Paths.get("testFiles/sample.output.840.1")))
+				.replace("DARLENE ANDERSON", "DARLENE M\u00dcLLER");
+		Path file = tempDir.resolve("mapped.x12");
+		Files.writeString(file, doc, StandardCharsets.UTF_8);
+		Envelope expected = new X12DocumentHandler(new StringReader(doc)).getEnvelope();
+
+		Envelope mapped = Envelope.processEDIEnvelope(file, StandardCharsets.UTF_8);
+		assertTrue(mapped.getFormattedText(Format.X12_FORMAT).contains("DARLENE M\u00dcLLER"));
+		assertEquals(expected.getFormattedText(Format.X12_FORMAT), mapped.getFormattedText(Format.X12_FORMAT));
+	}
+
+	@Test
+	public void testTooLargeToMap() throws IOException {
+		Path file = tempDir.resolve("large.x12");
+		try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+			raf.writeBytes("ISA*00*");
+			// sparse, the rest of the file is not written
+			raf.setLength(Integer.MAX_VALUE + 16L);
+		}
+		assertFalse(MappedDocument.isMappable(file));
+		assertThrows(OBOEException.class, () -> new MappedDocument(file));
+
+		char start[] = new char[7];
+		try (Reader reader = MappedDocument.openReader(file, StandardCharsets.ISO_8859_1)) {
+			assertEquals(7, reader.read(start));
+		}
+		assertEquals("ISA*00*", new String(start));
+	}
+
+	@Test
+	public void testCharsetForSyntaxIdentifier() throws IOException {
+		assertEquals(StandardCharsets.ISO_8859_1, EDIFACTEnvelope.getCharset(Paths.get("testFiles/orders")));
+		assertEquals(StandardCharsets.ISO_8859_1, EDIFACTEnvelope.getCharset("UNA:+.? 'UNB+UNOA:2+SENDER"));
+		assertEquals(StandardCharsets.ISO_8859_1, EDIFACTEnvelope.getCharset("UNB+UNOC:3+SENDER"));
+		assertEquals(Charset.defaultCharset(), EDIFACTEnvelope.getCharset("UNB+UNOW:4+SENDER"));
+		assertEquals(Charset.defaultCharset(), EDIFACTEnvelope.getCharset("UNB+UN"));
+	}
+}
@@ -355,4 +355,15 @@ public class NumericDETestCase {
 
 	}
 
+	@Test
+	public void testLongAmount() {
+		de6.set("99999999999999999");
+		assertEquals("<xmltag>999999999999999.99</xmltag>" + Util.lineFeed, de6.getFormattedText(Format.XML_FORMAT));
+		assertEquals("99999999999999999", de6.getFormattedText(Format.X12_FORMAT));
+		de6.set("-5");
+		assertEquals("<xmltag>-.05</xmltag>" + Util.lineFeed, de6.getFormattedText(Format.XML_FORMAT));
+		assertEquals(null, de6.validate("99999999999999999"));
+		assertEquals("ID6:Invalid Number Format", de6.validate("9a"));
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.ediandxml.oboe.Containers.Envelope;
+import io.github.ediandxml.oboe.EDIFACT.EDIFACTDocumentHandler;
+import io.github.ediandxml.oboe.EDIFACT.EDIFACTParallelDocumentParser;
+import io.github.ediandxml.oboe.Errors.DocumentErrors;
+import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.x12.X12DocumentHandler;
+import io.github.ediandxml.oboe.x12.X12ParallelDocumentParser;
+
+/**
+ * documents and parsing shared by the parallel parser and validator test cases
+ */
+final class ParallelTestDocuments {
+
+	private ParallelTestDocuments() {
+	}
+
+	/**
+	 * the 840 sample with its transaction set repeated
+	 *
+	 * @param inCount        transaction sets in the last functional group
+	 * @param inLeadingGroup keep the sample's own functional group in front of it
+	 */
+	static String x12Document(int inCount, boolean inLeadingGroup) throws IOException {
+		String doc = new String(Files.readAllBytes(Paths.get("testFiles/sample.output.840.1")));
+		int gsStart = doc.indexOf("GS*");
+		int stStart = doc.indexOf("ST*840");
+		int geStart = doc.indexOf("GE*1*");
+		int ieaStart = doc.indexOf("IEA*");
+		String ts = doc.substring(stStart, geStart);
+		StringBuilder big = new StringBuilder(doc.substring(0, inLeadingGroup ? ieaStart : gsStart));
+		big.append(doc, gsStart, stStart);
+		for (int i = 0; i < inCount; i++) {
+			big.append(ts);
+		}
+		big.append("GE*").append(inCount).append(doc.substring(geStart + 4, ieaStart));
+		big.append("IEA*").append(inLeadingGroup ? 2 : 1).append(doc.substring(ieaStart + 5));
+		return big.toString();
+	}
+
+	/**
+	 * the orders message repeated, in a UNG group if asked for
+	 */
+	static String edifactDocument(int inCount, boolean inGroup) throws IOException {
+		String doc = new String(Files.readAllBytes(Paths.get("testFiles/orders")));
+		int unhStart = doc.indexOf("UNH+");
+		int unzStart = doc.indexOf("UNZ+");
+		String msg = doc.substring(unhStart, unzStart);
+		StringBuilder big = new StringBuilder(doc.substring(0, unhStart));
+		if (inGroup) {
+			big.append("UNG+ORDERS+003897733:01+PARTNER ID:ZZ+000101:1050+916+UN+D:96A'\n");
+		}
+		for (int i = 0; i < inCount; i++) {
+			big.append(msg).append('\n');
+		}
+		if (inGroup) {
+			big.append("UNE+").append(inCount).append("+916'\n");
+		}
+		big.append(doc.substring(unzStart));
+		return big.toString();
+	}
+
+	static List<String> errors(DocumentErrors inDErr) {
+		List<String> list = new ArrayList<>();
+		for (int i = 0; i < inDErr.getErrorCount(); i++) {
+			list.add(inDErr.getErrorPosition(i) + " " + inDErr.getErrorID(i) + " " + inDErr.getErrorCode(i) + " "
+					+ inDErr.getErrorDescription(i));
+		}
+		return list;
+	}
+
+	/**
+	 * the errors with the identity of their containers, for errors of the same
+	 * envelope
+	 */
+	static List<String> errorsAndContainers(DocumentErrors inDErr) {
+		List<String> list = errors(inDErr);
+		for (int i = 0; i < list.size(); i++) {
+			list.set(i, list.get(i) + " " + System.identityHashCode(inDErr.getContainer(i)));
+		}
+		return list;
+	}
+
+	static <H extends EDIDocumentHandler> H parseSequentially(String inDoc, H inHandler) {
+		try {
+			inHandler.startParsing(new StringReader(inDoc));
+		} catch (OBOEException oe) {
+			// oboe.properties may ask for parsing errors to be thrown
+		}
+		return inHandler;
+	}
+
+	/**
+	 * parsed the way X12DocumentHandler.startParsing does
+	 */
+	static Envelope parseInParallel(Path inFile, X12ParallelDocumentParser inParser) throws IOException {
+		X12DocumentHandler handler = new X12DocumentHandler();
+		inParser.registerHandler(handler);
+		try {
+			inParser.parseDocument(inFile, false);
+			handler.getEnvelope().validate(inParser.getDocumentErrors());
+		} catch (OBOEException oe) {
+			// oboe.properties may ask for parsing errors to be thrown
+		}
+		return handler.getEnvelope();
+	}
+
+	/**
+	 * parsed the way EDIFACTDocumentHandler.startParsing does
+	 */
+	static Envelope parseInParallel(Path inFile, EDIFACTParallelDocumentParser inParser) throws IOException {
+		EDIFACTDocumentHandler handler = new EDIFACTDocumentHandler();
+		inParser.registerHandler(handler);
+		try {
+			inParser.parseDocument(inFile, false);
+			handler.getEnvelope().validate(inParser.getDocumentErrors());
+		} catch (OBOEException oe) {
+			// oboe.properties may ask for parsing errors to be thrown
+		}
+		return handler.getEnvelope();
+	}
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.util.Util;
+
+public class PropertySnapshotTestCase {
+
+	@AfterEach
+	public void restore() {
+		System.clearProperty("OBOE.properties");
+		Util.closeOBOEProperty();
+	}
+
+	@Test
+	public void testSetPropertyIsSeen() throws IOException {
+		Util.setOBOEProperty("snapshotTest", "one");
+		assertEquals("one", Util.getOBOEProperty("snapshotTest"));
+		Util.setOBOEProperty("snapshotTest", " two ");
+		assertEquals("two", Util.getOBOEProperty("snapshotTest"));
+		Util.setOBOEProperty(Util.DO_PREVALIDATE, "true");
+		assertTrue(Util.propertyFileIndicatesDoPrevalidate());
+		Util.setOBOEProperty(Util.DO_PREVALIDATE, "false");
+		assertFalse(Util.propertyFileIndicatesDoPrevalidate());
+	}
+
+	@Test
+	public void testChangedFileIsReloaded() throws IOException, InterruptedException {
+		Path dir = Files.createTempDirectory("oboeprops");
+		Path file = dir.resolve("OBOE.properties");
+		Files.writeString(file, "xmlPath=xml/\ncheckPropertyFileForChanges=true\ndoPrevalidate=false\n");
+		System.setProperty("OBOE.properties", file.toString());
+		Util.closeOBOEProperty();
+
+		assertEquals("false", Util.getOBOEProperty(Util.DO_PREVALIDATE));
+		assertFalse(Util.propertyFileIndicatesDoPrevalidate());
+
+		Files.writeString(file, "xmlPath=xml/\ncheckPropertyFileForChanges=true\ndoPrevalidate=true\n");
+		Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 2000));
+
+		for (int i = 0; i < 100 && Util.propertyFileIndicatesDoPrevalidate() == false; i++) {
+			Thread.sleep(100);
+		}
+		assertTrue(Util.propertyFileIndicatesDoPrevalidate());
+		assertEquals("true", Util.getOBOEProperty(Util.DO_PREVALIDATE));
+
+		Files.delete(file);
+		Files.delete(dir);
+	}
+
+}
@@ -284,4 +284,15 @@ public class RealDETestCase {
 		assertEquals("11496067.46", de5.get());
 	}
 
+	@Test
+	public void testLongValue() {
+		RealDE longDE = new RealDE(
+				new TemplateDataElement("ID", "Name", 1, "R", 'R', "Description", 1, 20, "xmltag", null, null, 1, true),
+				null);
+		longDE.set("12345678901234567.89");
+		assertEquals("12345678901234567.89", longDE.get());
+		longDE.set("-1,234.50");
+		assertTrue(longDE.get().startsWith("-1234.5"));
+	}
+
 }
@@ -15,9 +15,14 @@
  */
 package io.github.ediandxml.oboe;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -84,6 +89,64 @@ public class SegmentTestCase {
 
 	}
 
+	@Test
+	public void testWidePositions() {
+		tseg.addElement(new TemplateDataElement("aID", "aName", 1, "AN", 'O', "Char Field", 1, 2, "atag", null, null,
+				1, true));
+		tseg.addElement(new TemplateDataElement("bID", "bName", 3, "AN", 'O', "Char Field", 1, 2, "btag", null, null,
+				1, true));
+		tseg.addElement(new TemplateDataElement("cID", "cName", 300, "AN", 'O', "Char Field", 1, 2, "ctag", null,
+				null, 1, true));
+		seg = new Segment(tseg, null);
+		seg.setDataElementValue(300, "Z");
+		seg.setDataElementValue(3, "B");
+		seg.buildElement(1);
+
+		assertEquals(3, seg.myElementContainer.getContainerSize());
+		assertEquals("B", seg.getDataElementValue(3));
+		assertEquals("Z", seg.getDataElementValue(300));
+		assertEquals("cID", seg.getElement("cID", 3).getID());
+		assertEquals(null, seg.getElement(2));
+		assertEquals(List.of(1, 3, 300),
+				new ArrayList<>(seg.myElementContainer.getElementList().keySet()));
+		assertEquals("segID***B" + "*".repeat(297) + "Z", seg.getFormattedText(Format.X12_FORMAT).trim());
+
+		seg.setDataElementValue(300, "");
+		assertEquals(3, seg.trim());
+		assertEquals(2, seg.myElementContainer.getContainerSize());
+		assertEquals(null, seg.getElement(300));
+		assertEquals("segID***B", seg.getFormattedText(Format.X12_FORMAT).trim());
+	}
+
+	@Test
+	public void testRepeatedIDs() {
+		tseg.addElement(new TemplateDataElement("rID", "rName", 3, "AN", 'O', "Char Field", 1, 2, "rtag", null, null,
+				1, true));
+		tseg.addElement(new TemplateDataElement("rID", "rName", 1, "AN", 'O', "Char Field", 1, 2, "rtag", null, null,
+				1, true));
+		tseg.addElement(new TemplateDataElement("oID", "oName", 2, "AN", 'O', "Char Field", 1, 2, "otag", null, null,
+				1, true));
+		assertArrayEquals(new int[] { 1, 3 }, tseg.getPositions("rID"));
+		assertArrayEquals(new int[0], tseg.getPositions("xID"));
+		assertEquals(1, tseg.getTemplateElement("rID").getPosition());
+
+		seg = new Segment(tseg, null);
+		assertNull(seg.getElement("rID"));
+		seg.setDataElementValue("rID", 1, "B");
+		assertEquals(3, seg.getElement("rID").getPosition());
+		assertNull(seg.getElement("rID", 3));
+		// the value goes to the first one built
+		seg.setDataElementValue("rID", "C");
+		assertEquals("C", seg.getElement("rID", 1).get());
+		((DataElement) seg.buildElement("rID")).set("A");
+		assertEquals(1, seg.getElement("rID").getPosition());
+		seg.setDataElementValue("rID", 1, "B");
+		assertEquals("B", seg.getElement("rID", 1).get());
+		assertEquals(3, seg.buildElement("rID", 1).getPosition());
+		assertNull(seg.buildElement("xID"));
+		assertEquals("segID*A**B", seg.getFormattedText(Format.X12_FORMAT).trim());
+	}
+
 	public void testParms() {
 		seg = new Segment(tseg, null);
 		assertEquals("segID", seg.getID());
@@ -0,0 +1,70 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.Tokenizers.DataTokenizer;
+import io.github.ediandxml.oboe.Tokenizers.SegmentTokenizer;
+
+public class SegmentTokenizerTestCase {
+
+	private void compare(SegmentTokenizer st, String inString, String inTokens, String inEscapes) {
+		DataTokenizer dt = new DataTokenizer(inString, inTokens, inEscapes);
+		st.reset(inString, inTokens, inEscapes);
+		assertEquals(dt.countTokens(), st.countTokens());
+		for (int i = -1; i <= dt.countTokens(); i++) {
+			assertEquals(dt.getTokenAt(i), st.getTokenAt(i));
+		}
+		while (dt.hasMoreElements()) {
+			assertTrue(st.hasMoreElements());
+			assertEquals(dt.nextToken(), st.nextToken());
+		}
+		assertFalse(st.hasMoreElements());
+	}
+
+	@Test
+	public void testSameAsDataTokenizer() {
+		SegmentTokenizer st = new SegmentTokenizer();
+		compare(st, "N1*ST*ACME**92*1234", "*", "");
+		compare(st, "N1*ST*ACME**92*1234*", "*", "");
+		compare(st, "", "*", "");
+		compare(st, "FTX+AAA+++a??b?:c?+d+e:f", "+", "?");
+		compare(st, "C040:a?:b:c", ":", "?");
+		compare(st, "REF*ZZ*1*2*3*4*5*6*7*8*9*10*11*12*13*14*15*16*17*18*19*20*21*22*23*24*25*26*27*28*29*30*31*32*33",
+				"*", null);
+	}
+
+	@Test
+	public void testRewindAndTokenEquals() {
+		SegmentTokenizer st = new SegmentTokenizer();
+		st.reset("ST*850*0001", "*", "");
+		assertEquals("ST", st.nextToken());
+		assertEquals("850", st.nextToken());
+		st.rewind();
+		assertEquals("ST", st.nextToken());
+		assertTrue(st.tokenEquals(1, "850"));
+		assertFalse(st.tokenEquals(1, "85"));
+		assertFalse(st.tokenEquals(3, "850"));
+		assertEquals(3, st.getTokenStart(1));
+		assertEquals(6, st.getTokenEnd(1));
+	}
+
+}
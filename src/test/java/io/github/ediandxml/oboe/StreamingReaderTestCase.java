@@ -0,0 +1,67 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.Containers.Envelope;
+import io.github.ediandxml.oboe.x12.X12DocumentHandler;
+
+public class StreamingReaderTestCase {
+
+	/**
+	 * behaves like a socket or pipe, never has anything buffered and hands over
+	 * one character per read
+	 */
+	static class TrickleReader extends FilterReader {
+		TrickleReader(Reader inReader) {
+			super(inReader);
+		}
+
+		@Override
+		public boolean ready() {
+			return false;
+		}
+
+		@Override
+		public int read(char cbuf[], int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			return super.read(cbuf, off, 1);
+		}
+	}
+
+	@Test
+	public void testX12FromTricklingReader() throws IOException {
+		String expected = new String(Files.readAllBytes(Paths.get("testFiles/sample.output.840.1")));
+
+		try (Reader reader = new TrickleReader(Files.newBufferedReader(Paths.get("testFiles/sample.output.840.1")))) {
+			X12DocumentHandler p1 = new X12DocumentHandler(reader);
+			Envelope x = p1.getEnvelope();
+			assertEquals(expected.replace("\r", ""), x.getFormattedText(Format.X12_FORMAT));
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.util.TemplateCache;
+
+public class TemplateCacheTestCase {
+
+	@Test
+	public void testLoadedOncePerKey() throws Exception {
+		TemplateCache<String> cache = new TemplateCache<String>();
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> results = new ArrayList<Future<String>>();
+			for (int i = 0; i < 64; i++) {
+				String key = (i % 2 == 0) ? "850" : "810";
+				results.add(pool.submit(() -> {
+					start.await();
+					return cache.get(key, k -> {
+						loads.incrementAndGet();
+						return "template " + k;
+					});
+				}));
+			}
+			start.countDown();
+			for (int i = 0; i < results.size(); i++) {
+				assertEquals((i % 2 == 0) ? "template 850" : "template 810", results.get(i).get());
+			}
+		} finally {
+			pool.shutdown();
+		}
+		assertEquals(2, loads.get());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(62, cache.getHitCount());
+	}
+
+	@Test
+	public void testFailedLoadIsNotCached() {
+		TemplateCache<String> cache = new TemplateCache<String>();
+		try {
+			cache.get("850", k -> {
+				throw new OBOEException("XML Message Description not found " + k);
+			});
+			fail("expected exception");
+		} catch (OBOEException oe) {
+			assertEquals("XML Message Description not found 850", oe.getMessage());
+		}
+		assertNull(cache.getIfPresent("850"));
+		assertEquals("template", cache.get("850", k -> "template"));
+		assertEquals("template", cache.getIfPresent("850"));
+	}
+
+}
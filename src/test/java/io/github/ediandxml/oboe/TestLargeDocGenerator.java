@@ -18,8 +18,11 @@ package io.github.ediandxml.oboe;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.FileReader;
 import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -126,6 +129,34 @@ public class TestLargeDocGenerator {
 		assertEquals(0, ldg.getDocumentErrors().getErrorCount());
 	}
 
+	@Test
+	public void testLargeDocumentGeneratorToChannel() throws Exception {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		LargeDocumentGenerator ldg = new LargeDocumentGenerator(Channels.newChannel(baos), StandardCharsets.UTF_8);
+		Segment newseg = ldg.getISA();
+		Segment oldseg = env.getInterchange_Header();
+		moveSegment(oldseg, newseg);
+		newseg = ldg.startFunctionalGroup();
+		oldseg = env.getFunctionalGroup(0).getHeader();
+		moveSegment(oldseg, newseg);
+		TransactionSet oldts = env.getFunctionalGroup(0).getTransactionSet(0);
+		TransactionSet ts = ldg.startTransactionSet(oldts.getID());
+		if (oldts.getHeaderTable() != null) {
+			moveLoopAndSegments(oldts.getHeaderTable(), ts.getHeaderTable());
+		}
+		if (oldts.getDetailTable() != null) {
+			moveLoopAndSegments(oldts.getDetailTable(), ts.getDetailTable());
+		}
+		if (oldts.getSummaryTable() != null) {
+			moveLoopAndSegments(oldts.getSummaryTable(), ts.getSummaryTable());
+		}
+		ldg.endTransationSet();
+		ldg.endFunctionalGroup();
+		ldg.endEnvelope();
+		assertEquals(this.envString, baos.toString(StandardCharsets.UTF_8));
+		assertEquals(0, ldg.getDocumentErrors().getErrorCount());
+	}
+
 	@Test
 	public void test2TSLargeDocumentGenerator() throws Exception {
 		StringWriter sw = new StringWriter();
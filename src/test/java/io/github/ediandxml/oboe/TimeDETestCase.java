@@ -25,6 +25,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import io.github.ediandxml.oboe.Containers.Envelope;
 import io.github.ediandxml.oboe.DataElements.TimeDE;
 import io.github.ediandxml.oboe.Errors.OBOEException;
 import io.github.ediandxml.oboe.Templates.TemplateDataElement;
@@ -119,6 +120,21 @@ public class TimeDETestCase {
 		assertEquals(value, de8.getFormattedText(Format.EDIFACT_FORMAT));
 	}
 
+	@Test
+	public void testRepeats() {
+		TimeDE rde = new TimeDE(
+				new TemplateDataElement("ID", "Name", 1, "TM", 'R', "Description", 4, 8, "xmltag", null, null, 3, true),
+				null);
+		rde.set("1230");
+		rde.setNext("123045");
+		rde.setNext("1230455");
+		assertEquals("1230", rde.get(0));
+		assertEquals("1230", rde.get(1));
+		assertEquals("1230", rde.get(2));
+		char repeat = Envelope.PREBUILD_REPEAT_DELIMITER.charAt(0);
+		assertEquals("1230" + repeat + "123045" + repeat + "1230455", rde.getFormattedText(Format.PREBUILD_FORMAT));
+	}
+
 	/*
 	 * public void testSetTimes() { de.set(Calendar.HOUR_OF_DAY, 20);
 	 * assertEquals(20, de.get(Calendar.HOUR_OF_DAY)); de.set(Calendar.MINUTE, 3);
@@ -0,0 +1,105 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.Containers.Envelope;
+import io.github.ediandxml.oboe.Containers.FunctionalGroup;
+import io.github.ediandxml.oboe.Containers.TransactionSetStateMachine;
+import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.Templates.TemplateTransactionSet;
+import io.github.ediandxml.oboe.x12.X12DocumentHandler;
+
+public class TransactionSetStateMachineTestCase {
+
+	private X12DocumentHandler parse(String inFile) throws IOException {
+		X12DocumentHandler xdh = new X12DocumentHandler();
+		try (FileReader fr = new FileReader(inFile)) {
+			xdh.getParser().parseDocument(fr, true);
+		} catch (OBOEException oe) {
+			// documents with errors are compared too
+		}
+		return xdh;
+	}
+
+	private List<TemplateTransactionSet> templates(Envelope inEnv) {
+		List<TemplateTransactionSet> list = new ArrayList<>();
+		for (int f = 0; f < inEnv.getFunctionalGroupCount(); f++) {
+			FunctionalGroup fg = inEnv.getFunctionalGroup(f);
+			for (int t = 0; t < fg.getTransactionSetCount(); t++) {
+				list.add((TemplateTransactionSet) fg.getTransactionSet(t).getMyTemplate());
+			}
+		}
+		return list;
+	}
+
+	@Test
+	public void test840() throws IOException {
+		compare("testFiles/sample.output.840.1");
+	}
+
+	@Test
+	public void testEquivalentSegments() throws IOException {
+		compare("testFiles/EquivalentSegmentTestMessage.001");
+		compare("testFiles/EquivalentSegmentTestMessage.002");
+		compare("testFiles/EquivalentSegmentTestMessage.003");
+	}
+
+	@Test
+	public void test850() throws IOException {
+		compare("testFiles/5-850.x12");
+	}
+
+	@Test
+	public void testDocumentWithErrors() throws IOException {
+		compare("testFiles/sample.001.badnum");
+	}
+
+	private void compare(String inFile) throws IOException {
+		X12DocumentHandler recursive = parse(inFile);
+		assertNotNull(recursive.getEnvelope());
+		String expected = recursive.getEnvelope().getFormattedText(Format.XML_FORMAT);
+		int expectedErrors = recursive.getDocumentErrors().getErrorCount();
+
+		List<TemplateTransactionSet> templates = templates(recursive.getEnvelope());
+		assertTrue(templates.size() > 0);
+		try {
+			for (TemplateTransactionSet tts : templates) {
+				TransactionSetStateMachine machine = TransactionSetStateMachine.compile(tts);
+				assertTrue(machine.getStateCount() > 0);
+				tts.setStateMachine(machine);
+			}
+			X12DocumentHandler compiled = parse(inFile);
+			assertEquals(expected, compiled.getEnvelope().getFormattedText(Format.XML_FORMAT));
+			assertEquals(expectedErrors, compiled.getDocumentErrors().getErrorCount());
+		} finally {
+			for (TemplateTransactionSet tts : templates) {
+				tts.setStateMachine(null);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static io.github.ediandxml.oboe.ParallelTestDocuments.errorsAndContainers;
+import static io.github.ediandxml.oboe.ParallelTestDocuments.x12Document;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.Containers.Envelope;
+import io.github.ediandxml.oboe.Containers.FunctionalGroup;
+import io.github.ediandxml.oboe.Containers.TransactionSet;
+import io.github.ediandxml.oboe.Containers.TransactionSetValidator;
+import io.github.ediandxml.oboe.Errors.DocumentErrors;
+import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.util.Util;
+import io.github.ediandxml.oboe.x12.X12DocumentHandler;
+
+public class TransactionSetValidatorTestCase {
+
+	@AfterEach
+	public void tearDown() {
+		Util.setOBOEProperty(Util.PARALLEL_VALIDATION, "false");
+		TransactionSetValidator.setExecutor(null);
+	}
+
+	private Envelope buildEnvelope(int inCount) throws IOException {
+		X12DocumentHandler handler = new X12DocumentHandler(new StringReader(x12Document(inCount, false)));
+		Envelope env = handler.getEnvelope();
+		FunctionalGroup fg = env.getFunctionalGroup(0);
+		// a few transaction sets that do not belong in the group
+		for (int i = 1; i < inCount; i += 3) {
+			fg.getTransactionSet(i).setFunctionalGroup("P" + i);
+		}
+		return env;
+	}
+
+	@Test
+	public void testParallelSameAsSequential() throws IOException {
+		Envelope env = buildEnvelope(20);
+
+		DocumentErrors sequential = new DocumentErrors();
+		env.validate(sequential);
+
+		Util.setOBOEProperty(Util.PARALLEL_VALIDATION, "true");
+		DocumentErrors parallel = new DocumentErrors();
+		env.validate(parallel);
+
+		assertTrue(sequential.getErrorCount() >= 7);
+		assertEquals(errorsAndContainers(sequential), errorsAndContainers(parallel));
+	}
+
+	@Test
+	public void testCountOnlyWithSinkInParallel() throws IOException {
+		Envelope env = buildEnvelope(20);
+
+		List<String> sequentialSunk = new ArrayList<>();
+		DocumentErrors sequential = new DocumentErrors();
+		sequential.setMaximumErrorsRetained(0);
+		sequential.setErrorSink((position, id, description, container, code, errorObject,
+				level) -> sequentialSunk.add(position + " " + id + " " + code + " " + description));
+		env.validate(sequential);
+
+		Util.setOBOEProperty(Util.PARALLEL_VALIDATION, "true");
+		List<String> parallelSunk = new ArrayList<>();
+		DocumentErrors parallel = new DocumentErrors();
+		parallel.setMaximumErrorsRetained(0);
+		parallel.setErrorSink((position, id, description, container, code, errorObject,
+				level) -> parallelSunk.add(position + " " + id + " " + code + " " + description));
+		env.validate(parallel);
+
+		assertTrue(sequentialSunk.size() >= 7);
+		assertEquals(sequentialSunk, parallelSunk);
+		assertEquals(0, parallel.getErrorCount());
+		assertEquals(sequential.getTotalErrorCount(), parallel.getTotalErrorCount());
+		assertEquals(parallelSunk.size(), parallel.getTotalErrorCount());
+	}
+
+	@Test
+	public void testErrorsMergedInTransactionSetOrder() throws IOException {
+		Envelope env = buildEnvelope(6);
+		List<TransactionSet> sets = new ArrayList<>();
+		FunctionalGroup fg = env.getFunctionalGroup(0);
+		for (int i = 0; i < fg.getTransactionSetCount(); i++) {
+			sets.add(fg.getTransactionSet(i));
+		}
+
+		Util.setOBOEProperty(Util.PARALLEL_VALIDATION, "true");
+		// run the tasks last to first
+		TransactionSetValidator.setExecutor(r -> new Thread(r).start());
+		DocumentErrors dErr = new DocumentErrors();
+		TransactionSetValidator.validate(sets, (ts, tsDErr) -> {
+			int pos = sets.indexOf(ts);
+			try {
+				Thread.sleep(10L * (sets.size() - pos));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			tsDErr.addError(pos, "TS", "set " + pos, ts, "1", ts, DocumentErrors.ERROR_TYPE.Integrity);
+		}, dErr);
+
+		assertEquals(6, dErr.getErrorCount());
+		for (int i = 0; i < 6; i++) {
+			assertEquals(i, dErr.getErrorPosition(i));
+			assertEquals(sets.get(i), dErr.getContainer(i));
+		}
+	}
+
+	@Test
+	public void testFailureRethrown() throws IOException {
+		Envelope env = buildEnvelope(4);
+		List<TransactionSet> sets = new ArrayList<>();
+		FunctionalGroup fg = env.getFunctionalGroup(0);
+		for (int i = 0; i < fg.getTransactionSetCount(); i++) {
+			sets.add(fg.getTransactionSet(i));
+		}
+
+		Util.setOBOEProperty(Util.PARALLEL_VALIDATION, "true");
+		OBOEException oe = assertThrows(OBOEException.class,
+				() -> TransactionSetValidator.validate(sets, (ts, tsDErr) -> {
+					throw new OBOEException("failed " + sets.indexOf(ts));
+				}, new DocumentErrors()));
+		assertEquals("failed 0", oe.getMessage());
+	}
+}
@@ -20,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import io.github.ediandxml.oboe.util.CharacterSet;
 import io.github.ediandxml.oboe.util.Util;
 
 /**
@@ -76,4 +77,28 @@ public class ValidCharSetTest {
 		Util.resetValids();
 	}
 
+	@Test
+	public void testNamedCharacterSets() {
+		Util.setOBOEProperty(Util.VALID_CHARACTER_SET, "X12BASIC");
+		assertEquals(-1, Util.isValidForCharacterSet("A8G&,"));
+		assertEquals(0, Util.isValidForCharacterSet("a8G&"));
+		Util.setOBOEProperty(Util.VALID_CHARACTER_SET, "UNOA");
+		assertEquals(-1, Util.isValidForCharacterSet("8%<>"));
+		assertEquals(1, Util.isValidForCharacterSet("Ba8G&"));
+		Util.setOBOEProperty(Util.VALID_CHARACTER_SET, "UNOC");
+		assertEquals(-1, Util.isValidForCharacterSet("M\u00fcller"));
+		assertEquals(1, Util.isValidForCharacterSet("8\uffff"));
+		Util.resetValids();
+	}
+
+	@Test
+	public void testCharacterSetRanges() {
+		CharacterSet cs = CharacterSet.forDefinition("0...9-");
+		assertEquals(-1, cs.firstInvalid("12-34"));
+		assertEquals(2, cs.firstInvalid("12A34"));
+		assertEquals(4, cs.firstInvalid("AB12X34", 2, 7));
+		assertEquals(-1, CharacterSet.TEMPLATE_DEFAULT.firstInvalid("Abc 123 !\"&'()*+-./:;?=%~@[]_{}\\|<>#$"));
+		assertEquals(0, CharacterSet.TEMPLATE_DEFAULT.firstInvalid(","));
+	}
+
 }
@@ -0,0 +1,96 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.ediandxml.oboe.DataElements.CharDE;
+import io.github.ediandxml.oboe.DataElements.Element;
+import io.github.ediandxml.oboe.Errors.DocumentErrors;
+import io.github.ediandxml.oboe.Errors.OBOEException;
+import io.github.ediandxml.oboe.Templates.TemplateDataElement;
+
+public class ValidatingMethodTestCase {
+
+	static int defaultCalls = 0;
+
+	public static String loadDefault() {
+		defaultCalls++;
+		return "DFLT";
+	}
+
+	public static boolean checkValue(Element inDE, DocumentErrors inDErr) {
+		if (inDE.get().equals("BAD")) {
+			inDErr.addError(0, "ID", "bad value", null, "9", inDE, DocumentErrors.ERROR_TYPE.Integrity);
+			return false;
+		}
+		if (inDE.get().equals("THROW")) {
+			throw new IllegalStateException("thrown by check");
+		}
+		return true;
+	}
+
+	private TemplateDataElement template() {
+		return new TemplateDataElement("ID", "Name", 1, "AN", 'O', "Description", 1, 42, "xmltag", null, null, 1,
+				true);
+	}
+
+	@Test
+	public void testLoadFromClassMethod() {
+		TemplateDataElement tde = template();
+		tde.setLoadFromClassMethod(ValidatingMethodTestCase.class.getName() + ".loadDefault");
+		defaultCalls = 0;
+		assertEquals("DFLT", tde.getDefault());
+		assertEquals("DFLT", tde.getDefault());
+		assertEquals(2, defaultCalls);
+	}
+
+	@Test
+	public void testLoadFromMissingClassMethod() {
+		TemplateDataElement tde = template();
+		tde.setLoadFromClassMethod(ValidatingMethodTestCase.class.getName() + ".noSuchMethod");
+		assertNull(tde.getDefault());
+		assertNull(tde.getDefault());
+		tde.setLoadFromClassMethod(ValidatingMethodTestCase.class.getName() + ".loadDefault");
+		assertEquals("DFLT", tde.getDefault());
+	}
+
+	@Test
+	public void testValidatingMethod() throws NoSuchMethodException {
+		TemplateDataElement tde = template();
+		tde.setValidatingMethod(
+				ValidatingMethodTestCase.class.getMethod("checkValue", Element.class, DocumentErrors.class));
+		assertEquals(ValidatingMethodTestCase.class.getName() + ".checkValue", tde.getValidatingMethod());
+
+		CharDE de = new CharDE(tde, null);
+		DocumentErrors dErr = new DocumentErrors();
+		de.set("GOOD");
+		assertTrue(tde.runValidatingMethod(de, dErr));
+		de.set("BAD");
+		assertFalse(tde.runValidatingMethod(de, dErr));
+		assertEquals(1, dErr.getErrorCount());
+		de.set("THROW");
+		OBOEException oe = assertThrows(OBOEException.class, () -> tde.runValidatingMethod(de, dErr));
+		assertEquals("thrown by check", oe.getMessage());
+	}
+
+}
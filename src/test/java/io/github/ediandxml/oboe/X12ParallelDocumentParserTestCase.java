@@ -0,0 +1,138 @@
+/**
+ * Copyright 2025 Joe McVerry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You may
+ * obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package io.github.ediandxml.oboe;
+
+import static io.github.ediandxml.oboe.ParallelTestDocuments.errors;
+import static io.github.ediandxml.oboe.ParallelTestDocuments.parseInParallel;
+import static io.github.ediandxml.oboe.ParallelTestDocuments.parseSequentially;
+import static io.github.ediandxml.oboe.ParallelTestDocuments.x12Document;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.ediandxml.oboe.Containers.Envelope;
+import io.github.ediandxml.oboe.Containers.FunctionalGroup;
+import io.github.ediandxml.oboe.Containers.TransactionSet;
+import io.github.ediandxml.oboe.x12.X12DocumentHandler;
+import io.github.ediandxml.oboe.x12.X12ParallelDocumentParser;
+
+public class X12ParallelDocumentParserTestCase {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testSameResultAsSequentialParser() throws IOException {
+		String doc = x12Document(12, true);
+		Path file = tempDir.resolve("parallel.x12");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Files.writeString(file, doc);
+
+			X12DocumentHandler sequential = parseSequentially(doc, new X12DocumentHandler());
+			Envelope expected = sequential.getEnvelope();
+
+			X12ParallelDocumentParser parser = new X12ParallelDocumentParser(executor);
+			Envelope parsed = parseInParallel(file, parser);
+
+			assertEquals(2, parsed.getFunctionalGroupCount());
+			assertEquals(12, parsed.getFunctionalGroup(1).getTransactionSetCount());
+			assertEquals(expected.getFormattedText(Format.X12_FORMAT), parsed.getFormattedText(Format.X12_FORMAT));
+			assertEquals(errors(sequential.getDocumentErrors()), errors(parser.getDocumentErrors()));
+
+			FunctionalGroup fg = parsed.getFunctionalGroup(1);
+			for (int i = 0; i < fg.getTransactionSetCount(); i++) {
+				TransactionSet ts = fg.getTransactionSet(i);
+				assertEquals(fg, ts.getParent());
+				assertEquals(expected.getFunctionalGroup(1).getTransactionSet(i).getHeaderTable().getSegment("BQT")
+						.getByteOffset(), ts.getHeaderTable().getSegment("BQT").getByteOffset());
+			}
+			for (int i = 0; i < parsed.getFunctionalGroupCount(); i++) {
+				assertEquals(expected.getFunctionalGroup(i).getTrailer().getByteOffset(),
+						parsed.getFunctionalGroup(i).getTrailer().getByteOffset());
+			}
+			assertEquals(expected.getInterchange_Trailer().getByteOffset(),
+					parsed.getInterchange_Trailer().getByteOffset());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testLineBreaksAfterTerminator() throws IOException {
+		String doc = x12Document(5, true).replace("\n", "~\r\n");
+		doc = doc.replace("BQT*00*F0470097T3125*20000317", "BQT*00*F0470097T3125*2000031X");
+		Path file = tempDir.resolve("parallel.x12");
+		Files.writeString(file, doc);
+
+		X12DocumentHandler sequential = parseSequentially(doc, new X12DocumentHandler());
+
+		X12ParallelDocumentParser parser = new X12ParallelDocumentParser();
+		Envelope parsed = parseInParallel(file, parser);
+
+		assertEquals(5, parsed.getFunctionalGroup(1).getTransactionSetCount());
+		assertTrue(parser.getDocumentErrors().getErrorCount() >= 5);
+		assertEquals(errors(sequential.getDocumentErrors()), errors(parser.getDocumentErrors()));
+	}
+
+	@Test
+	public void testErrorsInDocumentOrder() throws IOException {
+		String doc = x12Document(6, true);
+		// bad dates in the 2nd and 5th transaction sets of the second group
+		int at = doc.indexOf("GS*", doc.indexOf("GS*") + 1);
+		for (int n = 0; n < 5; n++) {
+			at = doc.indexOf("BQT*00*F0470097T3125*20000317", at + 1);
+			if (n == 1 || n == 4) {
+				doc = doc.substring(0, at) + "BQT*00*F0470097T3125*2000031X" + doc.substring(at + 29);
+			}
+		}
+		Path file = tempDir.resolve("parallel.x12");
+		Files.writeString(file, doc);
+
+		X12DocumentHandler sequential = parseSequentially(doc, new X12DocumentHandler());
+
+		X12ParallelDocumentParser parser = new X12ParallelDocumentParser();
+		parseInParallel(file, parser);
+
+		assertTrue(parser.getDocumentErrors().getErrorCount() >= 2);
+		assertEquals(errors(sequential.getDocumentErrors()), errors(parser.getDocumentErrors()));
+	}
+
+	@Test
+	public void testErrorsInTrailers() throws IOException {
+		String doc = x12Document(4, true);
+		// bad counts in the second GE and in IEA, reported with their position
+		doc = doc.replace("GE*4*", "GE*4X*").replace("IEA*2*", "IEA*2X*");
+		Path file = tempDir.resolve("parallel.x12");
+		Files.writeString(file, doc);
+
+		X12DocumentHandler sequential = parseSequentially(doc, new X12DocumentHandler());
+
+		X12ParallelDocumentParser parser = new X12ParallelDocumentParser();
+		parseInParallel(file, parser);
+
+		assertTrue(parser.getDocumentErrors().getErrorCount() >= 2);
+		assertEquals(errors(sequential.getDocumentErrors()), errors(parser.getDocumentErrors()));
+	}
+}